@@ -0,0 +1,47 @@
+-- Migración única: secuencias de las tablas cuyos IDs reparte AsignadorIds (cargas por lotes) y que
+-- también usan los INSERT individuales con seq_xxx.NEXTVAL.
+--
+-- La aplicación no la ejecuta (spring.sql.init.mode=never): la corre una vez el administrador de la base
+-- de datos, con el esquema del taller, antes de desplegar la versión que usa AsignadorIds, por ejemplo
+--     sqlplus usuario/clave@//servidor:1521/servicio @db/migraciones/V1__secuencias_ids.sql
+-- El nombre sigue la convención de Flyway para poder incorporarla como primer paso si se adopta.
+-- Volver a correrla no cambia nada: solo crea lo que falta.
+--
+-- Por cada tabla:
+--   1. Crea la secuencia empezando después del MAX actual de la clave, si no existe.
+--   2. Si la clave es una columna identidad GENERATED ALWAYS, la cambia a GENERATED BY DEFAULT ON NULL
+--      para que acepte los IDs explícitos de la secuencia. Desde entonces todas las inserciones deben
+--      tomar el ID de la secuencia, también las hechas fuera de la aplicación, o la identidad podría
+--      repetir un valor ya usado. Revise los procesos externos que insertan en estas tablas antes de
+--      ejecutarla.
+--
+-- El bloque PL-SQL termina con una línea que solo tiene una barra, como lo espera SQL*Plus.
+
+DECLARE
+    PROCEDURE preparar(p_tabla VARCHAR2, p_columna VARCHAR2, p_secuencia VARCHAR2) IS
+        v_existe     NUMBER;
+        v_inicio     NUMBER;
+        v_generacion VARCHAR2(30);
+    BEGIN
+        SELECT COUNT(*) INTO v_existe FROM user_sequences WHERE sequence_name = UPPER(p_secuencia);
+        IF v_existe = 0 THEN
+            EXECUTE IMMEDIATE 'SELECT NVL(MAX(' || p_columna || '), 0) + 1 FROM ' || p_tabla INTO v_inicio;
+            EXECUTE IMMEDIATE 'CREATE SEQUENCE ' || p_secuencia || ' START WITH ' || v_inicio || ' CACHE 100';
+        END IF;
+
+        SELECT MAX(generation_type) INTO v_generacion
+          FROM user_tab_identity_cols
+         WHERE table_name = UPPER(p_tabla) AND column_name = UPPER(p_columna);
+        IF v_generacion = 'ALWAYS' THEN
+            EXECUTE IMMEDIATE 'ALTER TABLE ' || p_tabla || ' MODIFY ' || p_columna
+                || ' GENERATED BY DEFAULT ON NULL AS IDENTITY';
+        END IF;
+    END;
+BEGIN
+    preparar('cliente', 'id_cliente', 'seq_cliente');
+    preparar('mecanico', 'id_mecanico', 'seq_mecanico');
+    preparar('movimiento_inventario', 'id_movimiento', 'seq_movimiento_inventario');
+    preparar('orden_servicio', 'id_orden_servicio', 'seq_orden_servicio');
+    preparar('vehiculo', 'id_vehiculo', 'seq_vehiculo');
+END;
+/
@@ -0,0 +1,119 @@
+package co.edu.uniquindio.tallermacanico.benchmark;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Base de datos H2 en memoria (modo compatible con Oracle) para los benchmarks de repositorio.
+ * <p>
+ * Crea el esquema de {@code benchmark/esquema-h2.sql} y lo llena con {@code filas} registros
+ * sintéticos por tabla usando {@code SYSTEM_RANGE}, sin viajes de ida y vuelta por fila.
+ * Las tablas dependientes apuntan a la entidad 1 (cliente, repuesto, supervisor, orden), de modo
+ * que los reportes filtrados por id también devuelven {@code filas} registros.
+ * </p>
+ */
+final class BaseDatosH2 {
+
+    private BaseDatosH2() {
+    }
+
+    /**
+     * Crea y llena una base de datos nueva.
+     *
+     * @param nombre nombre de la base en memoria (debe ser único por trial)
+     * @param filas  cantidad de filas por tabla
+     * @return origen de datos con una única conexión reutilizada
+     */
+    static SingleConnectionDataSource crear(String nombre, int filas) {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:" + nombre + ";MODE=Oracle;DB_CLOSE_DELAY=-1", "sa", "", true);
+
+        new ResourceDatabasePopulator(new ClassPathResource("benchmark/esquema-h2.sql")).execute(dataSource);
+        llenar(new JdbcTemplate(dataSource), filas);
+        return dataSource;
+    }
+
+    /**
+     * Elimina la base de datos y cierra la conexión.
+     */
+    static void destruir(SingleConnectionDataSource dataSource) {
+        new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    private static void llenar(JdbcTemplate jdbc, int filas) {
+        jdbc.update("INSERT INTO estado_orden VALUES (1, 'PENDIENTE'), (2, 'EN PROCESO'), (3, 'FINALIZADA')");
+        jdbc.update("INSERT INTO estado_pago_factura VALUES (1, 'PAGADO'), (2, 'PENDIENTE')");
+        jdbc.update("INSERT INTO especialidad VALUES (1, 'Mecánica general'), (2, 'Electricidad'), (3, 'Pintura')");
+
+        jdbc.update("""
+                INSERT INTO cliente
+                SELECT X, 'Nombre' || X, 'Apellido' || X, 'Calle ' || X || ' # 10-20', '300' || LPAD(X, 7, '0'),
+                       'cliente' || X || '@correo.com'
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO vehiculo
+                SELECT X, 1, 'P' || LPAD(X, 6, '0'), 'Marca' || MOD(X, 20), 'Modelo' || MOD(X, 50),
+                       2000 + MOD(X, 25), 'Color' || MOD(X, 8)
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO orden_trabajo
+                SELECT X, X, DATEADD('DAY', MOD(X, 730), DATE '2023-01-01'),
+                       CASE WHEN MOD(X, 3) = 0 THEN NULL ELSE DATEADD('DAY', MOD(X, 730) + 2, DATE '2023-01-01') END,
+                       'Diagnóstico inicial del vehículo ' || X || ': ruido en suspensión delantera',
+                       MOD(X, 3) + 1
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO servicio
+                SELECT X, 'Servicio' || X, 'Descripción del servicio ' || X, 50000 + MOD(X, 100) * 1000
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO orden_servicio
+                SELECT X, X, X, 'COMPLETADO', 60000 + MOD(X, 100) * 1000
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO mecanico
+                SELECT X, 'Mecánico' || X, 'Apellido' || X, '310' || LPAD(X, 7, '0'), MOD(X, 30)
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO orden_servicio_mecanico
+                SELECT X, 1, MOD(X, 3) + 1, 'Responsable'
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO supervision
+                SELECT X, 1, 2, MOD(X, 3) + 1, 'Observación de la supervisión ' || X
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO repuesto
+                SELECT X, 'Repuesto' || X, 'Descripción del repuesto ' || X, MOD(X, 200), 'UNIDAD'
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO orden_repuesto
+                SELECT 1, X, MOD(X, 5) + 1
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO movimiento_inventario
+                SELECT X, 1, 'SALIDA', MOD(X, 5) + 1, DATEADD('DAY', MOD(X, 730), DATE '2023-01-01'),
+                       'OT-' || X, 'Salida para orden ' || X
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+        jdbc.update("""
+                INSERT INTO factura
+                SELECT X, X, DATEADD('DAY', MOD(X, 730), DATE '2023-01-01'), 1,
+                       100000, 50000, 28500, 0, 178500
+                FROM SYSTEM_RANGE(1, ?)
+                """, filas);
+    }
+}
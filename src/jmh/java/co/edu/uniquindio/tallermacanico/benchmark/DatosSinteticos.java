@@ -0,0 +1,129 @@
+package co.edu.uniquindio.tallermacanico.benchmark;
+
+import co.edu.uniquindio.tallermacanico.dto.*;
+import co.edu.uniquindio.tallermacanico.model.*;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.IngresoMensualDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.RepuestoEstadisticoDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.ServicioEstadisticoDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Generadores de datos sintéticos y deterministas para los benchmarks que no usan base de datos.
+ */
+final class DatosSinteticos {
+
+    private static final LocalDate FECHA_BASE = LocalDate.of(2023, 1, 1);
+
+    private DatosSinteticos() {
+    }
+
+    static <T> List<T> generar(int filas, IntFunction<T> fabrica) {
+        List<T> lista = new ArrayList<>(filas);
+        for (int i = 1; i <= filas; i++) {
+            lista.add(fabrica.apply(i));
+        }
+        return lista;
+    }
+
+    private static LocalDate fecha(int i) {
+        return FECHA_BASE.plusDays(i % 730);
+    }
+
+    // ===================== Modelos =====================
+
+    static Cliente cliente(int i) {
+        return new Cliente(i, "Nombre" + i, "Apellido" + i, "Calle " + i + " # 10-20",
+                "300" + i, "cliente" + i + "@correo.com");
+    }
+
+    static Vehiculo vehiculo(int i) {
+        return new Vehiculo(i, i, "P" + i, "Marca" + (i % 20), "Modelo" + (i % 50), 2000 + i % 25, "Color" + (i % 8));
+    }
+
+    static OrdenTrabajo ordenTrabajo(int i) {
+        return new OrdenTrabajo(i, i, fecha(i), i % 3 == 0 ? null : fecha(i).plusDays(2),
+                "Diagnóstico inicial del vehículo " + i + ": ruido en suspensión delantera", i % 3 + 1);
+    }
+
+    static Factura factura(int i) {
+        return new Factura(i, i, fecha(i), 1, 100000, 50000, 28500, 0, 178500);
+    }
+
+    static MovimientoInventario movimientoInventario(int i) {
+        return new MovimientoInventario(i, i % 100 + 1, "SALIDA", i % 5 + 1, fecha(i), "OT-" + i, "Salida para orden " + i);
+    }
+
+    static Repuesto repuesto(int i) {
+        return new Repuesto(i, "Repuesto" + i, "Descripción del repuesto " + i, i % 200, "UNIDAD");
+    }
+
+    static Servicio servicio(int i) {
+        return new Servicio(i, "Servicio" + i, "Descripción del servicio " + i, 50000 + (i % 100) * 1000);
+    }
+
+    static Mecanico mecanico(int i) {
+        return new Mecanico(i, "Mecánico" + i, "Apellido" + i, "310" + i, i % 30);
+    }
+
+    static OrdenServicio ordenServicio(int i) {
+        return new OrdenServicio(i, i, i, "COMPLETADO", 60000 + (i % 100) * 1000);
+    }
+
+    // ===================== DTO de reportes =====================
+
+    static VehiculoReporteDTO vehiculoReporte(int i) {
+        return new VehiculoReporteDTO("P" + i, "Marca" + (i % 20), "Modelo" + (i % 50), "Nombre" + i + " Apellido" + i);
+    }
+
+    static ServicioReporteDTO servicioReporte(int i) {
+        return new ServicioReporteDTO("Servicio" + i, "Descripción del servicio " + i, 50000 + (i % 100) * 1000);
+    }
+
+    static OrdenTrabajoDTO ordenTrabajoReporte(int i) {
+        return new OrdenTrabajoDTO(i, i, fecha(i), i % 3 == 0 ? null : fecha(i).plusDays(2),
+                "Diagnóstico inicial del vehículo " + i, "FINALIZADA");
+    }
+
+    static FacturaReporteDTO facturaReporte(int i) {
+        return new FacturaReporteDTO(i, fecha(i), 178500, "Nombre1 Apellido1");
+    }
+
+    static InventarioReporteDTO inventarioReporte(int i) {
+        return new InventarioReporteDTO(i, "SALIDA", i % 5 + 1, fecha(i), "Repuesto1");
+    }
+
+    static SupervisionReporteDTO supervisionReporte(int i) {
+        return new SupervisionReporteDTO(i, "Mecánico1 Apellido1", "Mecánico2 Apellido2", "Observación de la supervisión " + i);
+    }
+
+    static ServicioMecanicoReporteDTO servicioMecanicoReporte(int i) {
+        return new ServicioMecanicoReporteDTO(i, "Mecánico1 Apellido1", "Servicio" + i, fecha(i));
+    }
+
+    static RepuestoOrdenReporteDTO repuestoOrdenReporte(int i) {
+        return new RepuestoOrdenReporteDTO(1, "Repuesto" + i, i % 5 + 1, "SALIDA", fecha(i));
+    }
+
+    static ProductividadSupervisorDTO productividadSupervisor(int i) {
+        return new ProductividadSupervisorDTO("Mecánico" + i + " Apellido" + i, i % 40, i % 90);
+    }
+
+    static ServicioEstadisticoDTO servicioEstadistico(int i) {
+        return new ServicioEstadisticoDTO("Servicio" + i, i % 500);
+    }
+
+    static RepuestoEstadisticoDTO repuestoEstadistico(int i) {
+        return new RepuestoEstadisticoDTO("Repuesto" + i, i % 500);
+    }
+
+    static IngresoMensualDTO ingresoMensual(int i) {
+        LocalDate mes = FECHA_BASE.minusMonths(i);
+        return new IngresoMensualDTO(mes.getYear() + "-" + String.format("%02d", mes.getMonthValue()),
+                BigDecimal.valueOf(178500L * (i % 300 + 1)));
+    }
+}
@@ -0,0 +1,77 @@
+package co.edu.uniquindio.tallermacanico.benchmark;
+
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.model.Factura;
+import co.edu.uniquindio.tallermacanico.model.OrdenTrabajo;
+import co.edu.uniquindio.tallermacanico.repository.MapeadoresFila;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara los mapeadores por índice de {@link MapeadoresFila} con {@link BeanPropertyRowMapper}
+ * (el mapeador que usaban antes los repositorios) leyendo la misma consulta sobre H2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeadoresFilaBenchmark {
+
+    private static final String SQL_CLIENTES = "SELECT " + MapeadoresFila.COLUMNAS_CLIENTE + " FROM cliente";
+    private static final String SQL_FACTURAS = "SELECT " + MapeadoresFila.COLUMNAS_FACTURA + " FROM factura";
+    private static final String SQL_ORDENES = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_TRABAJO + " FROM orden_trabajo";
+
+    @Param({"100000"})
+    public int filas;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        dataSource = BaseDatosH2.crear("mapeadores" + filas, filas);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void liberar() {
+        BaseDatosH2.destruir(dataSource);
+    }
+
+    @Benchmark
+    public List<Cliente> clientesPorIndice() {
+        return jdbcTemplate.query(SQL_CLIENTES, MapeadoresFila.CLIENTE);
+    }
+
+    @Benchmark
+    public List<Cliente> clientesBeanProperty() {
+        return jdbcTemplate.query(SQL_CLIENTES, new BeanPropertyRowMapper<>(Cliente.class));
+    }
+
+    @Benchmark
+    public List<Factura> facturasPorIndice() {
+        return jdbcTemplate.query(SQL_FACTURAS, MapeadoresFila.FACTURA);
+    }
+
+    @Benchmark
+    public List<Factura> facturasBeanProperty() {
+        return jdbcTemplate.query(SQL_FACTURAS, new BeanPropertyRowMapper<>(Factura.class));
+    }
+
+    @Benchmark
+    public List<OrdenTrabajo> ordenesPorIndice() {
+        return jdbcTemplate.query(SQL_ORDENES, MapeadoresFila.ORDEN_TRABAJO);
+    }
+
+    @Benchmark
+    public List<OrdenTrabajo> ordenesBeanProperty() {
+        return jdbcTemplate.query(SQL_ORDENES, new BeanPropertyRowMapper<>(OrdenTrabajo.class));
+    }
+}
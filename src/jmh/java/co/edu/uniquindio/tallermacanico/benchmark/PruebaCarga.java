@@ -0,0 +1,207 @@
+package co.edu.uniquindio.tallermacanico.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prueba de carga HTTP contra una instancia en ejecución de la aplicación.
+ * <p>
+ * Lanza {@code clientes} usuarios concurrentes (un hilo virtual cada uno, así el generador no es
+ * el cuello de botella) que repiten peticiones GET a las URL indicadas durante los segundos
+ * de medición, después de un calentamiento que no se mide. Reporta rendimiento (respuestas correctas
+ * por segundo), latencias p50/p99/máxima y los rechazos 503 del control de admisión.
+ * </p>
+ *
+ * <p>Cada ejecución agrega una fila a {@code build/reports/carga/resultados.csv} y se imprime la tabla
+ * completa, de modo que para comparar los modos basta con correrla dos veces:</p>
+ * <pre>
+ * TALLER_HILOS_VIRTUALES=false ./gradlew bootRun
+ * ./gradlew pruebaCarga -Pcarga.etiqueta=plataforma -Pcarga.clientes=2000
+ *
+ * TALLER_HILOS_VIRTUALES=true ./gradlew bootRun
+ * ./gradlew pruebaCarga -Pcarga.etiqueta=virtual -Pcarga.clientes=2000
+ * </pre>
+ *
+ * <p>Argumentos (en orden): URL separadas por coma, clientes, segundos de medición, segundos de
+ * calentamiento, etiqueta y archivo de resultados.</p>
+ */
+public final class PruebaCarga {
+
+    private static final String ENCABEZADO_CSV =
+            "fecha,etiqueta,clientes,segundos,peticiones,correctas,rechazadas_503,errores,rps,p50_ms,p99_ms,max_ms";
+
+    private PruebaCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<URI> urls = Arrays.stream(argumento(args, 0, "http://localhost:8080/api/clientes").split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(URI::create)
+                .toList();
+        int clientes = Integer.parseInt(argumento(args, 1, "1000"));
+        int segundos = Integer.parseInt(argumento(args, 2, "30"));
+        int calentamiento = Integer.parseInt(argumento(args, 3, "5"));
+        String etiqueta = argumento(args, 4, "sin-etiqueta");
+        Path archivo = Path.of(argumento(args, 5, "build/reports/carga/resultados.csv"));
+
+        System.out.printf("Carga: %d clientes, %d s (+%d s de calentamiento) contra %s%n",
+                clientes, segundos, calentamiento, urls);
+
+        Resultado resultado = ejecutar(urls, clientes, Duration.ofSeconds(calentamiento), Duration.ofSeconds(segundos));
+        String fila = String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%d,%d,%.1f,%.2f,%.2f,%.2f",
+                LocalDateTime.now().withNano(0), etiqueta, clientes, segundos, resultado.peticiones(),
+                resultado.correctas(), resultado.rechazadas(), resultado.errores(),
+                resultado.correctas() / (double) segundos,
+                resultado.percentilMs(0.50), resultado.percentilMs(0.99), resultado.percentilMs(1.0));
+
+        guardar(archivo, fila);
+        imprimirTabla(archivo);
+    }
+
+    /**
+     * Ejecuta la carga y devuelve las latencias de las peticiones terminadas dentro de la ventana de medición.
+     */
+    static Resultado ejecutar(List<URI> urls, int clientes, Duration calentamiento, Duration medicion)
+            throws InterruptedException {
+        long inicioMedicion = System.nanoTime() + calentamiento.toNanos();
+        long fin = inicioMedicion + medicion.toNanos();
+
+        LongAdder correctas = new LongAdder();
+        LongAdder rechazadas = new LongAdder();
+        LongAdder errores = new LongAdder();
+        List<long[]> latenciasPorCliente = new ArrayList<>();
+
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+
+            List<Latencias> registros = new ArrayList<>(clientes);
+            for (int i = 0; i < clientes; i++) {
+                Latencias latencias = new Latencias();
+                registros.add(latencias);
+                int desplazamiento = i;
+                hilos.submit(() -> {
+                    for (int n = desplazamiento; System.nanoTime() < fin; n++) {
+                        HttpRequest peticion = HttpRequest.newBuilder(urls.get(n % urls.size()))
+                                .timeout(Duration.ofSeconds(60))
+                                .GET()
+                                .build();
+                        long inicio = System.nanoTime();
+                        int estado;
+                        try {
+                            estado = http.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            estado = -1;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        long terminada = System.nanoTime();
+                        if (inicio < inicioMedicion || terminada > fin) {
+                            continue;
+                        }
+                        if (estado >= 200 && estado < 400) {
+                            correctas.increment();
+                            latencias.agregar(terminada - inicio);
+                        } else if (estado == 503) {
+                            rechazadas.increment();
+                        } else {
+                            errores.increment();
+                        }
+                    }
+                });
+            }
+            hilos.shutdown();
+            // Las peticiones lentas pueden pasarse del fin; se espera como máximo el timeout de la petición
+            hilos.awaitTermination(medicion.plus(calentamiento).plusSeconds(70).toMillis(),
+                    TimeUnit.MILLISECONDS);
+
+            for (Latencias latencias : registros) {
+                latenciasPorCliente.add(latencias.valores());
+            }
+        }
+
+        long[] todas = latenciasPorCliente.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Resultado(correctas.sum() + rechazadas.sum() + errores.sum(),
+                correctas.sum(), rechazadas.sum(), errores.sum(), todas);
+    }
+
+    private static void guardar(Path archivo, String fila) throws IOException {
+        if (archivo.getParent() != null) {
+            Files.createDirectories(archivo.getParent());
+        }
+        if (Files.notExists(archivo)) {
+            Files.writeString(archivo, ENCABEZADO_CSV + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+        Files.writeString(archivo, fila + System.lineSeparator(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    private static void imprimirTabla(Path archivo) throws IOException {
+        System.out.println();
+        for (String linea : Files.readAllLines(archivo, StandardCharsets.UTF_8)) {
+            String[] columnas = linea.split(",");
+            StringBuilder fila = new StringBuilder();
+            for (String columna : columnas) {
+                fila.append(String.format("%-20s", columna));
+            }
+            System.out.println(fila.toString().stripTrailing());
+        }
+    }
+
+    private static String argumento(String[] args, int posicion, String porDefecto) {
+        return args.length > posicion && !args[posicion].isBlank() ? args[posicion] : porDefecto;
+    }
+
+    /**
+     * Latencias de un cliente; solo la escribe su propio hilo.
+     */
+    private static final class Latencias {
+        private long[] valores = new long[1024];
+        private int tamanio;
+
+        void agregar(long nanos) {
+            if (tamanio == valores.length) {
+                valores = Arrays.copyOf(valores, tamanio * 2);
+            }
+            valores[tamanio++] = nanos;
+        }
+
+        long[] valores() {
+            return Arrays.copyOf(valores, tamanio);
+        }
+    }
+
+    /**
+     * Totales de una ejecución, con las latencias correctas ordenadas en nanosegundos.
+     */
+    record Resultado(long peticiones, long correctas, long rechazadas, long errores, long[] latencias) {
+
+        double percentilMs(double percentil) {
+            if (latencias.length == 0) {
+                return 0.0;
+            }
+            int indice = (int) Math.ceil(percentil * latencias.length) - 1;
+            return latencias[Math.max(0, Math.min(indice, latencias.length - 1))] / 1_000_000.0;
+        }
+    }
+}
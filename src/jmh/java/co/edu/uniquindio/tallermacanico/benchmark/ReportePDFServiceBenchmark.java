@@ -0,0 +1,110 @@
+package co.edu.uniquindio.tallermacanico.benchmark;
+
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.ReportePDFService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la generación de cada reporte PDF de {@link ReportePDFService} con 1k, 10k y 100k filas.
+ * <p>
+ * Los datos salen de {@link ReporteRepositorySintetico}, así que el resultado refleja solo el
+ * costo de iText (maquetación de tablas, fuentes y compresión), que es la ruta más pesada en CPU.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ReportePDFServiceBenchmark {
+
+    private static final LocalDate DESDE = LocalDate.of(2023, 1, 1);
+    private static final LocalDate HASTA = LocalDate.of(2025, 1, 1);
+
+    @Param({"1000", "10000", "100000"})
+    public int filas;
+
+    private ReportePDFService reportePDFService;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        reportePDFService = new ReportePDFService(new ReporteRepositorySintetico(filas));
+    }
+
+    @Benchmark
+    public byte[] generarPDFClientes() {
+        return reportePDFService.generarPDFClientes();
+    }
+
+    @Benchmark
+    public byte[] generarPDFVehiculos() {
+        return reportePDFService.generarPDFVehiculos();
+    }
+
+    /**
+     * Mismo reporte en modo streaming, sin acumular el PDF en un arreglo.
+     */
+    @Benchmark
+    public void escribirPDFVehiculos() {
+        reportePDFService.escribirPDFVehiculos(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] generarPDFServicios() {
+        return reportePDFService.generarPDFServicios();
+    }
+
+    @Benchmark
+    public byte[] generarPDFOrdenesTrabajo() {
+        return reportePDFService.generarPDFOrdenesTrabajo(DESDE, HASTA);
+    }
+
+    @Benchmark
+    public byte[] generarPDFFacturasCliente() {
+        return reportePDFService.generarPDFFacturasCliente(1);
+    }
+
+    @Benchmark
+    public byte[] generarPDFMovimientosRepuesto() {
+        return reportePDFService.generarPDFMovimientosRepuesto(1);
+    }
+
+    @Benchmark
+    public byte[] generarPDFSupervisiones() {
+        return reportePDFService.generarPDFSupervisiones(1);
+    }
+
+    @Benchmark
+    public byte[] generarPDFServiciosMecanico() {
+        return reportePDFService.generarPDFServiciosMecanico(1);
+    }
+
+    @Benchmark
+    public byte[] generarPDFRepuestosOrden() {
+        return reportePDFService.generarPDFRepuestosOrden(1);
+    }
+
+    @Benchmark
+    public byte[] generarPDFProductividadSupervisores() {
+        return reportePDFService.generarPDFProductividadSupervisores();
+    }
+
+    @Benchmark
+    public byte[] generarPDFServiciosMasSolicitados() {
+        return reportePDFService.generarPDFServiciosMasSolicitados();
+    }
+
+    @Benchmark
+    public byte[] generarPDFRepuestosMasUsados() {
+        return reportePDFService.generarPDFRepuestosMasUsados();
+    }
+
+    @Benchmark
+    public byte[] generarPDFIngresosMensuales() {
+        return reportePDFService.generarPDFIngresosMensuales();
+    }
+}
@@ -0,0 +1,118 @@
+package co.edu.uniquindio.tallermacanico.benchmark;
+
+import co.edu.uniquindio.tallermacanico.dto.*;
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.IngresoMensualDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.RepuestoEstadisticoDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.ServicioEstadisticoDTO;
+import co.edu.uniquindio.tallermacanico.reportes.repository.ReporteRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las consultas y los mapeadores de fila de {@link ReporteRepository} sobre H2 en modo Oracle.
+ * <p>
+ * El tiempo incluye ejecutar la consulta, recorrer el cursor y construir los DTO, que es
+ * exactamente lo que paga cada reporte antes de generar el PDF.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReporteRepositoryBenchmark {
+
+    private static final LocalDate DESDE = LocalDate.of(2023, 1, 1);
+    private static final LocalDate HASTA = LocalDate.of(2025, 1, 1);
+
+    @Param({"1000", "10000", "100000"})
+    public int filas;
+
+    private SingleConnectionDataSource dataSource;
+    private ReporteRepository reporteRepository;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        dataSource = BaseDatosH2.crear("reportes" + filas, filas);
+        // TTL 0: la caché de agregados queda desactivada para medir siempre la consulta
+        reporteRepository = new ReporteRepository(new JdbcTemplate(dataSource), new CacheReportes(0, 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void liberar() {
+        BaseDatosH2.destruir(dataSource);
+    }
+
+    @Benchmark
+    public List<Cliente> listarClientes() {
+        return reporteRepository.listarClientes();
+    }
+
+    @Benchmark
+    public List<VehiculoReporteDTO> listarVehiculosDTO() {
+        return reporteRepository.listarVehiculosDTO();
+    }
+
+    @Benchmark
+    public List<ServicioReporteDTO> listarServiciosDTO() {
+        return reporteRepository.listarServiciosDTO();
+    }
+
+    @Benchmark
+    public List<OrdenTrabajoDTO> listarOrdenesTrabajoPorFechas() {
+        return reporteRepository.listarOrdenesTrabajoPorFechas(DESDE, HASTA);
+    }
+
+    @Benchmark
+    public List<FacturaReporteDTO> listarFacturasPorCliente() {
+        return reporteRepository.listarFacturasPorCliente(1);
+    }
+
+    @Benchmark
+    public List<InventarioReporteDTO> listarMovimientosPorRepuesto() {
+        return reporteRepository.listarMovimientosPorRepuesto(1);
+    }
+
+    @Benchmark
+    public List<SupervisionReporteDTO> listarSupervisionesPorMecanico() {
+        return reporteRepository.listarSupervisionesPorMecanico(1);
+    }
+
+    @Benchmark
+    public List<ServicioMecanicoReporteDTO> listarServiciosPorMecanico() {
+        return reporteRepository.listarServiciosPorMecanico(1);
+    }
+
+    @Benchmark
+    public List<RepuestoOrdenReporteDTO> listarRepuestosPorOrdenServicio() {
+        return reporteRepository.listarRepuestosPorOrdenServicio(1);
+    }
+
+    @Benchmark
+    public List<ProductividadSupervisorDTO> listarProductividadSupervisores() {
+        return reporteRepository.listarProductividadSupervisores();
+    }
+
+    @Benchmark
+    public List<ServicioEstadisticoDTO> obtenerServiciosMasSolicitados() {
+        return reporteRepository.obtenerServiciosMasSolicitados();
+    }
+
+    @Benchmark
+    public List<RepuestoEstadisticoDTO> obtenerRepuestosMasUsados() {
+        return reporteRepository.obtenerRepuestosMasUsados();
+    }
+
+    @Benchmark
+    public List<IngresoMensualDTO> obtenerIngresosPorMes() {
+        return reporteRepository.obtenerIngresosPorMes();
+    }
+}
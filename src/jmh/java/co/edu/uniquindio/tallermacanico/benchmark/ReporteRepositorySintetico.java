@@ -0,0 +1,143 @@
+package co.edu.uniquindio.tallermacanico.benchmark;
+
+import co.edu.uniquindio.tallermacanico.dto.*;
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.IngresoMensualDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.RepuestoEstadisticoDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.ServicioEstadisticoDTO;
+import co.edu.uniquindio.tallermacanico.reportes.repository.ReporteRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ReporteRepository} que devuelve listas generadas en memoria, para medir solo el costo
+ * de generar el PDF sin la base de datos.
+ */
+class ReporteRepositorySintetico extends ReporteRepository {
+
+    private final List<Cliente> clientes;
+    private final List<VehiculoReporteDTO> vehiculos;
+    private final List<ServicioReporteDTO> servicios;
+    private final List<OrdenTrabajoDTO> ordenes;
+    private final List<FacturaReporteDTO> facturas;
+    private final List<InventarioReporteDTO> movimientos;
+    private final List<SupervisionReporteDTO> supervisiones;
+    private final List<ServicioMecanicoReporteDTO> serviciosMecanico;
+    private final List<RepuestoOrdenReporteDTO> repuestosOrden;
+    private final List<ProductividadSupervisorDTO> productividad;
+    private final List<ServicioEstadisticoDTO> serviciosEstadistico;
+    private final List<RepuestoEstadisticoDTO> repuestosEstadistico;
+    private final List<IngresoMensualDTO> ingresos;
+
+    ReporteRepositorySintetico(int filas) {
+        super(null, null);
+        clientes = DatosSinteticos.generar(filas, DatosSinteticos::cliente);
+        vehiculos = DatosSinteticos.generar(filas, DatosSinteticos::vehiculoReporte);
+        servicios = DatosSinteticos.generar(filas, DatosSinteticos::servicioReporte);
+        ordenes = DatosSinteticos.generar(filas, DatosSinteticos::ordenTrabajoReporte);
+        facturas = DatosSinteticos.generar(filas, DatosSinteticos::facturaReporte);
+        movimientos = DatosSinteticos.generar(filas, DatosSinteticos::inventarioReporte);
+        supervisiones = DatosSinteticos.generar(filas, DatosSinteticos::supervisionReporte);
+        serviciosMecanico = DatosSinteticos.generar(filas, DatosSinteticos::servicioMecanicoReporte);
+        repuestosOrden = DatosSinteticos.generar(filas, DatosSinteticos::repuestoOrdenReporte);
+        productividad = DatosSinteticos.generar(filas, DatosSinteticos::productividadSupervisor);
+        serviciosEstadistico = DatosSinteticos.generar(filas, DatosSinteticos::servicioEstadistico);
+        repuestosEstadistico = DatosSinteticos.generar(filas, DatosSinteticos::repuestoEstadistico);
+        ingresos = DatosSinteticos.generar(filas, DatosSinteticos::ingresoMensual);
+    }
+
+    @Override
+    public List<Cliente> listarClientes() {
+        return clientes;
+    }
+
+    @Override
+    public void recorrerClientes(Consumer<Cliente> consumidor) {
+        clientes.forEach(consumidor);
+    }
+
+    @Override
+    public List<VehiculoReporteDTO> listarVehiculosDTO() {
+        return vehiculos;
+    }
+
+    @Override
+    public void recorrerVehiculosDTO(Consumer<VehiculoReporteDTO> consumidor) {
+        vehiculos.forEach(consumidor);
+    }
+
+    @Override
+    public List<ServicioReporteDTO> listarServiciosDTO() {
+        return servicios;
+    }
+
+    @Override
+    public void recorrerServiciosDTO(Consumer<ServicioReporteDTO> consumidor) {
+        servicios.forEach(consumidor);
+    }
+
+    @Override
+    public List<OrdenTrabajoDTO> listarOrdenesTrabajoPorFechas(LocalDate fechaInicio, LocalDate fechaFin) {
+        return ordenes;
+    }
+
+    @Override
+    public void recorrerOrdenesTrabajoPorFechas(LocalDate fechaInicio, LocalDate fechaFin,
+                                                Consumer<OrdenTrabajoDTO> consumidor) {
+        ordenes.forEach(consumidor);
+    }
+
+    @Override
+    public Map<String, Long> contarOrdenesTrabajoPorEstado(LocalDate fechaInicio, LocalDate fechaFin) {
+        return ordenes.stream().collect(Collectors.groupingBy(o -> o.getNombreEstado().toUpperCase(), Collectors.counting()));
+    }
+
+    @Override
+    public List<FacturaReporteDTO> listarFacturasPorCliente(int idCliente) {
+        return facturas;
+    }
+
+    @Override
+    public List<InventarioReporteDTO> listarMovimientosPorRepuesto(int idRepuesto) {
+        return movimientos;
+    }
+
+    @Override
+    public List<SupervisionReporteDTO> listarSupervisionesPorMecanico(int idSupervisor) {
+        return supervisiones;
+    }
+
+    @Override
+    public List<ServicioMecanicoReporteDTO> listarServiciosPorMecanico(int idMecanico) {
+        return serviciosMecanico;
+    }
+
+    @Override
+    public List<RepuestoOrdenReporteDTO> listarRepuestosPorOrdenServicio(int idOrdenServicio) {
+        return repuestosOrden;
+    }
+
+    @Override
+    public List<ProductividadSupervisorDTO> listarProductividadSupervisores() {
+        return productividad;
+    }
+
+    @Override
+    public List<ServicioEstadisticoDTO> obtenerServiciosMasSolicitados() {
+        return serviciosEstadistico;
+    }
+
+    @Override
+    public List<RepuestoEstadisticoDTO> obtenerRepuestosMasUsados() {
+        return repuestosEstadistico;
+    }
+
+    @Override
+    public List<IngresoMensualDTO> obtenerIngresosPorMes() {
+        return ingresos;
+    }
+}
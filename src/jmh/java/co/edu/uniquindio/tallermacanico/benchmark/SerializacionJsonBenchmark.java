@@ -0,0 +1,100 @@
+package co.edu.uniquindio.tallermacanico.benchmark;
+
+import co.edu.uniquindio.tallermacanico.model.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la serialización a JSON de las clases de {@code model}, tal como las escriben los
+ * controladores REST al responder un objeto o un listado.
+ * <p>
+ * El {@link ObjectMapper} se construye con {@link Jackson2ObjectMapperBuilder}, que aplica la
+ * misma configuración base que Spring Boot (módulo de fechas Java, fechas ISO-8601).
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionJsonBenchmark {
+
+    @Param({"1", "1000"})
+    public int elementos;
+
+    private ObjectMapper objectMapper;
+    private List<Cliente> clientes;
+    private List<Vehiculo> vehiculos;
+    private List<OrdenTrabajo> ordenes;
+    private List<Factura> facturas;
+    private List<MovimientoInventario> movimientos;
+    private List<Repuesto> repuestos;
+    private List<Servicio> servicios;
+    private List<Mecanico> mecanicos;
+    private List<OrdenServicio> ordenesServicio;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        clientes = DatosSinteticos.generar(elementos, DatosSinteticos::cliente);
+        vehiculos = DatosSinteticos.generar(elementos, DatosSinteticos::vehiculo);
+        ordenes = DatosSinteticos.generar(elementos, DatosSinteticos::ordenTrabajo);
+        facturas = DatosSinteticos.generar(elementos, DatosSinteticos::factura);
+        movimientos = DatosSinteticos.generar(elementos, DatosSinteticos::movimientoInventario);
+        repuestos = DatosSinteticos.generar(elementos, DatosSinteticos::repuesto);
+        servicios = DatosSinteticos.generar(elementos, DatosSinteticos::servicio);
+        mecanicos = DatosSinteticos.generar(elementos, DatosSinteticos::mecanico);
+        ordenesServicio = DatosSinteticos.generar(elementos, DatosSinteticos::ordenServicio);
+    }
+
+    @Benchmark
+    public byte[] clientes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(clientes);
+    }
+
+    @Benchmark
+    public byte[] vehiculos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(vehiculos);
+    }
+
+    @Benchmark
+    public byte[] ordenesTrabajo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ordenes);
+    }
+
+    @Benchmark
+    public byte[] facturas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(facturas);
+    }
+
+    @Benchmark
+    public byte[] movimientosInventario() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(movimientos);
+    }
+
+    @Benchmark
+    public byte[] repuestos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(repuestos);
+    }
+
+    @Benchmark
+    public byte[] servicios() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(servicios);
+    }
+
+    @Benchmark
+    public byte[] mecanicos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mecanicos);
+    }
+
+    @Benchmark
+    public byte[] ordenesServicio() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ordenesServicio);
+    }
+}
@@ -0,0 +1,131 @@
+-- Esquema mínimo del taller sobre H2 (MODE=Oracle) para los benchmarks y las pruebas de repositorio.
+-- Solo incluye las tablas y columnas que leen los repositorios y ReporteRepository.
+-- Las claves se generan como en Oracle: identidad en las tablas que insertan sin ID y, para las que reservan
+-- IDs por bloques con AsignadorIds, las secuencias de db/migraciones/V1__secuencias_ids.sql. Los benchmarks
+-- insertan con ID explícito, que la identidad BY DEFAULT acepta.
+
+CREATE SEQUENCE seq_cliente;
+CREATE SEQUENCE seq_mecanico;
+CREATE SEQUENCE seq_movimiento_inventario;
+CREATE SEQUENCE seq_orden_servicio;
+CREATE SEQUENCE seq_vehiculo;
+
+CREATE TABLE cliente (
+    id_cliente  NUMBER PRIMARY KEY,
+    nombre      VARCHAR2(100),
+    apellido    VARCHAR2(100),
+    direccion   VARCHAR2(200),
+    telefono    VARCHAR2(30),
+    email       VARCHAR2(150)
+);
+
+CREATE TABLE vehiculo (
+    id_vehiculo NUMBER PRIMARY KEY,
+    id_cliente  NUMBER REFERENCES cliente (id_cliente),
+    placa       VARCHAR2(10),
+    marca       VARCHAR2(50),
+    modelo      VARCHAR2(50),
+    anio        NUMBER,
+    color       VARCHAR2(30)
+);
+
+CREATE TABLE estado_orden (
+    id_estado_orden NUMBER PRIMARY KEY,
+    nombre_estado   VARCHAR2(50)
+);
+
+CREATE TABLE orden_trabajo (
+    id_orden_trabajo    NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_vehiculo         NUMBER REFERENCES vehiculo (id_vehiculo),
+    fecha_ingreso       DATE,
+    fecha_salida        DATE,
+    diagnostico_inicial VARCHAR2(500),
+    id_estado_orden     NUMBER REFERENCES estado_orden (id_estado_orden)
+);
+
+CREATE TABLE servicio (
+    id_servicio NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre      VARCHAR2(100),
+    descripcion VARCHAR2(300),
+    precio_base NUMBER(12, 2)
+);
+
+CREATE TABLE orden_servicio (
+    id_orden_servicio NUMBER PRIMARY KEY,
+    id_orden_trabajo  NUMBER REFERENCES orden_trabajo (id_orden_trabajo),
+    id_servicio       NUMBER REFERENCES servicio (id_servicio),
+    estado            VARCHAR2(30),
+    precio_final      NUMBER(12, 2)
+);
+
+CREATE TABLE especialidad (
+    id_especialidad NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre          VARCHAR2(100)
+);
+
+CREATE TABLE mecanico (
+    id_mecanico       NUMBER PRIMARY KEY,
+    nombre            VARCHAR2(100),
+    apellido          VARCHAR2(100),
+    telefono          VARCHAR2(30),
+    experiencia_anios NUMBER
+);
+
+CREATE TABLE orden_servicio_mecanico (
+    id_orden_servicio NUMBER REFERENCES orden_servicio (id_orden_servicio),
+    id_mecanico       NUMBER REFERENCES mecanico (id_mecanico),
+    id_especialidad   NUMBER REFERENCES especialidad (id_especialidad),
+    rol_en_servicio   VARCHAR2(50),
+    PRIMARY KEY (id_orden_servicio, id_mecanico)
+);
+
+CREATE TABLE supervision (
+    id_orden_servicio       NUMBER REFERENCES orden_servicio (id_orden_servicio),
+    id_mecanico_supervisor  NUMBER REFERENCES mecanico (id_mecanico),
+    id_mecanico_supervisado NUMBER REFERENCES mecanico (id_mecanico),
+    id_especialidad         NUMBER REFERENCES especialidad (id_especialidad),
+    observaciones           VARCHAR2(500),
+    PRIMARY KEY (id_orden_servicio, id_mecanico_supervisor, id_mecanico_supervisado)
+);
+
+CREATE TABLE repuesto (
+    id_repuesto   NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre        VARCHAR2(100),
+    descripcion   VARCHAR2(300),
+    stock_actual  NUMBER(12, 2),
+    unidad_medida VARCHAR2(20)
+);
+
+CREATE TABLE orden_repuesto (
+    id_orden_trabajo NUMBER REFERENCES orden_trabajo (id_orden_trabajo),
+    id_repuesto      NUMBER REFERENCES repuesto (id_repuesto),
+    cantidad_usada   NUMBER,
+    PRIMARY KEY (id_orden_trabajo, id_repuesto)
+);
+
+CREATE TABLE movimiento_inventario (
+    id_movimiento    NUMBER PRIMARY KEY,
+    id_repuesto      NUMBER REFERENCES repuesto (id_repuesto),
+    tipo_movimiento  VARCHAR2(20),
+    cantidad         NUMBER(12, 2),
+    fecha_movimiento DATE,
+    referencia       VARCHAR2(100),
+    observaciones    VARCHAR2(300)
+);
+
+CREATE TABLE estado_pago_factura (
+    id_estado_pago NUMBER PRIMARY KEY,
+    nombre_estado  VARCHAR2(50)
+);
+
+CREATE TABLE factura (
+    id_factura         NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_orden_trabajo   NUMBER REFERENCES orden_trabajo (id_orden_trabajo),
+    fecha_emision      DATE,
+    id_estado_pago     NUMBER REFERENCES estado_pago_factura (id_estado_pago),
+    subtotal_servicios NUMBER(12, 2),
+    subtotal_repuestos NUMBER(12, 2),
+    impuestos_total    NUMBER(12, 2),
+    descuento_total    NUMBER(12, 2),
+    total              NUMBER(12, 2)
+);
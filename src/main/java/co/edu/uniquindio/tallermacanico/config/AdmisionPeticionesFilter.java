@@ -0,0 +1,187 @@
+package co.edu.uniquindio.tallermacanico.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Control de admisión de las peticiones {@code /api/**} según el tamaño del pool de conexiones.
+ * <p>
+ * Cada petición toma un permiso de un semáforo justo con tantos permisos como conexiones tiene
+ * HikariCP ({@code spring.datasource.hikari.maximum-pool-size}); si no hay permisos espera hasta
+ * {@code taller.admision.espera-ms} y después responde 503 con {@code Retry-After}.
+ * Con hilos virtuales ({@code spring.threads.virtual.enabled=true}) esa espera libera el hilo
+ * del sistema operativo, así que miles de clientes pueden hacer fila sin que Tomcat agote hilos
+ * ni se acumulen esperas dentro del pool de conexiones.
+ * </p>
+ * <p>
+ * Si la petición pasa a modo asíncrono (exportaciones con {@code StreamingResponseBody}) el
+ * permiso se devuelve cuando termina la respuesta, no cuando vuelve el hilo del contenedor.
+ * Por defecto el filtro solo está activo en modo de hilos virtuales ({@code taller.admision.habilitada}).
+ * </p>
+ */
+@Component
+public class AdmisionPeticionesFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmisionPeticionesFilter.class);
+
+    /** Las métricas de admisión se consultan aunque el sistema esté saturado. */
+    private static final String RUTA_METRICAS = "/api/admision";
+
+    private final boolean habilitada;
+    private final int permisos;
+    private final long esperaMs;
+    private final Semaphore semaforo;
+
+    private final AtomicInteger enEspera = new AtomicInteger();
+    private final LongAdder admitidas = new LongAdder();
+    private final LongAdder rechazadas = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+
+    public AdmisionPeticionesFilter(
+            @Value("${taller.admision.habilitada:${spring.threads.virtual.enabled:false}}") boolean habilitada,
+            @Value("${taller.admision.permisos:${spring.datasource.hikari.maximum-pool-size:10}}") int permisos,
+            @Value("${taller.admision.espera-ms:30000}") long esperaMs) {
+        this.habilitada = habilitada;
+        this.permisos = Math.max(permisos, 1);
+        this.esperaMs = Math.max(esperaMs, 0);
+        this.semaforo = new Semaphore(this.permisos, true);
+        if (habilitada) {
+            log.info("Admisión de peticiones activa: {} permisos, espera máxima {} ms", this.permisos, this.esperaMs);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        return !habilitada || !ruta.startsWith("/api/") || ruta.startsWith(RUTA_METRICAS);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!adquirir()) {
+            rechazadas.increment();
+            rechazar(response);
+            return;
+        }
+        admitidas.increment();
+
+        AtomicBoolean liberado = new AtomicBoolean();
+        Runnable liberar = () -> {
+            if (liberado.compareAndSet(false, true)) {
+                semaforo.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new LiberarAlTerminar(liberar));
+            } else {
+                liberar.run();
+            }
+        }
+    }
+
+    /**
+     * Espera un permiso como máximo {@code esperaMs}.
+     *
+     * @return {@code true} si la petición puede continuar
+     */
+    private boolean adquirir() throws ServletException {
+        if (semaforo.tryAcquire()) {
+            return true;
+        }
+        long inicio = System.nanoTime();
+        enEspera.incrementAndGet();
+        try {
+            return semaforo.tryAcquire(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Petición interrumpida mientras esperaba admisión", e);
+        } finally {
+            enEspera.decrementAndGet();
+            esperaTotalNanos.add(System.nanoTime() - inicio);
+        }
+    }
+
+    private void rechazar(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(esperaMs / 1000, 1)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\":\"Servidor ocupado\",\"detalle\":\"No hay conexiones disponibles después de "
+                + esperaMs + " ms\"}");
+    }
+
+    /**
+     * Métricas del control de admisión.
+     *
+     * @return mapa con permisos, peticiones en espera, admitidas, rechazadas y espera promedio
+     */
+    public Map<String, Object> metricas() {
+        long totalAdmitidas = admitidas.sum();
+        long totalRechazadas = rechazadas.sum();
+        long totalPeticiones = totalAdmitidas + totalRechazadas;
+
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("habilitada", habilitada);
+        metricas.put("hilosVirtuales", Thread.currentThread().isVirtual());
+        metricas.put("permisos", permisos);
+        metricas.put("permisosLibres", semaforo.availablePermits());
+        metricas.put("enEspera", enEspera.get());
+        metricas.put("admitidas", totalAdmitidas);
+        metricas.put("rechazadas", totalRechazadas);
+        metricas.put("esperaPromedioMs", totalPeticiones == 0 ? 0.0
+                : esperaTotalNanos.sum() / 1_000_000.0 / totalPeticiones);
+        return metricas;
+    }
+
+    /**
+     * Devuelve el permiso cuando termina una respuesta asíncrona, sea cual sea el desenlace.
+     */
+    private record LiberarAlTerminar(Runnable liberar) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package co.edu.uniquindio.tallermacanico.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita los métodos {@code @Scheduled} de la aplicación
+ * (por ejemplo, la reconciliación periódica de las estadísticas en memoria).
+ */
+@Configuration
+@EnableScheduling
+public class TareasProgramadasConfig {
+}
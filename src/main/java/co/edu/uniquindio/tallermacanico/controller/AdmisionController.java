@@ -0,0 +1,40 @@
+package co.edu.uniquindio.tallermacanico.controller;
+
+import co.edu.uniquindio.tallermacanico.config.AdmisionPeticionesFilter;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Controlador REST para consultar el control de admisión de peticiones.
+ * <p>
+ * Estas rutas no pasan por el semáforo, así que responden incluso con el sistema saturado.
+ * </p>
+ *
+ * <h2>Endpoints:</h2>
+ * <ul>
+ *     <li><b>GET /api/admision/metricas</b> → permisos libres, peticiones en espera, admitidas y rechazadas.</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/admision")
+public class AdmisionController {
+
+    private final AdmisionPeticionesFilter admisionPeticionesFilter;
+
+    public AdmisionController(AdmisionPeticionesFilter admisionPeticionesFilter) {
+        this.admisionPeticionesFilter = admisionPeticionesFilter;
+    }
+
+    /**
+     * Devuelve las métricas del control de admisión.
+     *
+     * @return mapa con las métricas en formato JSON
+     */
+    @GetMapping("/metricas")
+    public Map<String, Object> metricas() {
+        return admisionPeticionesFilter.metricas();
+    }
+}
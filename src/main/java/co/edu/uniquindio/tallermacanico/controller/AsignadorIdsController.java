@@ -0,0 +1,37 @@
+package co.edu.uniquindio.tallermacanico.controller;
+
+import co.edu.uniquindio.tallermacanico.repository.AsignadorIds;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Controlador REST para consultar el uso de los bloques de IDs reservados para cargas masivas.
+ *
+ * <h2>Endpoints:</h2>
+ * <ul>
+ *     <li><b>GET /api/ids/metricas</b> → por tabla: tamaño de bloque, bloques pedidos, IDs entregados y libres.</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/ids")
+public class AsignadorIdsController {
+
+    private final AsignadorIds asignadorIds;
+
+    public AsignadorIdsController(AsignadorIds asignadorIds) {
+        this.asignadorIds = asignadorIds;
+    }
+
+    /**
+     * Devuelve las métricas de uso de los bloques de IDs.
+     *
+     * @return mapa con las métricas por tabla en formato JSON
+     */
+    @GetMapping("/metricas")
+    public Map<String, Object> metricas() {
+        return asignadorIds.metricas();
+    }
+}
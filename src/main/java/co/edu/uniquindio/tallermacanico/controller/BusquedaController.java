@@ -0,0 +1,97 @@
+package co.edu.uniquindio.tallermacanico.controller;
+
+import co.edu.uniquindio.tallermacanico.service.AutocompletadoService;
+import co.edu.uniquindio.tallermacanico.service.BusquedaTextoService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Controlador REST para las búsquedas de recepción, respondidas desde índices en memoria.
+ *
+ * <h2>Endpoints:</h2>
+ * <ul>
+ *     <li><b>GET /api/buscar/autocompletar?q=&amp;limite=</b> → vehículos por prefijo de placa y clientes por prefijo
+ *     de nombre o apellido.</li>
+ *     <li><b>GET /api/buscar/metricas</b> → por índice: filas, términos y reconstrucciones.</li>
+ *     <li><b>GET /api/buscar/texto?q=&amp;tipo=&amp;limite=</b> → diagnósticos de órdenes de trabajo y observaciones
+ *     de supervisión que contienen las palabras, ordenados por relevancia.</li>
+ *     <li><b>GET /api/buscar/texto/metricas</b> → documentos, raíces y tamaño de las listas comprimidas.</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/buscar")
+public class BusquedaController {
+
+    private final AutocompletadoService autocompletadoService;
+    private final BusquedaTextoService busquedaTextoService;
+
+    public BusquedaController(AutocompletadoService autocompletadoService, BusquedaTextoService busquedaTextoService) {
+        this.autocompletadoService = autocompletadoService;
+        this.busquedaTextoService = busquedaTextoService;
+    }
+
+    /**
+     * Sugiere vehículos y clientes mientras se escribe.
+     * <p>Ejemplo: {@code GET /api/buscar/autocompletar?q=abc1&limite=10}</p>
+     *
+     * @param q      placa o nombre parcial
+     * @param limite máximo de sugerencias por tipo
+     * @return {@link co.edu.uniquindio.tallermacanico.dto.AutocompletadoDTO}, o {@code 400 Bad Request} si la
+     * consulta está vacía o el límite no es positivo
+     */
+    @GetMapping("/autocompletar")
+    public ResponseEntity<?> autocompletar(@RequestParam(required = false) String q,
+                                           @RequestParam(defaultValue = "10") int limite) {
+        try {
+            return ResponseEntity.ok(autocompletadoService.autocompletar(q, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Devuelve las métricas de los índices de autocompletado.
+     *
+     * @return mapa con las métricas por índice en formato JSON
+     */
+    @GetMapping("/metricas")
+    public Map<String, Object> metricas() {
+        return autocompletadoService.metricas();
+    }
+
+    /**
+     * Busca palabras en los diagnósticos y las observaciones sin importar tildes, mayúsculas ni plurales.
+     * <p>Ejemplo: {@code GET /api/buscar/texto?q=ruido%20suspension%20delantera&tipo=orden_trabajo}</p>
+     *
+     * @param q      palabras a buscar
+     * @param tipo   {@code orden_trabajo} o {@code supervision}; sin él se busca en ambos
+     * @param limite máximo de resultados
+     * @return lista de {@link co.edu.uniquindio.tallermacanico.dto.ResultadoTextoDTO}, o {@code 400 Bad Request} si
+     * la consulta está vacía, el tipo no existe o el límite no es positivo
+     */
+    @GetMapping("/texto")
+    public ResponseEntity<?> buscarTexto(@RequestParam(required = false) String q,
+                                         @RequestParam(required = false) String tipo,
+                                         @RequestParam(defaultValue = "10") int limite) {
+        try {
+            return ResponseEntity.ok(busquedaTextoService.buscar(q, tipo, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Devuelve las métricas del índice de texto completo.
+     *
+     * @return mapa con las métricas en formato JSON
+     */
+    @GetMapping("/texto/metricas")
+    public Map<String, Object> metricasTexto() {
+        return busquedaTextoService.metricas();
+    }
+}
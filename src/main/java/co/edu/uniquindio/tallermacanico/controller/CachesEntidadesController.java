@@ -0,0 +1,38 @@
+package co.edu.uniquindio.tallermacanico.controller;
+
+import co.edu.uniquindio.tallermacanico.repository.CachesEntidades;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Controlador REST para consultar la caché de entidades de los {@code buscarPorId}.
+ *
+ * <h2>Endpoints:</h2>
+ * <ul>
+ *     <li><b>GET /api/entidades/cache/metricas</b> → por entidad: entradas, aciertos, fallos, tasa de aciertos,
+ *     desalojos y admisiones rechazadas.</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/entidades/cache")
+public class CachesEntidadesController {
+
+    private final CachesEntidades cachesEntidades;
+
+    public CachesEntidadesController(CachesEntidades cachesEntidades) {
+        this.cachesEntidades = cachesEntidades;
+    }
+
+    /**
+     * Devuelve las métricas de la caché de cada entidad.
+     *
+     * @return mapa con las métricas por entidad en formato JSON
+     */
+    @GetMapping("/metricas")
+    public Map<String, Object> metricas() {
+        return cachesEntidades.metricas();
+    }
+}
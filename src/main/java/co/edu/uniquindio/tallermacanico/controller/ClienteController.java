@@ -1,12 +1,14 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
 import co.edu.uniquindio.tallermacanico.dto.ApiErrorResponse;
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Cliente;
 import co.edu.uniquindio.tallermacanico.repository.ClienteRepository;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/clientes")
@@ -26,6 +28,24 @@ public class ClienteController {
         return ResponseEntity.ok(clienteRepository.listarClientes());
     }
 
+    /**
+     * Obtiene una página de clientes usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/clientes/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> obtenerClientesPaginados(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(clienteRepository.listarClientesPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Registra un nuevo cliente y devuelve el ID generado.
      */
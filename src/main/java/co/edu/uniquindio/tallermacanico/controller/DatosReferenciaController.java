@@ -0,0 +1,37 @@
+package co.edu.uniquindio.tallermacanico.controller;
+
+import co.edu.uniquindio.tallermacanico.repository.DatosReferencia;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Controlador REST para consultar las tablas de referencia mantenidas en memoria.
+ *
+ * <h2>Endpoints:</h2>
+ * <ul>
+ *     <li><b>GET /api/referencia/metricas</b> → por tabla: filas en memoria, recargas hechas y tipo de índice.</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/referencia")
+public class DatosReferenciaController {
+
+    private final DatosReferencia datosReferencia;
+
+    public DatosReferenciaController(DatosReferencia datosReferencia) {
+        this.datosReferencia = datosReferencia;
+    }
+
+    /**
+     * Devuelve las métricas de las tablas de referencia.
+     *
+     * @return mapa con las métricas por tabla en formato JSON
+     */
+    @GetMapping("/metricas")
+    public Map<String, Object> metricas() {
+        return datosReferencia.metricas();
+    }
+}
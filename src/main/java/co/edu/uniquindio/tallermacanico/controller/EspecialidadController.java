@@ -1,5 +1,6 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Especialidad;
 import co.edu.uniquindio.tallermacanico.service.EspecialidadService;
 import jakarta.validation.Valid;
@@ -27,6 +28,24 @@ public class EspecialidadController {
         return ResponseEntity.ok(especialidadService.listarEspecialidades());
     }
 
+    /**
+     * Obtiene una página de especialidades usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/especialidades/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> listarEspecialidadesPaginadas(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(especialidadService.listarEspecialidadesPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> obtenerPorId(@PathVariable int id) {
         Especialidad especialidad = especialidadService.buscarPorId(id);
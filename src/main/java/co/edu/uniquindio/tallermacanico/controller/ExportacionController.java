@@ -0,0 +1,68 @@
+package co.edu.uniquindio.tallermacanico.controller;
+
+import co.edu.uniquindio.tallermacanico.service.ExportacionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Controlador REST para la exportación masiva de tablas (extracción BI nocturna).
+ * <p>
+ * Las filas se escriben en la respuesta a medida que se leen del cursor JDBC, por lo que
+ * el consumo de memoria es constante sin importar el tamaño de la tabla.
+ * </p>
+ *
+ * <p>Ruta base: {@code /api/export}</p>
+ *
+ * <p><b>Ejemplos de uso:</b></p>
+ * <pre>
+ * GET /api/export/factura
+ * GET /api/export/movimiento-inventario?formato=csv
+ * </pre>
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportacionController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private final ExportacionService exportacionService;
+
+    public ExportacionController(ExportacionService exportacionService) {
+        this.exportacionService = exportacionService;
+    }
+
+    /**
+     * Exporta todas las filas de una tabla como NDJSON (por defecto) o CSV.
+     *
+     * @param entidad nombre de la tabla, con guion o guion bajo (ej. {@code orden-servicio})
+     * @param formato {@code ndjson} o {@code csv}
+     * @return cuerpo que se escribe de forma incremental en la respuesta
+     * @throws ResponseStatusException 404 si la entidad no es exportable, 400 si el formato no es válido
+     */
+    @GetMapping("/{entidad}")
+    public ResponseEntity<StreamingResponseBody> exportar(@PathVariable String entidad,
+                                                          @RequestParam(defaultValue = "ndjson") String formato) {
+        String tabla = exportacionService.resolverTabla(entidad);
+        if (tabla == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entidad no exportable: " + entidad);
+        }
+        if (!exportacionService.esFormatoValido(formato)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El formato debe ser 'ndjson' o 'csv'");
+        }
+
+        boolean csv = ExportacionService.FORMATO_CSV.equalsIgnoreCase(formato);
+        StreamingResponseBody cuerpo = salida -> exportacionService.exportar(tabla, formato, salida);
+
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + tabla + (csv ? ".csv" : ".ndjson"))
+                .body(cuerpo);
+    }
+}
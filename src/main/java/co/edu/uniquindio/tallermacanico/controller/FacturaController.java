@@ -1,12 +1,15 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
 import co.edu.uniquindio.tallermacanico.dto.ApiErrorResponse;
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Factura;
 import co.edu.uniquindio.tallermacanico.repository.FacturaRepository;
+import co.edu.uniquindio.tallermacanico.service.FacturaService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST para gestionar las operaciones relacionadas con las facturas.
@@ -22,14 +25,18 @@ import java.util.List;
 public class FacturaController {
 
     private final FacturaRepository facturaRepository;
+    private final FacturaService facturaService;
 
     /**
-     * Constructor que inyecta el repositorio de facturas.
+     * Constructor que inyecta el repositorio de facturas, usado en las consultas, y el servicio, que valida los
+     * registros y eliminaciones y mantiene al día las estadísticas en memoria.
      *
      * @param facturaRepository repositorio encargado de las operaciones sobre la tabla factura
+     * @param facturaService    servicio de facturas
      */
-    public FacturaController(FacturaRepository facturaRepository) {
+    public FacturaController(FacturaRepository facturaRepository, FacturaService facturaService) {
         this.facturaRepository = facturaRepository;
+        this.facturaService = facturaService;
     }
 
     /**
@@ -42,6 +49,24 @@ public class FacturaController {
         return ResponseEntity.ok(facturaRepository.listarFacturas());
     }
 
+    /**
+     * Obtiene una página de facturas usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/facturas/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> obtenerFacturasPaginadas(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(facturaRepository.listarFacturasPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Busca una factura por su identificador único.
      *
@@ -62,13 +87,17 @@ public class FacturaController {
      * Registra una nueva factura en la base de datos.
      *
      * @param factura objeto Factura con los datos a insertar
-     * @return ResponseEntity con la factura registrada (incluyendo el ID generado) y código HTTP 200
+     * @return ResponseEntity con la factura registrada (incluyendo el ID generado) y código HTTP 200,
+     *         o {@code 400 Bad Request} si los datos son inválidos
      */
     @PostMapping
-    public ResponseEntity<Factura> registrarFactura(@RequestBody Factura factura) {
-        int idGenerado = facturaRepository.registrarFactura(factura);
-        factura.setIdFactura(idGenerado);
-        return ResponseEntity.ok(factura);
+    public ResponseEntity<?> registrarFactura(@RequestBody Factura factura) {
+        try {
+            facturaService.registrarFactura(factura);
+            return ResponseEntity.ok(factura);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     /**
@@ -80,8 +109,7 @@ public class FacturaController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> eliminarFactura(@PathVariable int id) {
-        boolean eliminado = facturaRepository.eliminarFactura(id);
-        if (eliminado) {
+        if (id > 0 && facturaService.eliminarFactura(id)) {
             return ResponseEntity.ok("Factura eliminada correctamente");
         }
         return ResponseEntity.status(404).body(new ApiErrorResponse("Factura no encontrada", "ID: " + id));
@@ -0,0 +1,130 @@
+package co.edu.uniquindio.tallermacanico.controller;
+
+import co.edu.uniquindio.tallermacanico.dto.ApiErrorResponse;
+import co.edu.uniquindio.tallermacanico.dto.TrabajoImportacionDTO;
+import co.edu.uniquindio.tallermacanico.service.ImportacionService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Controlador REST para la importación masiva de clientes y vehículos desde CSV.
+ * <p>
+ * El archivo se recibe en el cuerpo de la petición, se guarda en disco y se importa en segundo plano;
+ * el cliente consulta el avance con el id devuelto y, al terminar, descarga el reporte de filas rechazadas.
+ * El formato del archivo se describe en {@link ImportacionService}.
+ * </p>
+ *
+ * <h2>Endpoints:</h2>
+ * <ul>
+ *     <li><b>POST /api/importacion/clientes-vehiculos</b> → recibe el CSV y encola la importación (202 Accepted).</li>
+ *     <li><b>GET /api/importacion/{id}</b> → avance: bytes y filas procesadas, registrados y rechazados.</li>
+ *     <li><b>GET /api/importacion/{id}/rechazos</b> → CSV con la línea, el tipo y el motivo de cada fila rechazada.</li>
+ *     <li><b>GET /api/importacion/metricas</b> → contadores de importaciones.</li>
+ * </ul>
+ *
+ * <p><b>Ejemplo de uso:</b></p>
+ * <pre>
+ * curl -X POST -H "Content-Type: text/csv" --data-binary @flota.csv \
+ *      "http://localhost:8080/api/importacion/clientes-vehiculos?separador=;"
+ * </pre>
+ */
+@RestController
+@RequestMapping("/api/importacion")
+public class ImportacionController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private final ImportacionService importacionService;
+
+    public ImportacionController(ImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+
+    /**
+     * Recibe el archivo CSV y encola su importación.
+     *
+     * @param cuerpo    contenido del archivo en UTF-8
+     * @param separador separador de campos, {@code ,} (por defecto) o {@code ;}
+     * @return 202 con el avance inicial y su URL en {@code Location}; 400 si el archivo no es válido
+     *         o 503 si ya hay demasiadas importaciones en curso
+     */
+    @PostMapping(value = "/clientes-vehiculos", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> importar(InputStream cuerpo, @RequestParam(defaultValue = ",") String separador) {
+        if (separador.length() != 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "El separador debe ser ',' o ';'"));
+        }
+        try {
+            TrabajoImportacionDTO trabajo = importacionService.encolar(cuerpo, separador.charAt(0));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/importacion/" + trabajo.getId()))
+                    .body(trabajo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(new ApiErrorResponse("Importaciones en curso", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "No se pudo recibir el archivo: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Devuelve las métricas de las importaciones.
+     *
+     * @return mapa con las métricas en formato JSON
+     */
+    @GetMapping("/metricas")
+    public Map<String, Object> metricas() {
+        return importacionService.metricas();
+    }
+
+    /**
+     * Consulta el avance de una importación.
+     *
+     * @param id identificador de la importación
+     * @return 200 con el avance, o 404 si no existe o ya se borró
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> consultar(@PathVariable String id) {
+        TrabajoImportacionDTO trabajo = importacionService.consultar(id);
+        if (trabajo != null) {
+            return ResponseEntity.ok(trabajo);
+        }
+        return ResponseEntity.status(404).body(new ApiErrorResponse("Importación no encontrada", "ID: " + id));
+    }
+
+    /**
+     * Descarga el reporte de filas rechazadas de una importación terminada.
+     *
+     * @param id identificador de la importación
+     * @return 200 con el CSV, 409 con el avance si todavía no termina, o 404 si no existe
+     */
+    @GetMapping("/{id}/rechazos")
+    public ResponseEntity<?> rechazos(@PathVariable String id) {
+        TrabajoImportacionDTO trabajo = importacionService.consultar(id);
+        if (trabajo == null) {
+            return ResponseEntity.status(404).body(new ApiErrorResponse("Importación no encontrada", "ID: " + id));
+        }
+        Path archivo = importacionService.rechazos(id);
+        if (archivo == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(trabajo);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(TEXT_CSV);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=rechazos-" + id + ".csv");
+        return new ResponseEntity<>(new FileSystemResource(archivo), headers, HttpStatus.OK);
+    }
+}
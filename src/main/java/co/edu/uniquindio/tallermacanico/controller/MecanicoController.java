@@ -1,5 +1,6 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Mecanico;
 import co.edu.uniquindio.tallermacanico.repository.MecanicoRepository;
 import jakarta.validation.Valid;
@@ -7,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/mecanicos")
@@ -24,6 +26,24 @@ public class MecanicoController {
         return ResponseEntity.ok(mecanicoRepository.listarMecanicos());
     }
 
+    /**
+     * Obtiene una página de mecánicos usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/mecanicos/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> obtenerMecanicosPaginados(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(mecanicoRepository.listarMecanicosPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Registrar nuevo mecánico con validación
     @PostMapping
     public ResponseEntity<Mecanico> registrarMecanico(@RequestBody @Valid Mecanico mecanico) {
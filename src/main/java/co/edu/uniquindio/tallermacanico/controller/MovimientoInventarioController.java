@@ -1,31 +1,42 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
 import co.edu.uniquindio.tallermacanico.service.MovimientoInventarioService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Controlador REST para gestionar los movimientos de inventario (entrada, salida y ajuste de repuestos).
- * Expone endpoints para listar, registrar, consultar y eliminar movimientos.
+ * Expone endpoints para listar, registrar y consultar movimientos; los movimientos no se eliminan, se compensan.
  *
  * <p>Ruta base: {@code /api/movimiento-inventario}</p>
  *
  * <p>Relación con la base de datos:</p>
  * - Utiliza la tabla {@code movimiento_inventario} con campos: id_movimiento, id_repuesto, tipo_movimiento, cantidad, fecha_movimiento, referencia, observaciones.
- * - El campo {@code id_movimiento} se genera automáticamente mediante identidad.
+ * - El campo {@code id_movimiento} se toma de la secuencia {@code seq_movimiento_inventario}.
  */
 @RestController
 @RequestMapping("/api/movimiento-inventario")
 public class MovimientoInventarioController {
 
     private final MovimientoInventarioService movimientoInventarioService;
+    private final ObjectMapper objectMapper;
 
-    public MovimientoInventarioController(MovimientoInventarioService movimientoInventarioService) {
+    public MovimientoInventarioController(MovimientoInventarioService movimientoInventarioService,
+                                          ObjectMapper objectMapper) {
         this.movimientoInventarioService = movimientoInventarioService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -38,6 +49,24 @@ public class MovimientoInventarioController {
         return ResponseEntity.ok(movimientoInventarioService.listarMovimientos());
     }
 
+    /**
+     * Obtiene una página de movimientos de inventario usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/movimiento-inventario/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> listarPagina(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(movimientoInventarioService.listarMovimientosPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Consulta un movimiento por su identificador único.
      *
@@ -70,10 +99,70 @@ public class MovimientoInventarioController {
     }
 
     /**
-     * Elimina un movimiento de inventario por su identificador.
+     * Registra un lote de movimientos (conteos de inventario, entregas de proveedores) en una sola transacción.
+     * <p>
+     * Acepta un arreglo JSON o un flujo NDJSON (un movimiento por línea, {@code application/x-ndjson});
+     * el cuerpo se lee completo (hasta {@code taller.inventario.lote.max-movimientos} elementos) antes de abrir la
+     * transacción, que solo inserta, por bloques de {@code taller.inventario.lote.tamanio-bloque}.
+     * Los movimientos inválidos se rechazan uno a uno y los demás se registran juntos.
+     * </p>
+     * <p>Ejemplo: {@code POST /api/movimiento-inventario/lote} con {@code [{...}, {...}]}</p>
+     *
+     * @param cuerpo cuerpo de la petición
+     * @return resultado por elemento (ID asignado o error) con los totales, o {@code 400 Bad Request}
+     *         si el cuerpo no se puede leer o el lote supera el máximo (en ese caso no se registra nada)
+     */
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<?> registrarLote(InputStream cuerpo) {
+        try (MappingIterator<MovimientoInventario> elementos =
+                     objectMapper.readerFor(MovimientoInventario.class).readValues(cuerpo)) {
+            return ResponseEntity.ok(movimientoInventarioService.registrarLote(new LectorLote(elementos)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "El cuerpo del lote no es JSON válido: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Convierte los errores de lectura de un elemento en {@link IllegalArgumentException} con su posición,
+     * para que el servicio revierta el lote y el controlador responda 400.
+     */
+    private static final class LectorLote implements Iterator<MovimientoInventario> {
+        private final MappingIterator<MovimientoInventario> elementos;
+        private int indice;
+
+        LectorLote(MappingIterator<MovimientoInventario> elementos) {
+            this.elementos = elementos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return elementos.hasNextValue();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("El elemento " + indice + " del lote no es JSON válido: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public MovimientoInventario next() {
+            try {
+                return elementos.nextValue();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("El elemento " + indice + " del lote no es válido: " + e.getMessage(), e);
+            } finally {
+                indice++;
+            }
+        }
+    }
+
+    /**
+     * Rechaza la eliminación de un movimiento de inventario: el stock de los repuestos sale del libro de
+     * movimientos, así que uno equivocado se corrige registrando otro que lo compense.
      *
      * @param id identificador del movimiento
-     * @return mensaje de confirmación o {@code 404 Not Found} si no existe
+     * @return {@code 409 Conflict} con el motivo, o {@code 404 Not Found} si no existe
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> eliminar(@PathVariable int id) {
@@ -81,7 +170,11 @@ public class MovimientoInventarioController {
         if (movimiento == null) {
             return ResponseEntity.notFound().build();
         }
-        movimientoInventarioService.eliminarMovimiento(id);
-        return ResponseEntity.ok(Map.of("mensaje", "Movimiento eliminado correctamente"));
+        try {
+            movimientoInventarioService.eliminarMovimiento(id);
+            return ResponseEntity.ok(Map.of("mensaje", "Movimiento eliminado correctamente"));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
     }
 }
@@ -1,12 +1,14 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
 import co.edu.uniquindio.tallermacanico.service.OrdenServicioService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST para gestionar las órdenes de servicio.
@@ -26,6 +28,24 @@ public class OrdenServicioController {
         return ResponseEntity.ok(ordenServicioService.listarOrdenesServicio());
     }
 
+    /**
+     * Obtiene una página de órdenes de servicio usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/orden-servicio/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> listarPagina(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(ordenServicioService.listarOrdenesServicioPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrdenServicio> buscar(@PathVariable int id) {
         return ResponseEntity.ok(ordenServicioService.buscarPorId(id));
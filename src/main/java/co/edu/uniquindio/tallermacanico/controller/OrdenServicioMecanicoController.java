@@ -1,5 +1,6 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenServicioMecanico;
 import co.edu.uniquindio.tallermacanico.service.OrdenServicioMecanicoService;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +31,24 @@ public class OrdenServicioMecanicoController {
         return ResponseEntity.ok(ordenServicioMecanicoService.listarAsignaciones());
     }
 
+    /**
+     * Obtiene una página de asignaciones usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/orden-servicio-mecanico/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> listarPagina(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(ordenServicioMecanicoService.listarAsignacionesPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Busca una asignación específica por ID de orden-servicio y ID de mecánico.
      * @param idOrdenServicio ID del servicio
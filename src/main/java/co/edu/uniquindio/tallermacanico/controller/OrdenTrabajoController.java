@@ -1,13 +1,25 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
+import co.edu.uniquindio.tallermacanico.dto.ApiErrorResponse;
+import co.edu.uniquindio.tallermacanico.dto.DetalleOrdenDTO;
+import co.edu.uniquindio.tallermacanico.dto.OrdenTrabajoCompuestaDTO;
 import co.edu.uniquindio.tallermacanico.dto.OrdenTrabajoDTO;
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenTrabajo;
+import co.edu.uniquindio.tallermacanico.model.Vehiculo;
+import co.edu.uniquindio.tallermacanico.repository.CargadorLotes;
+import co.edu.uniquindio.tallermacanico.repository.CargadoresPeticion;
 import co.edu.uniquindio.tallermacanico.repository.EstadoOrdenRepository;
 import co.edu.uniquindio.tallermacanico.repository.OrdenTrabajoRepository;
+import co.edu.uniquindio.tallermacanico.service.DetalleOrdenService;
+import co.edu.uniquindio.tallermacanico.service.OrdenTrabajoService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -15,11 +27,20 @@ import java.util.stream.Collectors;
 public class OrdenTrabajoController {
     private final OrdenTrabajoRepository ordenTrabajoRepository;
     private final EstadoOrdenRepository estadoOrdenRepository;
+    private final OrdenTrabajoService ordenTrabajoService;
+    private final DetalleOrdenService detalleOrdenService;
+    private final CargadoresPeticion cargadoresPeticion;
 
     public OrdenTrabajoController(OrdenTrabajoRepository ordenTrabajoRepository,
-                                  EstadoOrdenRepository estadoOrdenRepository) {
+                                  EstadoOrdenRepository estadoOrdenRepository,
+                                  OrdenTrabajoService ordenTrabajoService,
+                                  DetalleOrdenService detalleOrdenService,
+                                  CargadoresPeticion cargadoresPeticion) {
         this.ordenTrabajoRepository = ordenTrabajoRepository;
         this.estadoOrdenRepository = estadoOrdenRepository;
+        this.ordenTrabajoService = ordenTrabajoService;
+        this.detalleOrdenService = detalleOrdenService;
+        this.cargadoresPeticion = cargadoresPeticion;
     }
 
     @GetMapping
@@ -40,4 +61,124 @@ public class OrdenTrabajoController {
         return ResponseEntity.ok(dtos);
     }
 
+    /**
+     * Obtiene una página de órdenes de trabajo usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/ordenes/pagina?tamanio=50&cursor=...&conVehiculo=true}</p>
+     * <p>
+     * Con {@code conVehiculo} los vehículos de toda la página se traen en un solo lote, así que la página
+     * cuesta dos consultas y no una más por orden.
+     * </p>
+     *
+     * @param cursor      cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio     número de registros por página
+     * @param conVehiculo si se incluye el vehículo de cada orden
+     * @return {@link PaginaDTO} de {@link OrdenTrabajoDTO}, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> obtenerOrdenesPaginadas(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "50") int tamanio,
+                                                     @RequestParam(defaultValue = "false") boolean conVehiculo) {
+        PaginaDTO<OrdenTrabajo> pagina;
+        try {
+            pagina = ordenTrabajoRepository.listarOrdenesTrabajoPagina(cursor, tamanio);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        List<OrdenTrabajoDTO> dtos = pagina.getItems().stream()
+                .map(orden -> new OrdenTrabajoDTO(
+                        orden.getIdOrdenTrabajo(),
+                        orden.getIdVehiculo(),
+                        orden.getFechaIngreso(),
+                        orden.getFechaSalida(),
+                        orden.getDiagnosticoInicial(),
+                        estadoOrdenRepository.obtenerNombrePorId(orden.getIdEstadoOrden())
+                ))
+                .collect(Collectors.toList());
+
+        if (conVehiculo) {
+            // Se encolan todos los vehículos antes de leer el primero, para que salgan en un solo lote
+            CargadorLotes<Vehiculo> vehiculos = cargadoresPeticion.vehiculos();
+            List<Supplier<Vehiculo>> pendientes = dtos.stream()
+                    .map(dto -> vehiculos.cargar(dto.getIdVehiculo()))
+                    .toList();
+            for (int i = 0; i < dtos.size(); i++) {
+                dtos.get(i).setVehiculo(pendientes.get(i).get());
+            }
+        }
+
+        return ResponseEntity.ok(new PaginaDTO<>(dtos, pagina.getSiguienteCursor(), pagina.getTamanio()));
+    }
+
+    /**
+     * Busca una orden de trabajo por su ID, con el nombre de su estado.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> buscarPorId(@PathVariable int id) {
+        OrdenTrabajo orden = ordenTrabajoRepository.buscarPorId(id);
+        if (orden == null) {
+            return ResponseEntity.status(404).body(
+                    new ApiErrorResponse(
+                            "Orden de trabajo no encontrada",
+                            "ID: " + id + ". Consulta /api/ordenes para ver las disponibles."
+                    )
+            );
+        }
+        return ResponseEntity.ok(new OrdenTrabajoDTO(
+                orden.getIdOrdenTrabajo(),
+                orden.getIdVehiculo(),
+                orden.getFechaIngreso(),
+                orden.getFechaSalida(),
+                orden.getDiagnosticoInicial(),
+                estadoOrdenRepository.obtenerNombrePorId(orden.getIdEstadoOrden())
+        ));
+    }
+
+    /**
+     * Obtiene el detalle completo de una orden en una sola petición: la orden con su estado, el vehículo,
+     * el cliente, los servicios con sus mecánicos, los repuestos usados y las facturas.
+     * <p>Ejemplo: {@code GET /api/ordenes/15/detalle?incluir=vehiculo,servicios,mecanicos}</p>
+     *
+     * @param id      identificador de la orden
+     * @param incluir secciones separadas por comas (vehiculo, cliente, servicios, mecanicos, repuestos, facturas);
+     *                si se omite se incluyen todas
+     * @return {@link DetalleOrdenDTO}, {@code 404 Not Found} si la orden no existe o {@code 400 Bad Request}
+     * si alguna sección es inválida
+     */
+    @GetMapping("/{id}/detalle")
+    public ResponseEntity<?> obtenerDetalle(@PathVariable int id, @RequestParam(required = false) String incluir) {
+        DetalleOrdenDTO detalle;
+        try {
+            detalle = detalleOrdenService.obtenerDetalle(id, incluir);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        if (detalle == null) {
+            return ResponseEntity.status(404).body(
+                    new ApiErrorResponse(
+                            "Orden de trabajo no encontrada",
+                            "ID: " + id + ". Consulta /api/ordenes para ver las disponibles."
+                    )
+            );
+        }
+        return ResponseEntity.ok(detalle);
+    }
+
+    /**
+     * Abre una orden de trabajo con sus servicios y mecánicos asignados en una sola petición y transacción,
+     * en lugar de un POST por la orden, uno por cada servicio y uno por cada asignación.
+     * <p>Ejemplo: {@code POST /api/ordenes/completa} (ver {@link OrdenTrabajoCompuestaDTO})</p>
+     *
+     * @param ordenCompuesta orden con sus servicios y asignaciones
+     * @return {@code 201 Created} con las claves generadas, o {@code 400 Bad Request} si algún dato es inválido
+     */
+    @PostMapping("/completa")
+    public ResponseEntity<?> registrarOrdenCompuesta(@RequestBody OrdenTrabajoCompuestaDTO ordenCompuesta) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(ordenTrabajoService.registrarOrdenCompuesta(ordenCompuesta));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
 }
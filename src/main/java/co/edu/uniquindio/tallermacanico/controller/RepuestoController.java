@@ -1,15 +1,26 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
+import co.edu.uniquindio.tallermacanico.dto.AlertaStockDTO;
+import co.edu.uniquindio.tallermacanico.dto.ApiErrorResponse;
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.dto.StockFechaDTO;
 import co.edu.uniquindio.tallermacanico.model.Repuesto;
 import co.edu.uniquindio.tallermacanico.repository.RepuestoRepository;
+import co.edu.uniquindio.tallermacanico.service.AlertasStock;
+import co.edu.uniquindio.tallermacanico.service.CortesStock;
+import co.edu.uniquindio.tallermacanico.service.RepuestoService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST para gestionar operaciones sobre los repuestos del taller.
- * Expone endpoints para listar, registrar, consultar, eliminar y actualizar stock.
+ * Expone endpoints para listar, registrar, consultar, eliminar y actualizar stock,
+ * y para consultar el stock que tenía un repuesto en una fecha pasada y las alertas de stock bajo.
  *
  * <p>Ruta base: {@code /api/repuestos}</p>
  *
@@ -27,9 +38,16 @@ import java.util.List;
 public class RepuestoController {
 
     private final RepuestoRepository repuestoRepository;
+    private final RepuestoService repuestoService;
+    private final CortesStock cortesStock;
+    private final AlertasStock alertasStock;
 
-    public RepuestoController(RepuestoRepository repuestoRepository) {
+    public RepuestoController(RepuestoRepository repuestoRepository, RepuestoService repuestoService,
+                              CortesStock cortesStock, AlertasStock alertasStock) {
         this.repuestoRepository = repuestoRepository;
+        this.repuestoService = repuestoService;
+        this.cortesStock = cortesStock;
+        this.alertasStock = alertasStock;
     }
 
     /**
@@ -42,13 +60,53 @@ public class RepuestoController {
         return ResponseEntity.ok(repuestoRepository.listarRepuestos());
     }
 
+    /**
+     * Obtiene una página de repuestos usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/repuestos/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> obtenerRepuestosPaginados(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(repuestoRepository.listarRepuestosPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Lista los repuestos con stock bajo según su consumo reciente, con la cantidad sugerida para reponer.
+     * Se responde desde memoria (ver {@link AlertasStock}).
+     *
+     * @return alertas ordenadas por días de cobertura, o {@code 503 Service Unavailable} si aún no se cargan
+     */
+    @GetMapping("/alertas")
+    public ResponseEntity<?> obtenerAlertas() {
+        if (!alertasStock.estaListo()) {
+            return ResponseEntity.status(503)
+                    .body(new ApiErrorResponse("Alertas no disponibles", "El detector de stock aún no se ha cargado"));
+        }
+        List<AlertaStockDTO> alertas = alertasStock.alertas();
+        return ResponseEntity.ok(alertas);
+    }
+
+    /**
+     * Registra un repuesto; el stock inicial queda en el libro de movimientos como un ajuste.
+     *
+     * @param repuesto datos del repuesto
+     * @return mensaje de confirmación, o {@code 400 Bad Request} si el stock inicial es negativo
+     */
     @PostMapping
     public ResponseEntity<String> crearRepuesto(@RequestBody Repuesto repuesto) {
-        int filasAfectadas = repuestoRepository.crearRepuesto(repuesto);
-        if (filasAfectadas > 0) {
+        try {
+            repuestoService.registrarRepuesto(repuesto);
             return ResponseEntity.ok("Repuesto creado exitosamente");
-        } else {
-            return ResponseEntity.badRequest().body("No se pudo crear el repuesto");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     @GetMapping("/{id}")
@@ -60,6 +118,26 @@ public class RepuestoController {
             return ResponseEntity.notFound().build();
         }
     }
+    /**
+     * Consulta el stock que tenía un repuesto al cierre de una fecha, según sus movimientos de inventario.
+     * Parte del corte periódico más cercano y solo recorre los movimientos posteriores (ver {@link CortesStock}).
+     * <p>Ejemplo: {@code GET /api/repuestos/5/stock?fecha=2025-06-30}</p>
+     *
+     * @param id    identificador del repuesto
+     * @param fecha fecha de la consulta en formato ISO; por defecto, hoy
+     * @return {@link StockFechaDTO} con el stock a esa fecha, o {@code 404 Not Found} si el repuesto no existe
+     */
+    @GetMapping("/{id}/stock")
+    public ResponseEntity<?> obtenerStockEnFecha(@PathVariable int id,
+                                                 @RequestParam(required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        StockFechaDTO stock = cortesStock.consultar(id, fecha != null ? fecha : LocalDate.now());
+        if (stock == null) {
+            return ResponseEntity.status(404).body(new ApiErrorResponse("Repuesto no encontrado", "ID: " + id));
+        }
+        return ResponseEntity.ok(stock);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<String> actualizarRepuesto(@PathVariable int id, @RequestBody Repuesto repuesto) {
         int filas = repuestoRepository.actualizarRepuesto(id, repuesto);
@@ -1,5 +1,7 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.dto.ReajustePreciosDTO;
 import co.edu.uniquindio.tallermacanico.model.Servicio;
 import co.edu.uniquindio.tallermacanico.service.ServicioService;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +38,24 @@ public class ServicioController {
         return ResponseEntity.ok(servicioService.listarServicios());
     }
 
+    /**
+     * Obtiene una página de servicios usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/servicios/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> obtenerServiciosPaginados(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(servicioService.listarServiciosPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Registra un nuevo servicio en la base de datos.
      *
@@ -97,7 +117,21 @@ public class ServicioController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
-}
-
-
 
+    /**
+     * Reajusta el precio base de muchos servicios en una sola transacción (cambio trimestral de tarifas).
+     * <p>Ejemplos: {@code {"precios": {"1": 95000, "4": 120000}}} o {@code {"porcentaje": 8.5, "patronNombre": "cambio de%"}}</p>
+     *
+     * @param reajuste precios por ID, o porcentaje y patrón de nombre
+     * @return resumen con los servicios actualizados, los IDs no encontrados y los totales antes y después,
+     *         o {@code 400 Bad Request} si los datos son inválidos
+     */
+    @PatchMapping("/precios")
+    public ResponseEntity<?> reajustarPrecios(@RequestBody ReajustePreciosDTO reajuste) {
+        try {
+            return ResponseEntity.ok(servicioService.reajustarPrecios(reajuste));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Supervision;
 import co.edu.uniquindio.tallermacanico.service.SupervisionService;
 import org.springframework.http.ResponseEntity;
@@ -38,6 +39,24 @@ public class SupervisionController {
         return ResponseEntity.ok(supervisionService.listarSupervisiones());
     }
 
+    /**
+     * Obtiene una página de supervisiones usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/supervision/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> listarPagina(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(supervisionService.listarSupervisionesPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Consulta una supervisión específica por IDs compuestos.
      *
@@ -1,11 +1,14 @@
 package co.edu.uniquindio.tallermacanico.controller;
 
+import co.edu.uniquindio.tallermacanico.dto.ApiErrorResponse;
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Vehiculo;
 import co.edu.uniquindio.tallermacanico.repository.VehiculoRepository;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/vehiculos")
@@ -22,6 +25,41 @@ public class VehiculoController {
         return ResponseEntity.ok(vehiculoRepository.listarVehiculos());
     }
 
+    /**
+     * Obtiene una página de vehículos usando paginación por cursor sobre la clave primaria.
+     * <p>Ejemplo: {@code GET /api/vehiculos/pagina?tamanio=50&cursor=...}</p>
+     *
+     * @param cursor  cursor devuelto en {@code siguienteCursor} por la página anterior (opcional)
+     * @param tamanio número de registros por página
+     * @return {@link PaginaDTO} con los registros y el cursor siguiente, o {@code 400 Bad Request} si el cursor es inválido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<?> obtenerVehiculosPaginados(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "50") int tamanio) {
+        try {
+            return ResponseEntity.ok(vehiculoRepository.listarVehiculosPagina(cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Busca un vehículo por su ID.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> buscarPorId(@PathVariable int id) {
+        Vehiculo vehiculo = vehiculoRepository.buscarPorId(id);
+        if (vehiculo != null) {
+            return ResponseEntity.ok(vehiculo);
+        }
+        return ResponseEntity.status(404).body(
+                new ApiErrorResponse(
+                        "Vehículo no encontrado",
+                        "ID: " + id + ". Verifica si el vehículo fue registrado o consulta /api/vehiculos para ver los disponibles."
+                )
+        );
+    }
+
     @PostMapping
     public ResponseEntity<String> registrarVehiculo(@RequestBody Vehiculo vehiculo) {
         vehiculoRepository.registrarVehiculo(vehiculo);
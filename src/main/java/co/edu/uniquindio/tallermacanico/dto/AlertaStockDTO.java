@@ -0,0 +1,110 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+/**
+ * DTO con una alerta de stock bajo y la sugerencia de reposición de un repuesto.
+ * <p>
+ * {@code nivel} es {@code AGOTADO} (sin stock) o {@code BAJO} (stock en o bajo el punto de reorden).
+ * {@code consumoDiario} es el promedio móvil exponencial de las salidas, en unidades por día;
+ * {@code diasCobertura} es cuántos días alcanza el stock a ese ritmo y {@code cantidadSugerida}
+ * lo que habría que pedir para cubrir el plazo de entrega, el margen de seguridad y el periodo de cobertura.
+ * </p>
+ */
+public class AlertaStockDTO {
+
+    private int idRepuesto;
+    private String nombre;
+    private String unidadMedida;
+    private String nivel;
+    private double stockActual;
+    private double consumoDiario;
+    private double puntoReorden;
+    private double diasCobertura;
+    private double cantidadSugerida;
+
+    public AlertaStockDTO() {}
+
+    public AlertaStockDTO(int idRepuesto, String nombre, String unidadMedida, String nivel, double stockActual,
+                          double consumoDiario, double puntoReorden, double diasCobertura, double cantidadSugerida) {
+        this.idRepuesto = idRepuesto;
+        this.nombre = nombre;
+        this.unidadMedida = unidadMedida;
+        this.nivel = nivel;
+        this.stockActual = stockActual;
+        this.consumoDiario = consumoDiario;
+        this.puntoReorden = puntoReorden;
+        this.diasCobertura = diasCobertura;
+        this.cantidadSugerida = cantidadSugerida;
+    }
+
+    public int getIdRepuesto() {
+        return idRepuesto;
+    }
+
+    public void setIdRepuesto(int idRepuesto) {
+        this.idRepuesto = idRepuesto;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getUnidadMedida() {
+        return unidadMedida;
+    }
+
+    public void setUnidadMedida(String unidadMedida) {
+        this.unidadMedida = unidadMedida;
+    }
+
+    public String getNivel() {
+        return nivel;
+    }
+
+    public void setNivel(String nivel) {
+        this.nivel = nivel;
+    }
+
+    public double getStockActual() {
+        return stockActual;
+    }
+
+    public void setStockActual(double stockActual) {
+        this.stockActual = stockActual;
+    }
+
+    public double getConsumoDiario() {
+        return consumoDiario;
+    }
+
+    public void setConsumoDiario(double consumoDiario) {
+        this.consumoDiario = consumoDiario;
+    }
+
+    public double getPuntoReorden() {
+        return puntoReorden;
+    }
+
+    public void setPuntoReorden(double puntoReorden) {
+        this.puntoReorden = puntoReorden;
+    }
+
+    public double getDiasCobertura() {
+        return diasCobertura;
+    }
+
+    public void setDiasCobertura(double diasCobertura) {
+        this.diasCobertura = diasCobertura;
+    }
+
+    public double getCantidadSugerida() {
+        return cantidadSugerida;
+    }
+
+    public void setCantidadSugerida(double cantidadSugerida) {
+        this.cantidadSugerida = cantidadSugerida;
+    }
+}
@@ -0,0 +1,36 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de {@code GET /api/buscar/autocompletar}: vehículos cuya placa empieza por la consulta y clientes
+ * cuyo nombre o apellido empieza por cada palabra de la consulta.
+ */
+public class AutocompletadoDTO {
+
+    private List<SugerenciaDTO> vehiculos;
+    private List<SugerenciaDTO> clientes;
+
+    public AutocompletadoDTO() {}
+
+    public AutocompletadoDTO(List<SugerenciaDTO> vehiculos, List<SugerenciaDTO> clientes) {
+        this.vehiculos = vehiculos;
+        this.clientes = clientes;
+    }
+
+    public List<SugerenciaDTO> getVehiculos() {
+        return vehiculos;
+    }
+
+    public void setVehiculos(List<SugerenciaDTO> vehiculos) {
+        this.vehiculos = vehiculos;
+    }
+
+    public List<SugerenciaDTO> getClientes() {
+        return clientes;
+    }
+
+    public void setClientes(List<SugerenciaDTO> clientes) {
+        this.clientes = clientes;
+    }
+}
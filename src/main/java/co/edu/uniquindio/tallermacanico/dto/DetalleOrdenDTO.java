@@ -0,0 +1,82 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.model.Factura;
+import co.edu.uniquindio.tallermacanico.model.Vehiculo;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * DTO con el detalle completo de una orden de trabajo para {@code GET /api/ordenes/{id}/detalle}: la orden con el
+ * nombre de su estado, el vehículo, su cliente, los servicios con sus mecánicos, los repuestos usados y las facturas.
+ * <p>
+ * Las secciones no pedidas en {@code incluir} quedan en {@code null} y no se serializan.
+ * </p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DetalleOrdenDTO {
+
+    private OrdenTrabajoDTO orden;
+    private Vehiculo vehiculo;
+    private Cliente cliente;
+    private List<ServicioDetalleOrdenDTO> servicios;
+    private List<RepuestoDetalleOrdenDTO> repuestos;
+    private List<Factura> facturas;
+
+    public DetalleOrdenDTO() {}
+
+    public DetalleOrdenDTO(OrdenTrabajoDTO orden, Vehiculo vehiculo, Cliente cliente) {
+        this.orden = orden;
+        this.vehiculo = vehiculo;
+        this.cliente = cliente;
+    }
+
+    public OrdenTrabajoDTO getOrden() {
+        return orden;
+    }
+
+    public void setOrden(OrdenTrabajoDTO orden) {
+        this.orden = orden;
+    }
+
+    public Vehiculo getVehiculo() {
+        return vehiculo;
+    }
+
+    public void setVehiculo(Vehiculo vehiculo) {
+        this.vehiculo = vehiculo;
+    }
+
+    public Cliente getCliente() {
+        return cliente;
+    }
+
+    public void setCliente(Cliente cliente) {
+        this.cliente = cliente;
+    }
+
+    public List<ServicioDetalleOrdenDTO> getServicios() {
+        return servicios;
+    }
+
+    public void setServicios(List<ServicioDetalleOrdenDTO> servicios) {
+        this.servicios = servicios;
+    }
+
+    public List<RepuestoDetalleOrdenDTO> getRepuestos() {
+        return repuestos;
+    }
+
+    public void setRepuestos(List<RepuestoDetalleOrdenDTO> repuestos) {
+        this.repuestos = repuestos;
+    }
+
+    public List<Factura> getFacturas() {
+        return facturas;
+    }
+
+    public void setFacturas(List<Factura> facturas) {
+        this.facturas = facturas;
+    }
+}
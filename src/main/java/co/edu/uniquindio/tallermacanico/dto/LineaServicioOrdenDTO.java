@@ -0,0 +1,43 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
+import co.edu.uniquindio.tallermacanico.model.OrdenServicioMecanico;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con un servicio de una orden de trabajo compuesta y los mecánicos asignados a él.
+ * <p>
+ * Al registrar la orden, {@code servicio.idOrdenServicio} y {@code servicio.idOrdenTrabajo} se
+ * completan con las claves generadas, igual que {@code idOrdenServicio} de cada asignación.
+ * </p>
+ */
+public class LineaServicioOrdenDTO {
+
+    private OrdenServicio servicio;
+    private List<OrdenServicioMecanico> mecanicos = new ArrayList<>();
+
+    public LineaServicioOrdenDTO() {}
+
+    public LineaServicioOrdenDTO(OrdenServicio servicio, List<OrdenServicioMecanico> mecanicos) {
+        this.servicio = servicio;
+        this.mecanicos = mecanicos;
+    }
+
+    public OrdenServicio getServicio() {
+        return servicio;
+    }
+
+    public void setServicio(OrdenServicio servicio) {
+        this.servicio = servicio;
+    }
+
+    public List<OrdenServicioMecanico> getMecanicos() {
+        return mecanicos;
+    }
+
+    public void setMecanicos(List<OrdenServicioMecanico> mecanicos) {
+        this.mecanicos = mecanicos;
+    }
+}
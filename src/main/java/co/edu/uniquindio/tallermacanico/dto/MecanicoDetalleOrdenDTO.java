@@ -0,0 +1,74 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+/**
+ * DTO con un mecánico asignado a un servicio dentro del detalle de una orden de trabajo.
+ */
+public class MecanicoDetalleOrdenDTO {
+
+    private int idMecanico;
+    private String nombre;
+    private String apellido;
+    private int idEspecialidad;
+    private String especialidad;
+    private String rolEnServicio;
+
+    public MecanicoDetalleOrdenDTO() {}
+
+    public MecanicoDetalleOrdenDTO(int idMecanico, String nombre, String apellido, int idEspecialidad,
+                                   String especialidad, String rolEnServicio) {
+        this.idMecanico = idMecanico;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.idEspecialidad = idEspecialidad;
+        this.especialidad = especialidad;
+        this.rolEnServicio = rolEnServicio;
+    }
+
+    public int getIdMecanico() {
+        return idMecanico;
+    }
+
+    public void setIdMecanico(int idMecanico) {
+        this.idMecanico = idMecanico;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getApellido() {
+        return apellido;
+    }
+
+    public void setApellido(String apellido) {
+        this.apellido = apellido;
+    }
+
+    public int getIdEspecialidad() {
+        return idEspecialidad;
+    }
+
+    public void setIdEspecialidad(int idEspecialidad) {
+        this.idEspecialidad = idEspecialidad;
+    }
+
+    public String getEspecialidad() {
+        return especialidad;
+    }
+
+    public void setEspecialidad(String especialidad) {
+        this.especialidad = especialidad;
+    }
+
+    public String getRolEnServicio() {
+        return rolEnServicio;
+    }
+
+    public void setRolEnServicio(String rolEnServicio) {
+        this.rolEnServicio = rolEnServicio;
+    }
+}
@@ -0,0 +1,49 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import co.edu.uniquindio.tallermacanico.model.OrdenTrabajo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO para abrir una orden de trabajo con sus servicios y mecánicos asignados en una sola petición.
+ *
+ * <p><b>Ejemplo:</b></p>
+ * <pre>
+ * {
+ *   "orden": { "idVehiculo": 1, "fechaIngreso": "2025-11-10", "diagnosticoInicial": "Ruido en frenos", "idEstadoOrden": 1 },
+ *   "servicios": [
+ *     { "servicio": { "idServicio": 2, "estado": "PENDIENTE", "precioFinal": 80000 },
+ *       "mecanicos": [ { "idMecanico": 3, "idEspecialidad": 1, "rolEnServicio": "Principal" } ] }
+ *   ]
+ * }
+ * </pre>
+ */
+public class OrdenTrabajoCompuestaDTO {
+
+    private OrdenTrabajo orden;
+    private List<LineaServicioOrdenDTO> servicios = new ArrayList<>();
+
+    public OrdenTrabajoCompuestaDTO() {}
+
+    public OrdenTrabajoCompuestaDTO(OrdenTrabajo orden, List<LineaServicioOrdenDTO> servicios) {
+        this.orden = orden;
+        this.servicios = servicios;
+    }
+
+    public OrdenTrabajo getOrden() {
+        return orden;
+    }
+
+    public void setOrden(OrdenTrabajo orden) {
+        this.orden = orden;
+    }
+
+    public List<LineaServicioOrdenDTO> getServicios() {
+        return servicios;
+    }
+
+    public void setServicios(List<LineaServicioOrdenDTO> servicios) {
+        this.servicios = servicios;
+    }
+}
@@ -1,9 +1,12 @@
 package co.edu.uniquindio.tallermacanico.dto;
 
+import co.edu.uniquindio.tallermacanico.model.Vehiculo;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDate;
 
 /**
- * DTO que representa una orden de trabajo con el nombre del estado incluido.
+ * DTO que representa una orden de trabajo con el nombre del estado incluido y, si se pide, su vehículo.
  */
 public class OrdenTrabajoDTO {
     private int idOrdenTrabajo;
@@ -12,6 +15,8 @@ public class OrdenTrabajoDTO {
     private LocalDate fechaSalida;
     private String diagnosticoInicial;
     private String nombreEstado;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Vehiculo vehiculo;
 
     public OrdenTrabajoDTO(int idOrdenTrabajo, int idVehiculo, LocalDate fechaIngreso,
                            LocalDate fechaSalida, String diagnosticoInicial, String nombreEstado) {
@@ -48,6 +53,10 @@ public class OrdenTrabajoDTO {
         return nombreEstado;
     }
 
+    public Vehiculo getVehiculo() {
+        return vehiculo;
+    }
+
     // Setters
     public void setIdOrdenTrabajo(int idOrdenTrabajo) {
         this.idOrdenTrabajo = idOrdenTrabajo;
@@ -72,5 +81,8 @@ public class OrdenTrabajoDTO {
     public void setNombreEstado(String nombreEstado) {
         this.nombreEstado = nombreEstado;
     }
-}
 
+    public void setVehiculo(Vehiculo vehiculo) {
+        this.vehiculo = vehiculo;
+    }
+}
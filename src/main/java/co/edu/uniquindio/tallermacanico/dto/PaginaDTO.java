@@ -0,0 +1,62 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import java.util.List;
+
+/**
+ * DTO que representa una página de resultados obtenida con paginación por cursor (keyset).
+ * <p>
+ * {@code siguienteCursor} es un token opaco que el cliente debe enviar en la siguiente
+ * petición para continuar desde el último registro entregado; es {@code null} cuando
+ * ya no hay más registros.
+ * </p>
+ *
+ * @param <T> tipo de los elementos de la página
+ */
+public class PaginaDTO<T> {
+
+    private List<T> items;
+    private String siguienteCursor;
+    private int tamanio;
+    private boolean hayMas;
+
+    public PaginaDTO() {}
+
+    public PaginaDTO(List<T> items, String siguienteCursor, int tamanio) {
+        this.items = items;
+        this.siguienteCursor = siguienteCursor;
+        this.tamanio = tamanio;
+        this.hayMas = siguienteCursor != null;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public void setSiguienteCursor(String siguienteCursor) {
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    public void setTamanio(int tamanio) {
+        this.tamanio = tamanio;
+    }
+
+    public boolean isHayMas() {
+        return hayMas;
+    }
+
+    public void setHayMas(boolean hayMas) {
+        this.hayMas = hayMas;
+    }
+}
@@ -0,0 +1,58 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO para reajustar el precio base de muchos servicios en una sola operación.
+ * <p>
+ * Se usa uno de los dos modos: {@code precios} con el precio nuevo de cada ID, o {@code porcentaje}
+ * (positivo para subir, negativo para bajar) aplicado a los servicios cuyo nombre coincide con
+ * {@code patronNombre}, un patrón {@code LIKE} sin distinguir mayúsculas ({@code %} para cualquier texto);
+ * sin patrón se reajusta todo el catálogo.
+ * </p>
+ *
+ * <p><b>Ejemplos:</b></p>
+ * <pre>
+ * { "precios": { "1": 95000, "4": 120000 } }
+ * { "porcentaje": 8.5, "patronNombre": "cambio de%" }
+ * </pre>
+ */
+public class ReajustePreciosDTO {
+
+    private Map<Integer, Double> precios = new LinkedHashMap<>();
+    private Double porcentaje;
+    private String patronNombre;
+
+    public ReajustePreciosDTO() {}
+
+    public ReajustePreciosDTO(Map<Integer, Double> precios, Double porcentaje, String patronNombre) {
+        this.precios = precios;
+        this.porcentaje = porcentaje;
+        this.patronNombre = patronNombre;
+    }
+
+    public Map<Integer, Double> getPrecios() {
+        return precios;
+    }
+
+    public void setPrecios(Map<Integer, Double> precios) {
+        this.precios = precios;
+    }
+
+    public Double getPorcentaje() {
+        return porcentaje;
+    }
+
+    public void setPorcentaje(Double porcentaje) {
+        this.porcentaje = porcentaje;
+    }
+
+    public String getPatronNombre() {
+        return patronNombre;
+    }
+
+    public void setPatronNombre(String patronNombre) {
+        this.patronNombre = patronNombre;
+    }
+}
@@ -0,0 +1,53 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+/**
+ * DTO con un repuesto usado en una orden de trabajo ({@code orden_repuesto}) dentro de su detalle.
+ */
+public class RepuestoDetalleOrdenDTO {
+
+    private int idRepuesto;
+    private String nombre;
+    private String unidadMedida;
+    private double cantidadUsada;
+
+    public RepuestoDetalleOrdenDTO() {}
+
+    public RepuestoDetalleOrdenDTO(int idRepuesto, String nombre, String unidadMedida, double cantidadUsada) {
+        this.idRepuesto = idRepuesto;
+        this.nombre = nombre;
+        this.unidadMedida = unidadMedida;
+        this.cantidadUsada = cantidadUsada;
+    }
+
+    public int getIdRepuesto() {
+        return idRepuesto;
+    }
+
+    public void setIdRepuesto(int idRepuesto) {
+        this.idRepuesto = idRepuesto;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getUnidadMedida() {
+        return unidadMedida;
+    }
+
+    public void setUnidadMedida(String unidadMedida) {
+        this.unidadMedida = unidadMedida;
+    }
+
+    public double getCantidadUsada() {
+        return cantidadUsada;
+    }
+
+    public void setCantidadUsada(double cantidadUsada) {
+        this.cantidadUsada = cantidadUsada;
+    }
+}
@@ -0,0 +1,47 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+/**
+ * DTO con el resultado de un elemento de una carga por lotes.
+ * <p>
+ * {@code indice} es la posición del elemento en el lote recibido (desde 0). Si se registró,
+ * {@code id} trae la clave asignada y {@code error} es {@code null}; si se rechazó, al revés.
+ * </p>
+ */
+public class ResultadoItemLoteDTO {
+
+    private int indice;
+    private Integer id;
+    private String error;
+
+    public ResultadoItemLoteDTO() {}
+
+    public ResultadoItemLoteDTO(int indice, Integer id, String error) {
+        this.indice = indice;
+        this.id = id;
+        this.error = error;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
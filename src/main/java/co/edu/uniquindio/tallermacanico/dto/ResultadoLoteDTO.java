@@ -0,0 +1,68 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con el resumen de una carga por lotes y el resultado de cada elemento, en el orden recibido.
+ */
+public class ResultadoLoteDTO {
+
+    private int recibidos;
+    private int registrados;
+    private int rechazados;
+    private List<ResultadoItemLoteDTO> resultados = new ArrayList<>();
+
+    public ResultadoLoteDTO() {}
+
+    /**
+     * Agrega el resultado de un elemento; se cuenta como registrado o rechazado
+     * cuando se conoce su desenlace con {@link #registrar} o {@link #rechazar}.
+     */
+    public void agregar(ResultadoItemLoteDTO resultado) {
+        resultados.add(resultado);
+        recibidos++;
+    }
+
+    public void registrar(ResultadoItemLoteDTO resultado, int id) {
+        resultado.setId(id);
+        registrados++;
+    }
+
+    public void rechazar(ResultadoItemLoteDTO resultado, String error) {
+        resultado.setError(error);
+        rechazados++;
+    }
+
+    public int getRecibidos() {
+        return recibidos;
+    }
+
+    public void setRecibidos(int recibidos) {
+        this.recibidos = recibidos;
+    }
+
+    public int getRegistrados() {
+        return registrados;
+    }
+
+    public void setRegistrados(int registrados) {
+        this.registrados = registrados;
+    }
+
+    public int getRechazados() {
+        return rechazados;
+    }
+
+    public void setRechazados(int rechazados) {
+        this.rechazados = rechazados;
+    }
+
+    public List<ResultadoItemLoteDTO> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<ResultadoItemLoteDTO> resultados) {
+        this.resultados = resultados;
+    }
+}
@@ -0,0 +1,82 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con el resumen de un reajuste masivo de precios.
+ * <p>
+ * {@code modo} es {@code PRECIOS} o {@code PORCENTAJE}. {@code totalAnterior} y {@code totalNuevo} son la suma
+ * de los precios base de los servicios actualizados antes y después del reajuste. {@code noEncontrados}
+ * lista los IDs enviados que no existen (solo en el modo {@code PRECIOS}).
+ * </p>
+ */
+public class ResultadoReajusteDTO {
+
+    private String modo;
+    private int solicitados;
+    private int actualizados;
+    private List<Integer> noEncontrados = new ArrayList<>();
+    private double totalAnterior;
+    private double totalNuevo;
+
+    public ResultadoReajusteDTO() {}
+
+    public ResultadoReajusteDTO(String modo, int solicitados, int actualizados, List<Integer> noEncontrados,
+                                double totalAnterior, double totalNuevo) {
+        this.modo = modo;
+        this.solicitados = solicitados;
+        this.actualizados = actualizados;
+        this.noEncontrados = noEncontrados;
+        this.totalAnterior = totalAnterior;
+        this.totalNuevo = totalNuevo;
+    }
+
+    public String getModo() {
+        return modo;
+    }
+
+    public void setModo(String modo) {
+        this.modo = modo;
+    }
+
+    public int getSolicitados() {
+        return solicitados;
+    }
+
+    public void setSolicitados(int solicitados) {
+        this.solicitados = solicitados;
+    }
+
+    public int getActualizados() {
+        return actualizados;
+    }
+
+    public void setActualizados(int actualizados) {
+        this.actualizados = actualizados;
+    }
+
+    public List<Integer> getNoEncontrados() {
+        return noEncontrados;
+    }
+
+    public void setNoEncontrados(List<Integer> noEncontrados) {
+        this.noEncontrados = noEncontrados;
+    }
+
+    public double getTotalAnterior() {
+        return totalAnterior;
+    }
+
+    public void setTotalAnterior(double totalAnterior) {
+        this.totalAnterior = totalAnterior;
+    }
+
+    public double getTotalNuevo() {
+        return totalNuevo;
+    }
+
+    public void setTotalNuevo(double totalNuevo) {
+        this.totalNuevo = totalNuevo;
+    }
+}
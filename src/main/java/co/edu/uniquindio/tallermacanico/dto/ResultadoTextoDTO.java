@@ -0,0 +1,60 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de {@code GET /api/buscar/texto}: un diagnóstico de orden de trabajo o unas observaciones de supervisión
+ * que coinciden con la consulta, con su puntaje de relevancia (BM25; mayor es más relevante).
+ * <p>
+ * {@code ids} es la clave de la fila: {@code [idOrdenTrabajo]} para {@code orden_trabajo} y
+ * {@code [idOrdenServicio, idMecanicoSupervisor, idMecanicoSupervisado]} para {@code supervision}.
+ * </p>
+ */
+public class ResultadoTextoDTO {
+
+    private String tipo;
+    private List<Integer> ids;
+    private double puntaje;
+    private String texto;
+
+    public ResultadoTextoDTO() {}
+
+    public ResultadoTextoDTO(String tipo, List<Integer> ids, double puntaje, String texto) {
+        this.tipo = tipo;
+        this.ids = ids;
+        this.puntaje = puntaje;
+        this.texto = texto;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Integer> ids) {
+        this.ids = ids;
+    }
+
+    public double getPuntaje() {
+        return puntaje;
+    }
+
+    public void setPuntaje(double puntaje) {
+        this.puntaje = puntaje;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public void setTexto(String texto) {
+        this.texto = texto;
+    }
+}
@@ -0,0 +1,82 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * DTO con un servicio de una orden de trabajo dentro de su detalle.
+ * <p>
+ * {@code mecanicos} es {@code null} (y no se serializa) si no se pidió la sección {@code mecanicos}.
+ * </p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ServicioDetalleOrdenDTO {
+
+    private int idOrdenServicio;
+    private int idServicio;
+    private String nombreServicio;
+    private String estado;
+    private double precioFinal;
+    private List<MecanicoDetalleOrdenDTO> mecanicos;
+
+    public ServicioDetalleOrdenDTO() {}
+
+    public ServicioDetalleOrdenDTO(int idOrdenServicio, int idServicio, String nombreServicio, String estado,
+                                   double precioFinal, List<MecanicoDetalleOrdenDTO> mecanicos) {
+        this.idOrdenServicio = idOrdenServicio;
+        this.idServicio = idServicio;
+        this.nombreServicio = nombreServicio;
+        this.estado = estado;
+        this.precioFinal = precioFinal;
+        this.mecanicos = mecanicos;
+    }
+
+    public int getIdOrdenServicio() {
+        return idOrdenServicio;
+    }
+
+    public void setIdOrdenServicio(int idOrdenServicio) {
+        this.idOrdenServicio = idOrdenServicio;
+    }
+
+    public int getIdServicio() {
+        return idServicio;
+    }
+
+    public void setIdServicio(int idServicio) {
+        this.idServicio = idServicio;
+    }
+
+    public String getNombreServicio() {
+        return nombreServicio;
+    }
+
+    public void setNombreServicio(String nombreServicio) {
+        this.nombreServicio = nombreServicio;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public double getPrecioFinal() {
+        return precioFinal;
+    }
+
+    public void setPrecioFinal(double precioFinal) {
+        this.precioFinal = precioFinal;
+    }
+
+    public List<MecanicoDetalleOrdenDTO> getMecanicos() {
+        return mecanicos;
+    }
+
+    public void setMecanicos(List<MecanicoDetalleOrdenDTO> mecanicos) {
+        this.mecanicos = mecanicos;
+    }
+}
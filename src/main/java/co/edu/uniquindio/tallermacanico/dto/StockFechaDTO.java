@@ -0,0 +1,69 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO con el stock de un repuesto al cierre de una fecha, calculado desde los movimientos de inventario.
+ * <p>
+ * {@code fechaCorte} es el corte guardado desde el que se partió ({@code null} si se recorrió desde el
+ * primer movimiento) y {@code movimientosAplicados} los movimientos leídos después de ese corte.
+ * </p>
+ */
+public class StockFechaDTO {
+
+    private int idRepuesto;
+    private LocalDate fecha;
+    private double stock;
+    private LocalDate fechaCorte;
+    private int movimientosAplicados;
+
+    public StockFechaDTO() {}
+
+    public StockFechaDTO(int idRepuesto, LocalDate fecha, double stock, LocalDate fechaCorte, int movimientosAplicados) {
+        this.idRepuesto = idRepuesto;
+        this.fecha = fecha;
+        this.stock = stock;
+        this.fechaCorte = fechaCorte;
+        this.movimientosAplicados = movimientosAplicados;
+    }
+
+    public int getIdRepuesto() {
+        return idRepuesto;
+    }
+
+    public void setIdRepuesto(int idRepuesto) {
+        this.idRepuesto = idRepuesto;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDate fecha) {
+        this.fecha = fecha;
+    }
+
+    public double getStock() {
+        return stock;
+    }
+
+    public void setStock(double stock) {
+        this.stock = stock;
+    }
+
+    public LocalDate getFechaCorte() {
+        return fechaCorte;
+    }
+
+    public void setFechaCorte(LocalDate fechaCorte) {
+        this.fechaCorte = fechaCorte;
+    }
+
+    public int getMovimientosAplicados() {
+        return movimientosAplicados;
+    }
+
+    public void setMovimientosAplicados(int movimientosAplicados) {
+        this.movimientosAplicados = movimientosAplicados;
+    }
+}
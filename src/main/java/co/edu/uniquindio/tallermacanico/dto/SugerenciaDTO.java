@@ -0,0 +1,44 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+/**
+ * Sugerencia de autocompletado: el ID de la fila encontrada, el texto que coincidió (placa o nombre completo)
+ * y un detalle para distinguir resultados parecidos.
+ */
+public class SugerenciaDTO {
+
+    private int id;
+    private String texto;
+    private String detalle;
+
+    public SugerenciaDTO() {}
+
+    public SugerenciaDTO(int id, String texto, String detalle) {
+        this.id = id;
+        this.texto = texto;
+        this.detalle = detalle;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public void setTexto(String texto) {
+        this.texto = texto;
+    }
+
+    public String getDetalle() {
+        return detalle;
+    }
+
+    public void setDetalle(String detalle) {
+        this.detalle = detalle;
+    }
+}
@@ -0,0 +1,163 @@
+package co.edu.uniquindio.tallermacanico.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con el avance de una importación masiva de clientes y vehículos.
+ * <p>
+ * {@code estado} es {@code PENDIENTE}, {@code EN_PROCESO}, {@code COMPLETADO} o {@code FALLIDO};
+ * {@code porcentaje} se calcula sobre los bytes del archivo ya procesados. {@code urlRechazos}
+ * solo se informa cuando la importación terminó y hubo filas rechazadas.
+ * </p>
+ */
+public class TrabajoImportacionDTO {
+
+    private String id;
+    private String estado;
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+    private long bytesTotales;
+    private long bytesProcesados;
+    private double porcentaje;
+    private long filasLeidas;
+    private long clientesRegistrados;
+    private long vehiculosRegistrados;
+    private long filasRechazadas;
+    private String error;
+    private String urlRechazos;
+
+    public TrabajoImportacionDTO() {}
+
+    public TrabajoImportacionDTO(String id, String estado, LocalDateTime fechaCreacion, LocalDateTime fechaInicio,
+                                 LocalDateTime fechaFin, long bytesTotales, long bytesProcesados,
+                                 long filasLeidas, long clientesRegistrados, long vehiculosRegistrados,
+                                 long filasRechazadas, String error, String urlRechazos) {
+        this.id = id;
+        this.estado = estado;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaInicio = fechaInicio;
+        this.fechaFin = fechaFin;
+        this.bytesTotales = bytesTotales;
+        this.bytesProcesados = bytesProcesados;
+        this.porcentaje = bytesTotales > 0 ? Math.min(100.0, bytesProcesados * 100.0 / bytesTotales) : 100.0;
+        this.filasLeidas = filasLeidas;
+        this.clientesRegistrados = clientesRegistrados;
+        this.vehiculosRegistrados = vehiculosRegistrados;
+        this.filasRechazadas = filasRechazadas;
+        this.error = error;
+        this.urlRechazos = urlRechazos;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public LocalDateTime getFechaInicio() {
+        return fechaInicio;
+    }
+
+    public void setFechaInicio(LocalDateTime fechaInicio) {
+        this.fechaInicio = fechaInicio;
+    }
+
+    public LocalDateTime getFechaFin() {
+        return fechaFin;
+    }
+
+    public void setFechaFin(LocalDateTime fechaFin) {
+        this.fechaFin = fechaFin;
+    }
+
+    public long getBytesTotales() {
+        return bytesTotales;
+    }
+
+    public void setBytesTotales(long bytesTotales) {
+        this.bytesTotales = bytesTotales;
+    }
+
+    public long getBytesProcesados() {
+        return bytesProcesados;
+    }
+
+    public void setBytesProcesados(long bytesProcesados) {
+        this.bytesProcesados = bytesProcesados;
+    }
+
+    public double getPorcentaje() {
+        return porcentaje;
+    }
+
+    public void setPorcentaje(double porcentaje) {
+        this.porcentaje = porcentaje;
+    }
+
+    public long getFilasLeidas() {
+        return filasLeidas;
+    }
+
+    public void setFilasLeidas(long filasLeidas) {
+        this.filasLeidas = filasLeidas;
+    }
+
+    public long getClientesRegistrados() {
+        return clientesRegistrados;
+    }
+
+    public void setClientesRegistrados(long clientesRegistrados) {
+        this.clientesRegistrados = clientesRegistrados;
+    }
+
+    public long getVehiculosRegistrados() {
+        return vehiculosRegistrados;
+    }
+
+    public void setVehiculosRegistrados(long vehiculosRegistrados) {
+        this.vehiculosRegistrados = vehiculosRegistrados;
+    }
+
+    public long getFilasRechazadas() {
+        return filasRechazadas;
+    }
+
+    public void setFilasRechazadas(long filasRechazadas) {
+        this.filasRechazadas = filasRechazadas;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getUrlRechazos() {
+        return urlRechazos;
+    }
+
+    public void setUrlRechazos(String urlRechazos) {
+        this.urlRechazos = urlRechazos;
+    }
+}
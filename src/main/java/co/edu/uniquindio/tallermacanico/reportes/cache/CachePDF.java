@@ -0,0 +1,433 @@
+package co.edu.uniquindio.tallermacanico.reportes.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché en disco de los PDF ya generados por {@code ReportePDFService}.
+ * <p>
+ * Cada PDF se identifica por el reporte, sus parámetros y la versión de los datos de las tablas
+ * que consulta ({@link CacheReportes#versionDatos(Set)}); cuando un repositorio escribe en una de
+ * esas tablas la clave cambia y el PDF se vuelve a generar. El identificador de la clave se usa
+ * también como ETag, de modo que un {@code If-None-Match} se puede responder con 304 sin generar
+ * ni leer el PDF.
+ * </p>
+ * <p>
+ * Las versiones son contadores en memoria: empiezan de nuevo en cada arranque, son distintas en cada
+ * nodo y no ven las escrituras hechas fuera de la aplicación. Por eso la clave incluye también un
+ * identificador aleatorio del arranque y el periodo de {@code taller.reportes.pdf-cache.ttl-segundos}
+ * en curso: un ETag de otro proceso nunca coincide y ninguno dura más que el TTL.
+ * </p>
+ *
+ * <p>Un PDF que no está guardado se escribe directamente en la respuesta mientras se genera y, a la vez,
+ * en un archivo temporal que se guarda al terminar; si supera el espacio máximo o la caché está
+ * desactivada, solo se escribe en la respuesta.</p>
+ *
+ * <p>Los archivos se guardan en {@code taller.reportes.pdf-cache.directorio}. Cuando el total
+ * supera {@code taller.reportes.pdf-cache.max-megas} se borran los usados hace más tiempo, y
+ * {@code taller.reportes.pdf-cache.ttl-segundos} limita la vida de cada archivo para cubrir
+ * escrituras hechas fuera de la aplicación. Un TTL de 0 desactiva la caché.</p>
+ */
+@Component
+public class CachePDF {
+
+    private static final Logger log = LoggerFactory.getLogger(CachePDF.class);
+
+    public static final String CLIENTES = "clientes";
+    public static final String VEHICULOS = "vehiculos";
+    public static final String SERVICIOS = "servicios";
+    public static final String ORDENES_TRABAJO = "ordenes-trabajo";
+    public static final String FACTURAS_CLIENTE = "facturas-cliente";
+    public static final String MOVIMIENTOS_REPUESTO = "movimientos-repuesto";
+    public static final String SUPERVISIONES = "supervisiones";
+    public static final String SERVICIOS_MECANICO = "servicios-mecanico";
+    public static final String REPUESTOS_ORDEN = "repuestos-orden";
+    public static final String PRODUCTIVIDAD_SUPERVISORES = "productividad-supervisores";
+    public static final String SERVICIOS_MAS_SOLICITADOS = "servicios-mas-solicitados";
+    public static final String REPUESTOS_MAS_USADOS = "repuestos-mas-usados";
+    public static final String INGRESOS_MENSUALES = "ingresos-mensuales";
+
+    /** Tablas que consulta cada reporte (ver las consultas de {@code ReporteRepository}). */
+    private static final Map<String, Set<String>> TABLAS_POR_REPORTE = Map.ofEntries(
+            Map.entry(CLIENTES, Set.of("cliente")),
+            Map.entry(VEHICULOS, Set.of("vehiculo", "cliente")),
+            Map.entry(SERVICIOS, Set.of("servicio")),
+            Map.entry(ORDENES_TRABAJO, Set.of("orden_trabajo", "estado_orden")),
+            Map.entry(FACTURAS_CLIENTE, Set.of("factura", "orden_trabajo", "vehiculo", "cliente")),
+            Map.entry(MOVIMIENTOS_REPUESTO, Set.of("movimiento_inventario", "repuesto")),
+            Map.entry(SUPERVISIONES, Set.of("supervision", "mecanico")),
+            Map.entry(SERVICIOS_MECANICO,
+                    Set.of("orden_servicio_mecanico", "orden_servicio", "orden_trabajo", "mecanico", "servicio")),
+            Map.entry(REPUESTOS_ORDEN, Set.of("orden_servicio", "orden_trabajo", "orden_repuesto", "repuesto")),
+            Map.entry(PRODUCTIVIDAD_SUPERVISORES, Set.of("supervision", "orden_servicio_mecanico", "mecanico")),
+            Map.entry(SERVICIOS_MAS_SOLICITADOS, Set.of("orden_servicio", "servicio")),
+            Map.entry(REPUESTOS_MAS_USADOS, Set.of("movimiento_inventario", "repuesto")),
+            Map.entry(INGRESOS_MENSUALES, Set.of("factura", "estado_pago_factura"))
+    );
+
+    private final CacheReportes cacheReportes;
+    private final Path directorio;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final long ttlMillis;
+    /** Distingue las claves de este arranque de las de uno anterior o de otro nodo. */
+    private final String arranque = UUID.randomUUID().toString();
+
+    /** Archivos en orden de acceso; protegido por {@code this}. */
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesTotales;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder noModificados = new LongAdder();
+    private final LongAdder expulsados = new LongAdder();
+
+    public CachePDF(CacheReportes cacheReportes,
+                    @Value("${taller.reportes.pdf-cache.directorio:${java.io.tmpdir}/taller-reportes-pdf}") String directorio,
+                    @Value("${taller.reportes.pdf-cache.max-megas:256}") long maxMegas,
+                    @Value("${taller.reportes.pdf-cache.ttl-segundos:3600}") long ttlSegundos) {
+        this.cacheReportes = cacheReportes;
+        this.directorio = Paths.get(directorio);
+        this.maxBytes = Math.max(maxMegas, 1) * 1024 * 1024;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(ttlSegundos, 0));
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(Math.max(ttlSegundos, 0));
+        prepararDirectorio();
+    }
+
+    /**
+     * Escribe el contenido de un PDF en un flujo de salida.
+     */
+    @FunctionalInterface
+    public interface Escritor {
+        void escribir(OutputStream salida) throws IOException;
+    }
+
+    /**
+     * Identificador de un PDF en una versión concreta de los datos.
+     *
+     * @param id   nombre del archivo en disco (sin extensión)
+     * @param etag valor del encabezado {@code ETag}, entre comillas, o {@code null} si la caché está desactivada
+     */
+    public record Clave(String id, String etag) {
+    }
+
+    /**
+     * PDF abierto para lectura.
+     *
+     * @param contenido flujo con el PDF; quien lo recibe debe cerrarlo
+     * @param tamanio   tamaño en bytes
+     */
+    public record PDFCacheado(InputStream contenido, long tamanio) {
+    }
+
+    /**
+     * Calcula la clave de un reporte con la versión actual de sus datos.
+     *
+     * @param reporte    identificador del reporte (constantes de esta clase)
+     * @param parametros parámetros del reporte (fechas, ids...)
+     * @return clave con el id del archivo y el ETag ({@code null} si la caché está desactivada)
+     * @throws IllegalArgumentException si el reporte no está registrado
+     */
+    public Clave clave(String reporte, Object... parametros) {
+        Set<String> tablas = TABLAS_POR_REPORTE.get(reporte);
+        if (tablas == null) {
+            throw new IllegalArgumentException("Reporte PDF no registrado: " + reporte);
+        }
+        StringBuilder texto = new StringBuilder(reporte);
+        for (Object parametro : parametros) {
+            texto.append('|').append(parametro);
+        }
+        texto.append("|v").append(cacheReportes.versionDatos(tablas)).append('|').append(arranque);
+        if (ttlMillis > 0) {
+            // Periodo del TTL en curso: acota también la vida del ETag
+            texto.append("|t").append(System.currentTimeMillis() / ttlMillis);
+        }
+
+        String hash = HexFormat.of().formatHex(sha256(texto.toString()), 0, 16);
+        return new Clave(reporte + "-" + hash, ttlMillis > 0 ? "\"" + hash + "\"" : null);
+    }
+
+    /**
+     * Registra una respuesta 304 (el cliente ya tenía el PDF), solo para las métricas.
+     */
+    public void registrarNoModificado() {
+        noModificados.increment();
+    }
+
+    /**
+     * Abre el PDF guardado para la clave, si está en disco y no ha vencido.
+     *
+     * @param clave clave calculada con {@link #clave(String, Object...)}
+     * @return PDF abierto para lectura, o {@code null} si hay que generarlo con {@link #generar}
+     * @throws IOException si falla la lectura del archivo
+     */
+    public PDFCacheado abrirGuardado(Clave clave) throws IOException {
+        PDFCacheado guardado = buscar(clave.id());
+        if (guardado != null) {
+            aciertos.increment();
+        }
+        return guardado;
+    }
+
+    /**
+     * Genera el PDF directamente en {@code salida} y, si la caché está activa, lo guarda a la vez en disco
+     * para las descargas siguientes. El primer byte sale sin esperar a que el PDF esté completo.
+     *
+     * @param clave    clave calculada con {@link #clave(String, Object...)}
+     * @param escritor genera el PDF
+     * @param salida   flujo de destino (no se cierra)
+     * @throws IOException si falla la escritura en {@code salida} o en el archivo
+     */
+    public void generar(Clave clave, Escritor escritor, OutputStream salida) throws IOException {
+        fallos.increment();
+        if (ttlNanos == 0) {
+            escritor.escribir(salida);
+            return;
+        }
+
+        Path temporal = Files.createTempFile(directorio, clave.id(), ".tmp");
+        Copia copia = new Copia(salida, new BufferedOutputStream(Files.newOutputStream(temporal)));
+        boolean completo;
+        try {
+            escritor.escribir(copia);
+            salida.flush();
+            completo = copia.cerrarArchivo();
+        } catch (IOException | RuntimeException e) {
+            try {
+                copia.cerrarArchivo();
+            } catch (IOException cierre) {
+                e.addSuppressed(cierre);
+            }
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        if (!completo) {
+            // Superó el espacio máximo: el cliente ya lo recibió, pero no se guarda
+            Files.deleteIfExists(temporal);
+            return;
+        }
+
+        Path archivo = directorio.resolve(clave.id() + ".pdf");
+        try {
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar el PDF {} en la caché", clave.id(), e);
+            Files.deleteIfExists(temporal);
+            return;
+        }
+        guardar(clave.id(), new Entrada(archivo, copia.tamanio, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Borra todos los PDF guardados.
+     */
+    public synchronized void limpiar() {
+        for (Entrada entrada : entradas.values()) {
+            borrar(entrada.archivo);
+        }
+        expulsados.add(entradas.size());
+        entradas.clear();
+        bytesTotales = 0;
+    }
+
+    /**
+     * Métricas de uso de la caché de PDF.
+     *
+     * @return aciertos, fallos, respuestas 304, expulsiones y espacio ocupado
+     */
+    public Map<String, Object> metricas() {
+        long totalAciertos = aciertos.sum();
+        long totalFallos = fallos.sum();
+        long consultas = totalAciertos + totalFallos;
+        int tamanio;
+        long bytes;
+        synchronized (this) {
+            tamanio = entradas.size();
+            bytes = bytesTotales;
+        }
+
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("aciertos", totalAciertos);
+        metricas.put("fallos", totalFallos);
+        metricas.put("tasaAciertos", consultas == 0 ? 0.0 : (double) totalAciertos / consultas);
+        metricas.put("noModificados", noModificados.sum());
+        metricas.put("expulsados", expulsados.sum());
+        metricas.put("archivos", tamanio);
+        metricas.put("bytes", bytes);
+        metricas.put("maxBytes", maxBytes);
+        metricas.put("ttlSegundos", TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+        return metricas;
+    }
+
+    private PDFCacheado buscar(String id) throws IOException {
+        Entrada entrada;
+        synchronized (this) {
+            entrada = entradas.get(id);
+            if (entrada == null) {
+                return null;
+            }
+            if (System.nanoTime() - entrada.expiraEn >= 0) {
+                quitar(id, entrada);
+                return null;
+            }
+        }
+        try {
+            return new PDFCacheado(Files.newInputStream(entrada.archivo), entrada.tamanio);
+        } catch (NoSuchFileException e) {
+            // Otro hilo lo expulsó entre la búsqueda y la apertura
+            synchronized (this) {
+                if (entradas.get(id) == entrada) {
+                    entradas.remove(id);
+                    bytesTotales -= entrada.tamanio;
+                }
+            }
+            return null;
+        }
+    }
+
+    private synchronized void guardar(String id, Entrada entrada) {
+        Entrada anterior = entradas.put(id, entrada);
+        if (anterior != null) {
+            // El archivo nuevo reemplazó al anterior en la misma ruta; no se borra
+            bytesTotales -= anterior.tamanio;
+        }
+        bytesTotales += entrada.tamanio;
+
+        var iterador = entradas.entrySet().iterator();
+        while (bytesTotales > maxBytes && iterador.hasNext()) {
+            Map.Entry<String, Entrada> masAntigua = iterador.next();
+            if (masAntigua.getKey().equals(id)) {
+                continue;
+            }
+            iterador.remove();
+            bytesTotales -= masAntigua.getValue().tamanio;
+            borrar(masAntigua.getValue().archivo);
+            expulsados.increment();
+        }
+    }
+
+    private void quitar(String id, Entrada entrada) {
+        entradas.remove(id);
+        bytesTotales -= entrada.tamanio;
+        borrar(entrada.archivo);
+        expulsados.increment();
+    }
+
+    private static void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el PDF en caché {}", archivo, e);
+        }
+    }
+
+    /**
+     * Crea el directorio y borra los archivos de una ejecución anterior: las versiones de los
+     * datos empiezan de nuevo en cada arranque, así que no se pueden reutilizar.
+     */
+    private void prepararDirectorio() {
+        try {
+            Files.createDirectories(directorio);
+            try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, "*.{pdf,tmp}")) {
+                for (Path archivo : archivos) {
+                    borrar(archivo);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo preparar el directorio de la caché de PDF: " + directorio, e);
+        }
+    }
+
+    private static byte[] sha256(String texto) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(texto.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private record Entrada(Path archivo, long tamanio, long expiraEn) {
+    }
+
+    /**
+     * Escribe en la salida y copia al archivo temporal mientras el PDF no supere {@code maxBytes}.
+     */
+    private final class Copia extends OutputStream {
+        private final OutputStream salida;
+        private OutputStream archivo;
+        private long tamanio;
+
+        Copia(OutputStream salida, OutputStream archivo) {
+            this.salida = salida;
+            this.archivo = archivo;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            salida.write(b);
+            if (cabe(1)) {
+                archivo.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int desde, int largo) throws IOException {
+            salida.write(b, desde, largo);
+            if (cabe(largo)) {
+                archivo.write(b, desde, largo);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            salida.flush();
+        }
+
+        /**
+         * Cierra el archivo.
+         *
+         * @return {@code true} si el archivo tiene el PDF completo
+         */
+        boolean cerrarArchivo() throws IOException {
+            if (archivo == null) {
+                return false;
+            }
+            OutputStream cerrado = archivo;
+            archivo = null;
+            cerrado.close();
+            return true;
+        }
+
+        private boolean cabe(long largo) throws IOException {
+            tamanio += largo;
+            if (archivo != null && tamanio > maxBytes) {
+                cerrarArchivo();
+            }
+            return archivo != null;
+        }
+    }
+}
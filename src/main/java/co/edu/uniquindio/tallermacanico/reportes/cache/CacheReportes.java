@@ -0,0 +1,222 @@
+package co.edu.uniquindio.tallermacanico.reportes.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caché acotada con tiempo de vida (TTL) para los agregados de {@code ReporteRepository}.
+ * <p>
+ * Los agregados (servicios más solicitados, repuestos más usados, ingresos por mes y
+ * productividad de supervisores) recorren tablas completas con {@code GROUP BY}; aquí se guardan
+ * durante {@code taller.reportes.cache.ttl-segundos} y se descartan antes si un repositorio
+ * escribe en alguna de las tablas de las que dependen (ver {@link #invalidarPorTabla(String)}).
+ * </p>
+ *
+ * <p>Cuando se supera {@code taller.reportes.cache.max-entradas} se descarta la entrada usada
+ * hace más tiempo. Un TTL de 0 desactiva la caché.</p>
+ *
+ * <p>Además lleva una versión por tabla que aumenta con cada escritura notificada; la usan otras
+ * cachés (por ejemplo {@link CachePDF}) para saber si los datos de un reporte cambiaron.</p>
+ */
+@Component
+public class CacheReportes {
+
+    public static final String SERVICIOS_MAS_SOLICITADOS = "servicios-mas-solicitados";
+    public static final String REPUESTOS_MAS_USADOS = "repuestos-mas-usados";
+    public static final String INGRESOS_POR_MES = "ingresos-por-mes";
+    public static final String PRODUCTIVIDAD_SUPERVISORES = "productividad-supervisores";
+
+    /** Agregados que dependen de cada tabla. */
+    private static final Map<String, Set<String>> CLAVES_POR_TABLA = Map.of(
+            "orden_servicio", Set.of(SERVICIOS_MAS_SOLICITADOS),
+            "servicio", Set.of(SERVICIOS_MAS_SOLICITADOS),
+            "movimiento_inventario", Set.of(REPUESTOS_MAS_USADOS),
+            "repuesto", Set.of(REPUESTOS_MAS_USADOS),
+            "factura", Set.of(INGRESOS_POR_MES),
+            "supervision", Set.of(PRODUCTIVIDAD_SUPERVISORES),
+            "orden_servicio_mecanico", Set.of(PRODUCTIVIDAD_SUPERVISORES),
+            "mecanico", Set.of(PRODUCTIVIDAD_SUPERVISORES)
+    );
+
+    private final long ttlNanos;
+    private final int maxEntradas;
+
+    /** Entradas en orden de acceso; protegido por {@code this}. */
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    /**
+     * Se incrementa en cada invalidación. Un resultado cargado mientras ocurrió una invalidación
+     * no se guarda, porque podría haberse leído antes de la escritura.
+     */
+    private long generacion;
+
+    /** Versión de cada tabla; aumenta con cada llamada a {@link #invalidarPorTabla(String)}. */
+    private final Map<String, AtomicLong> versionesPorTabla = new ConcurrentHashMap<>();
+
+    /** Aumenta con {@link #limpiar()} para que también cambie la versión de todas las tablas. */
+    private final AtomicLong versionGlobal = new AtomicLong();
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder invalidaciones = new LongAdder();
+    private final LongAdder expiradas = new LongAdder();
+
+    public CacheReportes(@Value("${taller.reportes.cache.ttl-segundos:300}") long ttlSegundos,
+                         @Value("${taller.reportes.cache.max-entradas:64}") int maxEntradas) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(ttlSegundos, 0));
+        this.maxEntradas = Math.max(maxEntradas, 1);
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                return size() > CacheReportes.this.maxEntradas;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el agregado guardado o lo calcula con {@code cargador} si no existe o expiró.
+     *
+     * @param clave    identificador del agregado (constantes de esta clase)
+     * @param cargador consulta que calcula el agregado
+     * @return lista inmodificable con el resultado
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> obtener(String clave, Supplier<List<T>> cargador) {
+        long generacionInicial;
+        synchronized (this) {
+            Entrada entrada = entradas.get(clave);
+            if (entrada != null) {
+                if (System.nanoTime() - entrada.expiraEn < 0) {
+                    aciertos.increment();
+                    return (List<T>) entrada.valor;
+                }
+                entradas.remove(clave);
+                expiradas.increment();
+            }
+            generacionInicial = generacion;
+        }
+
+        fallos.increment();
+        List<T> valor = List.copyOf(cargador.get());
+
+        if (ttlNanos > 0) {
+            synchronized (this) {
+                if (generacion == generacionInicial) {
+                    entradas.put(clave, new Entrada(valor, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Descarta los agregados que dependen de la tabla modificada.
+     *
+     * @param tabla nombre de la tabla en la que se escribió
+     */
+    public void invalidarPorTabla(String tabla) {
+        versionesPorTabla.computeIfAbsent(tabla, t -> new AtomicLong()).incrementAndGet();
+
+        Set<String> claves = CLAVES_POR_TABLA.get(tabla);
+        if (claves == null) {
+            return;
+        }
+        synchronized (this) {
+            generacion++;
+            for (String clave : claves) {
+                if (entradas.remove(clave) != null) {
+                    invalidaciones.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Igual que {@link #invalidarPorTabla(String)}, pero dentro de una transacción espera a que se confirme:
+     * si se invalidara antes, otra petición podría volver a guardar los datos anteriores mientras la
+     * transacción sigue abierta. Si la transacción se revierte no se invalida nada.
+     *
+     * @param tabla nombre de la tabla en la que se escribió
+     */
+    public void invalidarAlConfirmar(String tabla) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidarPorTabla(tabla);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidarPorTabla(tabla);
+            }
+        });
+    }
+
+    /**
+     * Descarta todas las entradas.
+     */
+    public synchronized void limpiar() {
+        versionGlobal.incrementAndGet();
+        generacion++;
+        invalidaciones.add(entradas.size());
+        entradas.clear();
+    }
+
+    /**
+     * Versión de los datos de un conjunto de tablas. Cambia cada vez que se escribe en alguna de
+     * ellas o se limpia la caché; solo sirve para compararla con otra versión de las mismas tablas.
+     *
+     * @param tablas tablas consultadas por el reporte
+     * @return versión actual de los datos
+     */
+    public long versionDatos(Set<String> tablas) {
+        long version = versionGlobal.get();
+        for (String tabla : tablas) {
+            AtomicLong versionTabla = versionesPorTabla.get(tabla);
+            if (versionTabla != null) {
+                version += versionTabla.get();
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Métricas de uso de la caché.
+     *
+     * @return aciertos, fallos, tasa de aciertos, invalidaciones, expiraciones y tamaño
+     */
+    public Map<String, Object> metricas() {
+        long totalAciertos = aciertos.sum();
+        long totalFallos = fallos.sum();
+        long consultas = totalAciertos + totalFallos;
+        int tamanio;
+        synchronized (this) {
+            tamanio = entradas.size();
+        }
+
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("aciertos", totalAciertos);
+        metricas.put("fallos", totalFallos);
+        metricas.put("tasaAciertos", consultas == 0 ? 0.0 : (double) totalAciertos / consultas);
+        metricas.put("invalidaciones", invalidaciones.sum());
+        metricas.put("expiradas", expiradas.sum());
+        metricas.put("entradas", tamanio);
+        metricas.put("maxEntradas", maxEntradas);
+        metricas.put("ttlSegundos", TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+        return metricas;
+    }
+
+    private record Entrada(Object valor, long expiraEn) {
+    }
+}
@@ -0,0 +1,63 @@
+package co.edu.uniquindio.tallermacanico.reportes.estadisticos.controller;
+
+import co.edu.uniquindio.tallermacanico.reportes.cache.CachePDF;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Controlador REST para consultar y administrar la caché de agregados de reportes y la de PDF generados.
+ *
+ * <h2>Endpoints:</h2>
+ * <ul>
+ *     <li><b>GET /api/reportes/cache/metricas</b> → aciertos, fallos, invalidaciones y tamaño.</li>
+ *     <li><b>GET /api/reportes/cache/pdf/metricas</b> → aciertos, respuestas 304 y espacio en disco de los PDF.</li>
+ *     <li><b>DELETE /api/reportes/cache</b> → descarta todas las entradas y borra los PDF guardados.</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/reportes/cache")
+public class CacheReportesController {
+
+    private final CacheReportes cacheReportes;
+    private final CachePDF cachePDF;
+
+    public CacheReportesController(CacheReportes cacheReportes, CachePDF cachePDF) {
+        this.cacheReportes = cacheReportes;
+        this.cachePDF = cachePDF;
+    }
+
+    /**
+     * Devuelve las métricas de uso de la caché.
+     *
+     * @return mapa con las métricas en formato JSON
+     */
+    @GetMapping("/metricas")
+    public Map<String, Object> metricas() {
+        return cacheReportes.metricas();
+    }
+
+    /**
+     * Devuelve las métricas de uso de la caché de PDF.
+     *
+     * @return mapa con las métricas en formato JSON
+     */
+    @GetMapping("/pdf/metricas")
+    public Map<String, Object> metricasPDF() {
+        return cachePDF.metricas();
+    }
+
+    /**
+     * Descarta todas las entradas para forzar el recálculo de los agregados y de los PDF.
+     *
+     * @return 204 sin contenido
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> limpiar() {
+        cacheReportes.limpiar();
+        cachePDF.limpiar();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,9 +1,11 @@
 package co.edu.uniquindio.tallermacanico.reportes.estadisticos.controller;
 
+import co.edu.uniquindio.tallermacanico.reportes.cache.CachePDF;
 import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RequiredArgsConstructor
 @RestController
@@ -14,32 +16,33 @@ public class ReporteEstadisticoController {
     private final EstadisticoRepuestoService repuestoService;
     private final EstadisticoService servicioService;
     private final ReportePDFService reportePDFService;
+    private final CachePDF cachePDF;
 
     @GetMapping("/ingresos/pdf")
-    public ResponseEntity<byte[]> descargarIngresosMensuales() {
-        byte[] pdf = reportePDFService.generarPDFIngresosMensuales();
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=ingresos.pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+    public ResponseEntity<?> descargarIngresosMensuales(WebRequest peticion) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=ingresos.pdf");
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        return RespuestasPDF.responder(cachePDF, peticion, cachePDF.clave(CachePDF.INGRESOS_MENSUALES), headers,
+                salida -> salida.write(reportePDFService.generarPDFIngresosMensuales()));
     }
 
     @GetMapping("/servicios/pdf")
-    public ResponseEntity<byte[]> descargarServiciosSolicitados() {
-        byte[] pdf = reportePDFService.generarPDFServiciosMasSolicitados();
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=servicios.pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+    public ResponseEntity<?> descargarServiciosSolicitados(WebRequest peticion) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=servicios.pdf");
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        return RespuestasPDF.responder(cachePDF, peticion, cachePDF.clave(CachePDF.SERVICIOS_MAS_SOLICITADOS), headers,
+                salida -> salida.write(reportePDFService.generarPDFServiciosMasSolicitados()));
     }
 
     @GetMapping("/repuestos/pdf")
-    public ResponseEntity<byte[]> descargarRepuestosUsados() {
-        byte[] pdf = reportePDFService.generarPDFRepuestosMasUsados();
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=repuestos.pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+    public ResponseEntity<?> descargarRepuestosUsados(WebRequest peticion) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=repuestos.pdf");
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        return RespuestasPDF.responder(cachePDF, peticion, cachePDF.clave(CachePDF.REPUESTOS_MAS_USADOS), headers,
+                salida -> salida.write(reportePDFService.generarPDFRepuestosMasUsados()));
     }
 }
 
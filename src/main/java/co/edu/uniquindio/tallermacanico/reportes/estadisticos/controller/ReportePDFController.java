@@ -1,12 +1,13 @@
 package co.edu.uniquindio.tallermacanico.reportes.estadisticos.controller;
 
+import co.edu.uniquindio.tallermacanico.reportes.cache.CachePDF;
 import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.ReportePDFService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 
@@ -21,6 +22,16 @@ import java.time.LocalDate;
  * Todos los endpoints retornan archivos PDF descargables con el tipo de contenido
  * {@code application/pdf} y encabezados HTTP apropiados para forzar la descarga.
  * </p>
+ * <p>
+ * Los listados que pueden ser muy grandes (clientes, vehículos, servicios y órdenes de trabajo)
+ * se generan en modo streaming, sin mantener el documento completo en memoria; si no están en
+ * caché, el PDF se escribe en la respuesta a medida que se genera.
+ * </p>
+ * <p>
+ * Los PDF generados se guardan en {@link CachePDF} mientras no cambien los datos de las tablas que
+ * consultan. Cada respuesta lleva un {@code ETag}; si el cliente lo envía en {@code If-None-Match}
+ * y los datos no cambiaron, se responde 304 Not Modified.
+ * </p>
  *
  * @author Sistema MotorPlus
  * @version 1.0
@@ -32,14 +43,17 @@ import java.time.LocalDate;
 public class ReportePDFController {
 
     private final ReportePDFService reportePDFService;
+    private final CachePDF cachePDF;
 
     /**
      * Constructor del controlador con inyección de dependencias.
      *
      * @param reportePDFService servicio encargado de generar los PDFs
+     * @param cachePDF          caché de los PDF ya generados
      */
-    public ReportePDFController(ReportePDFService reportePDFService) {
+    public ReportePDFController(ReportePDFService reportePDFService, CachePDF cachePDF) {
         this.reportePDFService = reportePDFService;
+        this.cachePDF = cachePDF;
     }
 
     // =====================================================
@@ -53,7 +67,7 @@ public class ReportePDFController {
      * El reporte incluye: ID, nombre completo, teléfono y correo electrónico de cada cliente.
      * </p>
      *
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado
      * @throws RuntimeException si ocurre un error al generar el PDF
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -64,15 +78,14 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Reporte_Clientes.pdf"</p>
      */
     @GetMapping("/clientes")
-    public ResponseEntity<byte[]> descargarReporteClientes() {
-        byte[] pdfBytes = reportePDFService.generarPDFClientes();
-
+    public ResponseEntity<?> descargarReporteClientes(WebRequest peticion) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "Reporte_Clientes.pdf");
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion, cachePDF.clave(CachePDF.CLIENTES), headers,
+                reportePDFService::escribirPDFClientes);
     }
 
     /**
@@ -82,7 +95,7 @@ public class ReportePDFController {
      * El reporte incluye: placa, marca, modelo y nombre del propietario de cada vehículo.
      * </p>
      *
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado
      * @throws RuntimeException si ocurre un error al generar el PDF
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -93,15 +106,14 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Reporte_Vehiculos.pdf"</p>
      */
     @GetMapping("/vehiculos")
-    public ResponseEntity<byte[]> descargarReporteVehiculos() {
-        byte[] pdfBytes = reportePDFService.generarPDFVehiculos();
-
+    public ResponseEntity<?> descargarReporteVehiculos(WebRequest peticion) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "Reporte_Vehiculos.pdf");
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion, cachePDF.clave(CachePDF.VEHICULOS), headers,
+                reportePDFService::escribirPDFVehiculos);
     }
 
     /**
@@ -111,7 +123,7 @@ public class ReportePDFController {
      * El reporte incluye: nombre del servicio, descripción y precio base.
      * </p>
      *
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado
      * @throws RuntimeException si ocurre un error al generar el PDF
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -122,15 +134,14 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Catalogo_Servicios.pdf"</p>
      */
     @GetMapping("/servicios")
-    public ResponseEntity<byte[]> descargarReporteServicios() {
-        byte[] pdfBytes = reportePDFService.generarPDFServicios();
-
+    public ResponseEntity<?> descargarReporteServicios(WebRequest peticion) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "Catalogo_Servicios.pdf");
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion, cachePDF.clave(CachePDF.SERVICIOS), headers,
+                reportePDFService::escribirPDFServicios);
     }
 
     // =====================================================
@@ -147,7 +158,7 @@ public class ReportePDFController {
      *
      * @param fechaInicio fecha de inicio del período (formato: yyyy-MM-dd)
      * @param fechaFin    fecha de fin del período (formato: yyyy-MM-dd)
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado
      * @throws RuntimeException si ocurre un error al generar el PDF
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -158,18 +169,19 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Reporte_Ordenes_Trabajo.pdf"</p>
      */
     @GetMapping("/ordenes-trabajo")
-    public ResponseEntity<byte[]> descargarReporteOrdenesTrabajo(
+    public ResponseEntity<?> descargarReporteOrdenesTrabajo(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin) {
-
-        byte[] pdfBytes = reportePDFService.generarPDFOrdenesTrabajo(fechaInicio, fechaFin);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin,
+            WebRequest peticion) {
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "Reporte_Ordenes_Trabajo.pdf");
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion,
+                cachePDF.clave(CachePDF.ORDENES_TRABAJO, fechaInicio, fechaFin), headers,
+                salida -> reportePDFService.escribirPDFOrdenesTrabajo(fechaInicio, fechaFin, salida));
     }
 
     /**
@@ -181,7 +193,7 @@ public class ReportePDFController {
      * </p>
      *
      * @param idCliente identificador único del cliente
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado
      * @throws RuntimeException si ocurre un error al generar el PDF
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -192,17 +204,17 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Facturas_Cliente_5.pdf"</p>
      */
     @GetMapping("/facturas-cliente/{idCliente}")
-    public ResponseEntity<byte[]> descargarReporteFacturasCliente(
-            @PathVariable int idCliente) {
-
-        byte[] pdfBytes = reportePDFService.generarPDFFacturasCliente(idCliente);
-
+    public ResponseEntity<?> descargarReporteFacturasCliente(
+            @PathVariable int idCliente,
+            WebRequest peticion) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "Facturas_Cliente_" + idCliente + ".pdf");
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion,
+                cachePDF.clave(CachePDF.FACTURAS_CLIENTE, idCliente), headers,
+                salida -> salida.write(reportePDFService.generarPDFFacturasCliente(idCliente)));
     }
 
     /**
@@ -214,7 +226,7 @@ public class ReportePDFController {
      * </p>
      *
      * @param idRepuesto identificador único del repuesto
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado
      * @throws RuntimeException si ocurre un error al generar el PDF
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -225,12 +237,9 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Movimientos_Repuesto_123.pdf"</p>
      */
     @GetMapping("/inventario-repuesto/{idRepuesto}")
-    public ResponseEntity<byte[]> descargarReporteMovimientosRepuesto(
-            @PathVariable int idRepuesto) {
-
-        // Llama al método del servicio para generar el PDF
-        byte[] pdfBytes = reportePDFService.generarPDFMovimientosRepuesto(idRepuesto);
-
+    public ResponseEntity<?> descargarReporteMovimientosRepuesto(
+            @PathVariable int idRepuesto,
+            WebRequest peticion) {
         // Configura los encabezados HTTP
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
@@ -240,8 +249,9 @@ public class ReportePDFController {
         // Se mantiene la configuración de caché del ejemplo
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        // Devuelve la respuesta
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion,
+                cachePDF.clave(CachePDF.MOVIMIENTOS_REPUESTO, idRepuesto), headers,
+                salida -> salida.write(reportePDFService.generarPDFMovimientosRepuesto(idRepuesto)));
     }
     /**
      * REPORTE 7: Supervisiones por Mecánico Supervisor
@@ -252,7 +262,7 @@ public class ReportePDFController {
      * </p>
      *
      * @param idSupervisor identificador único del mecánico que actúa como supervisor.
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes ({@code application/pdf}).
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado ({@code application/pdf}).
      * @throws RuntimeException si ocurre un error en la generación del PDF.
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -263,14 +273,14 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "supervisiones_101.pdf"</p>
      */
     @GetMapping("/supervisiones/{idSupervisor}")
-    public ResponseEntity<byte[]> generarReporteSupervisiones(@PathVariable int idSupervisor) {
-        byte[] pdfBytes = reportePDFService.generarPDFSupervisiones(idSupervisor);
-
+    public ResponseEntity<?> generarReporteSupervisiones(@PathVariable int idSupervisor, WebRequest peticion) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "supervisiones_" + idSupervisor + ".pdf");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion,
+                cachePDF.clave(CachePDF.SUPERVISIONES, idSupervisor), headers,
+                salida -> salida.write(reportePDFService.generarPDFSupervisiones(idSupervisor)));
     }
 
     // =====================================================
@@ -282,23 +292,23 @@ public class ReportePDFController {
      * REPORTE 8: Servicios Realizados por Mecánico
      * Genera un reporte en PDF con los servicios realizados por un mecánico.
      * <p>
-     * El archivo se retorna como arreglo de bytes en la respuesta HTTP,
+     * El archivo se retorna en la respuesta HTTP,
      * configurado con tipo de contenido {@code application/pdf} y encabezado
      * para descarga con nombre sugerido.
      * </p>
      *
      * @param idMecanico ID del mecánico a consultar
-     * @return PDF en un {@link ResponseEntity} listo para descarga
+     * @return PDF en un {@link ResponseEntity} listo para descarga, o 304 si no cambió
      */
     @GetMapping("/servicios/{idMecanico}")
-    public ResponseEntity<byte[]> generarReporteServiciosMecanico(@PathVariable int idMecanico) {
-        byte[] pdfBytes = reportePDFService.generarPDFServiciosMecanico(idMecanico);
-
+    public ResponseEntity<?> generarReporteServiciosMecanico(@PathVariable int idMecanico, WebRequest peticion) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "servicios_mecanico_" + idMecanico + ".pdf");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion,
+                cachePDF.clave(CachePDF.SERVICIOS_MECANICO, idMecanico), headers,
+                salida -> salida.write(reportePDFService.generarPDFServiciosMecanico(idMecanico)));
     }
 
     /**
@@ -310,7 +320,7 @@ public class ReportePDFController {
      * </p>
      *
      * @param idOrdenServicio identificador único de la Orden de Servicio.
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes ({@code application/pdf}).
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado ({@code application/pdf}).
      * @throws RuntimeException si ocurre un error en la generación del PDF.
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -321,13 +331,10 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Repuestos_Orden_45.pdf"</p>
      */
     @GetMapping("/repuestos-orden/{idOrdenServicio}")
-    public ResponseEntity<byte[]> descargarReporteRepuestosOrden(
-            @PathVariable int idOrdenServicio) {
-
-        // 1. Llama al método del servicio para generar el PDF
-        byte[] pdfBytes = reportePDFService.generarPDFRepuestosOrden(idOrdenServicio);
-
-        // 2. Configura los encabezados HTTP para la respuesta
+    public ResponseEntity<?> descargarReporteRepuestosOrden(
+            @PathVariable int idOrdenServicio,
+            WebRequest peticion) {
+        // Configura los encabezados HTTP para la respuesta
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
 
@@ -336,8 +343,9 @@ public class ReportePDFController {
         // Se mantiene la configuración de caché usada en otros ejemplos
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        // 3. Devuelve la respuesta, incluyendo los bytes del PDF y los encabezados
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion,
+                cachePDF.clave(CachePDF.REPUESTOS_ORDEN, idOrdenServicio), headers,
+                salida -> salida.write(reportePDFService.generarPDFRepuestosOrden(idOrdenServicio)));
     }
 
     /**
@@ -348,7 +356,7 @@ public class ReportePDFController {
      * y el total de órdenes de servicio en las que ha participado (como mecánico o supervisor).
      * </p>
      *
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes ({@code application/pdf}).
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado ({@code application/pdf}).
      * @throws RuntimeException si ocurre un error en la generación del PDF.
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -359,12 +367,8 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Productividad_Supervisores_{timestamp}.pdf"</p>
      */
     @GetMapping("/productividad-supervisores")
-    public ResponseEntity<byte[]> descargarReporteProductividadSupervisores() {
-
-        // 1. Llama al método del servicio para generar el PDF
-        byte[] pdfBytes = reportePDFService.generarPDFProductividadSupervisores();
-
-        // 2. Configura los encabezados HTTP para la respuesta
+    public ResponseEntity<?> descargarReporteProductividadSupervisores(WebRequest peticion) {
+        // Configura los encabezados HTTP para la respuesta
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
 
@@ -374,8 +378,9 @@ public class ReportePDFController {
         // Se mantiene la configuración de caché usada en otros ejemplos
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        // 3. Devuelve la respuesta
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion,
+                cachePDF.clave(CachePDF.PRODUCTIVIDAD_SUPERVISORES), headers,
+                salida -> salida.write(reportePDFService.generarPDFProductividadSupervisores()));
     }
     // =====================================================
     // REPORTES ESTADÍSTICOS
@@ -390,7 +395,7 @@ public class ReportePDFController {
      * Útil para identificar servicios de mayor demanda y optimizar recursos.
      * </p>
      *
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado
      * @throws RuntimeException si ocurre un error al generar el PDF
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -401,15 +406,15 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Servicios_Mas_Solicitados.pdf"</p>
      */
     @GetMapping("/estadisticas/servicios-mas-solicitados")
-    public ResponseEntity<byte[]> descargarReporteServiciosMasSolicitados() {
-        byte[] pdfBytes = reportePDFService.generarPDFServiciosMasSolicitados();
-
+    public ResponseEntity<?> descargarReporteServiciosMasSolicitados(WebRequest peticion) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "Servicios_Mas_Solicitados.pdf");
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion,
+                cachePDF.clave(CachePDF.SERVICIOS_MAS_SOLICITADOS), headers,
+                salida -> salida.write(reportePDFService.generarPDFServiciosMasSolicitados()));
     }
 
     /**
@@ -421,7 +426,7 @@ public class ReportePDFController {
      * Útil para gestión de inventario y planificación de compras.
      * </p>
      *
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado
      * @throws RuntimeException si ocurre un error al generar el PDF
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -432,15 +437,15 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Repuestos_Mas_Usados.pdf"</p>
      */
     @GetMapping("/estadisticas/repuestos-mas-usados")
-    public ResponseEntity<byte[]> descargarReporteRepuestosMasUsados() {
-        byte[] pdfBytes = reportePDFService.generarPDFRepuestosMasUsados();
-
+    public ResponseEntity<?> descargarReporteRepuestosMasUsados(WebRequest peticion) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "Repuestos_Mas_Usados.pdf");
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion,
+                cachePDF.clave(CachePDF.REPUESTOS_MAS_USADOS), headers,
+                salida -> salida.write(reportePDFService.generarPDFRepuestosMasUsados()));
     }
 
     /**
@@ -452,7 +457,7 @@ public class ReportePDFController {
      * Útil para análisis financiero y proyecciones de negocio.
      * </p>
      *
-     * @return ResponseEntity con el archivo PDF como arreglo de bytes
+     * @return ResponseEntity con el PDF, o 304 si no cambió desde el ETag enviado
      * @throws RuntimeException si ocurre un error al generar el PDF
      *
      * <p><b>Ejemplo de uso:</b></p>
@@ -463,15 +468,15 @@ public class ReportePDFController {
      * <p><b>Respuesta:</b> Archivo PDF descargable "Ingresos_Mensuales.pdf"</p>
      */
     @GetMapping("/estadisticas/ingresos-mensuales")
-    public ResponseEntity<byte[]> descargarReporteIngresosMensuales() {
-        byte[] pdfBytes = reportePDFService.generarPDFIngresosMensuales();
-
+    public ResponseEntity<?> descargarReporteIngresosMensuales(WebRequest peticion) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "Ingresos_Mensuales.pdf");
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return RespuestasPDF.responder(cachePDF, peticion,
+                cachePDF.clave(CachePDF.INGRESOS_MENSUALES), headers,
+                salida -> salida.write(reportePDFService.generarPDFIngresosMensuales()));
     }
 
     // =====================================================
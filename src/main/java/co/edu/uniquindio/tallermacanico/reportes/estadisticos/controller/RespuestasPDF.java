@@ -0,0 +1,59 @@
+package co.edu.uniquindio.tallermacanico.reportes.estadisticos.controller;
+
+import co.edu.uniquindio.tallermacanico.reportes.cache.CachePDF;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Construye las respuestas de los endpoints de PDF a partir de {@link CachePDF}.
+ * <p>
+ * Si el {@code If-None-Match} de la petición coincide con el ETag de la versión actual del
+ * reporte se responde 304 sin generar el PDF; si no, se envía el archivo guardado o se genera
+ * en modo streaming, escribiéndolo en la respuesta a medida que se produce.
+ * Con la caché desactivada no hay ETag y el PDF siempre se genera.
+ * </p>
+ */
+final class RespuestasPDF {
+
+    private RespuestasPDF() {
+    }
+
+    /**
+     * @param cachePDF  caché de PDF generados
+     * @param peticion  petición actual (para leer {@code If-None-Match})
+     * @param clave     clave del reporte con sus parámetros
+     * @param headers   encabezados de la respuesta (tipo de contenido, nombre del archivo...)
+     * @param escritor  genera el PDF si no está en caché
+     * @return 304 sin cuerpo, o 200 con el PDF y su ETag (si la caché está activa)
+     */
+    static ResponseEntity<?> responder(CachePDF cachePDF, WebRequest peticion, CachePDF.Clave clave,
+                                       HttpHeaders headers, CachePDF.Escritor escritor) {
+        if (clave.etag() != null) {
+            headers.setETag(clave.etag());
+            if (peticion.checkNotModified(clave.etag())) {
+                cachePDF.registrarNoModificado();
+                return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+            }
+        }
+
+        CachePDF.PDFCacheado guardado;
+        try {
+            guardado = cachePDF.abrirGuardado(clave);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al leer el PDF en caché", e);
+        }
+        if (guardado != null) {
+            headers.setContentLength(guardado.tamanio());
+            return new ResponseEntity<>(new InputStreamResource(guardado.contenido()), headers, HttpStatus.OK);
+        }
+        StreamingResponseBody cuerpo = salida -> cachePDF.generar(clave, escritor, salida);
+        return new ResponseEntity<>(cuerpo, headers, HttpStatus.OK);
+    }
+}
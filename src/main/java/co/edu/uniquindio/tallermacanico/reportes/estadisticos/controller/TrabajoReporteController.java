@@ -0,0 +1,119 @@
+package co.edu.uniquindio.tallermacanico.reportes.estadisticos.controller;
+
+import co.edu.uniquindio.tallermacanico.dto.ApiErrorResponse;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.SolicitudTrabajoReporteDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.TrabajoReporteDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.TrabajosReporteService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Controlador REST para los reportes PDF asíncronos.
+ * <p>
+ * En lugar de generar el PDF dentro de la petición, se encola y se devuelve un id; el cliente
+ * consulta el estado y descarga el archivo cuando está {@code COMPLETADO}.
+ * </p>
+ *
+ * <h2>Endpoints:</h2>
+ * <ul>
+ *     <li><b>POST /api/reportes/jobs</b> → encola un reporte (202 Accepted).</li>
+ *     <li><b>GET /api/reportes/jobs/{id}</b> → estado del trabajo.</li>
+ *     <li><b>GET /api/reportes/jobs/{id}/descarga</b> → PDF generado.</li>
+ *     <li><b>GET /api/reportes/jobs/metricas</b> → contadores de la cola.</li>
+ * </ul>
+ *
+ * <p><b>Ejemplo de solicitud:</b></p>
+ * <pre>
+ * POST /api/reportes/jobs
+ * { "tipo": "ordenes-trabajo", "parametros": { "fechaInicio": "2023-01-01", "fechaFin": "2025-12-31" } }
+ * </pre>
+ */
+@RestController
+@RequestMapping("/api/reportes/jobs")
+public class TrabajoReporteController {
+
+    private final TrabajosReporteService trabajosReporteService;
+
+    public TrabajoReporteController(TrabajosReporteService trabajosReporteService) {
+        this.trabajosReporteService = trabajosReporteService;
+    }
+
+    /**
+     * Encola un reporte para generarlo en segundo plano.
+     *
+     * @param solicitud tipo de reporte y parámetros
+     * @return 202 con el estado del trabajo y su URL en {@code Location}; 400 si la solicitud no es
+     *         válida o 503 si la cola está llena
+     */
+    @PostMapping
+    public ResponseEntity<?> encolar(@RequestBody SolicitudTrabajoReporteDTO solicitud) {
+        try {
+            TrabajoReporteDTO trabajo = trabajosReporteService.encolar(solicitud);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/reportes/jobs/" + trabajo.getId()))
+                    .body(trabajo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .body(new ApiErrorResponse("Cola de reportes llena", e.getMessage()));
+        }
+    }
+
+    /**
+     * Devuelve las métricas de la cola de reportes.
+     *
+     * @return mapa con las métricas en formato JSON
+     */
+    @GetMapping("/metricas")
+    public Map<String, Object> metricas() {
+        return trabajosReporteService.metricas();
+    }
+
+    /**
+     * Consulta el estado de un trabajo.
+     *
+     * @param id identificador del trabajo
+     * @return 200 con el estado, o 404 si no existe o ya se borró
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> consultar(@PathVariable String id) {
+        TrabajoReporteDTO trabajo = trabajosReporteService.consultar(id);
+        if (trabajo != null) {
+            return ResponseEntity.ok(trabajo);
+        }
+        return ResponseEntity.status(404).body(new ApiErrorResponse("Trabajo no encontrado", "ID: " + id));
+    }
+
+    /**
+     * Descarga el PDF de un trabajo completado.
+     *
+     * @param id identificador del trabajo
+     * @return 200 con el PDF, 409 con el estado si todavía no está listo o falló, o 404 si no existe
+     */
+    @GetMapping("/{id}/descarga")
+    public ResponseEntity<?> descargar(@PathVariable String id) {
+        TrabajoReporteDTO trabajo = trabajosReporteService.consultar(id);
+        if (trabajo == null) {
+            return ResponseEntity.status(404).body(new ApiErrorResponse("Trabajo no encontrado", "ID: " + id));
+        }
+        Path archivo = trabajosReporteService.archivo(id);
+        if (archivo == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(trabajo);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + trabajo.getTipo() + ".pdf");
+        return new ResponseEntity<>(new FileSystemResource(archivo), headers, HttpStatus.OK);
+    }
+}
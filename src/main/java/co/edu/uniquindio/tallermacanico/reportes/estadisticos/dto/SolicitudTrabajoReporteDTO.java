@@ -0,0 +1,41 @@
+package co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DTO con la solicitud de un reporte PDF asíncrono.
+ * <p>
+ * {@code tipo} es el identificador del reporte (por ejemplo {@code ordenes-trabajo} o
+ * {@code facturas-cliente}) y {@code parametros} sus valores, como en los endpoints síncronos
+ * ({@code fechaInicio}, {@code fechaFin}, {@code idCliente}...).
+ * </p>
+ */
+public class SolicitudTrabajoReporteDTO {
+
+    private String tipo;
+    private Map<String, String> parametros = new HashMap<>();
+
+    public SolicitudTrabajoReporteDTO() {}
+
+    public SolicitudTrabajoReporteDTO(String tipo, Map<String, String> parametros) {
+        this.tipo = tipo;
+        this.parametros = parametros;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Map<String, String> getParametros() {
+        return parametros;
+    }
+
+    public void setParametros(Map<String, String> parametros) {
+        this.parametros = parametros;
+    }
+}
@@ -0,0 +1,111 @@
+package co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con el estado de un reporte PDF asíncrono.
+ * <p>
+ * {@code estado} es {@code PENDIENTE}, {@code EN_PROCESO}, {@code COMPLETADO} o {@code FALLIDO};
+ * {@code urlDescarga} solo se informa cuando el PDF está listo.
+ * </p>
+ */
+public class TrabajoReporteDTO {
+
+    private String id;
+    private String tipo;
+    private String estado;
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+    private long tamanioBytes;
+    private String error;
+    private String urlDescarga;
+
+    public TrabajoReporteDTO() {}
+
+    public TrabajoReporteDTO(String id, String tipo, String estado, LocalDateTime fechaCreacion,
+                             LocalDateTime fechaInicio, LocalDateTime fechaFin, long tamanioBytes,
+                             String error, String urlDescarga) {
+        this.id = id;
+        this.tipo = tipo;
+        this.estado = estado;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaInicio = fechaInicio;
+        this.fechaFin = fechaFin;
+        this.tamanioBytes = tamanioBytes;
+        this.error = error;
+        this.urlDescarga = urlDescarga;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public LocalDateTime getFechaInicio() {
+        return fechaInicio;
+    }
+
+    public void setFechaInicio(LocalDateTime fechaInicio) {
+        this.fechaInicio = fechaInicio;
+    }
+
+    public LocalDateTime getFechaFin() {
+        return fechaFin;
+    }
+
+    public void setFechaFin(LocalDateTime fechaFin) {
+        this.fechaFin = fechaFin;
+    }
+
+    public long getTamanioBytes() {
+        return tamanioBytes;
+    }
+
+    public void setTamanioBytes(long tamanioBytes) {
+        this.tamanioBytes = tamanioBytes;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getUrlDescarga() {
+        return urlDescarga;
+    }
+
+    public void setUrlDescarga(String urlDescarga) {
+        this.urlDescarga = urlDescarga;
+    }
+}
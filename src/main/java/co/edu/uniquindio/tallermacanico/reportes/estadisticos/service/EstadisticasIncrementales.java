@@ -0,0 +1,408 @@
+package co.edu.uniquindio.tallermacanico.reportes.estadisticos.service;
+
+import co.edu.uniquindio.tallermacanico.model.Factura;
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.IngresoMensualDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.RepuestoEstadisticoDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.ServicioEstadisticoDTO;
+import co.edu.uniquindio.tallermacanico.reportes.repository.EstadisticasRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Motor de estadísticas mantenido en memoria de forma incremental.
+ * <p>
+ * En lugar de recorrer {@code factura}, {@code orden_servicio} y {@code movimiento_inventario}
+ * con un {@code GROUP BY} en cada consulta, guarda contadores y sumas que los servicios de
+ * escritura actualizan al registrar o eliminar una factura o una orden de servicio y al
+ * registrar un movimiento de inventario. Las consultas de {@code /api/reportes/estadisticos/*} se responden
+ * desde memoria.
+ * </p>
+ *
+ * <p>Se reconstruye desde la base de datos al arrancar y se reconcilia periódicamente
+ * ({@code taller.estadisticas.reconciliar-ms}); la reconciliación corrige las diferencias causadas
+ * por escrituras hechas fuera de la aplicación. Los cambios notificados mientras se leen los agregados
+ * se guardan y se vuelven a aplicar sobre el estado nuevo antes de publicarlo, así que no se pierden.
+ * Una escritura confirmada justo antes de la lectura pero notificada después queda contada dos veces
+ * hasta la siguiente reconciliación. Mientras no se haya construido, {@link #estaListo()} devuelve
+ * {@code false} y los servicios deben consultar la base de datos.</p>
+ */
+@Service
+public class EstadisticasIncrementales {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticasIncrementales.class);
+
+    private static final String TIPO_SALIDA = "SALIDA";
+
+    private final EstadisticasRepository estadisticasRepository;
+
+    /** Estado actual; {@code null} hasta la primera reconstrucción. */
+    private volatile Estado estado;
+
+    /**
+     * Cambios recibidos durante una reconstrucción, para repetirlos sobre el estado nuevo;
+     * {@code null} cuando no hay una en curso.
+     */
+    private Queue<Consumer<Estado>> pendientes;
+
+    /**
+     * Las actualizaciones toman la lectura (se aplican en paralelo); la reconstrucción toma la escritura
+     * solo para empezar a guardar cambios y para publicar el estado nuevo, no durante la consulta.
+     */
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    public EstadisticasIncrementales(EstadisticasRepository estadisticasRepository) {
+        this.estadisticasRepository = estadisticasRepository;
+    }
+
+    /**
+     * Contadores del motor. Los mapas son concurrentes para que las escrituras puedan
+     * actualizarlos en paralelo sin bloquear las lecturas.
+     */
+    private static final class Estado {
+        final Set<Integer> idsEstadoPagado;
+        final Map<String, BigDecimal> ingresosPorMes;
+        final Map<Integer, Long> solicitudesPorServicio;
+        final Map<Integer, Long> salidasPorRepuesto;
+        final Map<Integer, String> nombresServicio;
+        final Map<Integer, String> nombresRepuesto;
+
+        Estado(Set<Integer> idsEstadoPagado, Map<String, BigDecimal> ingresosPorMes,
+               Map<Integer, Long> solicitudesPorServicio, Map<Integer, Long> salidasPorRepuesto,
+               Map<Integer, String> nombresServicio, Map<Integer, String> nombresRepuesto) {
+            this.idsEstadoPagado = Set.copyOf(idsEstadoPagado);
+            this.ingresosPorMes = new ConcurrentHashMap<>(ingresosPorMes);
+            this.solicitudesPorServicio = new ConcurrentHashMap<>(solicitudesPorServicio);
+            this.salidasPorRepuesto = new ConcurrentHashMap<>(salidasPorRepuesto);
+            this.nombresServicio = new ConcurrentHashMap<>(nombresServicio);
+            this.nombresRepuesto = new ConcurrentHashMap<>(nombresRepuesto);
+        }
+    }
+
+    // =====================================================
+    // CONSTRUCCIÓN Y RECONCILIACIÓN
+    // =====================================================
+
+    /**
+     * Construye los contadores al terminar de arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        try {
+            reconstruir();
+            Estado estado = this.estado;
+            log.info("Estadísticas en memoria construidas: {} meses, {} servicios, {} repuestos",
+                    estado.ingresosPorMes.size(), estado.solicitudesPorServicio.size(),
+                    estado.salidasPorRepuesto.size());
+        } catch (DataAccessException e) {
+            log.error("No se pudieron construir las estadísticas en memoria; se consultará la base de datos", e);
+        }
+    }
+
+    /**
+     * Vuelve a leer los agregados de la base de datos y reemplaza los contadores,
+     * registrando en el log si había diferencias.
+     */
+    @Scheduled(initialDelayString = "${taller.estadisticas.reconciliar-ms:600000}",
+            fixedDelayString = "${taller.estadisticas.reconciliar-ms:600000}")
+    public void reconciliar() {
+        try {
+            reconstruir();
+        } catch (DataAccessException e) {
+            log.error("No se pudo reconciliar las estadísticas en memoria", e);
+        }
+    }
+
+    /**
+     * Lee los agregados sin bloquear las actualizaciones, repite sobre el resultado los cambios que llegaron
+     * durante la lectura y lo publica. Si la lectura falla se conserva el estado anterior.
+     */
+    private synchronized void reconstruir() {
+        candado.writeLock().lock();
+        try {
+            pendientes = new ConcurrentLinkedQueue<>();
+        } finally {
+            candado.writeLock().unlock();
+        }
+
+        Estado nuevo;
+        try {
+            nuevo = cargarDesdeBaseDeDatos();
+        } catch (RuntimeException e) {
+            candado.writeLock().lock();
+            try {
+                pendientes = null;
+            } finally {
+                candado.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        candado.writeLock().lock();
+        try {
+            for (Consumer<Estado> cambio : pendientes) {
+                cambio.accept(nuevo);
+            }
+            pendientes = null;
+            Estado anterior = estado;
+            if (anterior != null) {
+                int diferencias = contarDiferencias(anterior.ingresosPorMes, nuevo.ingresosPorMes)
+                        + contarDiferencias(anterior.solicitudesPorServicio, nuevo.solicitudesPorServicio)
+                        + contarDiferencias(anterior.salidasPorRepuesto, nuevo.salidasPorRepuesto);
+                if (diferencias > 0) {
+                    log.warn("Reconciliación de estadísticas: {} valores corregidos desde la base de datos", diferencias);
+                }
+            }
+            estado = nuevo;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si los contadores ya fueron construidos.
+     *
+     * @return {@code true} si las consultas pueden responderse desde memoria
+     */
+    public boolean estaListo() {
+        return estado != null;
+    }
+
+    private Estado cargarDesdeBaseDeDatos() {
+        return new Estado(
+                estadisticasRepository.idsEstadoPagado(),
+                estadisticasRepository.ingresosPagadosPorMes(),
+                estadisticasRepository.solicitudesPorServicio(),
+                estadisticasRepository.salidasPorRepuesto(),
+                estadisticasRepository.nombresServicio(),
+                estadisticasRepository.nombresRepuesto());
+    }
+
+    private static <K, V> int contarDiferencias(Map<K, V> anterior, Map<K, V> nuevo) {
+        int diferencias = 0;
+        for (Map.Entry<K, V> entrada : nuevo.entrySet()) {
+            if (!mismoValor(anterior.get(entrada.getKey()), entrada.getValue())) {
+                diferencias++;
+            }
+        }
+        for (K clave : anterior.keySet()) {
+            if (!nuevo.containsKey(clave)) {
+                diferencias++;
+            }
+        }
+        return diferencias;
+    }
+
+    private static boolean mismoValor(Object a, Object b) {
+        if (a instanceof BigDecimal x && b instanceof BigDecimal y) {
+            return x.compareTo(y) == 0;
+        }
+        return a != null && a.equals(b);
+    }
+
+    // =====================================================
+    // ACTUALIZACIONES DESDE LAS ESCRITURAS
+    // =====================================================
+
+    /**
+     * Suma la factura a los ingresos del mes si su estado es pagado.
+     *
+     * @param factura factura recién registrada
+     */
+    public void facturaRegistrada(Factura factura) {
+        sumarIngreso(factura, BigDecimal.valueOf(factura.getTotal()));
+    }
+
+    /**
+     * Resta la factura de los ingresos del mes si su estado es pagado.
+     *
+     * @param factura factura eliminada (leída antes de eliminarla)
+     */
+    public void facturaEliminada(Factura factura) {
+        sumarIngreso(factura, BigDecimal.valueOf(factura.getTotal()).negate());
+    }
+
+    /**
+     * Cuenta una nueva solicitud del servicio.
+     *
+     * @param ordenServicio orden de servicio registrada
+     */
+    public void ordenServicioRegistrada(OrdenServicio ordenServicio) {
+        int idServicio = ordenServicio.getIdServicio();
+        String nombre = nombreFaltante(e -> e.nombresServicio, idServicio, estadisticasRepository::nombreServicio);
+        aplicar(actual -> {
+            if (nombre != null) {
+                actual.nombresServicio.putIfAbsent(idServicio, nombre);
+            }
+            sumarConteo(actual.solicitudesPorServicio, idServicio, 1);
+        });
+    }
+
+    /**
+     * Descuenta una solicitud del servicio.
+     *
+     * @param ordenServicio orden de servicio eliminada (leída antes de eliminarla)
+     */
+    public void ordenServicioEliminada(OrdenServicio ordenServicio) {
+        aplicar(actual -> sumarConteo(actual.solicitudesPorServicio, ordenServicio.getIdServicio(), -1));
+    }
+
+    /**
+     * Cuenta un uso del repuesto si el movimiento es una salida.
+     *
+     * @param movimiento movimiento registrado
+     */
+    public void movimientoRegistrado(MovimientoInventario movimiento) {
+        if (TIPO_SALIDA.equalsIgnoreCase(movimiento.getTipoMovimiento())) {
+            int idRepuesto = movimiento.getIdRepuesto();
+            String nombre = nombreFaltante(e -> e.nombresRepuesto, idRepuesto, estadisticasRepository::nombreRepuesto);
+            aplicar(actual -> {
+                if (nombre != null) {
+                    actual.nombresRepuesto.putIfAbsent(idRepuesto, nombre);
+                }
+                sumarConteo(actual.salidasPorRepuesto, idRepuesto, 1);
+            });
+        }
+    }
+
+    /**
+     * Aplica un cambio al estado actual y, si hay una reconstrucción en curso, lo guarda para repetirlo
+     * sobre el estado que se está leyendo.
+     */
+    private void aplicar(Consumer<Estado> cambio) {
+        candado.readLock().lock();
+        try {
+            Estado actual = estado;
+            if (actual != null) {
+                cambio.accept(actual);
+            }
+            if (pendientes != null) {
+                pendientes.add(cambio);
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Consulta el nombre de un servicio o repuesto que el estado actual todavía no conoce. Se hace antes de
+     * {@link #aplicar(Consumer)}: dentro del candado o de una operación del mapa concurrente, la consulta a la base
+     * de datos retendría a las demás escrituras.
+     *
+     * @return nombre a agregar, o {@code null} si ya se conoce o no existe
+     */
+    private String nombreFaltante(Function<Estado, Map<Integer, String>> nombres, int id,
+                                  IntFunction<String> consulta) {
+        Estado actual = estado;
+        if (actual != null && nombres.apply(actual).containsKey(id)) {
+            return null;
+        }
+        return consulta.apply(id);
+    }
+
+    private void sumarIngreso(Factura factura, BigDecimal monto) {
+        if (factura.getFechaEmision() == null) {
+            return;
+        }
+        aplicar(actual -> {
+            if (actual.idsEstadoPagado.contains(factura.getIdEstadoPago())) {
+                actual.ingresosPorMes.compute(mes(factura.getFechaEmision()), (mes, total) -> {
+                    BigDecimal nuevo = total == null ? monto : total.add(monto);
+                    return nuevo.signum() <= 0 ? null : nuevo;
+                });
+            }
+        });
+    }
+
+    private static void sumarConteo(Map<Integer, Long> conteo, int id, long delta) {
+        conteo.compute(id, (clave, total) -> {
+            long nuevo = (total == null ? 0 : total) + delta;
+            return nuevo <= 0 ? null : nuevo;
+        });
+    }
+
+    private static String mes(LocalDate fecha) {
+        return String.format("%04d-%02d", fecha.getYear(), fecha.getMonthValue());
+    }
+
+    // =====================================================
+    // CONSULTAS
+    // =====================================================
+
+    /**
+     * Ingresos de facturas pagadas por mes, ordenados por mes.
+     *
+     * @return lista de {@link IngresoMensualDTO}
+     */
+    public List<IngresoMensualDTO> ingresosPorMes() {
+        List<IngresoMensualDTO> ingresos = new ArrayList<>();
+        estado.ingresosPorMes.forEach((mes, total) -> ingresos.add(new IngresoMensualDTO(mes, total)));
+        ingresos.sort(Comparator.comparing(IngresoMensualDTO::getMes));
+        return ingresos;
+    }
+
+    /**
+     * Servicios agrupados por nombre con su total de solicitudes, de mayor a menor.
+     *
+     * @return lista de {@link ServicioEstadisticoDTO}
+     */
+    public List<ServicioEstadisticoDTO> serviciosMasSolicitados() {
+        Estado actual = estado;
+        Map<String, Long> porNombre = agruparPorNombre(actual.solicitudesPorServicio, actual.nombresServicio);
+        List<ServicioEstadisticoDTO> servicios = new ArrayList<>();
+        porNombre.forEach((nombre, total) -> servicios.add(new ServicioEstadisticoDTO(nombre, total)));
+        servicios.sort(Comparator.comparingLong(ServicioEstadisticoDTO::getTotalSolicitudes).reversed());
+        return servicios;
+    }
+
+    /**
+     * Repuestos agrupados por nombre con su total de salidas, de mayor a menor.
+     *
+     * @return lista de {@link RepuestoEstadisticoDTO}
+     */
+    public List<RepuestoEstadisticoDTO> repuestosMasUsados() {
+        Estado actual = estado;
+        Map<String, Long> porNombre = agruparPorNombre(actual.salidasPorRepuesto, actual.nombresRepuesto);
+        List<RepuestoEstadisticoDTO> repuestos = new ArrayList<>();
+        porNombre.forEach((nombre, total) -> repuestos.add(new RepuestoEstadisticoDTO(nombre, total)));
+        repuestos.sort(Comparator.comparingLong(RepuestoEstadisticoDTO::getTotalUsos).reversed());
+        return repuestos;
+    }
+
+    /**
+     * Suma los conteos de ids con el mismo nombre, igual que el {@code GROUP BY nombre} del reporte.
+     * Los ids sin nombre (registros eliminados) se omiten, como en el {@code JOIN} original.
+     */
+    private static Map<String, Long> agruparPorNombre(Map<Integer, Long> conteo, Map<Integer, String> nombres) {
+        Map<String, Long> porNombre = new HashMap<>();
+        conteo.forEach((id, total) -> {
+            String nombre = nombres.get(id);
+            if (nombre != null) {
+                porNombre.merge(nombre, total, Long::sum);
+            }
+        });
+        return porNombre;
+    }
+}
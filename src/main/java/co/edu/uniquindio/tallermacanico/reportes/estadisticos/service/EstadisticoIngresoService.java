@@ -14,17 +14,24 @@ import java.util.List;
 public class EstadisticoIngresoService {
 
     private final ReporteRepository reporteRepository;
+    private final EstadisticasIncrementales estadisticasIncrementales;
 
-    public EstadisticoIngresoService(ReporteRepository reporteRepository) {
+    public EstadisticoIngresoService(ReporteRepository reporteRepository,
+                                     EstadisticasIncrementales estadisticasIncrementales) {
         this.reporteRepository = reporteRepository;
+        this.estadisticasIncrementales = estadisticasIncrementales;
     }
 
     /**
-     * Obtiene los ingresos agrupados por mes.
+     * Obtiene los ingresos agrupados por mes. Se responde desde {@link EstadisticasIncrementales}
+     * cuando ya está construido y, si no, desde la base de datos.
      *
      * @return lista de {@link IngresoMensualDTO} con mes y total de ingresos
      */
     public List<IngresoMensualDTO> getIngresosPorMes() {
+        if (estadisticasIncrementales.estaListo()) {
+            return estadisticasIncrementales.ingresosPorMes();
+        }
         return reporteRepository.obtenerIngresosPorMes();
     }
 }
@@ -14,9 +14,12 @@ import java.util.List;
 public class EstadisticoRepuestoService {
 
     private final ReporteRepository reporteRepository;
+    private final EstadisticasIncrementales estadisticasIncrementales;
 
-    public EstadisticoRepuestoService(ReporteRepository reporteRepository) {
+    public EstadisticoRepuestoService(ReporteRepository reporteRepository,
+                                      EstadisticasIncrementales estadisticasIncrementales) {
         this.reporteRepository = reporteRepository;
+        this.estadisticasIncrementales = estadisticasIncrementales;
     }
 
     /**
@@ -25,6 +28,9 @@ public class EstadisticoRepuestoService {
      * @return lista de {@link ServicioEstadisticoDTO}
      */
     public List<ServicioEstadisticoDTO> getDistribucionServicios() {
+        if (estadisticasIncrementales.estaListo()) {
+            return estadisticasIncrementales.serviciosMasSolicitados();
+        }
         return reporteRepository.obtenerServiciosMasSolicitados();
     }
 
@@ -34,6 +40,9 @@ public class EstadisticoRepuestoService {
      * @return lista de {@link RepuestoEstadisticoDTO}
      */
     public List<RepuestoEstadisticoDTO> getDistribucionRepuestos() {
+        if (estadisticasIncrementales.estaListo()) {
+            return estadisticasIncrementales.repuestosMasUsados();
+        }
         return reporteRepository.obtenerRepuestosMasUsados();
     }
 }
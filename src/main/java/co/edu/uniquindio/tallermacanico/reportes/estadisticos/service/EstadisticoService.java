@@ -9,8 +9,8 @@ import java.util.List;
 /**
  * Servicio encargado de gestionar los reportes estadísticos de la aplicación.
  * <p>
- * Este servicio invoca las consultas definidas en {@link ReporteRepository}
- * y devuelve los resultados en forma de DTOs listos para ser consumidos
+ * Este servicio responde desde {@link EstadisticasIncrementales} cuando ya está
+ * construido; si no, invoca las consultas definidas en {@link ReporteRepository}. Devuelve los resultados en forma de DTOs listos para ser consumidos
  * por la capa de presentación o el frontend.
  * </p>
  *
@@ -26,14 +26,18 @@ import java.util.List;
 public class EstadisticoService {
 
     private final ReporteRepository reporteRepository;
+    private final EstadisticasIncrementales estadisticasIncrementales;
 
     /**
-     * Constructor que inyecta el repositorio de reportes.
+     * Constructor que inyecta el repositorio de reportes y el motor de estadísticas en memoria.
      *
-     * @param reporteRepository instancia de {@link ReporteRepository}
+     * @param reporteRepository         instancia de {@link ReporteRepository}
+     * @param estadisticasIncrementales instancia de {@link EstadisticasIncrementales}
      */
-    public EstadisticoService(ReporteRepository reporteRepository) {
+    public EstadisticoService(ReporteRepository reporteRepository,
+                              EstadisticasIncrementales estadisticasIncrementales) {
         this.reporteRepository = reporteRepository;
+        this.estadisticasIncrementales = estadisticasIncrementales;
     }
 
     /**
@@ -42,6 +46,9 @@ public class EstadisticoService {
      * @return lista de {@link ServicioEstadisticoDTO} con los servicios más solicitados
      */
     public List<ServicioEstadisticoDTO> getDistribucionServicios() {
+        if (estadisticasIncrementales.estaListo()) {
+            return estadisticasIncrementales.serviciosMasSolicitados();
+        }
         return reporteRepository.obtenerServiciosMasSolicitados();
     }
 }
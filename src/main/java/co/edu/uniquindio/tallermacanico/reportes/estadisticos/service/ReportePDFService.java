@@ -8,6 +8,7 @@ import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.layout.Document;
@@ -20,13 +21,21 @@ import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio encargado de generar reportes PDF a partir de datos estadísticos.
  * Utiliza la librería iText para construir documentos en memoria.
+ * <p>
+ * Los listados que pueden crecer sin límite (clientes, vehículos, servicios y órdenes por
+ * período) también tienen una variante {@code escribirPDF*} que escribe el documento en un
+ * {@link OutputStream} a medida que se completan las páginas, leyendo las filas desde un
+ * cursor JDBC en lugar de una lista precargada.
+ * </p>
  */
 @Service
 public class ReportePDFService {
@@ -34,6 +43,9 @@ public class ReportePDFService {
     private final ReporteRepository reporteRepository;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
+    /** Filas que se acumulan en una tabla grande antes de volcarlas a la página. */
+    private static final int FILAS_POR_VOLCADO = 200;
+
     public ReportePDFService(ReporteRepository reporteRepository) {
         this.reporteRepository = reporteRepository;
     }
@@ -50,21 +62,29 @@ public class ReportePDFService {
      * REPORTE 1: 1. Listado de Clientes Registrados
      */
     public byte[] generarPDFClientes() {
-        List<Cliente> clientes = reporteRepository.listarClientes();
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        escribirPDFClientes(baos);
+        return baos.toByteArray();
+    }
 
+    /**
+     * REPORTE 1 en modo streaming: escribe el PDF directamente en {@code salida}
+     * a medida que se leen los clientes del cursor.
+     *
+     * @param salida flujo de destino (no se cierra)
+     */
+    public void escribirPDFClientes(OutputStream salida) {
         try {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+            PdfDocument pdf = crearDocumentoStreaming(salida);
+            Document document = new Document(pdf, PageSize.A4, true);
             PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
             PdfFont boldFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
 
             // Header
             agregarHeader(document, "LISTADO DE CLIENTES REGISTRADOS", boldFont);
 
-            // Tabla
-            Table table = new Table(new float[]{1, 3, 2, 2, 3});
+            // Tabla (modo tabla grande: las filas terminadas se vuelcan a la página)
+            Table table = new Table(new float[]{1, 3, 2, 2, 3}, true);
             table.setWidth(UnitValue.createPercentValue(100));
 
             // Headers
@@ -73,18 +93,20 @@ public class ReportePDFService {
             agregarHeaderCell(table, "CÉDULA", boldFont);
             agregarHeaderCell(table, "TELÉFONO", boldFont);
             agregarHeaderCell(table, "CORREO", boldFont);
+            document.add(table);
 
             // Datos
-            for (Cliente cliente : clientes) {
+            int[] total = {0};
+            reporteRepository.recorrerClientes(cliente -> {
                 table.addCell(createCell(String.valueOf(cliente.getIdCliente()), font));
                 table.addCell(createCell(cliente.getNombre(), font));
                 table.addCell(createCell(cliente.getTelefono(), font));
-            }
-
-            document.add(table);
+                volcarSiCorresponde(table, ++total[0]);
+            });
+            table.complete();
 
             // Total
-            document.add(new Paragraph("\nTotal de Clientes Registrados: " + clientes.size())
+            document.add(new Paragraph("\nTotal de Clientes Registrados: " + total[0])
                     .setFont(boldFont).setFontSize(12));
 
             agregarFooter(document, font);
@@ -93,43 +115,52 @@ public class ReportePDFService {
         } catch (IOException e) {
             throw new RuntimeException("Error al generar PDF de clientes", e);
         }
-
-        return baos.toByteArray();
     }
 
     /**
      * REPORTE 2: Listado de Vehículos con Propietario
      */
     public byte[] generarPDFVehiculos() {
-        List<VehiculoReporteDTO> vehiculos = reporteRepository.listarVehiculosDTO();
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        escribirPDFVehiculos(baos);
+        return baos.toByteArray();
+    }
 
+    /**
+     * REPORTE 2 en modo streaming: escribe el PDF directamente en {@code salida}
+     * a medida que se leen los vehículos del cursor.
+     *
+     * @param salida flujo de destino (no se cierra)
+     */
+    public void escribirPDFVehiculos(OutputStream salida) {
         try {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+            PdfDocument pdf = crearDocumentoStreaming(salida);
+            Document document = new Document(pdf, PageSize.A4, true);
             PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
             PdfFont boldFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
 
             agregarHeader(document, "VEHÍCULOS REGISTRADOS CON PROPIETARIO", boldFont);
 
-            Table table = new Table(new float[]{2, 2, 2, 3});
+            Table table = new Table(new float[]{2, 2, 2, 3}, true);
             table.setWidth(UnitValue.createPercentValue(100));
 
             agregarHeaderCell(table, "PLACA", boldFont);
             agregarHeaderCell(table, "MARCA", boldFont);
             agregarHeaderCell(table, "MODELO", boldFont);
             agregarHeaderCell(table, "PROPIETARIO", boldFont);
+            document.add(table);
 
-            for (VehiculoReporteDTO vehiculo : vehiculos) {
+            int[] total = {0};
+            reporteRepository.recorrerVehiculosDTO(vehiculo -> {
                 table.addCell(createCell(vehiculo.getPlaca(), font));
                 table.addCell(createCell(vehiculo.getMarca(), font));
                 table.addCell(createCell(vehiculo.getModelo(), font));
                 table.addCell(createCell(vehiculo.getPropietario(), font));
-            }
+                volcarSiCorresponde(table, ++total[0]);
+            });
+            table.complete();
 
-            document.add(table);
-            document.add(new Paragraph("\nTotal de Vehículos: " + vehiculos.size())
+            document.add(new Paragraph("\nTotal de Vehículos: " + total[0])
                     .setFont(boldFont).setFontSize(12));
 
             agregarFooter(document, font);
@@ -138,46 +169,55 @@ public class ReportePDFService {
         } catch (IOException e) {
             throw new RuntimeException("Error al generar PDF de vehículos", e);
         }
-
-        return baos.toByteArray();
     }
 
     /**
      * REPORTE 3: Listado de Servicios Disponibles
      */
     public byte[] generarPDFServicios() {
-        List<ServicioReporteDTO> servicios = reporteRepository.listarServiciosDTO();
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        escribirPDFServicios(baos);
+        return baos.toByteArray();
+    }
 
+    /**
+     * REPORTE 3 en modo streaming: escribe el PDF directamente en {@code salida}
+     * a medida que se leen los servicios del cursor.
+     *
+     * @param salida flujo de destino (no se cierra)
+     */
+    public void escribirPDFServicios(OutputStream salida) {
         try {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+            PdfDocument pdf = crearDocumentoStreaming(salida);
+            Document document = new Document(pdf, PageSize.A4, true);
             PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
             PdfFont boldFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
 
             agregarHeader(document, "CATÁLOGO DE SERVICIOS DISPONIBLES", boldFont);
 
-            Table table = new Table(new float[]{3, 5, 2});
+            Table table = new Table(new float[]{3, 5, 2}, true);
             table.setWidth(UnitValue.createPercentValue(100));
 
             agregarHeaderCell(table, "NOMBRE", boldFont);
             agregarHeaderCell(table, "DESCRIPCIÓN", boldFont);
             agregarHeaderCell(table, "PRECIO BASE", boldFont);
+            document.add(table);
 
-            double totalPrecios = 0;
-            for (ServicioReporteDTO servicio : servicios) {
+            int[] total = {0};
+            double[] totalPrecios = {0};
+            reporteRepository.recorrerServiciosDTO(servicio -> {
                 table.addCell(createCell(servicio.getNombre(), font));
                 table.addCell(createCell(servicio.getDescripcion(), font));
                 table.addCell(createCell("$" + String.format("%,.0f", servicio.getPrecio()), font));
-                totalPrecios += servicio.getPrecio();
-            }
+                totalPrecios[0] += servicio.getPrecio();
+                volcarSiCorresponde(table, ++total[0]);
+            });
+            table.complete();
 
-            document.add(table);
-            document.add(new Paragraph("\nTotal de Servicios: " + servicios.size())
+            document.add(new Paragraph("\nTotal de Servicios: " + total[0])
                     .setFont(boldFont).setFontSize(12));
             document.add(new Paragraph("Precio Promedio: $" +
-                    String.format("%,.0f", totalPrecios / servicios.size()))
+                    String.format("%,.0f", totalPrecios[0] / total[0]))
                     .setFont(boldFont).setFontSize(12));
 
             agregarFooter(document, font);
@@ -186,8 +226,6 @@ public class ReportePDFService {
         } catch (IOException e) {
             throw new RuntimeException("Error al generar PDF de servicios", e);
         }
-
-        return baos.toByteArray();
     }
 
     // =====================================================
@@ -198,13 +236,28 @@ public class ReportePDFService {
      * REPORTE 4: Órdenes de Trabajo por Rango de Fechas
      */
     public byte[] generarPDFOrdenesTrabajo(LocalDate fechaInicio, LocalDate fechaFin) {
-        List<OrdenTrabajoDTO> ordenes = reporteRepository.listarOrdenesTrabajoPorFechas(fechaInicio, fechaFin);
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        escribirPDFOrdenesTrabajo(fechaInicio, fechaFin, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * REPORTE 4 en modo streaming: escribe el PDF directamente en {@code salida}.
+     * <p>
+     * El resumen por estado se obtiene con una consulta agregada previa, de modo que las
+     * órdenes solo se recorren una vez con el cursor.
+     * </p>
+     *
+     * @param fechaInicio fecha de inicio del período
+     * @param fechaFin    fecha de fin del período
+     * @param salida      flujo de destino (no se cierra)
+     */
+    public void escribirPDFOrdenesTrabajo(LocalDate fechaInicio, LocalDate fechaFin, OutputStream salida) {
+        Map<String, Long> porEstado = reporteRepository.contarOrdenesTrabajoPorEstado(fechaInicio, fechaFin);
 
         try {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+            PdfDocument pdf = crearDocumentoStreaming(salida);
+            Document document = new Document(pdf, PageSize.A4, true);
             PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
             PdfFont boldFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
 
@@ -214,29 +267,27 @@ public class ReportePDFService {
             document.add(new Paragraph("\n"));
 
             // Resumen estadístico
-            long completadas = ordenes.stream()
-                    .filter(o -> "COMPLETADO".equalsIgnoreCase(o.getNombreEstado())).count();
-            long enProceso = ordenes.stream()
-                    .filter(o -> "EN PROCESO".equalsIgnoreCase(o.getNombreEstado())).count();
-            long pendientes = ordenes.stream()
-                    .filter(o -> "PENDIENTE".equalsIgnoreCase(o.getNombreEstado())).count();
+            long totalOrdenes = porEstado.values().stream().mapToLong(Long::longValue).sum();
+            long completadas = porEstado.getOrDefault("COMPLETADO", 0L);
+            long enProceso = porEstado.getOrDefault("EN PROCESO", 0L);
+            long pendientes = porEstado.getOrDefault("PENDIENTE", 0L);
 
             Table resumen = new Table(1);
             resumen.setWidth(UnitValue.createPercentValue(100));
             resumen.addCell(createHeaderCellSingle("RESUMEN DEL PERÍODO", boldFont));
-            resumen.addCell(createCell("Total Órdenes: " + ordenes.size(), font));
+            resumen.addCell(createCell("Total Órdenes: " + totalOrdenes, font));
             resumen.addCell(createCell("Completadas: " + completadas +
-                    " (" + (ordenes.size() > 0 ? (completadas * 100 / ordenes.size()) : 0) + "%)", font));
+                    " (" + (totalOrdenes > 0 ? (completadas * 100 / totalOrdenes) : 0) + "%)", font));
             resumen.addCell(createCell("En Proceso: " + enProceso +
-                    " (" + (ordenes.size() > 0 ? (enProceso * 100 / ordenes.size()) : 0) + "%)", font));
+                    " (" + (totalOrdenes > 0 ? (enProceso * 100 / totalOrdenes) : 0) + "%)", font));
             resumen.addCell(createCell("Pendientes: " + pendientes +
-                    " (" + (ordenes.size() > 0 ? (pendientes * 100 / ordenes.size()) : 0) + "%)", font));
+                    " (" + (totalOrdenes > 0 ? (pendientes * 100 / totalOrdenes) : 0) + "%)", font));
 
             document.add(resumen);
             document.add(new Paragraph("\n"));
 
             // Tabla de órdenes
-            Table table = new Table(new float[]{1, 2, 2, 2, 3, 2});
+            Table table = new Table(new float[]{1, 2, 2, 2, 3, 2}, true);
             table.setWidth(UnitValue.createPercentValue(100));
 
             agregarHeaderCell(table, "# OT", boldFont);
@@ -245,8 +296,10 @@ public class ReportePDFService {
             agregarHeaderCell(table, "F.SALIDA", boldFont);
             agregarHeaderCell(table, "DIAGNÓSTICO", boldFont);
             agregarHeaderCell(table, "ESTADO", boldFont);
+            document.add(table);
 
-            for (OrdenTrabajoDTO orden : ordenes) {
+            int[] total = {0};
+            reporteRepository.recorrerOrdenesTrabajoPorFechas(fechaInicio, fechaFin, orden -> {
                 table.addCell(createCell(String.valueOf(orden.getIdOrdenTrabajo()), font));
                 table.addCell(createCell(String.valueOf(orden.getIdVehiculo()), font));
                 table.addCell(createCell(orden.getFechaIngreso().toString(), font));
@@ -254,17 +307,16 @@ public class ReportePDFService {
                         orden.getFechaSalida().toString() : "-", font));
                 table.addCell(createCell(orden.getDiagnosticoInicial(), font));
                 table.addCell(createCell(orden.getNombreEstado(), font));
-            }
+                volcarSiCorresponde(table, ++total[0]);
+            });
+            table.complete();
 
-            document.add(table);
             agregarFooter(document, font);
             document.close();
 
         } catch (IOException e) {
             throw new RuntimeException("Error al generar PDF de órdenes de trabajo", e);
         }
-
-        return baos.toByteArray();
     }
 
     /**
@@ -784,6 +836,26 @@ public class ReportePDFService {
     // =====================================================
     // MÉTODOS AUXILIARES PARA CONSTRUIR ELEMENTOS DEL PDF
     // =====================================================
+    /**
+     * Crea un documento que escribe sobre {@code salida} sin cerrarla al terminar,
+     * para poder usarlo con el flujo de la respuesta HTTP.
+     */
+    private PdfDocument crearDocumentoStreaming(OutputStream salida) {
+        PdfWriter writer = new PdfWriter(salida);
+        writer.setCloseStream(false);
+        return new PdfDocument(writer);
+    }
+
+    /**
+     * En tablas grandes, vuelca al documento las filas ya completas cada
+     * {@link #FILAS_POR_VOLCADO} filas para liberar su árbol de maquetación.
+     */
+    private void volcarSiCorresponde(Table table, int filas) {
+        if (filas % FILAS_POR_VOLCADO == 0) {
+            table.flush();
+        }
+    }
+
     /**
      * Agrega el encabezado al documento PDF
      */
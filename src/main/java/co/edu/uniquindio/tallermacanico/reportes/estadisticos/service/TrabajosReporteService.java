@@ -0,0 +1,349 @@
+package co.edu.uniquindio.tallermacanico.reportes.estadisticos.service;
+
+import co.edu.uniquindio.tallermacanico.reportes.cache.CachePDF;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.SolicitudTrabajoReporteDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.TrabajoReporteDTO;
+import co.edu.uniquindio.tallermacanico.service.EjecutorTrabajos;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cola de reportes PDF asíncronos.
+ * <p>
+ * Los reportes pesados (órdenes de trabajo de varios años, la flota completa de vehículos...)
+ * ocupaban un hilo de Tomcat durante segundos. Aquí se encolan y se generan en un pool acotado de
+ * {@code taller.reportes.jobs.hilos} hilos, con un máximo de reportes simultáneos por tipo para
+ * que un tipo pesado no acapare el pool. El PDF se escribe en disco y el cliente lo descarga por
+ * id cuando está listo.
+ * </p>
+ *
+ * <p>Los PDF se generan con {@link ReportePDFService} a través de {@link CachePDF}, de modo que un
+ * reporte repetido sin cambios en los datos no se vuelve a generar. Los trabajos terminados se
+ * borran después de {@code taller.reportes.jobs.retencion-minutos}. El pool, la capacidad de la cola y la
+ * retención los lleva {@link EjecutorTrabajos}; aquí solo se reparten los turnos por tipo.</p>
+ */
+@Service
+public class TrabajosReporteService {
+
+    public static final String PENDIENTE = EjecutorTrabajos.PENDIENTE;
+    public static final String EN_PROCESO = EjecutorTrabajos.EN_PROCESO;
+    public static final String COMPLETADO = EjecutorTrabajos.COMPLETADO;
+    public static final String FALLIDO = EjecutorTrabajos.FALLIDO;
+
+    private static final Set<String> TIPOS = Set.of(
+            CachePDF.CLIENTES, CachePDF.VEHICULOS, CachePDF.SERVICIOS, CachePDF.ORDENES_TRABAJO,
+            CachePDF.FACTURAS_CLIENTE, CachePDF.MOVIMIENTOS_REPUESTO, CachePDF.SUPERVISIONES,
+            CachePDF.SERVICIOS_MECANICO, CachePDF.REPUESTOS_ORDEN, CachePDF.PRODUCTIVIDAD_SUPERVISORES,
+            CachePDF.SERVICIOS_MAS_SOLICITADOS, CachePDF.REPUESTOS_MAS_USADOS, CachePDF.INGRESOS_MENSUALES);
+
+    private final ReportePDFService reportePDFService;
+    private final CachePDF cachePDF;
+    private final int limitePorTipo;
+    private final Map<String, Integer> limitesEspecificos;
+    private final EjecutorTrabajos<Trabajo> trabajos;
+
+    /** Trabajos esperando turno por tipo; protegido por {@code this}. */
+    private final Map<String, ArrayDeque<Trabajo>> pendientesPorTipo = new LinkedHashMap<>();
+    /** Trabajos en ejecución por tipo; protegido por {@code this}. */
+    private final Map<String, Integer> enEjecucionPorTipo = new HashMap<>();
+
+    public TrabajosReporteService(ReportePDFService reportePDFService, CachePDF cachePDF,
+                                  @Value("${taller.reportes.jobs.directorio:${java.io.tmpdir}/taller-reportes-jobs}") String directorio,
+                                  @Value("${taller.reportes.jobs.hilos:4}") int hilos,
+                                  @Value("${taller.reportes.jobs.capacidad:100}") int capacidad,
+                                  @Value("${taller.reportes.jobs.limite-por-tipo:2}") int limitePorTipo,
+                                  @Value("${taller.reportes.jobs.limites:}") String limites,
+                                  @Value("${taller.reportes.jobs.retencion-minutos:60}") long retencionMinutos,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.reportePDFService = reportePDFService;
+        this.cachePDF = cachePDF;
+        this.limitePorTipo = Math.max(limitePorTipo, 1);
+        this.limitesEspecificos = leerLimites(limites);
+        this.trabajos = new EjecutorTrabajos<>("reporte-job", "reportes asíncronos", directorio, hilos, capacidad,
+                retencionMinutos, hilosVirtuales);
+    }
+
+    /**
+     * Estado de un trabajo de reporte. Los campos mutables se leen desde otros hilos.
+     */
+    private static final class Trabajo extends EjecutorTrabajos.Trabajo {
+        final String tipo;
+        /** Parámetros de {@link CachePDF#clave(String, Object...)}; la clave se calcula al ejecutar. */
+        final Object[] parametros;
+        final CachePDF.Escritor escritor;
+        volatile long tamanioBytes;
+        volatile Path archivo;
+
+        Trabajo(String tipo, CachePDF.Escritor escritor, Object... parametros) {
+            this.tipo = tipo;
+            this.parametros = parametros;
+            this.escritor = escritor;
+        }
+
+        @Override
+        protected Path archivoResultado() {
+            return archivo;
+        }
+    }
+
+    /**
+     * Valida la solicitud y encola el reporte.
+     *
+     * @param solicitud tipo de reporte y parámetros
+     * @return estado inicial del trabajo ({@code PENDIENTE} o, si ya empezó, {@code EN_PROCESO})
+     * @throws IllegalArgumentException si el tipo o los parámetros no son válidos
+     * @throws IllegalStateException    si la cola está llena
+     */
+    public TrabajoReporteDTO encolar(SolicitudTrabajoReporteDTO solicitud) {
+        if (solicitud == null || solicitud.getTipo() == null || !TIPOS.contains(solicitud.getTipo())) {
+            throw new IllegalArgumentException("El tipo de reporte debe ser uno de " + TIPOS);
+        }
+        Map<String, String> parametros = solicitud.getParametros() != null ? solicitud.getParametros() : Map.of();
+        Trabajo trabajo = crearTrabajo(solicitud.getTipo(), parametros);
+
+        if (!trabajos.reservar()) {
+            throw new IllegalStateException("La cola de reportes está llena (" + trabajos.capacidad() + " trabajos)");
+        }
+        trabajos.registrar(trabajo);
+        synchronized (this) {
+            pendientesPorTipo.computeIfAbsent(trabajo.tipo, t -> new ArrayDeque<>()).add(trabajo);
+            despachar();
+        }
+        return aDTO(trabajo);
+    }
+
+    /**
+     * Consulta el estado de un trabajo.
+     *
+     * @param id identificador del trabajo
+     * @return estado del trabajo, o {@code null} si no existe o ya se borró
+     */
+    public TrabajoReporteDTO consultar(String id) {
+        Trabajo trabajo = trabajos.buscar(id);
+        return trabajo != null ? aDTO(trabajo) : null;
+    }
+
+    /**
+     * Archivo con el PDF de un trabajo completado.
+     *
+     * @param id identificador del trabajo
+     * @return ruta del PDF, o {@code null} si el trabajo no existe o no está completado
+     */
+    public Path archivo(String id) {
+        Trabajo trabajo = trabajos.buscar(id);
+        return trabajo != null && COMPLETADO.equals(trabajo.estado) ? trabajo.archivo : null;
+    }
+
+    /**
+     * Métricas de la cola.
+     *
+     * @return contadores, trabajos activos y en ejecución por tipo
+     */
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("encolados", trabajos.encolados());
+        metricas.put("completados", trabajos.completados());
+        metricas.put("fallidos", trabajos.fallidos());
+        metricas.put("rechazados", trabajos.rechazados());
+        metricas.put("activos", trabajos.activos());
+        metricas.put("capacidad", trabajos.capacidad());
+        synchronized (this) {
+            metricas.put("enEjecucionPorTipo", new HashMap<>(enEjecucionPorTipo));
+        }
+        return metricas;
+    }
+
+    /**
+     * Borra los trabajos terminados hace más de {@code taller.reportes.jobs.retencion-minutos}.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void borrarVencidos() {
+        trabajos.borrarVencidos();
+    }
+
+    @PreDestroy
+    public void detener() {
+        trabajos.detener();
+    }
+
+    /**
+     * Envía al pool los trabajos de cada tipo que tengan cupo. Se llama con el monitor tomado.
+     */
+    private void despachar() {
+        for (Map.Entry<String, ArrayDeque<Trabajo>> entrada : pendientesPorTipo.entrySet()) {
+            String tipo = entrada.getKey();
+            ArrayDeque<Trabajo> pendientes = entrada.getValue();
+            int limite = limitesEspecificos.getOrDefault(tipo, limitePorTipo);
+            while (!pendientes.isEmpty() && enEjecucionPorTipo.getOrDefault(tipo, 0) < limite) {
+                Trabajo trabajo = pendientes.poll();
+                enEjecucionPorTipo.merge(tipo, 1, Integer::sum);
+                trabajos.ejecutar(trabajo, () -> generar(trabajo));
+            }
+        }
+    }
+
+    /**
+     * Genera el PDF en el directorio de trabajos; al terminar, con o sin error, deja pasar al siguiente de su tipo.
+     */
+    private void generar(Trabajo trabajo) throws IOException {
+        Path archivo = trabajos.directorio().resolve(trabajo.id + ".pdf");
+        try {
+            CachePDF.Clave clave = cachePDF.clave(trabajo.tipo, trabajo.parametros);
+            CachePDF.PDFCacheado guardado = cachePDF.abrirGuardado(clave);
+            if (guardado != null) {
+                try (InputStream contenido = guardado.contenido()) {
+                    Files.copy(contenido, archivo, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } else {
+                try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(archivo))) {
+                    cachePDF.generar(clave, trabajo.escritor, salida);
+                }
+            }
+            trabajo.archivo = archivo;
+            trabajo.tamanioBytes = Files.size(archivo);
+        } catch (IOException | RuntimeException e) {
+            EjecutorTrabajos.borrar(archivo);
+            throw e;
+        } finally {
+            synchronized (this) {
+                enEjecucionPorTipo.merge(trabajo.tipo, -1, Integer::sum);
+                despachar();
+            }
+        }
+    }
+
+    /**
+     * Valida los parámetros y prepara el escritor que usa {@link ReportePDFService}.
+     */
+    private Trabajo crearTrabajo(String tipo, Map<String, String> parametros) {
+        switch (tipo) {
+            case CachePDF.CLIENTES:
+                return new Trabajo(tipo, reportePDFService::escribirPDFClientes);
+            case CachePDF.VEHICULOS:
+                return new Trabajo(tipo, reportePDFService::escribirPDFVehiculos);
+            case CachePDF.SERVICIOS:
+                return new Trabajo(tipo, reportePDFService::escribirPDFServicios);
+            case CachePDF.ORDENES_TRABAJO: {
+                LocalDate fechaInicio = fecha(parametros, "fechaInicio");
+                LocalDate fechaFin = fecha(parametros, "fechaFin");
+                if (fechaFin.isBefore(fechaInicio)) {
+                    throw new IllegalArgumentException("La fecha final no puede ser anterior a la inicial");
+                }
+                CachePDF.Escritor escritor =
+                        salida -> reportePDFService.escribirPDFOrdenesTrabajo(fechaInicio, fechaFin, salida);
+                return new Trabajo(tipo, escritor, fechaInicio, fechaFin);
+            }
+            case CachePDF.FACTURAS_CLIENTE: {
+                int idCliente = id(parametros, "idCliente");
+                CachePDF.Escritor escritor =
+                        salida -> salida.write(reportePDFService.generarPDFFacturasCliente(idCliente));
+                return new Trabajo(tipo, escritor, idCliente);
+            }
+            case CachePDF.MOVIMIENTOS_REPUESTO: {
+                int idRepuesto = id(parametros, "idRepuesto");
+                CachePDF.Escritor escritor =
+                        salida -> salida.write(reportePDFService.generarPDFMovimientosRepuesto(idRepuesto));
+                return new Trabajo(tipo, escritor, idRepuesto);
+            }
+            case CachePDF.SUPERVISIONES: {
+                int idSupervisor = id(parametros, "idSupervisor");
+                CachePDF.Escritor escritor =
+                        salida -> salida.write(reportePDFService.generarPDFSupervisiones(idSupervisor));
+                return new Trabajo(tipo, escritor, idSupervisor);
+            }
+            case CachePDF.SERVICIOS_MECANICO: {
+                int idMecanico = id(parametros, "idMecanico");
+                CachePDF.Escritor escritor =
+                        salida -> salida.write(reportePDFService.generarPDFServiciosMecanico(idMecanico));
+                return new Trabajo(tipo, escritor, idMecanico);
+            }
+            case CachePDF.REPUESTOS_ORDEN: {
+                int idOrdenServicio = id(parametros, "idOrdenServicio");
+                CachePDF.Escritor escritor =
+                        salida -> salida.write(reportePDFService.generarPDFRepuestosOrden(idOrdenServicio));
+                return new Trabajo(tipo, escritor, idOrdenServicio);
+            }
+            case CachePDF.PRODUCTIVIDAD_SUPERVISORES:
+                return new Trabajo(tipo,
+                        salida -> salida.write(reportePDFService.generarPDFProductividadSupervisores()));
+            case CachePDF.SERVICIOS_MAS_SOLICITADOS:
+                return new Trabajo(tipo,
+                        salida -> salida.write(reportePDFService.generarPDFServiciosMasSolicitados()));
+            case CachePDF.REPUESTOS_MAS_USADOS:
+                return new Trabajo(tipo,
+                        salida -> salida.write(reportePDFService.generarPDFRepuestosMasUsados()));
+            case CachePDF.INGRESOS_MENSUALES:
+                return new Trabajo(tipo,
+                        salida -> salida.write(reportePDFService.generarPDFIngresosMensuales()));
+            default:
+                throw new IllegalArgumentException("Tipo de reporte no soportado: " + tipo);
+        }
+    }
+
+    private static LocalDate fecha(Map<String, String> parametros, String nombre) {
+        String valor = parametros.get(nombre);
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("El parámetro " + nombre + " es obligatorio (yyyy-MM-dd)");
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("El parámetro " + nombre + " debe tener formato yyyy-MM-dd");
+        }
+    }
+
+    private static int id(Map<String, String> parametros, String nombre) {
+        String valor = parametros.get(nombre);
+        try {
+            int id = Integer.parseInt(valor != null ? valor.trim() : "");
+            if (id <= 0) {
+                throw new IllegalArgumentException("El parámetro " + nombre + " debe ser mayor que cero");
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro " + nombre + " es obligatorio y debe ser numérico");
+        }
+    }
+
+    /**
+     * Lee límites del tipo {@code ordenes-trabajo=1,vehiculos=1}.
+     */
+    private static Map<String, Integer> leerLimites(String limites) {
+        Map<String, Integer> resultado = new HashMap<>();
+        if (limites == null || limites.isBlank()) {
+            return resultado;
+        }
+        for (String par : limites.split(",")) {
+            String[] partes = par.split("=");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Límite de reportes inválido: " + par);
+            }
+            resultado.put(partes[0].trim(), Math.max(Integer.parseInt(partes[1].trim()), 1));
+        }
+        return resultado;
+    }
+
+    private static TrabajoReporteDTO aDTO(Trabajo trabajo) {
+        String estado = trabajo.estado;
+        return new TrabajoReporteDTO(trabajo.id, trabajo.tipo, estado, trabajo.fechaCreacion,
+                trabajo.fechaInicio, trabajo.fechaFin, trabajo.tamanioBytes, trabajo.error,
+                COMPLETADO.equals(estado) ? "/api/reportes/jobs/" + trabajo.id + "/descarga" : null);
+    }
+}
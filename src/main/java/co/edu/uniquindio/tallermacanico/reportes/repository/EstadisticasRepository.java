@@ -0,0 +1,142 @@
+package co.edu.uniquindio.tallermacanico.reportes.repository;
+
+import co.edu.uniquindio.tallermacanico.repository.EstadoPagoFacturaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Consultas de reconstrucción para {@code EstadisticasIncrementales}.
+ * <p>
+ * Devuelven los agregados por identificador (no por nombre) para que el motor en memoria pueda
+ * aplicar luego los cambios de cada escritura sin volver a agrupar las tablas.
+ * </p>
+ */
+@Repository
+public class EstadisticasRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EstadoPagoFacturaRepository estadoPagoFacturaRepository;
+
+    public EstadisticasRepository(JdbcTemplate jdbcTemplate, EstadoPagoFacturaRepository estadoPagoFacturaRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.estadoPagoFacturaRepository = estadoPagoFacturaRepository;
+    }
+
+    /**
+     * Identificadores de los estados de pago que cuentan como ingreso ("PAGADO"), leídos de la
+     * copia en memoria de {@code estado_pago_factura}.
+     *
+     * @return conjunto de ids de estado de pago
+     */
+    public Set<Integer> idsEstadoPagado() {
+        return estadoPagoFacturaRepository.idsPorNombre("PAGADO");
+    }
+
+    /**
+     * Suma de facturas pagadas por mes ({@code YYYY-MM}).
+     *
+     * @return total facturado por mes
+     */
+    public Map<String, BigDecimal> ingresosPagadosPorMes() {
+        String sql = """
+        SELECT TO_CHAR(f.fecha_emision, 'YYYY-MM') AS mes,
+               SUM(f.total) AS total_ingresos
+        FROM factura f
+        JOIN estado_pago_factura epf ON f.id_estado_pago = epf.id_estado_pago
+        WHERE UPPER(epf.nombre_estado) = 'PAGADO'
+        GROUP BY TO_CHAR(f.fecha_emision, 'YYYY-MM')
+    """;
+
+        Map<String, BigDecimal> ingresos = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs ->
+                ingresos.put(rs.getString("mes"), rs.getBigDecimal("total_ingresos")));
+        return ingresos;
+    }
+
+    /**
+     * Número de órdenes de servicio por servicio.
+     *
+     * @return cantidad de solicitudes por id de servicio
+     */
+    public Map<Integer, Long> solicitudesPorServicio() {
+        String sql = "SELECT id_servicio, COUNT(*) AS total FROM orden_servicio GROUP BY id_servicio";
+        return contarPorId(sql);
+    }
+
+    /**
+     * Número de movimientos de tipo 'SALIDA' por repuesto, sin distinguir mayúsculas
+     * (la API y {@code MotorStock} los guardan como {@code "salida"}).
+     *
+     * @return cantidad de usos por id de repuesto
+     */
+    public Map<Integer, Long> salidasPorRepuesto() {
+        String sql = """
+        SELECT id_repuesto, COUNT(*) AS total
+        FROM movimiento_inventario
+        WHERE UPPER(tipo_movimiento) = 'SALIDA'
+        GROUP BY id_repuesto
+    """;
+        return contarPorId(sql);
+    }
+
+    /**
+     * Nombres de todos los servicios.
+     *
+     * @return nombre por id de servicio
+     */
+    public Map<Integer, String> nombresServicio() {
+        return nombresPorId("SELECT id_servicio, nombre FROM servicio");
+    }
+
+    /**
+     * Nombres de todos los repuestos.
+     *
+     * @return nombre por id de repuesto
+     */
+    public Map<Integer, String> nombresRepuesto() {
+        return nombresPorId("SELECT id_repuesto, nombre FROM repuesto");
+    }
+
+    /**
+     * Nombre de un servicio.
+     *
+     * @param idServicio identificador del servicio
+     * @return nombre, o {@code null} si no existe
+     */
+    public String nombreServicio(int idServicio) {
+        List<String> nombres = jdbcTemplate.queryForList(
+                "SELECT nombre FROM servicio WHERE id_servicio = ?", String.class, idServicio);
+        return nombres.isEmpty() ? null : nombres.get(0);
+    }
+
+    /**
+     * Nombre de un repuesto.
+     *
+     * @param idRepuesto identificador del repuesto
+     * @return nombre, o {@code null} si no existe
+     */
+    public String nombreRepuesto(int idRepuesto) {
+        List<String> nombres = jdbcTemplate.queryForList(
+                "SELECT nombre FROM repuesto WHERE id_repuesto = ?", String.class, idRepuesto);
+        return nombres.isEmpty() ? null : nombres.get(0);
+    }
+
+    private Map<Integer, Long> contarPorId(String sql) {
+        Map<Integer, Long> conteo = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> conteo.put(rs.getInt(1), rs.getLong(2)));
+        return conteo;
+    }
+
+    private Map<Integer, String> nombresPorId(String sql) {
+        Map<Integer, String> nombres = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> nombres.put(rs.getInt(1), rs.getString(2)));
+        return nombres;
+    }
+}
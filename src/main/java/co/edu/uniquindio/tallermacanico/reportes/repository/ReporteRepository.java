@@ -3,27 +3,98 @@ package co.edu.uniquindio.tallermacanico.reportes.repository;
 
 import co.edu.uniquindio.tallermacanico.dto.*;
 import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.IngresoMensualDTO;
 import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.RepuestoEstadisticoDTO;
 import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.ServicioEstadisticoDTO;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.repository.MapeadoresFila;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Repositorio de reportes: concentra consultas especializadas y agregaciones.
  * Trabaja con JdbcTemplate (sin JPA).
+ * <p>
+ * Los agregados estadísticos y la productividad de supervisores pasan por {@link CacheReportes},
+ * que los invalida cuando se escribe en las tablas de las que dependen.
+ * </p>
  */
 @Repository
 public class ReporteRepository {
 
+    /** Filas que el driver trae por viaje cuando un reporte se recorre con cursor. */
+    private static final int FILAS_POR_LECTURA = 500;
+
+    private static final String SQL_CLIENTES = "SELECT " + MapeadoresFila.COLUMNAS_CLIENTE + " FROM cliente";
+
+    private static final String SQL_VEHICULOS = """
+        SELECT v.placa,
+               v.marca,
+               v.modelo,
+               (c.nombre || ' ' || c.apellido) AS propietario
+        FROM vehiculo v
+        JOIN cliente c ON v.id_cliente = c.id_cliente
+    """;
+
+    private static final RowMapper<VehiculoReporteDTO> VEHICULO_REPORTE = (rs, rowNum) -> new VehiculoReporteDTO(
+            rs.getString("placa"),
+            rs.getString("marca"),
+            rs.getString("modelo"),
+            rs.getString("propietario")
+    );
+
+    private static final String SQL_SERVICIOS = """
+        SELECT nombre,
+               descripcion,
+               precio_base
+        FROM servicio
+    """;
+
+    private static final RowMapper<ServicioReporteDTO> SERVICIO_REPORTE = (rs, rowNum) -> new ServicioReporteDTO(
+            rs.getString("nombre"),
+            rs.getString("descripcion"),
+            rs.getDouble("precio_base")
+    );
+
+    private static final String SQL_ORDENES_POR_FECHAS = """
+        SELECT ot.id_orden_trabajo,
+               ot.id_vehiculo,
+               ot.fecha_ingreso,
+               ot.fecha_salida,
+               ot.diagnostico_inicial,
+               eo.nombre_estado
+        FROM orden_trabajo ot
+        JOIN estado_orden eo ON ot.id_estado_orden = eo.id_estado_orden
+        WHERE ot.fecha_ingreso BETWEEN ? AND ?
+        ORDER BY ot.fecha_ingreso
+    """;
+
+    private static final RowMapper<OrdenTrabajoDTO> ORDEN_TRABAJO_REPORTE = (rs, rowNum) -> new OrdenTrabajoDTO(
+            rs.getInt("id_orden_trabajo"),
+            rs.getInt("id_vehiculo"),
+            rs.getDate("fecha_ingreso").toLocalDate(),
+            rs.getDate("fecha_salida") != null ? rs.getDate("fecha_salida").toLocalDate() : null,
+            rs.getString("diagnostico_inicial"),
+            rs.getString("nombre_estado")
+    );
+
     private final JdbcTemplate jdbcTemplate;
+    private final CacheReportes cacheReportes;
 
-    public ReporteRepository(JdbcTemplate jdbcTemplate) {
+    public ReporteRepository(JdbcTemplate jdbcTemplate, CacheReportes cacheReportes) {
         this.jdbcTemplate = jdbcTemplate;
+        this.cacheReportes = cacheReportes;
     }
 
     /**
@@ -32,15 +103,16 @@ public class ReporteRepository {
      * @return lista de clientes
      */
     public List<Cliente> listarClientes() {
-        String sql = "SELECT "
-                + "id_cliente AS idCliente, "
-                + "nombre, "
-                + "apellido, "
-                + "direccion, "
-                + "telefono, "
-                + "email AS correo "
-                + "FROM cliente";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Cliente.class));
+        return jdbcTemplate.query(SQL_CLIENTES, MapeadoresFila.CLIENTE);
+    }
+
+    /**
+     * Recorre los clientes con un cursor, entregando cada uno sin construir la lista completa.
+     *
+     * @param consumidor función que recibe cada cliente
+     */
+    public void recorrerClientes(Consumer<Cliente> consumidor) {
+        recorrer(SQL_CLIENTES, MapeadoresFila.CLIENTE, consumidor);
     }
 
 
@@ -53,21 +125,16 @@ public class ReporteRepository {
      * @return lista de DTOs de vehículos
      */
     public List<VehiculoReporteDTO> listarVehiculosDTO() {
-        String sql = """
-        SELECT v.placa,
-               v.marca,
-               v.modelo,
-               (c.nombre || ' ' || c.apellido) AS propietario
-        FROM vehiculo v
-        JOIN cliente c ON v.id_cliente = c.id_cliente
-    """;
+        return jdbcTemplate.query(SQL_VEHICULOS, VEHICULO_REPORTE);
+    }
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> new VehiculoReporteDTO(
-                rs.getString("placa"),
-                rs.getString("marca"),
-                rs.getString("modelo"),
-                rs.getString("propietario")
-        ));
+    /**
+     * Recorre los vehículos con su propietario usando un cursor.
+     *
+     * @param consumidor función que recibe cada vehículo
+     */
+    public void recorrerVehiculosDTO(Consumer<VehiculoReporteDTO> consumidor) {
+        recorrer(SQL_VEHICULOS, VEHICULO_REPORTE, consumidor);
     }
 
     /**
@@ -79,19 +146,18 @@ public class ReporteRepository {
      * @return lista de DTOs de servicios
      */
     public List<ServicioReporteDTO> listarServiciosDTO() {
-        String sql = """
-        SELECT nombre,
-               descripcion,
-               precio_base
-        FROM servicio
-    """;
+        return jdbcTemplate.query(SQL_SERVICIOS, SERVICIO_REPORTE);
+    }
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> new ServicioReporteDTO(
-                rs.getString("nombre"),
-                rs.getString("descripcion"),
-                rs.getDouble("precio_base")
-        ));
+    /**
+     * Recorre el catálogo de servicios usando un cursor.
+     *
+     * @param consumidor función que recibe cada servicio
+     */
+    public void recorrerServiciosDTO(Consumer<ServicioReporteDTO> consumidor) {
+        recorrer(SQL_SERVICIOS, SERVICIO_REPORTE, consumidor);
     }
+
     // =====================================================
     // REPORTES INTERMEDIOS
     // =====================================================
@@ -108,30 +174,47 @@ public class ReporteRepository {
      * @return lista de DTOs de órdenes de trabajo
      */
     public List<OrdenTrabajoDTO> listarOrdenesTrabajoPorFechas(LocalDate fechaInicio, LocalDate fechaFin) {
+        return jdbcTemplate.query(SQL_ORDENES_POR_FECHAS, ORDEN_TRABAJO_REPORTE, fechaInicio, fechaFin);
+    }
+
+    /**
+     * Recorre las órdenes de trabajo de un rango de fechas usando un cursor.
+     *
+     * @param fechaInicio fecha inicial del rango
+     * @param fechaFin    fecha final del rango
+     * @param consumidor  función que recibe cada orden
+     */
+    public void recorrerOrdenesTrabajoPorFechas(LocalDate fechaInicio, LocalDate fechaFin,
+                                                Consumer<OrdenTrabajoDTO> consumidor) {
+        recorrer(SQL_ORDENES_POR_FECHAS, ORDEN_TRABAJO_REPORTE, consumidor, fechaInicio, fechaFin);
+    }
+
+    /**
+     * Cuenta las órdenes de trabajo de un rango de fechas agrupadas por estado.
+     * <p>
+     * Permite escribir el resumen del reporte antes de recorrer las órdenes.
+     * </p>
+     *
+     * @param fechaInicio fecha inicial del rango
+     * @param fechaFin    fecha final del rango
+     * @return cantidad de órdenes por nombre de estado (en mayúsculas)
+     */
+    public Map<String, Long> contarOrdenesTrabajoPorEstado(LocalDate fechaInicio, LocalDate fechaFin) {
         String sql = """
-        SELECT ot.id_orden_trabajo,
-               ot.id_vehiculo,
-               ot.fecha_ingreso,
-               ot.fecha_salida,
-               ot.diagnostico_inicial,
-               eo.nombre_estado
+        SELECT UPPER(eo.nombre_estado) AS nombre_estado,
+               COUNT(*) AS total
         FROM orden_trabajo ot
         JOIN estado_orden eo ON ot.id_estado_orden = eo.id_estado_orden
         WHERE ot.fecha_ingreso BETWEEN ? AND ?
-        ORDER BY ot.fecha_ingreso
+        GROUP BY UPPER(eo.nombre_estado)
     """;
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> new OrdenTrabajoDTO(
-                rs.getInt("id_orden_trabajo"),
-                rs.getInt("id_vehiculo"),
-                rs.getDate("fecha_ingreso").toLocalDate(),
-                rs.getDate("fecha_salida") != null ? rs.getDate("fecha_salida").toLocalDate() : null,
-                rs.getString("diagnostico_inicial"),
-                rs.getString("nombre_estado")
-        ), fechaInicio, fechaFin);
+        Map<String, Long> conteo = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs ->
+                conteo.put(rs.getString("nombre_estado"), rs.getLong("total")), fechaInicio, fechaFin);
+        return conteo;
     }
 
-
     /**
      * Reporte intermedio: 5. Facturas emitidas por un cliente específico.
      * <p>
@@ -320,11 +403,12 @@ public class ReporteRepository {
         ORDER BY total_supervisiones DESC
     """;
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> new ProductividadSupervisorDTO(
-                rs.getString("nombre_supervisor"),
-                rs.getInt("total_supervisiones"),
-                rs.getInt("total_servicios")
-        ));
+        return cacheReportes.obtener(CacheReportes.PRODUCTIVIDAD_SUPERVISORES, () ->
+                jdbcTemplate.query(sql, (rs, rowNum) -> new ProductividadSupervisorDTO(
+                        rs.getString("nombre_supervisor"),
+                        rs.getInt("total_supervisiones"),
+                        rs.getInt("total_servicios")
+                )));
     }
 
     // =====================================================
@@ -349,10 +433,11 @@ public class ReporteRepository {
         ORDER BY total_solicitudes DESC
     """;
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> new ServicioEstadisticoDTO(
-                rs.getString("nombre_servicio"),
-                rs.getLong("total_solicitudes")
-        ));
+        return cacheReportes.obtener(CacheReportes.SERVICIOS_MAS_SOLICITADOS, () ->
+                jdbcTemplate.query(sql, (rs, rowNum) -> new ServicioEstadisticoDTO(
+                        rs.getString("nombre_servicio"),
+                        rs.getLong("total_solicitudes")
+                )));
     }
     /**
      * Consulta estadística: 12. Obtiene la lista de repuestos más usados en órdenes de servicio.
@@ -369,15 +454,16 @@ public class ReporteRepository {
                COUNT(*) AS total_usos
         FROM movimiento_inventario mi
         JOIN repuesto r ON mi.id_repuesto = r.id_repuesto
-        WHERE mi.tipo_movimiento = 'SALIDA'
+        WHERE UPPER(mi.tipo_movimiento) = 'SALIDA'
         GROUP BY r.nombre
         ORDER BY total_usos DESC
     """;
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> new RepuestoEstadisticoDTO(
-                rs.getString("nombre_repuesto"),
-                rs.getLong("total_usos")
-        ));
+        return cacheReportes.obtener(CacheReportes.REPUESTOS_MAS_USADOS, () ->
+                jdbcTemplate.query(sql, (rs, rowNum) -> new RepuestoEstadisticoDTO(
+                        rs.getString("nombre_repuesto"),
+                        rs.getLong("total_usos")
+                )));
     }
 
     /**
@@ -401,10 +487,25 @@ public class ReporteRepository {
         ORDER BY mes
     """;
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> new IngresoMensualDTO(
-                rs.getString("mes"),
-                rs.getBigDecimal("total_ingresos")
-        ));
+        return cacheReportes.obtener(CacheReportes.INGRESOS_POR_MES, () ->
+                jdbcTemplate.query(sql, (rs, rowNum) -> new IngresoMensualDTO(
+                        rs.getString("mes"),
+                        rs.getBigDecimal("total_ingresos")
+                )));
     }
 
+    /**
+     * Ejecuta la consulta con un cursor de solo avance y entrega cada fila mapeada al consumidor.
+     * El driver trae {@link #FILAS_POR_LECTURA} filas por viaje, de modo que nunca hay más de un
+     * bloque en memoria.
+     */
+    private <T> void recorrer(String sql, RowMapper<T> mapper, Consumer<T> consumidor, Object... parametros) {
+        int[] fila = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FILAS_POR_LECTURA);
+            new ArgumentPreparedStatementSetter(parametros).setValues(ps);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumidor.accept(mapper.mapRow(rs, fila[0]++)));
+    }
 }
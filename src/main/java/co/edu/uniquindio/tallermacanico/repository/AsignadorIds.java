@@ -0,0 +1,189 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reserva bloques de IDs de las secuencias de Oracle para las cargas masivas.
+ * <p>
+ * En lugar de pedir un {@code NEXTVAL} por fila, se piden {@code taller.ids.bloque} valores en un
+ * solo viaje ({@code SELECT seq.NEXTVAL FROM dual CONNECT BY LEVEL <= n}) y se entregan desde memoria
+ * con un índice atómico, sin bloqueos. Así un lote puede asignar las claves antes de insertar y usar
+ * {@link JdbcTemplate#batchUpdate} sin recuperar claves generadas fila por fila.
+ * Solo el hilo que agota un bloque pide el siguiente; el resto espera ese único viaje.
+ * </p>
+ *
+ * <p>Los valores salen de la misma secuencia que usan los {@code INSERT} individuales
+ * (como {@code seq_mecanico} en {@link MecanicoRepository}), así que nunca se repiten. Los que
+ * quedan sin usar al reiniciar la aplicación se pierden, lo mismo que con la caché de la secuencia.
+ * Las secuencias las crea una sola vez la migración {@code db/migraciones/V1__secuencias_ids.sql}, a partir
+ * del máximo actual de cada tabla; la misma migración deja que las claves identidad acepten los IDs
+ * explícitos.</p>
+ */
+@Component
+public class AsignadorIds {
+
+    public static final String CLIENTE = "cliente";
+    public static final String MECANICO = "mecanico";
+    public static final String MOVIMIENTO_INVENTARIO = "movimiento_inventario";
+    public static final String ORDEN_SERVICIO = "orden_servicio";
+    public static final String VEHICULO = "vehiculo";
+
+    /** Secuencia de cada tabla con clave sustituta. */
+    private static final Map<String, String> SECUENCIAS = Map.of(
+            CLIENTE, "seq_cliente",
+            MECANICO, "seq_mecanico",
+            MOVIMIENTO_INVENTARIO, "seq_movimiento_inventario",
+            ORDEN_SERVICIO, "seq_orden_servicio",
+            VEHICULO, "seq_vehiculo");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Secuencia> secuencias = new LinkedHashMap<>();
+
+    public AsignadorIds(JdbcTemplate jdbcTemplate,
+                        @Value("${taller.ids.bloque:50}") int bloquePorDefecto,
+                        @Value("${taller.ids.bloques:}") String bloques) {
+        this.jdbcTemplate = jdbcTemplate;
+        Map<String, Integer> tamanios = leerBloques(bloques);
+        SECUENCIAS.forEach((tabla, secuencia) -> secuencias.put(tabla,
+                new Secuencia(secuencia, Math.max(tamanios.getOrDefault(tabla, bloquePorDefecto), 1))));
+    }
+
+    /**
+     * Entrega el siguiente ID de la tabla.
+     *
+     * @param tabla tabla con secuencia registrada (ej. {@link #MOVIMIENTO_INVENTARIO})
+     * @return ID sin usar
+     * @throws IllegalArgumentException si la tabla no tiene secuencia
+     */
+    public int siguiente(String tabla) {
+        return secuencia(tabla).siguiente();
+    }
+
+    /**
+     * Entrega {@code cantidad} IDs de la tabla, pidiendo bloques nuevos solo cuando se agota el actual.
+     *
+     * @param tabla    tabla con secuencia registrada
+     * @param cantidad número de IDs a reservar
+     * @return IDs sin usar, en el orden en que se asignaron
+     * @throws IllegalArgumentException si la tabla no tiene secuencia
+     */
+    public int[] reservar(String tabla, int cantidad) {
+        Secuencia secuencia = secuencia(tabla);
+        int[] ids = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            ids[i] = secuencia.siguiente();
+        }
+        return ids;
+    }
+
+    /**
+     * Métricas de uso por tabla.
+     *
+     * @return por tabla: secuencia, tamaño de bloque, bloques pedidos, IDs entregados, IDs libres en memoria
+     *         y viajes a la base de datos evitados
+     */
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        secuencias.forEach((tabla, secuencia) -> {
+            long entregados = secuencia.entregados.sum();
+            long bloquesPedidos = secuencia.bloquesPedidos.sum();
+
+            Map<String, Object> datos = new LinkedHashMap<>();
+            datos.put("secuencia", secuencia.nombre);
+            datos.put("tamanioBloque", secuencia.tamanioBloque);
+            datos.put("bloquesPedidos", bloquesPedidos);
+            datos.put("idsEntregados", entregados);
+            datos.put("idsDisponibles", secuencia.actual.disponibles());
+            datos.put("consultasEvitadas", Math.max(entregados - bloquesPedidos, 0));
+            metricas.put(tabla, datos);
+        });
+        return metricas;
+    }
+
+    private Secuencia secuencia(String tabla) {
+        Secuencia secuencia = secuencias.get(tabla);
+        if (secuencia == null) {
+            throw new IllegalArgumentException("La tabla no tiene secuencia para asignar IDs: " + tabla);
+        }
+        return secuencia;
+    }
+
+    /**
+     * Bloque de IDs ya reservados; {@code siguiente} puede pasar del tamaño cuando varios hilos lo agotan a la vez.
+     */
+    private static final class Bloque {
+        static final Bloque VACIO = new Bloque(new int[0]);
+
+        final int[] ids;
+        final AtomicInteger siguiente = new AtomicInteger();
+
+        Bloque(int[] ids) {
+            this.ids = ids;
+        }
+
+        int disponibles() {
+            return Math.max(ids.length - siguiente.get(), 0);
+        }
+    }
+
+    private final class Secuencia {
+        final String nombre;
+        final int tamanioBloque;
+        final LongAdder entregados = new LongAdder();
+        final LongAdder bloquesPedidos = new LongAdder();
+        volatile Bloque actual = Bloque.VACIO;
+
+        Secuencia(String nombre, int tamanioBloque) {
+            this.nombre = nombre;
+            this.tamanioBloque = tamanioBloque;
+        }
+
+        int siguiente() {
+            while (true) {
+                Bloque bloque = actual;
+                int indice = bloque.siguiente.getAndIncrement();
+                if (indice < bloque.ids.length) {
+                    entregados.increment();
+                    return bloque.ids[indice];
+                }
+                recargar(bloque);
+            }
+        }
+
+        private synchronized void recargar(Bloque agotado) {
+            if (actual != agotado) {
+                return; // otro hilo ya pidió el bloque siguiente
+            }
+            List<Integer> ids = jdbcTemplate.queryForList(
+                    "SELECT " + nombre + ".NEXTVAL FROM dual CONNECT BY LEVEL <= ?", Integer.class, tamanioBloque);
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("La secuencia " + nombre + " no devolvió valores");
+            }
+            actual = new Bloque(ids.stream().mapToInt(Integer::intValue).toArray());
+            bloquesPedidos.increment();
+        }
+    }
+
+    private static Map<String, Integer> leerBloques(String bloques) {
+        Map<String, Integer> resultado = new LinkedHashMap<>();
+        if (bloques == null || bloques.isBlank()) {
+            return resultado;
+        }
+        for (String par : bloques.split(",")) {
+            String[] partes = par.split("=");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Tamaño de bloque de IDs inválido: " + par);
+            }
+            resultado.put(partes[0].trim(), Integer.parseInt(partes[1].trim()));
+        }
+        return resultado;
+    }
+}
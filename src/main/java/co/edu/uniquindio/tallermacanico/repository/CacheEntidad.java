@@ -0,0 +1,442 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caché acotada de entidades por ID con admisión por frecuencia (W-TinyLFU), para los {@code buscarPorId}
+ * que se repiten mucho sobre pocas filas.
+ * <p>
+ * Las entradas nuevas pasan primero por una ventana LRU pequeña (1 % de la capacidad). Al salir de ella
+ * compiten con la víctima de la región principal: solo entran si su frecuencia estimada es mayor, de modo
+ * que un recorrido de muchas filas leídas una vez no desplaza a las que se consultan todo el día. La región
+ * principal es una LRU segmentada: en prueba hasta el segundo acceso y luego protegida (80 %). Las frecuencias
+ * se estiman con un sketch Count-Min de contadores de 4 bits que se reducen a la mitad cada {@code 10 × capacidad}
+ * accesos, para olvidar la popularidad vieja.
+ * </p>
+ * <p>
+ * También guarda los "no encontrado" durante {@code ttlNoEncontrado}, para que los 404 repetidos no lleguen a
+ * la base de datos. Las escrituras del repositorio invalidan el ID de inmediato y otra vez al confirmarse la
+ * transacción; una carga que se cruzó con una invalidación no se guarda, porque pudo leer la fila anterior.
+ * </p>
+ *
+ * @param <V> tipo de entidad
+ */
+public final class CacheEntidad<V> {
+
+    private static final int VENTANA = 0;
+    private static final int PRUEBA = 1;
+    private static final int PROTEGIDA = 2;
+
+    private final String entidad;
+    private final int capacidad;
+    private final long ttlNanos;
+    private final long ttlNoEncontradoNanos;
+    private final UnaryOperator<V> copia;
+
+    private final int maxVentana;
+    private final int maxProtegida;
+
+    // Todo el estado siguiente está protegido por this
+    private final Map<Integer, Nodo<V>> nodos = new HashMap<>();
+    private final Lista<V> ventana = new Lista<>();
+    private final Lista<V> prueba = new Lista<>();
+    private final Lista<V> protegida = new Lista<>();
+    private final Sketch sketch;
+
+    /** Aumenta con cada invalidación; una carga iniciada antes no se guarda. */
+    private long generacion;
+
+    private long aciertos;
+    private long aciertosNoEncontrado;
+    private long fallos;
+    private long desalojos;
+    private long admisionesRechazadas;
+    private long expiradas;
+    private long invalidaciones;
+
+    /**
+     * @param entidad              nombre de la entidad, para las métricas
+     * @param capacidad            máximo de entradas (incluidos los "no encontrado"); 0 desactiva la caché
+     * @param ttlNanos             vigencia de una entidad encontrada
+     * @param ttlNoEncontradoNanos vigencia de un "no encontrado"; 0 para no guardarlos
+     * @param copia                copia que se entrega en cada lectura, para que quien la reciba no altere la caché
+     */
+    public CacheEntidad(String entidad, int capacidad, long ttlNanos, long ttlNoEncontradoNanos, UnaryOperator<V> copia) {
+        this.entidad = entidad;
+        this.capacidad = Math.max(capacidad, 0);
+        this.ttlNanos = ttlNanos;
+        this.ttlNoEncontradoNanos = ttlNoEncontradoNanos;
+        this.copia = copia;
+        this.maxVentana = Math.max(1, this.capacidad / 100);
+        this.maxProtegida = (this.capacidad - maxVentana) * 8 / 10;
+        this.sketch = new Sketch(Math.max(this.capacidad, 16));
+    }
+
+    /** Entrada de la caché; {@code valor == null} significa "no encontrado". */
+    private static final class Nodo<V> {
+        final int clave;
+        V valor;
+        long expira;
+        int region;
+        Nodo<V> anterior;
+        Nodo<V> siguiente;
+
+        Nodo(int clave) {
+            this.clave = clave;
+        }
+    }
+
+    /** Lista doblemente enlazada en orden de acceso: la cabeza es la usada hace más tiempo. */
+    private static final class Lista<V> {
+        Nodo<V> cabeza;
+        Nodo<V> cola;
+        int tamanio;
+
+        void agregar(Nodo<V> nodo) {
+            nodo.anterior = cola;
+            nodo.siguiente = null;
+            if (cola == null) {
+                cabeza = nodo;
+            } else {
+                cola.siguiente = nodo;
+            }
+            cola = nodo;
+            tamanio++;
+        }
+
+        void quitar(Nodo<V> nodo) {
+            if (nodo.anterior == null) {
+                cabeza = nodo.siguiente;
+            } else {
+                nodo.anterior.siguiente = nodo.siguiente;
+            }
+            if (nodo.siguiente == null) {
+                cola = nodo.anterior;
+            } else {
+                nodo.siguiente.anterior = nodo.anterior;
+            }
+            nodo.anterior = null;
+            nodo.siguiente = null;
+            tamanio--;
+        }
+
+        void alFinal(Nodo<V> nodo) {
+            if (nodo != cola) {
+                quitar(nodo);
+                agregar(nodo);
+            }
+        }
+    }
+
+    /**
+     * Sketch Count-Min con contadores de 4 bits, 16 por {@code long}. Cada clave usa un contador en cada una
+     * de cuatro posiciones; la frecuencia estimada es el menor de los cuatro.
+     */
+    private static final class Sketch {
+        private static final long[] SEMILLAS = {0x97CB3127L, 0xB3B5A4FBL, 0xC2B2AE35L, 0x85EBCA6BL};
+
+        final long[] tabla;
+        final int mascara;
+        final int muestra;
+        int adiciones;
+
+        Sketch(int capacidad) {
+            int tamanio = Integer.highestOneBit(capacidad - 1) << 1;
+            this.tabla = new long[tamanio];
+            this.mascara = tamanio - 1;
+            this.muestra = 10 * capacidad;
+        }
+
+        int frecuencia(int clave) {
+            int minimo = 15;
+            for (int i = 0; i < SEMILLAS.length; i++) {
+                int h = mezclar(clave, i);
+                minimo = Math.min(minimo, (int) (tabla[h & mascara] >>> desplazamiento(h)) & 0xF);
+            }
+            return minimo;
+        }
+
+        void incrementar(int clave) {
+            boolean incrementado = false;
+            for (int i = 0; i < SEMILLAS.length; i++) {
+                int h = mezclar(clave, i);
+                int indice = h & mascara;
+                int desplazamiento = desplazamiento(h);
+                if (((tabla[indice] >>> desplazamiento) & 0xF) < 15) {
+                    tabla[indice] += 1L << desplazamiento;
+                    incrementado = true;
+                }
+            }
+            if (incrementado && ++adiciones >= muestra) {
+                envejecer();
+            }
+        }
+
+        private void envejecer() {
+            for (int i = 0; i < tabla.length; i++) {
+                tabla[i] = (tabla[i] >>> 1) & 0x7777777777777777L;
+            }
+            adiciones /= 2;
+        }
+
+        private static int mezclar(int clave, int fila) {
+            long h = (clave + SEMILLAS[fila]) * SEMILLAS[fila];
+            h ^= h >>> 29;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        private static int desplazamiento(int h) {
+            // Los 4 bits altos eligen el contador dentro del long; los bajos, el long
+            return (h >>> 28) << 2;
+        }
+    }
+
+    /**
+     * Devuelve la entidad desde la caché o la carga con {@code cargador} y la guarda si es admitida.
+     *
+     * @param id       ID de la entidad
+     * @param cargador consulta a la base de datos; devuelve {@code null} si la fila no existe
+     * @return copia de la entidad, o {@code null} si no existe
+     */
+    public V obtener(int id, IntFunction<V> cargador) {
+        if (capacidad == 0) {
+            return cargador.apply(id);
+        }
+        long generacionCarga;
+        synchronized (this) {
+            Nodo<V> nodo = acceder(id);
+            if (nodo != null) {
+                return nodo.valor == null ? null : copia.apply(nodo.valor);
+            }
+            generacionCarga = generacion;
+        }
+
+        V valor = cargador.apply(id);
+
+        synchronized (this) {
+            if (generacionCarga == generacion) {
+                guardar(id, valor);
+            }
+        }
+        return valor == null ? null : copia.apply(valor);
+    }
+
+    /**
+     * Devuelve varias entidades: las que están en la caché salen de ella y las demás se cargan juntas con una
+     * sola llamada a {@code cargador}.
+     *
+     * @param ids      IDs de las entidades; pueden repetirse
+     * @param cargador consulta por lote a la base de datos; los IDs que no existen no aparecen en su resultado
+     * @return copias de las entidades por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, V> obtenerVarios(Collection<Integer> ids, Function<List<Integer>, Map<Integer, V>> cargador) {
+        if (capacidad == 0) {
+            return cargador.apply(new ArrayList<>(new LinkedHashSet<>(ids)));
+        }
+        Map<Integer, V> resultado = new HashMap<>();
+        List<Integer> faltantes = new ArrayList<>();
+        long generacionCarga;
+        synchronized (this) {
+            for (Integer id : new LinkedHashSet<>(ids)) {
+                Nodo<V> nodo = acceder(id);
+                if (nodo == null) {
+                    faltantes.add(id);
+                } else if (nodo.valor != null) {
+                    resultado.put(id, copia.apply(nodo.valor));
+                }
+            }
+            generacionCarga = generacion;
+        }
+        if (faltantes.isEmpty()) {
+            return resultado;
+        }
+
+        Map<Integer, V> cargados = cargador.apply(faltantes);
+
+        synchronized (this) {
+            if (generacionCarga == generacion) {
+                for (Integer id : faltantes) {
+                    guardar(id, cargados.get(id));
+                }
+            }
+        }
+        cargados.forEach((id, valor) -> resultado.put(id, copia.apply(valor)));
+        return resultado;
+    }
+
+    /**
+     * Descarta un ID ahora y otra vez cuando se confirme la transacción en curso, si la hay; así una lectura
+     * concurrente hecha antes del commit no deja en la caché la fila anterior.
+     *
+     * @param id ID de la entidad modificada o eliminada
+     */
+    public void invalidar(int id) {
+        invalidarAhora(id);
+        alConfirmar(() -> invalidarAhora(id));
+    }
+
+    /**
+     * Descarta los "no encontrado" guardados, para las inserciones cuya clave generada no se conoce.
+     */
+    public void invalidarNoEncontrados() {
+        invalidarNoEncontradosAhora();
+        alConfirmar(this::invalidarNoEncontradosAhora);
+    }
+
+    /**
+     * Métricas de la caché: entradas, tasa de aciertos, desalojos y admisiones rechazadas.
+     *
+     * @return mapa con las métricas
+     */
+    public synchronized Map<String, Object> metricas() {
+        long consultas = aciertos + aciertosNoEncontrado + fallos;
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("entidad", entidad);
+        metricas.put("capacidad", capacidad);
+        metricas.put("entradas", nodos.size());
+        metricas.put("aciertos", aciertos);
+        metricas.put("aciertosNoEncontrado", aciertosNoEncontrado);
+        metricas.put("fallos", fallos);
+        metricas.put("tasaAciertos", consultas == 0 ? 0.0 : (double) (aciertos + aciertosNoEncontrado) / consultas);
+        metricas.put("desalojos", desalojos);
+        metricas.put("admisionesRechazadas", admisionesRechazadas);
+        metricas.put("expiradas", expiradas);
+        metricas.put("invalidaciones", invalidaciones);
+        return metricas;
+    }
+
+    private synchronized void invalidarAhora(int id) {
+        generacion++;
+        invalidaciones++;
+        Nodo<V> nodo = nodos.get(id);
+        if (nodo != null) {
+            eliminar(nodo);
+        }
+    }
+
+    private synchronized void invalidarNoEncontradosAhora() {
+        generacion++;
+        invalidaciones++;
+        Iterator<Nodo<V>> iterador = nodos.values().iterator();
+        while (iterador.hasNext()) {
+            Nodo<V> nodo = iterador.next();
+            if (nodo.valor == null) {
+                lista(nodo.region).quitar(nodo);
+                iterador.remove();
+            }
+        }
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        }
+    }
+
+    // =====================================================
+    // POLÍTICA W-TinyLFU (con this tomado)
+    // =====================================================
+
+    /** Registra el acceso y devuelve la entrada vigente, o {@code null} si hay que cargarla. */
+    private Nodo<V> acceder(int id) {
+        sketch.incrementar(id);
+        Nodo<V> nodo = nodos.get(id);
+        if (nodo != null) {
+            if (nodo.expira - System.nanoTime() > 0) {
+                registrarAcceso(nodo);
+                if (nodo.valor == null) {
+                    aciertosNoEncontrado++;
+                } else {
+                    aciertos++;
+                }
+                return nodo;
+            }
+            eliminar(nodo);
+            expiradas++;
+        }
+        fallos++;
+        return null;
+    }
+
+    private void guardar(int id, V valor) {
+        long ttl = valor == null ? ttlNoEncontradoNanos : ttlNanos;
+        if (ttl > 0 && !nodos.containsKey(id)) {
+            Nodo<V> nodo = new Nodo<>(id);
+            nodo.valor = valor;
+            nodo.expira = System.nanoTime() + ttl;
+            insertar(nodo);
+        }
+    }
+
+    private void registrarAcceso(Nodo<V> nodo) {
+        switch (nodo.region) {
+            case VENTANA -> ventana.alFinal(nodo);
+            case PROTEGIDA -> protegida.alFinal(nodo);
+            default -> {
+                // Segundo acceso en la región principal: pasa a protegida, que devuelve su LRU a prueba si se llena
+                prueba.quitar(nodo);
+                nodo.region = PROTEGIDA;
+                protegida.agregar(nodo);
+                if (protegida.tamanio > maxProtegida) {
+                    Nodo<V> degradado = protegida.cabeza;
+                    protegida.quitar(degradado);
+                    degradado.region = PRUEBA;
+                    prueba.agregar(degradado);
+                }
+            }
+        }
+    }
+
+    private void insertar(Nodo<V> nodo) {
+        nodos.put(nodo.clave, nodo);
+        nodo.region = VENTANA;
+        ventana.agregar(nodo);
+        if (ventana.tamanio <= maxVentana) {
+            return;
+        }
+        Nodo<V> candidato = ventana.cabeza;
+        ventana.quitar(candidato);
+        if (prueba.tamanio + protegida.tamanio < capacidad - maxVentana) {
+            candidato.region = PRUEBA;
+            prueba.agregar(candidato);
+            return;
+        }
+        Nodo<V> victima = prueba.cabeza != null ? prueba.cabeza : protegida.cabeza;
+        if (victima != null && sketch.frecuencia(candidato.clave) > sketch.frecuencia(victima.clave)) {
+            eliminar(victima);
+            candidato.region = PRUEBA;
+            prueba.agregar(candidato);
+        } else {
+            nodos.remove(candidato.clave);
+            admisionesRechazadas++;
+        }
+        desalojos++;
+    }
+
+    private void eliminar(Nodo<V> nodo) {
+        lista(nodo.region).quitar(nodo);
+        nodos.remove(nodo.clave);
+    }
+
+    private Lista<V> lista(int region) {
+        return region == VENTANA ? ventana : region == PRUEBA ? prueba : protegida;
+    }
+}
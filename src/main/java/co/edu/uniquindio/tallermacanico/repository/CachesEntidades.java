@@ -0,0 +1,61 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Crea las {@link CacheEntidad} de los repositorios con la configuración de {@code taller.entidades.cache.*}
+ * y reúne sus métricas.
+ */
+@Component
+public class CachesEntidades {
+
+    private final int maxEntradas;
+    private final long ttlNanos;
+    private final long ttlNoEncontradoNanos;
+    private final List<CacheEntidad<?>> caches = new CopyOnWriteArrayList<>();
+
+    public CachesEntidades(@Value("${taller.entidades.cache.max-entradas:2000}") int maxEntradas,
+                           @Value("${taller.entidades.cache.ttl-segundos:300}") long ttlSegundos,
+                           @Value("${taller.entidades.cache.ttl-no-encontrado-segundos:10}") long ttlNoEncontradoSegundos) {
+        this.maxEntradas = maxEntradas;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(ttlSegundos, 0));
+        this.ttlNoEncontradoNanos = TimeUnit.SECONDS.toNanos(Math.max(ttlNoEncontradoSegundos, 0));
+    }
+
+    /**
+     * Crea la caché de una entidad y la registra para las métricas.
+     *
+     * @param entidad nombre de la entidad (ej. {@code cliente})
+     * @param copia   copia que se entrega en cada lectura
+     * @param <V>     tipo de entidad
+     * @return caché de la entidad
+     */
+    public <V> CacheEntidad<V> crear(String entidad, UnaryOperator<V> copia) {
+        CacheEntidad<V> cache = new CacheEntidad<>(entidad, ttlNanos == 0 ? 0 : maxEntradas, ttlNanos,
+                ttlNoEncontradoNanos, copia);
+        caches.add(cache);
+        return cache;
+    }
+
+    /**
+     * Métricas de cada caché: entradas, aciertos y fallos, tasa de aciertos, desalojos y admisiones rechazadas.
+     *
+     * @return mapa con las métricas por entidad
+     */
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        for (CacheEntidad<?> cache : caches) {
+            Map<String, Object> datos = new LinkedHashMap<>(cache.metricas());
+            metricas.put((String) datos.remove("entidad"), datos);
+        }
+        return metricas;
+    }
+}
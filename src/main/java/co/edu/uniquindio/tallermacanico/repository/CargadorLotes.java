@@ -0,0 +1,87 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las búsquedas por ID de una petición para resolverlas juntas con un {@code buscarPorIds}.
+ * <p>
+ * Quien arma una respuesta llama {@link #cargar(int)} por cada fila que necesita y recibe un
+ * {@link Supplier}; el primer {@code get()} envía todos los IDs pendientes en un solo lote, de modo que
+ * recorrer cien órdenes y pedir el vehículo de cada una cuesta una consulta y no cien. Los IDs ya resueltos
+ * se recuerdan durante la vida del cargador, incluidos los que no existen.
+ * </p>
+ * <p>
+ * No es seguro entre hilos: se crea uno por petición (ver {@link CargadoresPeticion}).
+ * </p>
+ *
+ * @param <T> tipo de entidad
+ */
+public final class CargadorLotes<T> {
+
+    private final Function<Collection<Integer>, Map<Integer, T>> buscarPorIds;
+    private final Set<Integer> pendientes = new LinkedHashSet<>();
+    private final Map<Integer, T> resueltos = new HashMap<>();
+    private int lotes;
+
+    /**
+     * @param buscarPorIds búsqueda por lote del repositorio; los IDs que no existen no aparecen en su resultado
+     */
+    public CargadorLotes(Function<Collection<Integer>, Map<Integer, T>> buscarPorIds) {
+        this.buscarPorIds = buscarPorIds;
+    }
+
+    /**
+     * Encola un ID para el próximo lote sin consultar todavía la base de datos.
+     *
+     * @param id ID de la entidad
+     * @return proveedor de la entidad, o de {@code null} si no existe; al llamarlo se despacha el lote pendiente
+     */
+    public Supplier<T> cargar(int id) {
+        if (!resueltos.containsKey(id)) {
+            pendientes.add(id);
+        }
+        return () -> obtener(id);
+    }
+
+    /**
+     * Devuelve la entidad, despachando antes el lote pendiente si el ID aún no está resuelto.
+     *
+     * @param id ID de la entidad
+     * @return entidad, o {@code null} si no existe
+     */
+    public T obtener(int id) {
+        if (!resueltos.containsKey(id)) {
+            pendientes.add(id);
+            despachar();
+        }
+        return resueltos.get(id);
+    }
+
+    /**
+     * Consulta en un solo {@code buscarPorIds} todos los IDs encolados. No hace nada si no hay pendientes.
+     */
+    public void despachar() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        Map<Integer, T> encontrados = buscarPorIds.apply(pendientes);
+        for (Integer id : pendientes) {
+            resueltos.put(id, encontrados.get(id));
+        }
+        pendientes.clear();
+        lotes++;
+    }
+
+    /**
+     * @return número de lotes despachados, para comprobar que las búsquedas se agrupan
+     */
+    public int lotes() {
+        return lotes;
+    }
+}
@@ -0,0 +1,64 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.model.Mecanico;
+import co.edu.uniquindio.tallermacanico.model.OrdenTrabajo;
+import co.edu.uniquindio.tallermacanico.model.Repuesto;
+import co.edu.uniquindio.tallermacanico.model.Servicio;
+import co.edu.uniquindio.tallermacanico.model.Vehiculo;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * {@link CargadorLotes} de la petición HTTP en curso, uno por entidad.
+ * <p>
+ * Spring crea una instancia por petición, así que las búsquedas por ID hechas en distintos puntos de una
+ * misma respuesta comparten lote y memoria, y nada se conserva entre peticiones.
+ * </p>
+ */
+@Component
+@RequestScope
+public class CargadoresPeticion {
+
+    private final CargadorLotes<Vehiculo> vehiculos;
+    private final CargadorLotes<Cliente> clientes;
+    private final CargadorLotes<OrdenTrabajo> ordenes;
+    private final CargadorLotes<Mecanico> mecanicos;
+    private final CargadorLotes<Repuesto> repuestos;
+    private final CargadorLotes<Servicio> servicios;
+
+    public CargadoresPeticion(VehiculoRepository vehiculoRepository, ClienteRepository clienteRepository,
+                              OrdenTrabajoRepository ordenTrabajoRepository, MecanicoRepository mecanicoRepository,
+                              RepuestoRepository repuestoRepository, ServicioRepository servicioRepository) {
+        this.vehiculos = new CargadorLotes<>(vehiculoRepository::buscarPorIds);
+        this.clientes = new CargadorLotes<>(clienteRepository::buscarPorIds);
+        this.ordenes = new CargadorLotes<>(ordenTrabajoRepository::buscarPorIds);
+        this.mecanicos = new CargadorLotes<>(mecanicoRepository::buscarPorIds);
+        this.repuestos = new CargadorLotes<>(repuestoRepository::buscarPorIds);
+        this.servicios = new CargadorLotes<>(servicioRepository::buscarPorIds);
+    }
+
+    public CargadorLotes<Vehiculo> vehiculos() {
+        return vehiculos;
+    }
+
+    public CargadorLotes<Cliente> clientes() {
+        return clientes;
+    }
+
+    public CargadorLotes<OrdenTrabajo> ordenes() {
+        return ordenes;
+    }
+
+    public CargadorLotes<Mecanico> mecanicos() {
+        return mecanicos;
+    }
+
+    public CargadorLotes<Repuesto> repuestos() {
+        return repuestos;
+    }
+
+    public CargadorLotes<Servicio> servicios() {
+        return servicios;
+    }
+}
@@ -1,59 +1,191 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.dto.SugerenciaDTO;
 import co.edu.uniquindio.tallermacanico.model.Cliente;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Repositorio para gestionar operaciones sobre la tabla Cliente.
  * Proporciona métodos CRUD usando JdbcTemplate.
+ * <p>
+ * {@link #buscarPorId(int)} pasa por una {@link CacheEntidad} que las escrituras de este repositorio invalidan,
+ * y los nombres y apellidos se mantienen en un {@link IndicePrefijos} para el autocompletado.
+ * </p>
  */
 @Repository
 public class ClienteRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
+    private final GeneradorClaves generadorClaves;
+    private final AsignadorIds asignadorIds;
+    private final CacheEntidad<Cliente> cache;
+    private final IndicePrefijos<Cliente> indiceNombres;
 
-    public ClienteRepository(JdbcTemplate jdbcTemplate) {
+    public ClienteRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes,
+                             GeneradorClaves generadorClaves, AsignadorIds asignadorIds,
+                             CachesEntidades cachesEntidades) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
+        this.generadorClaves = generadorClaves;
+        this.asignadorIds = asignadorIds;
+        this.cache = cachesEntidades.crear("cliente", c -> new Cliente(c.getIdCliente(), c.getNombre(),
+                c.getApellido(), c.getDireccion(), c.getTelefono(), c.getEmail()));
+        this.indiceNombres = new IndicePrefijos<>("cliente.nombre", true, this::listarClientes,
+                c -> new SugerenciaDTO(c.getIdCliente(), c.getNombre() + " " + c.getApellido(), c.getTelefono()),
+                c -> c.getNombre() + " " + c.getApellido());
     }
 
     public List<Cliente> listarClientes() {
-        String sql = "SELECT * FROM cliente";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Cliente.class));
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_CLIENTE + " FROM cliente";
+        return jdbcTemplate.query(sql, MapeadoresFila.CLIENTE);
+    }
+
+    /**
+     * Obtiene una página de clientes ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de clientes con el cursor para continuar
+     */
+    public PaginaDTO<Cliente> listarClientesPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_CLIENTE + " FROM cliente";
+        return paginador.paginar(sql, new String[]{"id_cliente"},
+                MapeadoresFila.CLIENTE,
+                c -> new int[]{c.getIdCliente()}, cursor, tamanio);
     }
 
     /**
      * Registra un nuevo cliente y devuelve el ID generado.
      */
     public int registrarCliente(Cliente cliente) {
-        String sql = "INSERT INTO cliente (nombre, apellido, direccion, telefono, email) VALUES (?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql,
+        // Misma secuencia que reparte AsignadorIds para los lotes
+        String sql = "INSERT INTO cliente (id_cliente, nombre, apellido, direccion, telefono, email) " +
+                "VALUES (seq_cliente.NEXTVAL, ?, ?, ?, ?, ?)";
+        int idCliente = generadorClaves.insertar(sql, "id_cliente",
                 cliente.getNombre(),
                 cliente.getApellido(),
                 cliente.getDireccion(),
                 cliente.getTelefono(),
                 cliente.getEmail());
+        cliente.setIdCliente(idCliente);
+        cacheReportes.invalidarPorTabla("cliente");
+        cache.invalidar(idCliente);
+        indiceNombres.agregarAlConfirmar(cliente);
+        return idCliente;
+    }
 
-        // Recuperar el último ID generado (Oracle/SQL estándar)
-        return jdbcTemplate.queryForObject("SELECT MAX(id_cliente) FROM cliente", Integer.class);
+    /**
+     * Registra varios clientes en un solo {@code batchUpdate}.
+     * Los IDs se reservan por bloques con {@link AsignadorIds} antes de insertar y quedan asignados en cada objeto.
+     * Debe llamarse dentro de una transacción.
+     *
+     * @param clientes clientes a insertar
+     */
+    public void registrarClientes(List<Cliente> clientes) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO cliente (id_cliente, nombre, apellido, direccion, telefono, email) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        int[] ids = asignadorIds.reservar(AsignadorIds.CLIENTE, clientes.size());
+
+        List<Object[]> filas = new ArrayList<>(clientes.size());
+        for (int i = 0; i < clientes.size(); i++) {
+            Cliente cliente = clientes.get(i);
+            cliente.setIdCliente(ids[i]);
+            filas.add(new Object[]{ids[i], cliente.getNombre(), cliente.getApellido(), cliente.getDireccion(),
+                    cliente.getTelefono(), cliente.getEmail()});
+        }
+        jdbcTemplate.batchUpdate(sql, filas);
+        for (Cliente cliente : clientes) {
+            cache.invalidar(cliente.getIdCliente());
+            indiceNombres.agregarAlConfirmar(cliente);
+        }
+        cacheReportes.invalidarAlConfirmar("cliente");
+    }
+
+    /**
+     * Indica cuáles de los IDs recibidos existen, en una sola consulta.
+     *
+     * @param ids IDs a comprobar (máximo 1000, el límite de Oracle para una lista {@code IN})
+     * @return IDs que existen en la tabla
+     */
+    public Set<Integer> idsExistentes(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        String sql = "SELECT id_cliente FROM cliente WHERE id_cliente IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Integer.class, ids.toArray()));
     }
 
+    /**
+     * Busca un cliente por su ID, desde la caché si está.
+     *
+     * @param idCliente identificador del cliente
+     * @return cliente encontrado o null si no existe
+     */
     public Cliente buscarPorId(int idCliente) {
-        String sql = "SELECT * FROM cliente WHERE id_cliente = ?";
-        List<Cliente> clientes = jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Cliente.class), idCliente);
+        return cache.obtener(idCliente, this::consultarPorId);
+    }
+
+    private Cliente consultarPorId(int idCliente) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_CLIENTE + " FROM cliente WHERE id_cliente = ?";
+        List<Cliente> clientes = jdbcTemplate.query(sql, MapeadoresFila.CLIENTE, idCliente);
         return clientes.isEmpty() ? null : clientes.get(0);
     }
 
+    /**
+     * Busca varios clientes por ID: los que están en la caché salen de ella y los demás se consultan juntos
+     * (una consulta por cada {@value ConsultaPorIds#MAX_IN} IDs).
+     *
+     * @param ids identificadores de los clientes; pueden repetirse
+     * @return clientes por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, Cliente> buscarPorIds(Collection<Integer> ids) {
+        return cache.obtenerVarios(ids, this::consultarPorIds);
+    }
+
+    private Map<Integer, Cliente> consultarPorIds(Collection<Integer> ids) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_CLIENTE + " FROM cliente";
+        return ConsultaPorIds.buscar(jdbcTemplate, sql, "id_cliente", MapeadoresFila.CLIENTE,
+                Cliente::getIdCliente, ids);
+    }
+
     /**
      * Elimina un cliente y devuelve true si se eliminó, false si no existía.
      */
     public boolean eliminarCliente(int idCliente) {
         String sql = "DELETE FROM cliente WHERE id_cliente = ?";
         int filas = jdbcTemplate.update(sql, idCliente);
+        cacheReportes.invalidarPorTabla("cliente");
+        cache.invalidar(idCliente);
+        indiceNombres.quitarAlConfirmar(idCliente);
         return filas > 0;
     }
+
+    /**
+     * Índice de nombres y apellidos para el autocompletado; se reconstruye al arrancar y lo actualizan los
+     * registros y eliminaciones de este repositorio.
+     *
+     * @return índice de prefijos de nombres
+     */
+    public IndicePrefijos<Cliente> indiceNombres() {
+        return indiceNombres;
+    }
 }
 
@@ -0,0 +1,56 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Búsqueda de muchas filas por ID con listas {@code IN}, compartida por los {@code buscarPorIds} de los repositorios.
+ * <p>
+ * Los IDs repetidos se consultan una vez y se envían en grupos de {@value #MAX_IN}, el límite de Oracle para una
+ * lista {@code IN}, así que {@code n} IDs cuestan {@code ⌈n / 1000⌉} consultas en lugar de {@code n}.
+ * </p>
+ */
+public final class ConsultaPorIds {
+
+    /** Máximo de elementos de una lista {@code IN} en Oracle. */
+    public static final int MAX_IN = 1000;
+
+    private ConsultaPorIds() {
+    }
+
+    /**
+     * Ejecuta {@code consulta WHERE columnaId IN (...)} por grupos y reúne las filas por su ID.
+     *
+     * @param jdbcTemplate plantilla JDBC
+     * @param consulta     {@code SELECT ... FROM tabla} sin {@code WHERE}
+     * @param columnaId    columna de la clave primaria
+     * @param mapeador     mapeador de la fila
+     * @param clave        ID de cada fila mapeada
+     * @param ids          IDs a buscar; pueden repetirse
+     * @param <T>          tipo de fila
+     * @return filas por ID; los IDs que no existen no aparecen
+     */
+    public static <T> Map<Integer, T> buscar(JdbcTemplate jdbcTemplate, String consulta, String columnaId,
+                                             RowMapper<T> mapeador, ToIntFunction<T> clave, Collection<Integer> ids) {
+        Map<Integer, T> filas = new HashMap<>();
+        List<Integer> unicos = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (int desde = 0; desde < unicos.size(); desde += MAX_IN) {
+            List<Integer> grupo = unicos.subList(desde, Math.min(desde + MAX_IN, unicos.size()));
+            String sql = consulta + " WHERE " + columnaId + " IN ("
+                    + String.join(", ", Collections.nCopies(grupo.size(), "?")) + ")";
+            for (T fila : jdbcTemplate.query(sql, mapeador, grupo.toArray())) {
+                filas.put(clave.applyAsInt(fila), fila);
+            }
+        }
+        return filas;
+    }
+}
@@ -0,0 +1,73 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precarga y refresco de las tablas de referencia que los repositorios mantienen en memoria
+ * ({@code estado_orden}, {@code especialidad}, {@code servicio} y {@code estado_pago_factura}).
+ * <p>
+ * Las escrituras hechas a través de los repositorios recargan su tabla al confirmarse; la recarga periódica
+ * ({@code taller.referencia.recarga-ms}) recoge los cambios hechos directamente en la base de datos.
+ * </p>
+ */
+@Component
+public class DatosReferencia {
+
+    private static final Logger log = LoggerFactory.getLogger(DatosReferencia.class);
+
+    private final List<TablaReferencia<?>> tablas;
+
+    public DatosReferencia(EstadoOrdenRepository estadoOrdenRepository, EspecialidadRepository especialidadRepository,
+                           ServicioRepository servicioRepository, EstadoPagoFacturaRepository estadoPagoFacturaRepository) {
+        this.tablas = List.of(estadoOrdenRepository.tablaReferencia(), especialidadRepository.tablaReferencia(),
+                servicioRepository.tablaReferencia(), estadoPagoFacturaRepository.tablaReferencia());
+    }
+
+    /**
+     * Carga las tablas al terminar de arrancar la aplicación, para que la primera petición no espere la lectura.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        recargar();
+        log.info("Tablas de referencia cargadas: {}", metricas().values());
+    }
+
+    /**
+     * Vuelve a leer todas las tablas; si una falla, las demás se recargan igual y la fallida conserva su instantánea.
+     */
+    @Scheduled(initialDelayString = "${taller.referencia.recarga-ms:300000}",
+            fixedDelayString = "${taller.referencia.recarga-ms:300000}")
+    public void recargar() {
+        for (TablaReferencia<?> tabla : tablas) {
+            try {
+                tabla.recargar();
+            } catch (DataAccessException e) {
+                log.error("No se pudo recargar la tabla de referencia {}", tabla.metricas().get("tabla"), e);
+            }
+        }
+    }
+
+    /**
+     * Métricas de cada tabla: filas en memoria, recargas hechas y tipo de índice.
+     *
+     * @return mapa con las métricas por tabla
+     */
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        for (TablaReferencia<?> tabla : tablas) {
+            Map<String, Object> datos = new LinkedHashMap<>(tabla.metricas());
+            metricas.put((String) datos.remove("tabla"), datos);
+        }
+        return metricas;
+    }
+}
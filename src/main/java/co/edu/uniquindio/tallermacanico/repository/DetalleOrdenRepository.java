@@ -0,0 +1,145 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import co.edu.uniquindio.tallermacanico.dto.DetalleOrdenDTO;
+import co.edu.uniquindio.tallermacanico.dto.MecanicoDetalleOrdenDTO;
+import co.edu.uniquindio.tallermacanico.dto.OrdenTrabajoDTO;
+import co.edu.uniquindio.tallermacanico.dto.RepuestoDetalleOrdenDTO;
+import co.edu.uniquindio.tallermacanico.dto.ServicioDetalleOrdenDTO;
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.model.Factura;
+import co.edu.uniquindio.tallermacanico.model.Vehiculo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas del detalle de una orden de trabajo ({@code GET /api/ordenes/{id}/detalle}).
+ * <p>
+ * Cada método trae una sección completa de la orden en una sola consulta con {@code JOIN}, sin importar
+ * cuántos servicios, mecánicos o repuestos tenga, de modo que el detalle cuesta a lo sumo cinco consultas.
+ * </p>
+ */
+@Repository
+public class DetalleOrdenRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DetalleOrdenRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lee la orden con el nombre de su estado, su vehículo y el cliente dueño del vehículo.
+     *
+     * @param idOrdenTrabajo identificador de la orden
+     * @return detalle con la orden, el vehículo y el cliente, o {@code null} si la orden no existe
+     */
+    public DetalleOrdenDTO buscarCabecera(int idOrdenTrabajo) {
+        String sql = """
+        SELECT ot.id_orden_trabajo, ot.id_vehiculo, ot.fecha_ingreso, ot.fecha_salida, ot.diagnostico_inicial,
+               eo.nombre_estado,
+               v.id_vehiculo, v.id_cliente, v.placa, v.marca, v.modelo, v.anio, v.color,
+               c.id_cliente, c.nombre, c.apellido, c.direccion, c.telefono, c.email
+        FROM orden_trabajo ot
+        LEFT JOIN estado_orden eo ON ot.id_estado_orden = eo.id_estado_orden
+        LEFT JOIN vehiculo v ON ot.id_vehiculo = v.id_vehiculo
+        LEFT JOIN cliente c ON v.id_cliente = c.id_cliente
+        WHERE ot.id_orden_trabajo = ?
+    """;
+        List<DetalleOrdenDTO> filas = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            OrdenTrabajoDTO orden = new OrdenTrabajoDTO(rs.getInt(1), rs.getInt(2), aLocalDate(rs.getDate(3)),
+                    aLocalDate(rs.getDate(4)), rs.getString(5), rs.getString(6));
+            // Vehículo y cliente vienen de LEFT JOIN: sin fila, su ID es NULL
+            Vehiculo vehiculo = rs.getObject(7) == null ? null : new Vehiculo(rs.getInt(7), rs.getInt(8), rs.getString(9),
+                    rs.getString(10), rs.getString(11), rs.getInt(12), rs.getString(13));
+            Cliente cliente = rs.getObject(14) == null ? null : new Cliente(rs.getInt(14), rs.getString(15), rs.getString(16),
+                    rs.getString(17), rs.getString(18), rs.getString(19));
+            return new DetalleOrdenDTO(orden, vehiculo, cliente);
+        }, idOrdenTrabajo);
+        return filas.isEmpty() ? null : filas.get(0);
+    }
+
+    /**
+     * Servicios de la orden con el nombre del servicio, sin mecánicos.
+     *
+     * @param idOrdenTrabajo identificador de la orden
+     * @return servicios ordenados por ID
+     */
+    public List<ServicioDetalleOrdenDTO> listarServicios(int idOrdenTrabajo) {
+        String sql = """
+        SELECT os.id_orden_servicio, os.id_servicio, s.nombre, os.estado, os.precio_final
+        FROM orden_servicio os
+        LEFT JOIN servicio s ON os.id_servicio = s.id_servicio
+        WHERE os.id_orden_trabajo = ?
+        ORDER BY os.id_orden_servicio
+    """;
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ServicioDetalleOrdenDTO(rs.getInt(1), rs.getInt(2),
+                rs.getString(3), rs.getString(4), rs.getDouble(5), null), idOrdenTrabajo);
+    }
+
+    /**
+     * Mecánicos asignados a todos los servicios de la orden, con su especialidad.
+     *
+     * @param idOrdenTrabajo identificador de la orden
+     * @return mecánicos agrupados por ID de orden de servicio
+     */
+    public Map<Integer, List<MecanicoDetalleOrdenDTO>> listarMecanicosPorServicio(int idOrdenTrabajo) {
+        String sql = """
+        SELECT osm.id_orden_servicio, m.id_mecanico, m.nombre, m.apellido, osm.id_especialidad, e.nombre,
+               osm.rol_en_servicio
+        FROM orden_servicio_mecanico osm
+        JOIN orden_servicio os ON osm.id_orden_servicio = os.id_orden_servicio
+        JOIN mecanico m ON osm.id_mecanico = m.id_mecanico
+        LEFT JOIN especialidad e ON osm.id_especialidad = e.id_especialidad
+        WHERE os.id_orden_trabajo = ?
+        ORDER BY osm.id_orden_servicio, m.id_mecanico
+    """;
+        Map<Integer, List<MecanicoDetalleOrdenDTO>> mecanicos = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> mecanicos
+                .computeIfAbsent(rs.getInt(1), id -> new ArrayList<>())
+                .add(new MecanicoDetalleOrdenDTO(rs.getInt(2), rs.getString(3), rs.getString(4), rs.getInt(5),
+                        rs.getString(6), rs.getString(7))), idOrdenTrabajo);
+        return mecanicos;
+    }
+
+    /**
+     * Repuestos usados en la orden ({@code orden_repuesto}) con su nombre y unidad.
+     *
+     * @param idOrdenTrabajo identificador de la orden
+     * @return repuestos ordenados por ID de repuesto
+     */
+    public List<RepuestoDetalleOrdenDTO> listarRepuestos(int idOrdenTrabajo) {
+        String sql = """
+        SELECT r.id_repuesto, r.nombre, r.unidad_medida, orp.cantidad_usada
+        FROM orden_repuesto orp
+        JOIN repuesto r ON orp.id_repuesto = r.id_repuesto
+        WHERE orp.id_orden_trabajo = ?
+        ORDER BY r.id_repuesto
+    """;
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new RepuestoDetalleOrdenDTO(rs.getInt(1), rs.getString(2),
+                rs.getString(3), rs.getDouble(4)), idOrdenTrabajo);
+    }
+
+    /**
+     * Facturas emitidas para la orden.
+     *
+     * @param idOrdenTrabajo identificador de la orden
+     * @return facturas ordenadas por ID
+     */
+    public List<Factura> listarFacturas(int idOrdenTrabajo) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_FACTURA + " FROM factura WHERE id_orden_trabajo = ? " +
+                "ORDER BY id_factura";
+        return jdbcTemplate.query(sql, MapeadoresFila.FACTURA, idOrdenTrabajo);
+    }
+
+    private static LocalDate aLocalDate(Date fecha) {
+        return fecha != null ? fecha.toLocalDate() : null;
+    }
+}
@@ -1,50 +1,106 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Especialidad;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Repositorio para gestionar las especialidades de mecánicos.
+ * <p>
+ * El listado completo y las consultas por ID se responden desde una copia en memoria de la tabla
+ * ({@link TablaReferencia}) que se recarga con cada registro o eliminación.
+ * </p>
  */
 @Repository
 public class EspecialidadRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final GeneradorClaves generadorClaves;
+    private final TablaReferencia<Especialidad> especialidades;
 
-    public EspecialidadRepository(JdbcTemplate jdbcTemplate) {
+    public EspecialidadRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, GeneradorClaves generadorClaves) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.generadorClaves = generadorClaves;
+        this.especialidades = new TablaReferencia<>("especialidad", this::leerEspecialidades,
+                Especialidad::getIdEspecialidad, e -> new Especialidad(e.getIdEspecialidad(), e.getNombre()));
     }
 
     // Listar todas las especialidades
     public List<Especialidad> listarEspecialidades() {
-        String sql = "SELECT id_especialidad AS idEspecialidad, nombre FROM especialidad";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Especialidad.class));
+        return especialidades.listar();
+    }
+
+    /**
+     * Obtiene una página de especialidades ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de especialidades con el cursor para continuar
+     */
+    public PaginaDTO<Especialidad> listarEspecialidadesPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ESPECIALIDAD + " FROM especialidad";
+        return paginador.paginar(sql, new String[]{"id_especialidad"},
+                MapeadoresFila.ESPECIALIDAD,
+                e -> new int[]{e.getIdEspecialidad()}, cursor, tamanio);
     }
 
     // Buscar especialidad por ID
     public Especialidad buscarPorId(int id) {
-        String sql = "SELECT id_especialidad AS idEspecialidad, nombre FROM especialidad WHERE id_especialidad = ?";
-        try {
-            return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(Especialidad.class), id);
-        } catch (Exception e) {
-            return null;
+        return especialidades.buscar(id);
+    }
+
+    /**
+     * Busca varias especialidades por ID en la copia en memoria, sin consultar la base de datos.
+     *
+     * @param ids identificadores de las especialidades; pueden repetirse
+     * @return copias de las especialidades por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, Especialidad> buscarPorIds(Collection<Integer> ids) {
+        Map<Integer, Especialidad> encontrados = new HashMap<>();
+        for (Integer id : ids) {
+            Especialidad fila = especialidades.buscar(id);
+            if (fila != null) {
+                encontrados.put(id, fila);
+            }
         }
+        return encontrados;
     }
 
     // Registrar nueva especialidad y devolver ID generado
     public int registrarEspecialidad(Especialidad especialidad) {
         String sql = "INSERT INTO especialidad (nombre) VALUES (?)";
-        jdbcTemplate.update(sql, especialidad.getNombre());
-        return jdbcTemplate.queryForObject("SELECT MAX(id_especialidad) FROM especialidad", Integer.class);
+        int idEspecialidad = generadorClaves.insertar(sql, "id_especialidad", especialidad.getNombre());
+        especialidades.recargarAlConfirmar();
+        return idEspecialidad;
     }
 
     // Eliminar especialidad por ID
     public boolean eliminarEspecialidad(int id) {
         String sql = "DELETE FROM especialidad WHERE id_especialidad = ?";
-        return jdbcTemplate.update(sql, id) > 0;
+        boolean eliminada = jdbcTemplate.update(sql, id) > 0;
+        especialidades.recargarAlConfirmar();
+        return eliminada;
+    }
+
+    /**
+     * Caché en memoria de la tabla, para precargarla y recargarla.
+     *
+     * @return tabla de referencia de especialidades
+     */
+    public TablaReferencia<?> tablaReferencia() {
+        return especialidades;
+    }
+
+    private List<Especialidad> leerEspecialidades() {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ESPECIALIDAD + " FROM especialidad";
+        return jdbcTemplate.query(sql, MapeadoresFila.ESPECIALIDAD);
     }
 }
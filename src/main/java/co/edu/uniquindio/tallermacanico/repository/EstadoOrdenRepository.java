@@ -3,17 +3,29 @@ package co.edu.uniquindio.tallermacanico.repository;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.function.UnaryOperator;
+
 /**
  * Repositorio para gestionar operaciones sobre la tabla estado_orden.
  * Permite consultar información relacionada con los estados de las órdenes.
+ * <p>
+ * La tabla se mantiene completa en memoria ({@link TablaReferencia}); las consultas por ID no van a la base de datos.
+ * </p>
  */
 @Repository
 public class EstadoOrdenRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final TablaReferencia<EstadoOrden> estados;
+
+    /** Fila de estado_orden; inmutable, así que se comparte sin copiar. */
+    private record EstadoOrden(int idEstadoOrden, String nombreEstado) {}
 
     public EstadoOrdenRepository(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
+        this.estados = new TablaReferencia<>("estado_orden", this::leerEstados,
+                EstadoOrden::idEstadoOrden, UnaryOperator.identity());
     }
 
     /**
@@ -23,14 +35,21 @@ public class EstadoOrdenRepository {
      * @return nombre del estado como String, o null si no existe
      */
     public String obtenerNombrePorId(int idEstadoOrden) {
-        String sql = "SELECT nombre_estado FROM estado_orden WHERE id_estado_orden = ?";
-        try {
-            return jdbcTemplate.queryForObject(sql, String.class, idEstadoOrden);
-        } catch (Exception e) {
-            // Manejo simple: si no existe, retorna null
-            return null;
-        }
+        EstadoOrden estado = estados.buscar(idEstadoOrden);
+        return estado == null ? null : estado.nombreEstado();
     }
-}
 
+    /**
+     * Caché en memoria de la tabla, para precargarla y recargarla.
+     *
+     * @return tabla de referencia de estados de orden
+     */
+    public TablaReferencia<?> tablaReferencia() {
+        return estados;
+    }
 
+    private List<EstadoOrden> leerEstados() {
+        String sql = "SELECT id_estado_orden, nombre_estado FROM estado_orden";
+        return jdbcTemplate.query(sql, (rs, i) -> new EstadoOrden(rs.getInt("id_estado_orden"), rs.getString("nombre_estado")));
+    }
+}
@@ -0,0 +1,72 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Repositorio de consulta para la tabla estado_pago_factura.
+ * <p>
+ * La tabla se mantiene completa en memoria ({@link TablaReferencia}); las consultas no van a la base de datos.
+ * </p>
+ */
+@Repository
+public class EstadoPagoFacturaRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TablaReferencia<EstadoPago> estados;
+
+    /** Fila de estado_pago_factura; inmutable, así que se comparte sin copiar. */
+    private record EstadoPago(int idEstadoPago, String nombreEstado) {}
+
+    public EstadoPagoFacturaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.estados = new TablaReferencia<>("estado_pago_factura", this::leerEstados,
+                EstadoPago::idEstadoPago, UnaryOperator.identity());
+    }
+
+    /**
+     * Obtiene el nombre de un estado de pago dado su identificador.
+     *
+     * @param idEstadoPago identificador del estado de pago
+     * @return nombre del estado, o null si no existe
+     */
+    public String obtenerNombrePorId(int idEstadoPago) {
+        EstadoPago estado = estados.buscar(idEstadoPago);
+        return estado == null ? null : estado.nombreEstado();
+    }
+
+    /**
+     * Identificadores de los estados de pago con el nombre indicado, sin distinguir mayúsculas.
+     *
+     * @param nombreEstado nombre del estado (ej. "PAGADO")
+     * @return conjunto de ids; vacío si ninguno coincide
+     */
+    public Set<Integer> idsPorNombre(String nombreEstado) {
+        Set<Integer> ids = new HashSet<>();
+        for (EstadoPago estado : estados.listar()) {
+            if (estado.nombreEstado() != null && estado.nombreEstado().equalsIgnoreCase(nombreEstado)) {
+                ids.add(estado.idEstadoPago());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Caché en memoria de la tabla, para precargarla y recargarla.
+     *
+     * @return tabla de referencia de estados de pago
+     */
+    public TablaReferencia<?> tablaReferencia() {
+        return estados;
+    }
+
+    private List<EstadoPago> leerEstados() {
+        String sql = "SELECT id_estado_pago, nombre_estado FROM estado_pago_factura";
+        return jdbcTemplate.query(sql, (rs, i) -> new EstadoPago(rs.getInt("id_estado_pago"), rs.getString("nombre_estado")));
+    }
+}
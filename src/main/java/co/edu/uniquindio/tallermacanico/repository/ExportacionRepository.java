@@ -0,0 +1,67 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Repositorio para la exportación masiva de tablas completas.
+ * <p>
+ * A diferencia de los métodos {@code listar*}, no construye una lista en memoria: recorre el
+ * cursor JDBC fila por fila con un {@link ResultSetExtractor}, que también ve los metadatos de la
+ * consulta aunque no haya filas. Usa un {@link JdbcTemplate} propio con un {@code fetchSize} amplio
+ * para que el driver de Oracle traiga las filas por bloques sin cargar toda la tabla.
+ * </p>
+ */
+@Repository
+public class ExportacionRepository {
+
+    /** Tablas que se pueden exportar; evita concatenar nombres arbitrarios en el SQL. */
+    private static final Set<String> TABLAS_EXPORTABLES = Set.of(
+            "cliente", "vehiculo", "factura", "movimiento_inventario", "orden_servicio",
+            "orden_servicio_mecanico", "orden_trabajo", "repuesto", "servicio", "mecanico",
+            "especialidad", "supervision"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportacionRepository(DataSource dataSource,
+                                 @Value("${taller.exportacion.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Convierte el nombre recibido en la URL (ej. {@code movimiento-inventario}) al nombre de la tabla.
+     *
+     * @param entidad nombre de la entidad
+     * @return nombre de la tabla, o {@code null} si no es exportable
+     */
+    public String resolverTabla(String entidad) {
+        if (entidad == null) {
+            return null;
+        }
+        String tabla = entidad.trim().toLowerCase(Locale.ROOT).replace('-', '_');
+        return TABLAS_EXPORTABLES.contains(tabla) ? tabla : null;
+    }
+
+    /**
+     * Recorre todas las filas de una tabla exportable con el extractor indicado.
+     *
+     * @param tabla     nombre de la tabla (debe venir de {@link #resolverTabla(String)})
+     * @param extractor recorre el {@link java.sql.ResultSet}; recibe los metadatos aunque la tabla esté vacía
+     * @param <T>       resultado del extractor
+     * @return lo que devuelva el extractor
+     */
+    public <T> T recorrerTabla(String tabla, ResultSetExtractor<T> extractor) {
+        if (!TABLAS_EXPORTABLES.contains(tabla)) {
+            throw new IllegalArgumentException("La tabla " + tabla + " no se puede exportar");
+        }
+        return jdbcTemplate.query("SELECT * FROM " + tabla, extractor);
+    }
+}
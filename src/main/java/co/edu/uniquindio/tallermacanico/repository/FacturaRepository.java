@@ -1,11 +1,14 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Factura;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Repositorio para gestionar operaciones sobre la tabla Factura.
@@ -15,9 +18,16 @@ import java.util.List;
 public class FacturaRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
+    private final GeneradorClaves generadorClaves;
 
-    public FacturaRepository(JdbcTemplate jdbcTemplate) {
+    public FacturaRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes,
+                             GeneradorClaves generadorClaves) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
+        this.generadorClaves = generadorClaves;
     }
 
     /**
@@ -26,8 +36,22 @@ public class FacturaRepository {
      * @return lista de objetos Factura
      */
     public List<Factura> listarFacturas() {
-        String sql = "SELECT * FROM factura";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Factura.class));
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_FACTURA + " FROM factura";
+        return jdbcTemplate.query(sql, MapeadoresFila.FACTURA);
+    }
+
+    /**
+     * Obtiene una página de facturas ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de facturas con el cursor para continuar
+     */
+    public PaginaDTO<Factura> listarFacturasPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_FACTURA + " FROM factura";
+        return paginador.paginar(sql, new String[]{"id_factura"},
+                MapeadoresFila.FACTURA,
+                f -> new int[]{f.getIdFactura()}, cursor, tamanio);
     }
 
     /**
@@ -37,14 +61,26 @@ public class FacturaRepository {
      * @return objeto Factura encontrado o null si no existe
      */
     public Factura buscarPorId(int id) {
-        String sql = "SELECT * FROM factura WHERE id_factura = ?";
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_FACTURA + " FROM factura WHERE id_factura = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(Factura.class), id);
+            return jdbcTemplate.queryForObject(sql, MapeadoresFila.FACTURA, id);
         } catch (Exception e) {
             return null; // Manejo simple: retorna null si no se encuentra
         }
     }
 
+    /**
+     * Busca varias facturas por ID en una sola consulta (una por cada {@value ConsultaPorIds#MAX_IN} IDs).
+     *
+     * @param ids identificadores de las facturas; pueden repetirse
+     * @return facturas por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, Factura> buscarPorIds(Collection<Integer> ids) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_FACTURA + " FROM factura";
+        return ConsultaPorIds.buscar(jdbcTemplate, sql, "id_factura", MapeadoresFila.FACTURA,
+                Factura::getIdFactura, ids);
+    }
+
     /**
      * Registra una nueva factura en la base de datos.
      *
@@ -53,7 +89,7 @@ public class FacturaRepository {
     public int registrarFactura(Factura factura) {
         String sql = "INSERT INTO factura (id_orden_trabajo, id_estado_pago, fecha_emision, subtotal_servicios, subtotal_repuestos, impuestos_total, descuento_total, total) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql,
+        int idFactura = generadorClaves.insertar(sql, "id_factura",
                 factura.getIdOrdenTrabajo(),
                 factura.getIdEstadoPago(),
                 factura.getFechaEmision(),
@@ -62,9 +98,8 @@ public class FacturaRepository {
                 factura.getImpuestosTotal(),
                 factura.getDescuentoTotal(),
                 factura.getTotal());
-
-        // Recuperar el último ID generado
-        return jdbcTemplate.queryForObject("SELECT MAX(id_factura) FROM factura", Integer.class);
+        cacheReportes.invalidarPorTabla("factura");
+        return idFactura;
     }
 
 
@@ -76,6 +111,7 @@ public class FacturaRepository {
     public boolean eliminarFactura(int id) {
         String sql = "DELETE FROM factura WHERE id_factura = ?";
         int filas = jdbcTemplate.update(sql, id);
+        cacheReportes.invalidarPorTabla("factura");
         return filas > 0; // true si se eliminó, false si no existía
     }
 
@@ -0,0 +1,55 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Componente compartido para insertar una fila y obtener su clave generada en el mismo viaje a la base de datos.
+ * <p>
+ * El {@code INSERT} se prepara indicando la columna de la clave, de modo que el driver de Oracle
+ * agrega {@code RETURNING ... INTO} y devuelve el valor asignado por la columna identidad o por la
+ * secuencia ({@code seq_mecanico.NEXTVAL}) de esa misma fila. A diferencia de un
+ * {@code SELECT MAX(id)} posterior, no hace una segunda consulta ni puede devolver la clave de
+ * otra inserción concurrente.
+ * </p>
+ */
+@Component
+public class GeneradorClaves {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GeneradorClaves(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ejecuta un {@code INSERT} y devuelve la clave generada para la fila insertada.
+     *
+     * @param sql          sentencia {@code INSERT} con parámetros {@code ?}
+     * @param columnaClave columna de la clave primaria generada (ej. {@code id_cliente})
+     * @param parametros   valores de los parámetros, con las mismas conversiones que {@link JdbcTemplate#update(String, Object...)}
+     * @return clave generada
+     * @throws DataRetrievalFailureException si el driver no devolvió la clave
+     */
+    public int insertar(String sql, String columnaClave, Object... parametros) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, new String[]{columnaClave});
+            new ArgumentPreparedStatementSetter(parametros).setValues(ps);
+            return ps;
+        }, keyHolder);
+
+        Number clave = keyHolder.getKey();
+        if (clave == null) {
+            throw new DataRetrievalFailureException("No se obtuvo la clave generada para " + columnaClave);
+        }
+        return clave.intValue();
+    }
+}
@@ -0,0 +1,284 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import co.edu.uniquindio.tallermacanico.dto.SugerenciaDTO;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Índice en memoria para autocompletar por prefijo (placas, nombres), sin {@code LIKE} contra la base de datos.
+ * <p>
+ * Los textos se normalizan (minúsculas, sin tildes) y se guardan en un mapa ordenado con la clave
+ * {@code término + '\0' + id}; los términos que empiezan por un prefijo quedan contiguos, así que una consulta es
+ * una búsqueda {@code O(log n)} más el recorrido de los resultados pedidos, y las coincidencias exactas salen antes
+ * que las más largas. Con {@code porPalabras} cada palabra del texto es un término y cada palabra de la consulta
+ * debe ser prefijo de alguno; sin él, el texto completo es un solo término del que se quitan espacios y guiones
+ * ({@code "abc-123"} y {@code "ABC 12"} coinciden).
+ * </p>
+ * <p>
+ * Las lecturas no toman bloqueo. Las escrituras del repositorio se aplican al confirmarse la transacción, para no
+ * sugerir filas que luego se revierten, y la reconstrucción completa publica un índice nuevo de una vez. La
+ * reconstrucción lee la base de datos sin tomar el bloqueo del índice; los cambios confirmados mientras tanto se
+ * anotan y se aplican al índice nuevo antes de publicarlo.
+ * </p>
+ *
+ * @param <T> tipo de fila indexada
+ */
+public final class IndicePrefijos<T> {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    private final String nombre;
+    private final boolean porPalabras;
+    private final Supplier<List<T>> cargador;
+    private final Function<T, SugerenciaDTO> sugerencia;
+    private final Function<T, String> texto;
+
+    /** Índice vigente; {@code null} hasta la primera búsqueda o precarga. */
+    private volatile Datos datos;
+
+    /** Serializa las reconstrucciones, que leen la base de datos sin el bloqueo de la instancia. */
+    private final Object reconstruccion = new Object();
+
+    /** Cambios confirmados durante una reconstrucción en curso; {@code null} si no hay ninguna. */
+    private List<Consumer<Datos>> pendientes;
+
+    private long reconstrucciones;
+
+    /**
+     * @param nombre      nombre del índice, para las métricas
+     * @param porPalabras si cada palabra del texto se indexa por separado (nombres) o el texto completo (placas)
+     * @param cargador    lee todas las filas de la base de datos
+     * @param sugerencia  sugerencia que se devuelve por cada fila; su ID identifica la fila en el índice
+     * @param texto       texto indexado de cada fila
+     */
+    public IndicePrefijos(String nombre, boolean porPalabras, Supplier<List<T>> cargador,
+                          Function<T, SugerenciaDTO> sugerencia, Function<T, String> texto) {
+        this.nombre = nombre;
+        this.porPalabras = porPalabras;
+        this.cargador = cargador;
+        this.sugerencia = sugerencia;
+        this.texto = texto;
+    }
+
+    /** Fila indexada: la sugerencia y sus términos, para poder quitarla. */
+    private record Entrada(SugerenciaDTO sugerencia, List<String> terminos) {
+    }
+
+    private static final class Datos {
+        final ConcurrentSkipListMap<String, Entrada> porTermino = new ConcurrentSkipListMap<>();
+        final Map<Integer, Entrada> porId = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Devuelve las filas cuyo texto empieza por la consulta, las coincidencias exactas primero.
+     *
+     * @param consulta texto escrito por el usuario
+     * @param limite   máximo de sugerencias
+     * @return sugerencias, vacía si la consulta no tiene letras ni dígitos
+     */
+    public List<SugerenciaDTO> buscar(String consulta, int limite) {
+        List<String> palabras = terminos(consulta);
+        if (palabras.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        Datos vigente = datos;
+        if (vigente == null) {
+            reconstruir();
+            vigente = datos;
+        }
+
+        // Se recorre la palabra más larga, que es la más selectiva; las demás se comprueban en cada fila
+        String guia = palabras.get(0);
+        for (String palabra : palabras) {
+            if (palabra.length() > guia.length()) {
+                guia = palabra;
+            }
+        }
+        List<SugerenciaDTO> resultado = new ArrayList<>();
+        Set<Integer> vistos = new HashSet<>();
+        for (Entrada entrada : vigente.porTermino.subMap(guia, guia + Character.MAX_VALUE).values()) {
+            if (vistos.add(entrada.sugerencia().getId()) && coinciden(palabras, entrada.terminos())) {
+                resultado.add(copiar(entrada.sugerencia()));
+                if (resultado.size() == limite) {
+                    break;
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Vuelve a leer todas las filas y publica un índice nuevo; las búsquedas en curso terminan con el anterior.
+     */
+    public void reconstruir() {
+        synchronized (reconstruccion) {
+            synchronized (this) {
+                pendientes = new ArrayList<>();
+            }
+            try {
+                Datos nuevos = new Datos();
+                for (T fila : cargador.get()) {
+                    agregar(nuevos, sugerencia.apply(fila), texto.apply(fila));
+                }
+                synchronized (this) {
+                    // Aplicar de nuevo un cambio que la lectura ya vio deja la misma fila
+                    pendientes.forEach(cambio -> cambio.accept(nuevos));
+                    datos = nuevos;
+                    reconstrucciones++;
+                }
+            } finally {
+                synchronized (this) {
+                    pendientes = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Agrega o reemplaza una fila cuando se confirme la transacción en curso, o de inmediato si no hay una.
+     *
+     * @param fila fila registrada, con su ID ya asignado
+     */
+    public void agregarAlConfirmar(T fila) {
+        SugerenciaDTO valor = sugerencia.apply(fila);
+        String textoFila = texto.apply(fila);
+        alConfirmar(() -> agregar(valor, textoFila));
+    }
+
+    /**
+     * Quita una fila cuando se confirme la transacción en curso, o de inmediato si no hay una.
+     *
+     * @param id ID de la fila eliminada
+     */
+    public void quitarAlConfirmar(int id) {
+        alConfirmar(() -> quitar(id));
+    }
+
+    /**
+     * Métricas del índice: filas, términos y reconstrucciones hechas.
+     *
+     * @return mapa con las métricas
+     */
+    public synchronized Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("indice", nombre);
+        metricas.put("filas", datos == null ? 0 : datos.porId.size());
+        metricas.put("terminos", datos == null ? 0 : datos.porTermino.size());
+        metricas.put("reconstrucciones", reconstrucciones);
+        return metricas;
+    }
+
+    /**
+     * Normaliza un texto para compararlo: minúsculas y sin tildes ni diéresis ({@code "Gómez"} → {@code "gomez"}).
+     *
+     * @param texto texto original
+     * @return texto normalizado
+     */
+    public static String normalizar(String texto) {
+        String sinMarcas = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinMarcas.toLowerCase(Locale.ROOT);
+    }
+
+    private void agregar(SugerenciaDTO valor, String textoFila) {
+        aplicar(destino -> {
+            quitar(destino, valor.getId());
+            agregar(destino, valor, textoFila);
+        });
+    }
+
+    private void quitar(int id) {
+        aplicar(destino -> quitar(destino, id));
+    }
+
+    private synchronized void aplicar(Consumer<Datos> cambio) {
+        // Sin índice todavía no hay nada que actualizar: la primera búsqueda lo leerá completo
+        if (datos != null) {
+            cambio.accept(datos);
+        }
+        // La lectura en curso pudo tomar la fila antes del cambio
+        if (pendientes != null) {
+            pendientes.add(cambio);
+        }
+    }
+
+    private void agregar(Datos destino, SugerenciaDTO valor, String textoFila) {
+        Entrada entrada = new Entrada(valor, terminos(textoFila));
+        destino.porId.put(valor.getId(), entrada);
+        for (String termino : entrada.terminos()) {
+            destino.porTermino.put(clave(termino, valor.getId()), entrada);
+        }
+    }
+
+    private static void quitar(Datos destino, int id) {
+        Entrada anterior = destino.porId.remove(id);
+        if (anterior != null) {
+            for (String termino : anterior.terminos()) {
+                destino.porTermino.remove(clave(termino, id));
+            }
+        }
+    }
+
+    private List<String> terminos(String textoFila) {
+        if (textoFila == null) {
+            return List.of();
+        }
+        String normalizado = normalizar(textoFila);
+        if (!porPalabras) {
+            String compacto = SEPARADORES.matcher(normalizado).replaceAll("");
+            return compacto.isEmpty() ? List.of() : List.of(compacto);
+        }
+        List<String> palabras = new ArrayList<>();
+        for (String palabra : SEPARADORES.split(normalizado)) {
+            if (!palabra.isEmpty() && !palabras.contains(palabra)) {
+                palabras.add(palabra);
+            }
+        }
+        return palabras;
+    }
+
+    private static boolean coinciden(List<String> palabras, List<String> terminos) {
+        for (String palabra : palabras) {
+            if (terminos.stream().noneMatch(termino -> termino.startsWith(palabra))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String clave(String termino, int id) {
+        return termino + '\0' + id;
+    }
+
+    private static SugerenciaDTO copiar(SugerenciaDTO valor) {
+        return new SugerenciaDTO(valor.getId(), valor.getTexto(), valor.getDetalle());
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import co.edu.uniquindio.tallermacanico.dto.ResultadoTextoDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre los textos libres del taller ({@code orden_trabajo.diagnostico_inicial} y
+ * {@code supervision.observaciones}), para buscar sin un {@code LIKE '%...%'} que recorra la tabla completa.
+ * <p>
+ * Cada texto se normaliza (minúsculas, sin tildes), se parte en palabras, se descartan las palabras vacías del
+ * español y cada palabra se reduce a una raíz ligera (plural y vocal final: {@code "delanteras"} y
+ * {@code "delantero"} dan {@code "delanter"}). Por cada raíz se guarda la lista de documentos que la contienen con
+ * su frecuencia, comprimida con diferencias entre documentos y enteros de longitud variable (un byte por valor en
+ * la mayoría de los casos en lugar de cuatro). Como los documentos se numeran en orden de llegada, indexar uno nuevo
+ * solo agrega bytes al final de cada lista.
+ * </p>
+ * <p>
+ * Las consultas se ordenan por BM25. No se guardan posiciones, así que una frase se evalúa por sus palabras y no por
+ * su orden. Los documentos eliminados se marcan y se omiten; cuando pasan de la cuarta parte del índice se compacta
+ * en memoria, sin volver a leer la base de datos.
+ * </p>
+ * <p>
+ * La reconstrucción lee la base de datos sin tomar el bloqueo del índice, así que las búsquedas y las
+ * actualizaciones siguen atendiéndose con el índice anterior; los cambios confirmados mientras tanto se anotan
+ * y se aplican al índice nuevo antes de publicarlo.
+ * </p>
+ */
+@Component
+public class IndiceTextoCompleto {
+
+    public static final String ORDEN_TRABAJO = "orden_trabajo";
+    public static final String SUPERVISION = "supervision";
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_ELIMINADOS_COMPACTAR = 1000;
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    /** Palabras vacías del español ya normalizadas; "no" y "sin" se conservan porque cambian el diagnóstico. */
+    private static final Set<String> VACIAS = Set.of("a", "al", "algo", "ante", "como", "con", "cual", "de", "del",
+            "desde", "donde", "e", "el", "ella", "en", "entre", "es", "esta", "estan", "este", "esto", "fue", "ha",
+            "hay", "la", "las", "le", "les", "lo", "los", "mas", "muy", "o", "otra", "otro", "para", "pero", "por",
+            "que", "se", "ser", "si", "sobre", "son", "su", "sus", "tambien", "u", "un", "una", "uno", "y", "ya");
+
+    /**
+     * Texto a indexar.
+     *
+     * @param tipo  {@link #ORDEN_TRABAJO} o {@link #SUPERVISION}
+     * @param ids   clave de la fila (ver {@link ResultadoTextoDTO})
+     * @param texto texto libre; {@code null} o vacío no se indexa
+     */
+    public record Documento(String tipo, List<Integer> ids, String texto) {
+        String clave() {
+            return tipo + ":" + ids;
+        }
+    }
+
+    /** Lista de documentos de una raíz: pares (diferencia con el documento anterior, frecuencia) en varint. */
+    private static final class ListaPostings {
+        byte[] datos = new byte[8];
+        int tamanio;
+        int ultimoDocumento = -1;
+        int pares;
+
+        void agregar(int documento, int frecuencia) {
+            escribir(documento - ultimoDocumento);
+            escribir(frecuencia);
+            ultimoDocumento = documento;
+            pares++;
+        }
+
+        private void escribir(int valor) {
+            if (datos.length - tamanio < 5) {
+                datos = Arrays.copyOf(datos, datos.length * 2);
+            }
+            while ((valor & ~0x7F) != 0) {
+                datos[tamanio++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            datos[tamanio++] = (byte) valor;
+        }
+    }
+
+    /** Documento indexado; queda {@code null} en su posición al eliminarse. */
+    private record Entrada(Documento documento, int longitud) {
+    }
+
+    /** Todo el índice, para publicar una reconstrucción de una vez. */
+    private static final class Estado {
+        final Map<String, ListaPostings> postings = new HashMap<>();
+        final List<Entrada> documentos = new ArrayList<>();
+        final Map<String, Integer> numeroPorClave = new HashMap<>();
+        long longitudTotal;
+        int vivos;
+        int eliminados;
+
+        void agregar(Documento documento) {
+            quitar(documento.clave());
+            List<String> raices = analizar(documento.texto());
+            if (raices.isEmpty()) {
+                return;
+            }
+            int numero = documentos.size();
+            Map<String, Integer> frecuencias = new LinkedHashMap<>();
+            for (String raiz : raices) {
+                frecuencias.merge(raiz, 1, Integer::sum);
+            }
+            frecuencias.forEach((raiz, frecuencia) ->
+                    postings.computeIfAbsent(raiz, r -> new ListaPostings()).agregar(numero, frecuencia));
+            documentos.add(new Entrada(documento, raices.size()));
+            numeroPorClave.put(documento.clave(), numero);
+            longitudTotal += raices.size();
+            vivos++;
+        }
+
+        void quitar(String clave) {
+            Integer numero = numeroPorClave.remove(clave);
+            if (numero != null) {
+                longitudTotal -= documentos.get(numero).longitud();
+                documentos.set(numero, null);
+                vivos--;
+                eliminados++;
+            }
+        }
+    }
+
+    /** Índice vigente; {@code null} hasta la primera carga. Se modifica solo con el bloqueo de la instancia. */
+    private volatile Estado estado;
+
+    /** Serializa las reconstrucciones, que leen la base de datos sin el bloqueo de la instancia. */
+    private final Object reconstruccion = new Object();
+
+    /** Cambios confirmados durante una reconstrucción en curso; {@code null} si no hay ninguna. */
+    private List<Consumer<Estado>> pendientes;
+
+    private long reconstrucciones;
+    private long compactaciones;
+
+    /**
+     * Busca los documentos que contienen alguna palabra de la consulta, ordenados por relevancia.
+     *
+     * @param consulta palabras a buscar, p. ej. {@code "ruido suspensión delantera"}
+     * @param tipo     {@link #ORDEN_TRABAJO}, {@link #SUPERVISION} o {@code null} para ambos
+     * @param limite   máximo de resultados
+     * @return resultados de mayor a menor puntaje; vacío si el índice no está cargado o la consulta no tiene
+     * palabras indexables
+     */
+    public synchronized List<ResultadoTextoDTO> buscar(String consulta, String tipo, int limite) {
+        List<String> raices = new ArrayList<>(new LinkedHashSet<>(analizar(consulta)));
+        if (estado == null || raices.isEmpty() || limite <= 0 || estado.vivos == 0) {
+            return List.of();
+        }
+        double longitudMedia = (double) estado.longitudTotal / estado.vivos;
+        Map<Integer, Double> puntajes = new HashMap<>();
+        for (String raiz : raices) {
+            ListaPostings lista = estado.postings.get(raiz);
+            if (lista == null) {
+                continue;
+            }
+            // Primero se decodifica la lista para contar solo los documentos vigentes en el IDF
+            int[] documentos = new int[lista.pares];
+            int[] frecuencias = new int[lista.pares];
+            int vigentes = 0;
+            int documento = -1;
+            int[] cursor = {0};
+            for (int i = 0; i < lista.pares; i++) {
+                documento += leer(lista.datos, cursor);
+                int frecuencia = leer(lista.datos, cursor);
+                if (estado.documentos.get(documento) != null) {
+                    documentos[vigentes] = documento;
+                    frecuencias[vigentes++] = frecuencia;
+                }
+            }
+            double idf = Math.log(1 + (estado.vivos - vigentes + 0.5) / (vigentes + 0.5));
+            for (int i = 0; i < vigentes; i++) {
+                Entrada entrada = estado.documentos.get(documentos[i]);
+                if (tipo != null && !tipo.equals(entrada.documento().tipo())) {
+                    continue;
+                }
+                double tf = frecuencias[i];
+                double normalizacion = K1 * (1 - B + B * entrada.longitud() / longitudMedia);
+                puntajes.merge(documentos[i], idf * tf * (K1 + 1) / (tf + normalizacion), Double::sum);
+            }
+        }
+
+        // Montículo de los mejores: mayor puntaje primero y, a igual puntaje, el documento más antiguo
+        PriorityQueue<Map.Entry<Integer, Double>> mejores = new PriorityQueue<>((a, b) -> {
+            int comparacion = Double.compare(a.getValue(), b.getValue());
+            return comparacion != 0 ? comparacion : Integer.compare(b.getKey(), a.getKey());
+        });
+        for (Map.Entry<Integer, Double> puntaje : puntajes.entrySet()) {
+            mejores.add(puntaje);
+            if (mejores.size() > limite) {
+                mejores.poll();
+            }
+        }
+        List<ResultadoTextoDTO> resultado = new ArrayList<>(mejores.size());
+        while (!mejores.isEmpty()) {
+            Map.Entry<Integer, Double> mejor = mejores.poll();
+            Documento documento = estado.documentos.get(mejor.getKey()).documento();
+            resultado.add(0, new ResultadoTextoDTO(documento.tipo(), documento.ids(), mejor.getValue(),
+                    documento.texto()));
+        }
+        return resultado;
+    }
+
+    /**
+     * Vuelve a leer todos los documentos y publica un índice nuevo; las búsquedas en curso terminan con el anterior.
+     * Si la lectura falla se conserva el anterior.
+     *
+     * @param cargador lee todos los textos de la base de datos
+     */
+    public void reconstruir(Supplier<List<Documento>> cargador) {
+        synchronized (reconstruccion) {
+            synchronized (this) {
+                pendientes = new ArrayList<>();
+            }
+            try {
+                Estado nuevo = new Estado();
+                for (Documento documento : cargador.get()) {
+                    nuevo.agregar(documento);
+                }
+                synchronized (this) {
+                    // Aplicar de nuevo un cambio que la lectura ya vio deja el mismo documento
+                    pendientes.forEach(cambio -> cambio.accept(nuevo));
+                    estado = nuevo;
+                    reconstrucciones++;
+                    compactarSiHaceFalta();
+                }
+            } finally {
+                synchronized (this) {
+                    pendientes = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return si el índice ya se construyó al menos una vez
+     */
+    public boolean cargado() {
+        return estado != null;
+    }
+
+    /**
+     * Indexa (o reemplaza) un documento cuando se confirme la transacción en curso, o de inmediato si no hay una.
+     *
+     * @param documento documento registrado
+     */
+    public void indexarAlConfirmar(Documento documento) {
+        alConfirmar(() -> indexar(documento));
+    }
+
+    /**
+     * Quita un documento cuando se confirme la transacción en curso, o de inmediato si no hay una.
+     *
+     * @param tipo {@link #ORDEN_TRABAJO} o {@link #SUPERVISION}
+     * @param ids  clave de la fila eliminada
+     */
+    public void quitarAlConfirmar(String tipo, List<Integer> ids) {
+        alConfirmar(() -> quitar(new Documento(tipo, ids, null).clave()));
+    }
+
+    /**
+     * Métricas del índice: documentos, raíces y tamaño de las listas comprimidas frente a {@code int} sin comprimir.
+     *
+     * @return mapa con las métricas
+     */
+    public synchronized Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        long bytes = 0;
+        long pares = 0;
+        if (estado != null) {
+            for (ListaPostings lista : estado.postings.values()) {
+                bytes += lista.tamanio;
+                pares += lista.pares;
+            }
+        }
+        metricas.put("documentos", estado == null ? 0 : estado.vivos);
+        metricas.put("eliminados", estado == null ? 0 : estado.eliminados);
+        metricas.put("terminos", estado == null ? 0 : estado.postings.size());
+        metricas.put("bytesPostings", bytes);
+        metricas.put("bytesSinComprimir", pares * 2 * Integer.BYTES);
+        metricas.put("reconstrucciones", reconstrucciones);
+        metricas.put("compactaciones", compactaciones);
+        return metricas;
+    }
+
+    /**
+     * Convierte un texto en las raíces que se indexan o se buscan.
+     *
+     * @param texto texto libre
+     * @return raíces en el orden del texto, con repeticiones
+     */
+    static List<String> analizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        List<String> raices = new ArrayList<>();
+        for (String palabra : SEPARADORES.split(IndicePrefijos.normalizar(texto))) {
+            if (!palabra.isEmpty() && !VACIAS.contains(palabra)) {
+                raices.add(raiz(palabra));
+            }
+        }
+        return raices;
+    }
+
+    /**
+     * Reducción ligera para el español: quita el plural y la vocal final de género, sin tocar palabras cortas.
+     */
+    static String raiz(String palabra) {
+        String raiz = palabra;
+        if (raiz.length() > 4 && raiz.endsWith("ces")) {
+            raiz = raiz.substring(0, raiz.length() - 3) + "z";
+        } else if (raiz.length() > 5 && raiz.endsWith("es")) {
+            raiz = raiz.substring(0, raiz.length() - 2);
+        } else if (raiz.length() > 3 && raiz.endsWith("s")) {
+            raiz = raiz.substring(0, raiz.length() - 1);
+        }
+        if (raiz.length() > 4 && (raiz.endsWith("a") || raiz.endsWith("o") || raiz.endsWith("e"))) {
+            raiz = raiz.substring(0, raiz.length() - 1);
+        }
+        return raiz;
+    }
+
+    private void indexar(Documento documento) {
+        aplicar(vigente -> vigente.agregar(documento));
+    }
+
+    private void quitar(String clave) {
+        aplicar(vigente -> vigente.quitar(clave));
+    }
+
+    private synchronized void aplicar(Consumer<Estado> cambio) {
+        // Sin índice todavía no hay nada que actualizar: la primera carga lo leerá completo
+        if (estado != null) {
+            cambio.accept(estado);
+            compactarSiHaceFalta();
+        }
+        // La lectura en curso pudo tomar la fila antes del cambio
+        if (pendientes != null) {
+            pendientes.add(cambio);
+        }
+    }
+
+    private void compactarSiHaceFalta() {
+        if (estado.eliminados >= MIN_ELIMINADOS_COMPACTAR && estado.eliminados > estado.vivos / 4) {
+            Estado compacto = new Estado();
+            for (Entrada entrada : estado.documentos) {
+                if (entrada != null) {
+                    compacto.agregar(entrada.documento());
+                }
+            }
+            estado = compacto;
+            compactaciones++;
+        }
+    }
+
+    private static int leer(byte[] datos, int[] cursor) {
+        int valor = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = datos[cursor[0]++];
+            valor |= (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while (b < 0);
+        return valor;
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
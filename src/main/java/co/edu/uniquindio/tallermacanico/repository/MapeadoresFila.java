@@ -0,0 +1,169 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import co.edu.uniquindio.tallermacanico.model.*;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Mapeadores de filas precompilados para los modelos del taller.
+ * <p>
+ * Reemplazan a {@code BeanPropertyRowMapper}, que en cada llamada introspecciona la clase,
+ * lee los metadatos de las columnas y normaliza sus nombres por reflexión. Aquí cada mapeador
+ * se crea una sola vez, se comparte entre todos los repositorios y lee las columnas por índice
+ * usando el constructor del modelo.
+ * </p>
+ *
+ * <p><b>Importante:</b> las consultas deben seleccionar exactamente las columnas de la constante
+ * {@code COLUMNAS_*} correspondiente y en el mismo orden (se pueden agregar columnas al final).</p>
+ */
+public final class MapeadoresFila {
+
+    private MapeadoresFila() {
+    }
+
+    public static final String COLUMNAS_CLIENTE =
+            "id_cliente, nombre, apellido, direccion, telefono, email";
+
+    public static final RowMapper<Cliente> CLIENTE = (rs, rowNum) -> new Cliente(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getString(6));
+
+    public static final String COLUMNAS_ESPECIALIDAD = "id_especialidad, nombre";
+
+    public static final RowMapper<Especialidad> ESPECIALIDAD = (rs, rowNum) -> new Especialidad(
+            rs.getInt(1),
+            rs.getString(2));
+
+    public static final String COLUMNAS_FACTURA =
+            "id_factura, id_orden_trabajo, fecha_emision, id_estado_pago, subtotal_servicios, "
+                    + "subtotal_repuestos, impuestos_total, descuento_total, total";
+
+    public static final RowMapper<Factura> FACTURA = (rs, rowNum) -> new Factura(
+            rs.getInt(1),
+            rs.getInt(2),
+            aLocalDate(rs.getDate(3)),
+            rs.getInt(4),
+            rs.getDouble(5),
+            rs.getDouble(6),
+            rs.getDouble(7),
+            rs.getDouble(8),
+            rs.getDouble(9));
+
+    public static final String COLUMNAS_MECANICO =
+            "id_mecanico, nombre, apellido, telefono, experiencia_anios";
+
+    public static final RowMapper<Mecanico> MECANICO = (rs, rowNum) -> new Mecanico(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getInt(5));
+
+    public static final String COLUMNAS_MOVIMIENTO_INVENTARIO =
+            "id_movimiento, id_repuesto, tipo_movimiento, cantidad, fecha_movimiento, referencia, observaciones";
+
+    public static final RowMapper<MovimientoInventario> MOVIMIENTO_INVENTARIO = (rs, rowNum) -> new MovimientoInventario(
+            rs.getInt(1),
+            rs.getInt(2),
+            rs.getString(3),
+            rs.getDouble(4),
+            aLocalDate(rs.getDate(5)),
+            rs.getString(6),
+            rs.getString(7));
+
+    public static final String COLUMNAS_ORDEN_SERVICIO =
+            "id_orden_servicio, id_orden_trabajo, id_servicio, estado, precio_final";
+
+    public static final RowMapper<OrdenServicio> ORDEN_SERVICIO = (rs, rowNum) -> new OrdenServicio(
+            rs.getInt(1),
+            rs.getInt(2),
+            rs.getInt(3),
+            rs.getString(4),
+            rs.getDouble(5));
+
+    public static final String COLUMNAS_ORDEN_SERVICIO_MECANICO =
+            "id_orden_servicio, id_mecanico, id_especialidad, rol_en_servicio";
+
+    public static final RowMapper<OrdenServicioMecanico> ORDEN_SERVICIO_MECANICO = (rs, rowNum) -> new OrdenServicioMecanico(
+            rs.getInt(1),
+            rs.getInt(2),
+            rs.getInt(3),
+            rs.getString(4));
+
+    public static final String COLUMNAS_ORDEN_TRABAJO =
+            "id_orden_trabajo, id_vehiculo, fecha_ingreso, fecha_salida, diagnostico_inicial, id_estado_orden";
+
+    public static final RowMapper<OrdenTrabajo> ORDEN_TRABAJO = (rs, rowNum) -> new OrdenTrabajo(
+            rs.getInt(1),
+            rs.getInt(2),
+            aLocalDate(rs.getDate(3)),
+            aLocalDate(rs.getDate(4)),
+            rs.getString(5),
+            rs.getInt(6));
+
+    public static final String COLUMNAS_REPUESTO =
+            "id_repuesto, nombre, descripcion, stock_actual, unidad_medida";
+
+    public static final RowMapper<Repuesto> REPUESTO = (rs, rowNum) -> new Repuesto(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getDouble(4),
+            rs.getString(5));
+
+    public static final String COLUMNAS_SERVICIO = "id_servicio, nombre, descripcion, precio_base";
+
+    public static final RowMapper<Servicio> SERVICIO = (rs, rowNum) -> new Servicio(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getDouble(4));
+
+    public static final String COLUMNAS_SUPERVISION =
+            "id_orden_servicio, id_mecanico_supervisor, id_mecanico_supervisado, id_especialidad, observaciones";
+
+    public static final RowMapper<Supervision> SUPERVISION = (rs, rowNum) -> new Supervision(
+            rs.getInt(1),
+            rs.getInt(2),
+            rs.getInt(3),
+            rs.getInt(4),
+            rs.getString(5));
+
+    public static final String COLUMNAS_USUARIO = "id_usuario, username, password, correo, rol";
+
+    public static final RowMapper<Usuario> USUARIO = (rs, rowNum) -> new Usuario(
+            aLong(rs, 1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5));
+
+    public static final String COLUMNAS_VEHICULO =
+            "id_vehiculo, id_cliente, placa, marca, modelo, anio, color";
+
+    public static final RowMapper<Vehiculo> VEHICULO = (rs, rowNum) -> new Vehiculo(
+            rs.getInt(1),
+            rs.getInt(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getInt(6),
+            rs.getString(7));
+
+    private static LocalDate aLocalDate(Date fecha) {
+        return fecha != null ? fecha.toLocalDate() : null;
+    }
+
+    private static Long aLong(ResultSet rs, int indice) throws SQLException {
+        long valor = rs.getLong(indice);
+        return rs.wasNull() ? null : valor;
+    }
+}
@@ -1,14 +1,14 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Mecanico;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
-import java.sql.PreparedStatement;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Repositorio encargado de gestionar las operaciones CRUD sobre la tabla {@code mecanico}.
@@ -28,14 +28,23 @@ import java.util.List;
 public class MecanicoRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
+    private final GeneradorClaves generadorClaves;
 
     /**
      * Constructor que inyecta el {@link JdbcTemplate} para ejecutar consultas SQL.
      *
      * @param jdbcTemplate instancia de JdbcTemplate configurada para el origen de datos
+     * @param paginador    componente compartido de paginación por cursor
+     * @param cacheReportes caché de agregados que se invalida al eliminar mecánicos
      */
-    public MecanicoRepository(JdbcTemplate jdbcTemplate) {
+    public MecanicoRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes,
+                              GeneradorClaves generadorClaves) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
+        this.generadorClaves = generadorClaves;
     }
 
     /**
@@ -44,8 +53,22 @@ public class MecanicoRepository {
      * @return lista de objetos {@link Mecanico} con los datos obtenidos
      */
     public List<Mecanico> listarMecanicos() {
-        String sql = "SELECT * FROM mecanico";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Mecanico.class));
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_MECANICO + " FROM mecanico";
+        return jdbcTemplate.query(sql, MapeadoresFila.MECANICO);
+    }
+
+    /**
+     * Obtiene una página de mecánicos ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de mecánicos con el cursor para continuar
+     */
+    public PaginaDTO<Mecanico> listarMecanicosPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_MECANICO + " FROM mecanico";
+        return paginador.paginar(sql, new String[]{"id_mecanico"},
+                MapeadoresFila.MECANICO,
+                m -> new int[]{m.getIdMecanico()}, cursor, tamanio);
     }
 
     /**
@@ -58,14 +81,13 @@ public class MecanicoRepository {
         String sql = "INSERT INTO mecanico (id_mecanico, nombre, apellido, telefono, experiencia_anios) " +
                 "VALUES (seq_mecanico.NEXTVAL, ?, ?, ?, ?)";
 
-        jdbcTemplate.update(sql,
+        int idMecanico = generadorClaves.insertar(sql, "id_mecanico",
                 mecanico.getNombre(),
                 mecanico.getApellido(),
                 mecanico.getTelefono(),
                 mecanico.getExperienciaAnios());
-
-        // Recuperamos el último valor generado por la secuencia
-        return jdbcTemplate.queryForObject("SELECT seq_mecanico.CURRVAL FROM dual", Integer.class);
+        cacheReportes.invalidarPorTabla("mecanico");
+        return idMecanico;
     }
 
 
@@ -76,14 +98,26 @@ public class MecanicoRepository {
      * @return objeto {@link Mecanico} si se encuentra, o {@code null} si no existe
      */
     public Mecanico buscarPorId(int id) {
-        String sql = "SELECT * FROM mecanico WHERE id_mecanico = ?";
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_MECANICO + " FROM mecanico WHERE id_mecanico = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(Mecanico.class), id);
+            return jdbcTemplate.queryForObject(sql, MapeadoresFila.MECANICO, id);
         } catch (Exception e) {
             return null;
         }
     }
 
+    /**
+     * Busca varios mecánicos por ID en una sola consulta (una por cada {@value ConsultaPorIds#MAX_IN} IDs).
+     *
+     * @param ids identificadores de los mecánicos; pueden repetirse
+     * @return mecánicos por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, Mecanico> buscarPorIds(Collection<Integer> ids) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_MECANICO + " FROM mecanico";
+        return ConsultaPorIds.buscar(jdbcTemplate, sql, "id_mecanico", MapeadoresFila.MECANICO,
+                Mecanico::getIdMecanico, ids);
+    }
+
     /**
      * Elimina un mecánico de la base de datos por su identificador.
      * Si el mecánico está referenciado en otras tablas, la operación puede fallar por restricciones de integridad.
@@ -95,6 +129,7 @@ public class MecanicoRepository {
         try {
             jdbcTemplate.update("DELETE FROM mecanico_especialidad WHERE id_mecanico = ?", id);
             jdbcTemplate.update("DELETE FROM mecanico WHERE id_mecanico = ?", id);
+            cacheReportes.invalidarPorTabla("mecanico");
             return true;
         } catch (Exception e) {
             return false;
@@ -1,14 +1,17 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
-import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Repositorio para gestionar operaciones sobre la tabla movimiento_inventario.
@@ -18,9 +21,18 @@ import java.util.List;
 public class MovimientoInventarioRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
+    private final GeneradorClaves generadorClaves;
+    private final AsignadorIds asignadorIds;
 
-    public MovimientoInventarioRepository(JdbcTemplate jdbcTemplate) {
+    public MovimientoInventarioRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes,
+                                          GeneradorClaves generadorClaves, AsignadorIds asignadorIds) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
+        this.generadorClaves = generadorClaves;
+        this.asignadorIds = asignadorIds;
     }
 
     /**
@@ -29,8 +41,22 @@ public class MovimientoInventarioRepository {
      * @return lista de objetos MovimientoInventario
      */
     public List<MovimientoInventario> listarMovimientos() {
-        String sql = "SELECT * FROM movimiento_inventario";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(MovimientoInventario.class));
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_MOVIMIENTO_INVENTARIO + " FROM movimiento_inventario";
+        return jdbcTemplate.query(sql, MapeadoresFila.MOVIMIENTO_INVENTARIO);
+    }
+
+    /**
+     * Obtiene una página de movimientos de inventario ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de movimientos de inventario con el cursor para continuar
+     */
+    public PaginaDTO<MovimientoInventario> listarMovimientosPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_MOVIMIENTO_INVENTARIO + " FROM movimiento_inventario";
+        return paginador.paginar(sql, new String[]{"id_movimiento"},
+                MapeadoresFila.MOVIMIENTO_INVENTARIO,
+                m -> new int[]{m.getIdMovimiento()}, cursor, tamanio);
     }
 
     /**
@@ -40,47 +66,105 @@ public class MovimientoInventarioRepository {
      * @return objeto MovimientoInventario encontrado o null si no existe
      */
     public MovimientoInventario buscarPorId(int id) {
-        String sql = "SELECT * FROM movimiento_inventario WHERE id_movimiento = ?";
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_MOVIMIENTO_INVENTARIO + " FROM movimiento_inventario WHERE id_movimiento = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(MovimientoInventario.class), id);
+            return jdbcTemplate.queryForObject(sql, MapeadoresFila.MOVIMIENTO_INVENTARIO, id);
         } catch (Exception e) {
             return null; // Manejo simple: retorna null si no se encuentra
         }
     }
 
+    /**
+     * Busca varios movimientos por ID en una sola consulta (una por cada {@value ConsultaPorIds#MAX_IN} IDs).
+     *
+     * @param ids identificadores de los movimientos; pueden repetirse
+     * @return movimientos por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, MovimientoInventario> buscarPorIds(Collection<Integer> ids) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_MOVIMIENTO_INVENTARIO + " FROM movimiento_inventario";
+        return ConsultaPorIds.buscar(jdbcTemplate, sql, "id_movimiento", MapeadoresFila.MOVIMIENTO_INVENTARIO,
+                MovimientoInventario::getIdMovimiento, ids);
+    }
+
+    /**
+     * Recorre los movimientos con fecha en el rango indicado, ordenados por repuesto, fecha e ID
+     * (el orden en que se aplican al stock), sin cargarlos todos en memoria.
+     *
+     * @param idRepuesto repuesto a recorrer, o {@code null} para todos
+     * @param desde      fecha inicial exclusiva, o {@code null} para empezar en el primer movimiento
+     * @param hasta      fecha final inclusiva
+     * @param consumidor recibe cada movimiento
+     */
+    public void recorrerMovimientos(Integer idRepuesto, LocalDate desde, LocalDate hasta,
+                                    Consumer<MovimientoInventario> consumidor) {
+        StringBuilder sql = new StringBuilder("SELECT " + MapeadoresFila.COLUMNAS_MOVIMIENTO_INVENTARIO
+                + " FROM movimiento_inventario WHERE fecha_movimiento <= ?");
+        List<Object> parametros = new ArrayList<>();
+        parametros.add(java.sql.Date.valueOf(hasta));
+        if (desde != null) {
+            sql.append(" AND fecha_movimiento > ?");
+            parametros.add(java.sql.Date.valueOf(desde));
+        }
+        if (idRepuesto != null) {
+            sql.append(" AND id_repuesto = ?");
+            parametros.add(idRepuesto);
+        }
+        sql.append(" ORDER BY id_repuesto, fecha_movimiento, id_movimiento");
+        jdbcTemplate.query(sql.toString(), rs -> {
+            consumidor.accept(MapeadoresFila.MOVIMIENTO_INVENTARIO.mapRow(rs, rs.getRow()));
+        }, parametros.toArray());
+    }
+
     /**
      * Registra un nuevo movimiento de inventario en la base de datos.
      *
      * @param movimiento objeto MovimientoInventario con los datos a insertar
      */
     public int registrarMovimiento(MovimientoInventario movimiento) {
-        String sql = "INSERT INTO movimiento_inventario (id_repuesto, tipo_movimiento, cantidad, fecha_movimiento, referencia, observaciones) " +
-                "VALUES (?, ?, ?, ?, ?, ?)";
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-
-        jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id_movimiento"});
-            ps.setInt(1, movimiento.getIdRepuesto());
-            ps.setString(2, movimiento.getTipoMovimiento());
-            ps.setDouble(3, movimiento.getCantidad());
-            ps.setDate(4, java.sql.Date.valueOf(movimiento.getFechaMovimiento())); // ✅ corregido
-            ps.setString(5, movimiento.getReferencia()); // ahora existe en el modelo
-            ps.setString(6, movimiento.getObservaciones());
-            return ps;
-        }, keyHolder);
-
-        return keyHolder.getKey().intValue();
+        // Misma secuencia que reparte AsignadorIds para los lotes
+        String sql = "INSERT INTO movimiento_inventario (id_movimiento, id_repuesto, tipo_movimiento, cantidad, fecha_movimiento, referencia, observaciones) " +
+                "VALUES (seq_movimiento_inventario.NEXTVAL, ?, ?, ?, ?, ?, ?)";
+        int idMovimiento = generadorClaves.insertar(sql, "id_movimiento",
+                movimiento.getIdRepuesto(),
+                movimiento.getTipoMovimiento(),
+                movimiento.getCantidad(),
+                java.sql.Date.valueOf(movimiento.getFechaMovimiento()),
+                movimiento.getReferencia(),
+                movimiento.getObservaciones());
+        cacheReportes.invalidarAlConfirmar("movimiento_inventario");
+        return idMovimiento;
     }
 
-
-
     /**
-     * Elimina un movimiento de inventario por su identificador.
+     * Registra varios movimientos de inventario con un solo {@code batchUpdate}.
+     * Los IDs se reservan por bloques con {@link AsignadorIds} antes de insertar y quedan asignados en cada objeto.
      *
-     * @param id identificador del movimiento a eliminar
+     * @param movimientos movimientos a insertar
+     * @return IDs asignados, en el mismo orden de la lista
      */
-    public void eliminarMovimiento(int id) {
-        String sql = "DELETE FROM movimiento_inventario WHERE id_movimiento = ?";
-        jdbcTemplate.update(sql, id);
+    public int[] registrarMovimientos(List<MovimientoInventario> movimientos) {
+        if (movimientos.isEmpty()) {
+            return new int[0];
+        }
+        String sql = "INSERT INTO movimiento_inventario (id_movimiento, id_repuesto, tipo_movimiento, cantidad, fecha_movimiento, referencia, observaciones) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        int[] ids = asignadorIds.reservar(AsignadorIds.MOVIMIENTO_INVENTARIO, movimientos.size());
+
+        List<Object[]> filas = new ArrayList<>(movimientos.size());
+        for (int i = 0; i < movimientos.size(); i++) {
+            MovimientoInventario movimiento = movimientos.get(i);
+            movimiento.setIdMovimiento(ids[i]);
+            filas.add(new Object[]{
+                    ids[i],
+                    movimiento.getIdRepuesto(),
+                    movimiento.getTipoMovimiento(),
+                    movimiento.getCantidad(),
+                    java.sql.Date.valueOf(movimiento.getFechaMovimiento()),
+                    movimiento.getReferencia(),
+                    movimiento.getObservaciones()});
+        }
+        jdbcTemplate.batchUpdate(sql, filas);
+        cacheReportes.invalidarAlConfirmar("movimiento_inventario");
+        return ids;
     }
 }
@@ -1,10 +1,12 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenServicioMecanico;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,9 +17,13 @@ import java.util.List;
 public class OrdenServicioMecanicoRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
 
-    public OrdenServicioMecanicoRepository(JdbcTemplate jdbcTemplate) {
+    public OrdenServicioMecanicoRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
     }
 
     /**
@@ -26,12 +32,22 @@ public class OrdenServicioMecanicoRepository {
      * @return lista de objetos OrdenServicioMecanico
      */
     public List<OrdenServicioMecanico> listarAsignaciones() {
-        String sql = "SELECT id_orden_servicio AS idOrdenServicio, " +
-                "id_mecanico AS idMecanico, " +
-                "id_especialidad AS idEspecialidad, " +
-                "rol_en_servicio AS rolEnServicio " +
-                "FROM orden_servicio_mecanico";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(OrdenServicioMecanico.class));
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_SERVICIO_MECANICO + " FROM orden_servicio_mecanico";
+        return jdbcTemplate.query(sql, MapeadoresFila.ORDEN_SERVICIO_MECANICO);
+    }
+
+    /**
+     * Obtiene una página de asignaciones ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de asignaciones con el cursor para continuar
+     */
+    public PaginaDTO<OrdenServicioMecanico> listarAsignacionesPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_SERVICIO_MECANICO + " FROM orden_servicio_mecanico";
+        return paginador.paginar(sql, new String[]{"id_orden_servicio", "id_mecanico"},
+                MapeadoresFila.ORDEN_SERVICIO_MECANICO,
+                a -> new int[]{a.getIdOrdenServicio(), a.getIdMecanico()}, cursor, tamanio);
     }
 
     /**
@@ -42,13 +58,9 @@ public class OrdenServicioMecanicoRepository {
      * @return objeto OrdenServicioMecanico encontrado o null si no existe
      */
     public OrdenServicioMecanico buscarPorOrdenYPorMecanico(int idOrdenServicio, int idMecanico) {
-        String sql = "SELECT id_orden_servicio AS idOrdenServicio, " +
-                "id_mecanico AS idMecanico, " +
-                "id_especialidad AS idEspecialidad, " +
-                "rol_en_servicio AS rolEnServicio " +
-                "FROM orden_servicio_mecanico WHERE id_orden_servicio = ? AND id_mecanico = ?";
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_SERVICIO_MECANICO + " FROM orden_servicio_mecanico WHERE id_orden_servicio = ? AND id_mecanico = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(OrdenServicioMecanico.class),
+            return jdbcTemplate.queryForObject(sql, MapeadoresFila.ORDEN_SERVICIO_MECANICO,
                     idOrdenServicio, idMecanico);
         } catch (Exception e) {
             return null; // Manejo simple: retorna null si no se encuentra
@@ -68,6 +80,31 @@ public class OrdenServicioMecanicoRepository {
                 asignacion.getIdMecanico(),
                 asignacion.getIdEspecialidad(),
                 asignacion.getRolEnServicio());
+        cacheReportes.invalidarPorTabla("orden_servicio_mecanico");
+    }
+
+    /**
+     * Registra varias asignaciones con un solo {@code batchUpdate}.
+     * La clave es compuesta ({@code id_orden_servicio}, {@code id_mecanico}), así que no se generan IDs.
+     *
+     * @param asignaciones asignaciones a insertar
+     */
+    public void registrarAsignaciones(List<OrdenServicioMecanico> asignaciones) {
+        if (asignaciones.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO orden_servicio_mecanico (id_orden_servicio, id_mecanico, id_especialidad, rol_en_servicio) " +
+                "VALUES (?, ?, ?, ?)";
+        List<Object[]> filas = new ArrayList<>(asignaciones.size());
+        for (OrdenServicioMecanico asignacion : asignaciones) {
+            filas.add(new Object[]{
+                    asignacion.getIdOrdenServicio(),
+                    asignacion.getIdMecanico(),
+                    asignacion.getIdEspecialidad(),
+                    asignacion.getRolEnServicio()});
+        }
+        jdbcTemplate.batchUpdate(sql, filas);
+        cacheReportes.invalidarAlConfirmar("orden_servicio_mecanico");
     }
 
     /**
@@ -79,6 +116,7 @@ public class OrdenServicioMecanicoRepository {
     public void eliminarAsignacion(int idOrdenServicio, int idMecanico) {
         String sql = "DELETE FROM orden_servicio_mecanico WHERE id_orden_servicio = ? AND id_mecanico = ?";
         jdbcTemplate.update(sql, idOrdenServicio, idMecanico);
+        cacheReportes.invalidarPorTabla("orden_servicio_mecanico");
     }
 }
 
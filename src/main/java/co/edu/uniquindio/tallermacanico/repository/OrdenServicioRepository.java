@@ -1,11 +1,15 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Repositorio para gestionar operaciones sobre la tabla orden_servicio.
@@ -15,9 +19,16 @@ import java.util.List;
 public class OrdenServicioRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
+    private final AsignadorIds asignadorIds;
 
-    public OrdenServicioRepository(JdbcTemplate jdbcTemplate) {
+    public OrdenServicioRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes,
+                                   AsignadorIds asignadorIds) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
+        this.asignadorIds = asignadorIds;
     }
 
     /**
@@ -26,8 +37,22 @@ public class OrdenServicioRepository {
      * @return lista de objetos OrdenServicio
      */
     public List<OrdenServicio> listarOrdenesServicio() {
-        String sql = "SELECT * FROM orden_servicio";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(OrdenServicio.class));
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_SERVICIO + " FROM orden_servicio";
+        return jdbcTemplate.query(sql, MapeadoresFila.ORDEN_SERVICIO);
+    }
+
+    /**
+     * Obtiene una página de órdenes de servicio ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de órdenes de servicio con el cursor para continuar
+     */
+    public PaginaDTO<OrdenServicio> listarOrdenesServicioPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_SERVICIO + " FROM orden_servicio";
+        return paginador.paginar(sql, new String[]{"id_orden_servicio"},
+                MapeadoresFila.ORDEN_SERVICIO,
+                o -> new int[]{o.getIdOrdenServicio()}, cursor, tamanio);
     }
 
     /**
@@ -37,27 +62,72 @@ public class OrdenServicioRepository {
      * @return objeto OrdenServicio encontrado o null si no existe
      */
     public OrdenServicio buscarPorId(int id) {
-        String sql = "SELECT * FROM orden_servicio WHERE id_orden_servicio = ?";
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_SERVICIO + " FROM orden_servicio WHERE id_orden_servicio = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(OrdenServicio.class), id);
+            return jdbcTemplate.queryForObject(sql, MapeadoresFila.ORDEN_SERVICIO, id);
         } catch (Exception e) {
             return null; // Manejo simple: retorna null si no se encuentra
         }
     }
 
+    /**
+     * Busca varias órdenes de servicio por ID en una sola consulta (una por cada {@value ConsultaPorIds#MAX_IN} IDs).
+     *
+     * @param ids identificadores de las órdenes de servicio; pueden repetirse
+     * @return órdenes de servicio por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, OrdenServicio> buscarPorIds(Collection<Integer> ids) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_SERVICIO + " FROM orden_servicio";
+        return ConsultaPorIds.buscar(jdbcTemplate, sql, "id_orden_servicio", MapeadoresFila.ORDEN_SERVICIO,
+                OrdenServicio::getIdOrdenServicio, ids);
+    }
+
     /**
      * Registra una nueva orden de servicio en la base de datos.
      *
      * @param ordenServicio objeto OrdenServicio con los datos a insertar
      */
     public void registrarOrdenServicio(OrdenServicio ordenServicio) {
-        String sql = "INSERT INTO orden_servicio (id_orden_trabajo, id_servicio, estado, precio_final) " +
-                "VALUES (?, ?, ?, ?)";
+        // Misma secuencia que reparte AsignadorIds para los lotes
+        String sql = "INSERT INTO orden_servicio (id_orden_servicio, id_orden_trabajo, id_servicio, estado, precio_final) " +
+                "VALUES (seq_orden_servicio.NEXTVAL, ?, ?, ?, ?)";
         jdbcTemplate.update(sql,
                 ordenServicio.getIdOrdenTrabajo(),
                 ordenServicio.getIdServicio(),
                 ordenServicio.getEstado(),
                 ordenServicio.getPrecioFinal());
+        cacheReportes.invalidarPorTabla("orden_servicio");
+    }
+
+    /**
+     * Registra varias órdenes de servicio con un solo {@code batchUpdate}.
+     * Los IDs se reservan por bloques con {@link AsignadorIds} antes de insertar y quedan asignados en cada objeto.
+     *
+     * @param ordenesServicio órdenes de servicio a insertar
+     * @return IDs asignados, en el mismo orden de la lista
+     */
+    public int[] registrarOrdenesServicio(List<OrdenServicio> ordenesServicio) {
+        if (ordenesServicio.isEmpty()) {
+            return new int[0];
+        }
+        String sql = "INSERT INTO orden_servicio (id_orden_servicio, id_orden_trabajo, id_servicio, estado, precio_final) " +
+                "VALUES (?, ?, ?, ?, ?)";
+        int[] ids = asignadorIds.reservar(AsignadorIds.ORDEN_SERVICIO, ordenesServicio.size());
+
+        List<Object[]> filas = new ArrayList<>(ordenesServicio.size());
+        for (int i = 0; i < ordenesServicio.size(); i++) {
+            OrdenServicio ordenServicio = ordenesServicio.get(i);
+            ordenServicio.setIdOrdenServicio(ids[i]);
+            filas.add(new Object[]{
+                    ids[i],
+                    ordenServicio.getIdOrdenTrabajo(),
+                    ordenServicio.getIdServicio(),
+                    ordenServicio.getEstado(),
+                    ordenServicio.getPrecioFinal()});
+        }
+        jdbcTemplate.batchUpdate(sql, filas);
+        cacheReportes.invalidarAlConfirmar("orden_servicio");
+        return ids;
     }
 
     /**
@@ -68,5 +138,6 @@ public class OrdenServicioRepository {
     public void eliminarOrdenServicio(int id) {
         String sql = "DELETE FROM orden_servicio WHERE id_orden_servicio = ?";
         jdbcTemplate.update(sql, id);
+        cacheReportes.invalidarPorTabla("orden_servicio");
     }
 }
@@ -1,20 +1,44 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
 import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenTrabajo;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Repositorio para gestionar operaciones sobre la tabla {@code orden_trabajo}.
+ * <p>
+ * {@link #buscarPorId(int)} pasa por una {@link CacheEntidad} que las escrituras de este repositorio invalidan,
+ * y los diagnósticos se mantienen en el {@link IndiceTextoCompleto}.
+ * </p>
+ */
 @Repository
 public class OrdenTrabajoRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
+    private final GeneradorClaves generadorClaves;
+    private final CacheEntidad<OrdenTrabajo> cache;
+    private final IndiceTextoCompleto indiceTexto;
 
-    public OrdenTrabajoRepository(JdbcTemplate jdbcTemplate) {
+    public OrdenTrabajoRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes,
+                                  GeneradorClaves generadorClaves, CachesEntidades cachesEntidades,
+                                  IndiceTextoCompleto indiceTexto) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
+        this.generadorClaves = generadorClaves;
+        this.indiceTexto = indiceTexto;
+        this.cache = cachesEntidades.crear("orden_trabajo", o -> new OrdenTrabajo(o.getIdOrdenTrabajo(),
+                o.getIdVehiculo(), o.getFechaIngreso(), o.getFechaSalida(), o.getDiagnosticoInicial(),
+                o.getIdEstadoOrden()));
     }
 
     /**
@@ -22,33 +46,75 @@ public class OrdenTrabajoRepository {
      * @return lista de órdenes de trabajo
      */
     public List<OrdenTrabajo> listarOrdenesTrabajo() {
-        String sql = "SELECT * FROM orden_trabajo";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(OrdenTrabajo.class));
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_TRABAJO + " FROM orden_trabajo";
+        return jdbcTemplate.query(sql, MapeadoresFila.ORDEN_TRABAJO);
     }
 
     /**
-     * Busca una orden de trabajo por su ID.
+     * Obtiene una página de órdenes de trabajo ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de órdenes de trabajo con el cursor para continuar
+     */
+    public PaginaDTO<OrdenTrabajo> listarOrdenesTrabajoPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_TRABAJO + " FROM orden_trabajo";
+        return paginador.paginar(sql, new String[]{"id_orden_trabajo"},
+                MapeadoresFila.ORDEN_TRABAJO,
+                o -> new int[]{o.getIdOrdenTrabajo()}, cursor, tamanio);
+    }
+
+    /**
+     * Busca una orden de trabajo por su ID, desde la caché si está.
      * @param id identificador de la orden
-     * @return orden encontrada
+     * @return orden encontrada, o null si no existe
      */
     public OrdenTrabajo buscarPorId(int id) {
-        String sql = "SELECT * FROM orden_trabajo WHERE id_orden_trabajo = ?";
-        return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(OrdenTrabajo.class), id);
+        return cache.obtener(id, this::consultarPorId);
+    }
+
+    private OrdenTrabajo consultarPorId(int id) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_TRABAJO + " FROM orden_trabajo WHERE id_orden_trabajo = ?";
+        List<OrdenTrabajo> ordenes = jdbcTemplate.query(sql, MapeadoresFila.ORDEN_TRABAJO, id);
+        return ordenes.isEmpty() ? null : ordenes.get(0);
+    }
+
+    /**
+     * Busca varias órdenes de trabajo por ID: las que están en la caché salen de ella y las demás se consultan juntas
+     * (una consulta por cada {@value ConsultaPorIds#MAX_IN} IDs).
+     *
+     * @param ids identificadores de las órdenes de trabajo; pueden repetirse
+     * @return órdenes de trabajo por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, OrdenTrabajo> buscarPorIds(Collection<Integer> ids) {
+        return cache.obtenerVarios(ids, this::consultarPorIds);
+    }
+
+    private Map<Integer, OrdenTrabajo> consultarPorIds(Collection<Integer> ids) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_ORDEN_TRABAJO + " FROM orden_trabajo";
+        return ConsultaPorIds.buscar(jdbcTemplate, sql, "id_orden_trabajo", MapeadoresFila.ORDEN_TRABAJO,
+                OrdenTrabajo::getIdOrdenTrabajo, ids);
     }
 
     /**
      * Registra una nueva orden de trabajo en la base de datos.
      * @param orden objeto con los datos de la orden
+     * @return ID generado de la orden
      */
-    public void registrarOrdenTrabajo(OrdenTrabajo orden) {
+    public int registrarOrdenTrabajo(OrdenTrabajo orden) {
         String sql = "INSERT INTO orden_trabajo (id_vehiculo, fecha_ingreso, fecha_salida, diagnostico_inicial, id_estado_orden) " +
                 "VALUES (?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql,
+        int idOrdenTrabajo = generadorClaves.insertar(sql, "id_orden_trabajo",
                 orden.getIdVehiculo(),
                 orden.getFechaIngreso(),
                 orden.getFechaSalida(),
                 orden.getDiagnosticoInicial(),
                 orden.getIdEstadoOrden());
+        cacheReportes.invalidarAlConfirmar("orden_trabajo");
+        cache.invalidar(idOrdenTrabajo);
+        indiceTexto.indexarAlConfirmar(new IndiceTextoCompleto.Documento(IndiceTextoCompleto.ORDEN_TRABAJO,
+                List.of(idOrdenTrabajo), orden.getDiagnosticoInicial()));
+        return idOrdenTrabajo;
     }
 
     /**
@@ -58,6 +124,9 @@ public class OrdenTrabajoRepository {
     public void eliminarOrdenTrabajo(int id) {
         String sql = "DELETE FROM orden_trabajo WHERE id_orden_trabajo = ?";
         jdbcTemplate.update(sql, id);
+        cacheReportes.invalidarPorTabla("orden_trabajo");
+        cache.invalidar(id);
+        indiceTexto.quitarAlConfirmar(IndiceTextoCompleto.ORDEN_TRABAJO, List.of(id));
     }
 
     /**
@@ -66,10 +135,11 @@ public class OrdenTrabajoRepository {
      * @return lista de objetos OrdenServicio enriquecidos con datos adicionales
      */
     public List<OrdenServicio> listarOrdenesConDetalles() {
+        // Las columnas siguen el orden de MapeadoresFila.COLUMNAS_ORDEN_SERVICIO; el nombre va al final
         String sql = "SELECT os.id_orden_servicio, os.id_orden_trabajo, os.id_servicio, " +
-                "s.nombre AS nombre_servicio, os.estado, os.precio_final " +
+                "os.estado, os.precio_final, s.nombre AS nombre_servicio " +
                 "FROM orden_servicio os " +
                 "JOIN servicio s ON os.id_servicio = s.id_servicio";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(OrdenServicio.class));
+        return jdbcTemplate.query(sql, MapeadoresFila.ORDEN_SERVICIO);
     }
 }
@@ -0,0 +1,140 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Componente compartido para paginar consultas por cursor (keyset / seek) sobre la clave primaria.
+ * <p>
+ * En lugar de {@code OFFSET}, cada página continúa desde la última clave entregada
+ * ({@code WHERE clave > ?  ORDER BY clave FETCH FIRST n ROWS ONLY}), de modo que el costo
+ * de cada página es constante sin importar qué tan adentro de la tabla se esté leyendo.
+ * Soporta claves compuestas (por ejemplo {@code orden_servicio_mecanico} o {@code supervision}).
+ * </p>
+ *
+ * <p>El cursor es un token opaco (Base64 URL) con los valores de la última clave separados por ':'.</p>
+ */
+@Component
+public class PaginadorKeyset {
+
+    /** Tamaño de página usado cuando el cliente no indica uno válido. */
+    public static final int TAMANIO_POR_DEFECTO = 50;
+
+    /** Tamaño máximo de página permitido para proteger la memoria del servidor. */
+    public static final int TAMANIO_MAXIMO = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaginadorKeyset(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ejecuta una consulta paginada por cursor.
+     *
+     * @param consultaBase    consulta {@code SELECT ... FROM tabla} sin cláusulas WHERE ni ORDER BY
+     * @param columnasClave   columnas reales de la clave primaria, en orden
+     * @param mapper          mapeador de filas
+     * @param extractorClave  función que obtiene los valores de la clave de un elemento mapeado
+     * @param cursor          cursor recibido del cliente, o {@code null} para la primera página
+     * @param tamanio         tamaño de página solicitado
+     * @return página con los elementos y el cursor para continuar
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public <T> PaginaDTO<T> paginar(String consultaBase, String[] columnasClave, RowMapper<T> mapper,
+                                    Function<T, int[]> extractorClave, String cursor, int tamanio) {
+        int limite = normalizarTamanio(tamanio);
+        int[] ultimaClave = decodificarCursor(cursor, columnasClave.length);
+
+        StringBuilder sql = new StringBuilder(consultaBase);
+        List<Object> parametros = new ArrayList<>();
+        if (ultimaClave != null) {
+            sql.append(" WHERE ").append(condicionKeyset(columnasClave, ultimaClave, parametros));
+        }
+        sql.append(" ORDER BY ").append(String.join(", ", columnasClave));
+        sql.append(" FETCH FIRST ? ROWS ONLY");
+        // Se pide una fila adicional para saber si existe una página siguiente
+        parametros.add(limite + 1);
+
+        List<T> filas = jdbcTemplate.query(sql.toString(), mapper, parametros.toArray());
+
+        if (filas.size() <= limite) {
+            return new PaginaDTO<>(filas, null, limite);
+        }
+        List<T> pagina = new ArrayList<>(filas.subList(0, limite));
+        String siguienteCursor = codificarCursor(extractorClave.apply(pagina.get(limite - 1)));
+        return new PaginaDTO<>(pagina, siguienteCursor, limite);
+    }
+
+    /**
+     * Ajusta el tamaño solicitado al rango permitido.
+     */
+    static int normalizarTamanio(int tamanio) {
+        if (tamanio <= 0) {
+            return TAMANIO_POR_DEFECTO;
+        }
+        return Math.min(tamanio, TAMANIO_MAXIMO);
+    }
+
+    /**
+     * Construye la condición equivalente a {@code (c1, c2, ...) > (v1, v2, ...)},
+     * ya que Oracle no admite comparación de tuplas con {@code >}.
+     */
+    private static String condicionKeyset(String[] columnas, int[] valores, List<Object> parametros) {
+        StringBuilder condicion = new StringBuilder("(");
+        for (int i = 0; i < columnas.length; i++) {
+            if (i > 0) {
+                condicion.append(" OR ");
+            }
+            condicion.append("(");
+            for (int j = 0; j < i; j++) {
+                condicion.append(columnas[j]).append(" = ? AND ");
+                parametros.add(valores[j]);
+            }
+            condicion.append(columnas[i]).append(" > ?)");
+            parametros.add(valores[i]);
+        }
+        return condicion.append(")").toString();
+    }
+
+    static String codificarCursor(int[] clave) {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < clave.length; i++) {
+            if (i > 0) {
+                texto.append(':');
+            }
+            texto.append(clave[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(texto.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int[] decodificarCursor(String cursor, int columnas) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split(":");
+            if (partes.length != columnas) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            int[] clave = new int[columnas];
+            for (int i = 0; i < columnas; i++) {
+                clave[i] = Integer.parseInt(partes[i]);
+            }
+            return clave;
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException y errores de Base64 también son IllegalArgumentException
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+}
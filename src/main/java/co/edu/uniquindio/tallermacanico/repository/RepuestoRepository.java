@@ -1,14 +1,18 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Repuesto;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
-import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 /**
  * Repositorio para gestionar operaciones CRUD sobre la tabla {@code repuesto}.
@@ -18,9 +22,16 @@ import java.util.List;
 public class RepuestoRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
+    private final GeneradorClaves generadorClaves;
 
-    public RepuestoRepository(JdbcTemplate jdbcTemplate) {
+    public RepuestoRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes,
+                              GeneradorClaves generadorClaves) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
+        this.generadorClaves = generadorClaves;
     }
 
     /**
@@ -33,8 +44,22 @@ public class RepuestoRepository {
      * @return lista de objetos {@link Repuesto}
      */
     public List<Repuesto> listarRepuestos() {
-        String sql = "SELECT id_repuesto AS idRepuesto, nombre, descripcion, stock_actual AS stockActual, unidad_medida AS unidadMedida FROM repuesto";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Repuesto.class));
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_REPUESTO + " FROM repuesto";
+        return jdbcTemplate.query(sql, MapeadoresFila.REPUESTO);
+    }
+
+    /**
+     * Obtiene una página de repuestos ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de repuestos con el cursor para continuar
+     */
+    public PaginaDTO<Repuesto> listarRepuestosPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_REPUESTO + " FROM repuesto";
+        return paginador.paginar(sql, new String[]{"id_repuesto"},
+                MapeadoresFila.REPUESTO,
+                r -> new int[]{r.getIdRepuesto()}, cursor, tamanio);
     }
 
     /**
@@ -46,20 +71,13 @@ public class RepuestoRepository {
      */
     public int crearRepuesto(Repuesto repuesto) {
         String sql = "INSERT INTO repuesto (nombre, descripcion, stock_actual, unidad_medida) VALUES (?, ?, ?, ?)";
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-
-        jdbcTemplate.update(connection -> {
-            // Especificar la columna de la clave generada
-            PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id_repuesto"});
-            ps.setString(1, repuesto.getNombre());
-            ps.setString(2, repuesto.getDescripcion());
-            ps.setDouble(3, repuesto.getStockActual());
-            ps.setString(4, repuesto.getUnidadMedida());
-            return ps;
-        }, keyHolder);
-
-        // Devolver la clave generada
-        return keyHolder.getKey().intValue();
+        int idRepuesto = generadorClaves.insertar(sql, "id_repuesto",
+                repuesto.getNombre(),
+                repuesto.getDescripcion(),
+                repuesto.getStockActual(),
+                repuesto.getUnidadMedida());
+        cacheReportes.invalidarPorTabla("repuesto");
+        return idRepuesto;
     }
 
     /**
@@ -71,9 +89,9 @@ public class RepuestoRepository {
      */
     public Repuesto buscarPorId(int id) {
         // Usa alias para mapear correctamente
-        String sql = "SELECT id_repuesto AS idRepuesto, nombre, descripcion, stock_actual AS stockActual, unidad_medida AS unidadMedida FROM repuesto WHERE id_repuesto = ?";
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_REPUESTO + " FROM repuesto WHERE id_repuesto = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(Repuesto.class), id);
+            return jdbcTemplate.queryForObject(sql, MapeadoresFila.REPUESTO, id);
         } catch (org.springframework.dao.EmptyResultDataAccessException e) {
             // Manejar correctamente el caso donde no se encuentra el objeto
             return null;
@@ -81,31 +99,132 @@ public class RepuestoRepository {
     }
 
     /**
-     * Actualiza todos los campos de un repuesto existente, excepto el ID.
+     * Busca varios repuestos por ID en una sola consulta (una por cada {@value ConsultaPorIds#MAX_IN} IDs).
+     *
+     * @param ids identificadores de los repuestos; pueden repetirse
+     * @return repuestos por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, Repuesto> buscarPorIds(Collection<Integer> ids) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_REPUESTO + " FROM repuesto";
+        return ConsultaPorIds.buscar(jdbcTemplate, sql, "id_repuesto", MapeadoresFila.REPUESTO,
+                Repuesto::getIdRepuesto, ids);
+    }
+
+    /**
+     * Actualiza los datos descriptivos de un repuesto existente. El stock no se toca: solo cambia con
+     * movimientos de inventario ({@code MotorStock}), para que quede registrado en el historial.
      *
      * @param id identificador del repuesto a actualizar
-     * @param repuesto objeto {@link Repuesto} con los nuevos datos
+     * @param repuesto objeto {@link Repuesto} con los nuevos datos; su {@code stockActual} se ignora
      * @return número de filas afectadas (1 si fue exitoso, 0 si no se encontró el ID)
      */
     public int actualizarRepuesto(int id, Repuesto repuesto) {
-        String sql = "UPDATE repuesto SET nombre = ?, descripcion = ?, stock_actual = ?, unidad_medida = ? WHERE id_repuesto = ?";
-        return jdbcTemplate.update(sql,
+        String sql = "UPDATE repuesto SET nombre = ?, descripcion = ?, unidad_medida = ? WHERE id_repuesto = ?";
+        int filas = jdbcTemplate.update(sql,
                 repuesto.getNombre(),
                 repuesto.getDescripcion(),
-                repuesto.getStockActual(),
                 repuesto.getUnidadMedida(),
                 id);
+        cacheReportes.invalidarPorTabla("repuesto");
+        return filas;
     }
 
     /**
-     * Actualiza únicamente el stock de un repuesto existente.
+     * Suma una cantidad al stock de un repuesto en la misma sentencia, sin leerlo antes.
+     * La caché se invalida cuando se confirma la transacción.
      *
      * @param idRepuesto identificador del repuesto
-     * @param nuevoStock nuevo valor de stock
+     * @param cantidad   unidades que ingresan
+     * @return número de filas afectadas (0 si el repuesto no existe)
      */
-    public void actualizarStock(int idRepuesto, double nuevoStock) {
+    public int sumarStock(int idRepuesto, double cantidad) {
+        String sql = "UPDATE repuesto SET stock_actual = stock_actual + ? WHERE id_repuesto = ?";
+        int filas = jdbcTemplate.update(sql, cantidad, idRepuesto);
+        cacheReportes.invalidarAlConfirmar("repuesto");
+        return filas;
+    }
+
+    /**
+     * Descuenta una cantidad del stock solo si alcanza: la condición {@code stock_actual >= ?} se evalúa
+     * sobre la fila bloqueada por el propio {@code UPDATE}, así dos salidas simultáneas no pueden dejar
+     * el stock negativo.
+     *
+     * @param idRepuesto identificador del repuesto
+     * @param cantidad   unidades que salen
+     * @return número de filas afectadas (0 si el repuesto no existe o el stock no alcanza)
+     */
+    public int descontarStock(int idRepuesto, double cantidad) {
+        String sql = "UPDATE repuesto SET stock_actual = stock_actual - ? WHERE id_repuesto = ? AND stock_actual >= ?";
+        int filas = jdbcTemplate.update(sql, cantidad, idRepuesto, cantidad);
+        cacheReportes.invalidarAlConfirmar("repuesto");
+        return filas;
+    }
+
+    /**
+     * Fija el stock de un repuesto al valor contado. La caché se invalida cuando se confirma la transacción.
+     *
+     * @param idRepuesto identificador del repuesto
+     * @param stock      stock resultante
+     * @return número de filas afectadas (0 si el repuesto no existe)
+     */
+    public int fijarStock(int idRepuesto, double stock) {
         String sql = "UPDATE repuesto SET stock_actual = ? WHERE id_repuesto = ?";
-        jdbcTemplate.update(sql, nuevoStock, idRepuesto);
+        int filas = jdbcTemplate.update(sql, stock, idRepuesto);
+        cacheReportes.invalidarAlConfirmar("repuesto");
+        return filas;
+    }
+
+    /**
+     * Fija el stock de varios repuestos en un solo {@code batchUpdate}. Las filas deben estar bloqueadas
+     * con {@link #bloquearStock} en la misma transacción.
+     *
+     * @param stocks stock resultante por ID
+     */
+    public void fijarStocks(Map<Integer, Double> stocks) {
+        if (stocks.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE repuesto SET stock_actual = ? WHERE id_repuesto = ?";
+        List<Object[]> filas = new ArrayList<>(stocks.size());
+        stocks.forEach((id, stock) -> filas.add(new Object[]{stock, id}));
+        jdbcTemplate.batchUpdate(sql, filas);
+        cacheReportes.invalidarAlConfirmar("repuesto");
+    }
+
+    /**
+     * Consulta el stock actual de un repuesto sin traer el resto de columnas.
+     *
+     * @param idRepuesto identificador del repuesto
+     * @return stock actual, o {@code null} si el repuesto no existe
+     */
+    public Double consultarStock(int idRepuesto) {
+        String sql = "SELECT stock_actual FROM repuesto WHERE id_repuesto = ?";
+        List<Double> stock = jdbcTemplate.queryForList(sql, Double.class, idRepuesto);
+        return stock.isEmpty() ? null : stock.get(0);
+    }
+
+    /**
+     * Lee el stock actual de los repuestos indicados y bloquea sus filas ({@code FOR UPDATE})
+     * hasta que termine la transacción. Consulta en grupos de 1000 IDs, el límite de Oracle para {@code IN}.
+     * <p>Los IDs se ordenan antes de armar los grupos y cada grupo se lee en orden de clave, así dos lotes
+     * con repuestos en común los bloquean en el mismo orden y uno espera al otro en lugar de bloquearse
+     * mutuamente.</p>
+     *
+     * @param ids identificadores de los repuestos
+     * @return stock por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, Double> bloquearStock(Collection<Integer> ids) {
+        Map<Integer, Double> stocks = new HashMap<>();
+        List<Integer> pendientes = new ArrayList<>(new TreeSet<>(ids));
+        for (int desde = 0; desde < pendientes.size(); desde += 1000) {
+            List<Integer> grupo = pendientes.subList(desde, Math.min(desde + 1000, pendientes.size()));
+            String sql = "SELECT id_repuesto, stock_actual FROM repuesto WHERE id_repuesto IN ("
+                    + String.join(", ", Collections.nCopies(grupo.size(), "?")) + ") ORDER BY id_repuesto FOR UPDATE";
+            jdbcTemplate.query(sql, rs -> {
+                stocks.put(rs.getInt("id_repuesto"), rs.getDouble("stock_actual"));
+            }, grupo.toArray());
+        }
+        return stocks;
     }
 
     /**
@@ -117,6 +236,8 @@ public class RepuestoRepository {
      */
     public int eliminarRepuesto(int id) {
         String sql = "DELETE FROM repuesto WHERE id_repuesto = ?";
-        return jdbcTemplate.update(sql, id);
+        int filas = jdbcTemplate.update(sql, id);
+        cacheReportes.invalidarPorTabla("repuesto");
+        return filas;
     }
 }
\ No newline at end of file
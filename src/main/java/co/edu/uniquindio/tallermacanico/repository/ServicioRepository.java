@@ -1,26 +1,45 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Servicio;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
-import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Repositorio para gestionar operaciones sobre la tabla servicio.
  * Proporciona métodos CRUD usando JdbcTemplate.
+ * <p>
+ * El catálogo completo y las consultas por ID se responden desde una copia en memoria de la tabla
+ * ({@link TablaReferencia}); cada escritura la recarga cuando se confirma la transacción. Las lecturas
+ * que necesitan bloquear filas ({@link #bloquearPrecios}) o agregar ({@link #resumirPrecios}) siguen
+ * yendo a la base de datos.
+ * </p>
  */
 @Repository
 public class ServicioRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
+    private final GeneradorClaves generadorClaves;
+    private final TablaReferencia<Servicio> servicios;
 
-    public ServicioRepository(JdbcTemplate jdbcTemplate) {
+    public ServicioRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes,
+                              GeneradorClaves generadorClaves) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
+        this.generadorClaves = generadorClaves;
+        this.servicios = new TablaReferencia<>("servicio", this::leerServicios, Servicio::getIdServicio,
+                s -> new Servicio(s.getIdServicio(), s.getNombre(), s.getDescripcion(), s.getPrecioBase()));
     }
 
     /**
@@ -29,8 +48,21 @@ public class ServicioRepository {
      * @return lista de objetos Servicio
      */
     public List<Servicio> listarServicios() {
-        String sql = "SELECT id_servicio AS idServicio, nombre, descripcion, precio_base AS precioBase FROM servicio";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Servicio.class));
+        return servicios.listar();
+    }
+
+    /**
+     * Obtiene una página de servicios ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de servicios con el cursor para continuar
+     */
+    public PaginaDTO<Servicio> listarServiciosPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_SERVICIO + " FROM servicio";
+        return paginador.paginar(sql, new String[]{"id_servicio"},
+                MapeadoresFila.SERVICIO,
+                s -> new int[]{s.getIdServicio()}, cursor, tamanio);
     }
 
     /**
@@ -40,12 +72,24 @@ public class ServicioRepository {
      * @return objeto Servicio encontrado o null si no existe
      */
     public Servicio buscarPorId(int id) {
-        String sql = "SELECT id_servicio AS idServicio, nombre, descripcion, precio_base AS precioBase FROM servicio WHERE id_servicio = ?";
-        try {
-            return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(Servicio.class), id);
-        } catch (Exception e) {
-            return null; // Manejo simple: retorna null si no se encuentra
+        return servicios.buscar(id);
+    }
+
+    /**
+     * Busca varios servicios por ID en la copia en memoria, sin consultar la base de datos.
+     *
+     * @param ids identificadores de los servicios; pueden repetirse
+     * @return copias de los servicios por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, Servicio> buscarPorIds(Collection<Integer> ids) {
+        Map<Integer, Servicio> encontrados = new HashMap<>();
+        for (Integer id : ids) {
+            Servicio fila = servicios.buscar(id);
+            if (fila != null) {
+                encontrados.put(id, fila);
+            }
         }
+        return encontrados;
     }
 
     /**
@@ -55,17 +99,13 @@ public class ServicioRepository {
      */
     public int registrarServicio(Servicio servicio) {
         String sql = "INSERT INTO servicio (nombre, descripcion, precio_base) VALUES (?, ?, ?)";
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-
-        jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id_servicio"});
-            ps.setString(1, servicio.getNombre());
-            ps.setString(2, servicio.getDescripcion());
-            ps.setDouble(3, servicio.getPrecioBase());
-            return ps;
-        }, keyHolder);
-
-        return keyHolder.getKey().intValue();
+        int idServicio = generadorClaves.insertar(sql, "id_servicio",
+                servicio.getNombre(),
+                servicio.getDescripcion(),
+                servicio.getPrecioBase());
+        cacheReportes.invalidarPorTabla("servicio");
+        servicios.recargarAlConfirmar();
+        return idServicio;
     }
 
     /**
@@ -76,6 +116,8 @@ public class ServicioRepository {
     public void eliminarServicio(int id) {
         String sql = "DELETE FROM servicio WHERE id_servicio = ?";
         jdbcTemplate.update(sql, id);
+        cacheReportes.invalidarPorTabla("servicio");
+        servicios.recargarAlConfirmar();
     }
 
     /**
@@ -87,6 +129,94 @@ public class ServicioRepository {
     public void actualizarPrecioBase(int idServicio, double nuevoPrecio) {
         String sql = "UPDATE servicio SET precio_base = ? WHERE id_servicio = ?";
         jdbcTemplate.update(sql, nuevoPrecio, idServicio);
+        cacheReportes.invalidarPorTabla("servicio");
+        servicios.recargarAlConfirmar();
     }
-}
 
+    /**
+     * Lee el precio base actual de los servicios indicados y bloquea sus filas ({@code FOR UPDATE})
+     * hasta que termine la transacción. Consulta en grupos de 1000 IDs, el límite de Oracle para {@code IN}.
+     *
+     * @param ids identificadores de los servicios
+     * @return precio base por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, Double> bloquearPrecios(Collection<Integer> ids) {
+        Map<Integer, Double> precios = new HashMap<>();
+        List<Integer> pendientes = new ArrayList<>(ids);
+        for (int desde = 0; desde < pendientes.size(); desde += 1000) {
+            List<Integer> grupo = pendientes.subList(desde, Math.min(desde + 1000, pendientes.size()));
+            String sql = "SELECT id_servicio, precio_base FROM servicio WHERE id_servicio IN ("
+                    + String.join(", ", Collections.nCopies(grupo.size(), "?")) + ") FOR UPDATE";
+            jdbcTemplate.query(sql, rs -> {
+                precios.put(rs.getInt("id_servicio"), rs.getDouble("precio_base"));
+            }, grupo.toArray());
+        }
+        return precios;
+    }
+
+    /**
+     * Actualiza el precio base de varios servicios en un solo {@code batchUpdate}. La caché se invalida
+     * cuando se confirma la transacción.
+     *
+     * @param precios precio nuevo por ID
+     */
+    public void actualizarPreciosBase(Map<Integer, Double> precios) {
+        if (precios.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE servicio SET precio_base = ? WHERE id_servicio = ?";
+        List<Object[]> filas = new ArrayList<>(precios.size());
+        precios.forEach((id, precio) -> filas.add(new Object[]{precio, id}));
+        jdbcTemplate.batchUpdate(sql, filas);
+        cacheReportes.invalidarAlConfirmar("servicio");
+        servicios.recargarAlConfirmar();
+    }
+
+    /**
+     * Cuenta los servicios cuyo nombre coincide con el patrón y suma sus precios base.
+     *
+     * @param patronNombre patrón {@code LIKE} sin distinguir mayúsculas, o {@code null} para todos
+     * @return cantidad de servicios y suma de sus precios base
+     */
+    public double[] resumirPrecios(String patronNombre) {
+        String sql = "SELECT COUNT(*), COALESCE(SUM(precio_base), 0) FROM servicio" + filtroNombre(patronNombre);
+        Object[] parametros = patronNombre == null ? new Object[0] : new Object[]{patronNombre};
+        return jdbcTemplate.queryForObject(sql, (rs, i) -> new double[]{rs.getLong(1), rs.getDouble(2)}, parametros);
+    }
+
+    /**
+     * Multiplica el precio base de los servicios cuyo nombre coincide con el patrón en una sola sentencia,
+     * redondeado a dos decimales. La caché se invalida cuando se confirma la transacción.
+     *
+     * @param factor       factor de reajuste (ej. {@code 1.085} para subir 8,5 %)
+     * @param patronNombre patrón {@code LIKE} sin distinguir mayúsculas, o {@code null} para todos
+     * @return número de servicios actualizados
+     */
+    public int reajustarPreciosBase(double factor, String patronNombre) {
+        String sql = "UPDATE servicio SET precio_base = ROUND(precio_base * ?, 2)" + filtroNombre(patronNombre);
+        int filas = patronNombre == null
+                ? jdbcTemplate.update(sql, factor)
+                : jdbcTemplate.update(sql, factor, patronNombre);
+        cacheReportes.invalidarAlConfirmar("servicio");
+        servicios.recargarAlConfirmar();
+        return filas;
+    }
+
+    /**
+     * Caché en memoria de la tabla, para precargarla y recargarla.
+     *
+     * @return tabla de referencia de servicios
+     */
+    public TablaReferencia<?> tablaReferencia() {
+        return servicios;
+    }
+
+    private List<Servicio> leerServicios() {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_SERVICIO + " FROM servicio";
+        return jdbcTemplate.query(sql, MapeadoresFila.SERVICIO);
+    }
+
+    private static String filtroNombre(String patronNombre) {
+        return patronNombre == null ? "" : " WHERE UPPER(nombre) LIKE UPPER(?)";
+    }
+}
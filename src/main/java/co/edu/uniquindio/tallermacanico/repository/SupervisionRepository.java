@@ -1,7 +1,8 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Supervision;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -10,14 +11,22 @@ import java.util.List;
 /**
  * Repositorio para gestionar operaciones sobre la tabla supervision.
  * Permite registrar, consultar y eliminar supervisiones entre mecánicos en servicios específicos.
+ * Las observaciones se mantienen en el {@link IndiceTextoCompleto}.
  */
 @Repository
 public class SupervisionRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
+    private final IndiceTextoCompleto indiceTexto;
 
-    public SupervisionRepository(JdbcTemplate jdbcTemplate) {
+    public SupervisionRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes,
+                                 IndiceTextoCompleto indiceTexto) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
+        this.indiceTexto = indiceTexto;
     }
 
     /**
@@ -26,13 +35,22 @@ public class SupervisionRepository {
      * @return lista de objetos Supervision
      */
     public List<Supervision> listarSupervisiones() {
-        String sql = "SELECT id_orden_servicio AS idOrdenServicio, " +
-                "id_mecanico_supervisor AS idMecanicoSupervisor, " +
-                "id_mecanico_supervisado AS idMecanicoSupervisado, " +
-                "id_especialidad AS idEspecialidad, " +
-                "observaciones " +
-                "FROM supervision";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Supervision.class));
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_SUPERVISION + " FROM supervision";
+        return jdbcTemplate.query(sql, MapeadoresFila.SUPERVISION);
+    }
+
+    /**
+     * Obtiene una página de supervisiones ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de supervisiones con el cursor para continuar
+     */
+    public PaginaDTO<Supervision> listarSupervisionesPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_SUPERVISION + " FROM supervision";
+        return paginador.paginar(sql, new String[]{"id_orden_servicio", "id_mecanico_supervisor", "id_mecanico_supervisado"},
+                MapeadoresFila.SUPERVISION,
+                s -> new int[]{s.getIdOrdenServicio(), s.getIdMecanicoSupervisor(), s.getIdMecanicoSupervisado()}, cursor, tamanio);
     }
 
     /**
@@ -44,14 +62,9 @@ public class SupervisionRepository {
      * @return objeto Supervision encontrado o null si no existe
      */
     public Supervision buscarSupervision(int idOrdenServicio, int idSupervisor, int idSupervisado) {
-        String sql = "SELECT id_orden_servicio AS idOrdenServicio, " +
-                "id_mecanico_supervisor AS idMecanicoSupervisor, " +
-                "id_mecanico_supervisado AS idMecanicoSupervisado, " +
-                "id_especialidad AS idEspecialidad, " +
-                "observaciones " +
-                "FROM supervision WHERE id_orden_servicio = ? AND id_mecanico_supervisor = ? AND id_mecanico_supervisado = ?";
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_SUPERVISION + " FROM supervision WHERE id_orden_servicio = ? AND id_mecanico_supervisor = ? AND id_mecanico_supervisado = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(Supervision.class),
+            return jdbcTemplate.queryForObject(sql, MapeadoresFila.SUPERVISION,
                     idOrdenServicio, idSupervisor, idSupervisado);
         } catch (Exception e) {
             return null; // Manejo simple: retorna null si no se encuentra
@@ -72,6 +85,10 @@ public class SupervisionRepository {
                 supervision.getIdMecanicoSupervisado(),
                 supervision.getIdEspecialidad(),
                 supervision.getObservaciones());
+        cacheReportes.invalidarPorTabla("supervision");
+        indiceTexto.indexarAlConfirmar(new IndiceTextoCompleto.Documento(IndiceTextoCompleto.SUPERVISION,
+                List.of(supervision.getIdOrdenServicio(), supervision.getIdMecanicoSupervisor(),
+                        supervision.getIdMecanicoSupervisado()), supervision.getObservaciones()));
     }
 
     /**
@@ -84,5 +101,8 @@ public class SupervisionRepository {
     public void eliminarSupervision(int idOrdenServicio, int idSupervisor, int idSupervisado) {
         String sql = "DELETE FROM supervision WHERE id_orden_servicio = ? AND id_mecanico_supervisor = ? AND id_mecanico_supervisado = ?";
         jdbcTemplate.update(sql, idOrdenServicio, idSupervisor, idSupervisado);
+        cacheReportes.invalidarPorTabla("supervision");
+        indiceTexto.quitarAlConfirmar(IndiceTextoCompleto.SUPERVISION,
+                List.of(idOrdenServicio, idSupervisor, idSupervisado));
     }
 }
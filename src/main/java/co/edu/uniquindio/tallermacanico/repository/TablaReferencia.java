@@ -0,0 +1,181 @@
+package co.edu.uniquindio.tallermacanico.repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copia en memoria de una tabla de referencia pequeña que casi nunca cambia (estados, especialidades,
+ * servicios), indexada por su clave entera.
+ * <p>
+ * La tabla completa se lee una vez y queda en una instantánea inmutable: un arreglo indexado por
+ * {@code id - menorId} cuando los IDs son casi consecutivos, o dos arreglos paralelos ordenados
+ * ({@code int[]} de claves y valores) con búsqueda binaria si hay huecos grandes; en ningún caso se
+ * encajonan las claves. Las lecturas toman la instantánea vigente sin bloqueo; cada escritura del
+ * repositorio vuelve a leer la tabla y publica una instantánea nueva (copia en escritura), después del
+ * commit si hay una transacción activa.
+ * </p>
+ *
+ * @param <T> tipo de fila
+ */
+public final class TablaReferencia<T> {
+
+    private final String tabla;
+    private final Supplier<List<T>> cargador;
+    private final ToIntFunction<T> clave;
+    private final UnaryOperator<T> copia;
+
+    /** Instantánea vigente; {@code null} hasta la primera lectura o precarga. */
+    private volatile Instantanea<T> actual;
+
+    private long recargas;
+
+    /**
+     * @param tabla    nombre de la tabla, para las métricas
+     * @param cargador lee todas las filas de la base de datos
+     * @param clave    clave entera de cada fila
+     * @param copia    copia que se entrega en cada lectura, para que quien la reciba no altere la caché
+     *                 ({@link UnaryOperator#identity()} si las filas son inmutables)
+     */
+    public TablaReferencia(String tabla, Supplier<List<T>> cargador, ToIntFunction<T> clave, UnaryOperator<T> copia) {
+        this.tabla = tabla;
+        this.cargador = cargador;
+        this.clave = clave;
+        this.copia = copia;
+    }
+
+    /** Filas de una lectura completa de la tabla, ordenadas por clave. */
+    private static final class Instantanea<T> {
+        final List<T> filas;
+        /** Primera clave del arreglo denso; sin uso si {@link #claves} no es {@code null}. */
+        final int base;
+        final Object[] valores;
+        /** Claves ordenadas, paralelas a {@link #valores}, cuando los IDs tienen huecos grandes. */
+        final int[] claves;
+
+        Instantanea(List<T> filas, int base, Object[] valores, int[] claves) {
+            this.filas = filas;
+            this.base = base;
+            this.valores = valores;
+            this.claves = claves;
+        }
+    }
+
+    /**
+     * Busca una fila por su clave sin consultar la base de datos.
+     *
+     * @param id clave de la fila
+     * @return copia de la fila, o {@code null} si no existe
+     */
+    @SuppressWarnings("unchecked")
+    public T buscar(int id) {
+        Instantanea<T> instantanea = instantanea();
+        Object valor;
+        if (instantanea.claves == null) {
+            long indice = (long) id - instantanea.base;
+            valor = indice >= 0 && indice < instantanea.valores.length ? instantanea.valores[(int) indice] : null;
+        } else {
+            int indice = Arrays.binarySearch(instantanea.claves, id);
+            valor = indice >= 0 ? instantanea.valores[indice] : null;
+        }
+        return valor == null ? null : copia.apply((T) valor);
+    }
+
+    /**
+     * Todas las filas, ordenadas por clave.
+     *
+     * @return copias de las filas
+     */
+    public List<T> listar() {
+        List<T> filas = instantanea().filas;
+        List<T> resultado = new ArrayList<>(filas.size());
+        for (T fila : filas) {
+            resultado.add(copia.apply(fila));
+        }
+        return resultado;
+    }
+
+    /**
+     * Vuelve a leer la tabla y publica la nueva instantánea. Las recargas se hacen de a una, así la última
+     * en terminar siempre lee el estado más reciente.
+     */
+    public synchronized void recargar() {
+        List<T> filas = new ArrayList<>(cargador.get());
+        filas.sort(Comparator.comparingInt(clave));
+
+        Instantanea<T> nueva;
+        if (filas.isEmpty()) {
+            nueva = new Instantanea<>(List.of(), 0, new Object[0], null);
+        } else {
+            int menor = clave.applyAsInt(filas.get(0));
+            long rango = (long) clave.applyAsInt(filas.get(filas.size() - 1)) - menor + 1;
+            if (rango <= 2L * filas.size() + 64) {
+                Object[] valores = new Object[(int) rango];
+                for (T fila : filas) {
+                    valores[clave.applyAsInt(fila) - menor] = fila;
+                }
+                nueva = new Instantanea<>(List.copyOf(filas), menor, valores, null);
+            } else {
+                int[] claves = new int[filas.size()];
+                Object[] valores = new Object[filas.size()];
+                for (int i = 0; i < filas.size(); i++) {
+                    claves[i] = clave.applyAsInt(filas.get(i));
+                    valores[i] = filas.get(i);
+                }
+                nueva = new Instantanea<>(List.copyOf(filas), 0, valores, claves);
+            }
+        }
+        actual = nueva;
+        recargas++;
+    }
+
+    /**
+     * Recarga la tabla cuando se confirme la transacción en curso, o de inmediato si no hay una.
+     * Si la transacción se revierte, la instantánea vigente sigue siendo válida.
+     */
+    public void recargarAlConfirmar() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recargar();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recargar();
+            }
+        });
+    }
+
+    /**
+     * Métricas de la tabla: filas en memoria, recargas hechas y tipo de índice.
+     *
+     * @return mapa con las métricas
+     */
+    public synchronized Map<String, Object> metricas() {
+        Instantanea<T> instantanea = actual;
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("tabla", tabla);
+        metricas.put("filas", instantanea == null ? 0 : instantanea.filas.size());
+        metricas.put("recargas", recargas);
+        metricas.put("indice", instantanea == null ? "sin cargar" : instantanea.claves == null ? "denso" : "ordenado");
+        return metricas;
+    }
+
+    private Instantanea<T> instantanea() {
+        Instantanea<T> instantanea = actual;
+        if (instantanea == null) {
+            recargar();
+            instantanea = actual;
+        }
+        return instantanea;
+    }
+}
@@ -1,7 +1,6 @@
 package co.edu.uniquindio.tallermacanico.repository;
 
 import co.edu.uniquindio.tallermacanico.model.Usuario;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -25,13 +24,9 @@ public class UsuarioRepository {
      * @return el objeto {@link Usuario} si existe, de lo contrario null
      */
     public Usuario buscarPorUsername(String username) {
-        String sql = "SELECT id_usuario AS idUsuario, username, password, correo, rol FROM usuarios WHERE username = ?";
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_USUARIO + " FROM usuarios WHERE username = ?";
         try {
-            return jdbcTemplate.queryForObject(
-                    sql,
-                    new BeanPropertyRowMapper<>(Usuario.class),
-                    username
-            );
+            return jdbcTemplate.queryForObject(sql, MapeadoresFila.USUARIO, username);
         } catch (Exception e) {
             return null; // Manejo simple: retorna null si no se encuentra
         }
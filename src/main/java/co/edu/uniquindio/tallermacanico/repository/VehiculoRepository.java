@@ -1,22 +1,51 @@
 package co.edu.uniquindio.tallermacanico.repository;
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.dto.SugerenciaDTO;
 import co.edu.uniquindio.tallermacanico.model.Vehiculo;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Repositorio para gestionar operaciones sobre la tabla {@code vehiculo}.
  * Proporciona métodos CRUD usando JdbcTemplate.
+ * <p>
+ * {@link #buscarPorId(int)} pasa por una {@link CacheEntidad} que las escrituras de este repositorio invalidan,
+ * y las placas se mantienen en un {@link IndicePrefijos} para el autocompletado.
+ * </p>
  */
 @Repository
 public class VehiculoRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PaginadorKeyset paginador;
+    private final CacheReportes cacheReportes;
+    private final GeneradorClaves generadorClaves;
+    private final AsignadorIds asignadorIds;
+    private final CacheEntidad<Vehiculo> cache;
+    private final IndicePrefijos<Vehiculo> indicePlacas;
 
-    public VehiculoRepository(JdbcTemplate jdbcTemplate) {
+    public VehiculoRepository(JdbcTemplate jdbcTemplate, PaginadorKeyset paginador, CacheReportes cacheReportes,
+                              GeneradorClaves generadorClaves, AsignadorIds asignadorIds,
+                              CachesEntidades cachesEntidades) {
         this.jdbcTemplate = jdbcTemplate;
+        this.paginador = paginador;
+        this.cacheReportes = cacheReportes;
+        this.generadorClaves = generadorClaves;
+        this.asignadorIds = asignadorIds;
+        this.cache = cachesEntidades.crear("vehiculo", v -> new Vehiculo(v.getIdVehiculo(), v.getIdCliente(),
+                v.getPlaca(), v.getMarca(), v.getModelo(), v.getAnio(), v.getColor()));
+        this.indicePlacas = new IndicePrefijos<>("vehiculo.placa", false, this::listarVehiculos,
+                v -> new SugerenciaDTO(v.getIdVehiculo(), v.getPlaca(), v.getMarca() + " " + v.getModelo()),
+                Vehiculo::getPlaca);
     }
 
     /**
@@ -25,41 +54,130 @@ public class VehiculoRepository {
      * @return lista de objetos Vehiculo
      */
     public List<Vehiculo> listarVehiculos() {
-        String sql = "SELECT id_vehiculo AS idVehiculo, id_cliente AS idCliente, placa, marca, modelo, anio, color FROM vehiculo";
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Vehiculo.class));
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_VEHICULO + " FROM vehiculo";
+        return jdbcTemplate.query(sql, MapeadoresFila.VEHICULO);
     }
 
     /**
-     * Registra un nuevo vehículo en la base de datos.
+     * Obtiene una página de vehículos ordenada por clave primaria usando paginación por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o {@code null} para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de vehículos con el cursor para continuar
+     */
+    public PaginaDTO<Vehiculo> listarVehiculosPagina(String cursor, int tamanio) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_VEHICULO + " FROM vehiculo";
+        return paginador.paginar(sql, new String[]{"id_vehiculo"},
+                MapeadoresFila.VEHICULO,
+                v -> new int[]{v.getIdVehiculo()}, cursor, tamanio);
+    }
+
+    /**
+     * Registra un nuevo vehículo en la base de datos y le asigna el ID generado.
      *
      * @param vehiculo objeto Vehiculo con los datos a insertar
+     * @return ID generado
      */
-    public void registrarVehiculo(Vehiculo vehiculo) {
-        String sql = "INSERT INTO vehiculo (id_cliente, placa, marca, modelo, anio, color) VALUES (?, ?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql,
+    public int registrarVehiculo(Vehiculo vehiculo) {
+        // Misma secuencia que reparte AsignadorIds para los lotes
+        String sql = "INSERT INTO vehiculo (id_vehiculo, id_cliente, placa, marca, modelo, anio, color) " +
+                "VALUES (seq_vehiculo.NEXTVAL, ?, ?, ?, ?, ?, ?)";
+        int idVehiculo = generadorClaves.insertar(sql, "id_vehiculo",
                 vehiculo.getIdCliente(),
                 vehiculo.getPlaca(),
                 vehiculo.getMarca(),
                 vehiculo.getModelo(),
                 vehiculo.getAnio(),
                 vehiculo.getColor());
+        vehiculo.setIdVehiculo(idVehiculo);
+        cacheReportes.invalidarPorTabla("vehiculo");
+        cache.invalidar(idVehiculo);
+        indicePlacas.agregarAlConfirmar(vehiculo);
+        return idVehiculo;
+    }
+
+    /**
+     * Registra varios vehículos en un solo {@code batchUpdate}.
+     * Los IDs se reservan por bloques con {@link AsignadorIds} antes de insertar y quedan asignados en cada objeto.
+     * Debe llamarse dentro de una transacción.
+     *
+     * @param vehiculos vehículos a insertar, con el cliente ya resuelto
+     */
+    public void registrarVehiculos(List<Vehiculo> vehiculos) {
+        if (vehiculos.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO vehiculo (id_vehiculo, id_cliente, placa, marca, modelo, anio, color) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        int[] ids = asignadorIds.reservar(AsignadorIds.VEHICULO, vehiculos.size());
+
+        List<Object[]> filas = new ArrayList<>(vehiculos.size());
+        for (int i = 0; i < vehiculos.size(); i++) {
+            Vehiculo vehiculo = vehiculos.get(i);
+            vehiculo.setIdVehiculo(ids[i]);
+            filas.add(new Object[]{ids[i], vehiculo.getIdCliente(), vehiculo.getPlaca(), vehiculo.getMarca(),
+                    vehiculo.getModelo(), vehiculo.getAnio(), vehiculo.getColor()});
+        }
+        jdbcTemplate.batchUpdate(sql, filas);
+        for (Vehiculo vehiculo : vehiculos) {
+            cache.invalidar(vehiculo.getIdVehiculo());
+            indicePlacas.agregarAlConfirmar(vehiculo);
+        }
+        cacheReportes.invalidarAlConfirmar("vehiculo");
+    }
+
+    /**
+     * Indica cuáles de las placas recibidas ya están registradas, en una sola consulta y sin distinguir
+     * mayúsculas de minúsculas.
+     *
+     * @param placas placas a comprobar en mayúsculas (máximo 1000, el límite de Oracle para una lista {@code IN})
+     * @return placas ya registradas, en mayúsculas
+     */
+    public Set<String> placasExistentes(Collection<String> placas) {
+        if (placas.isEmpty()) {
+            return Set.of();
+        }
+        String sql = "SELECT UPPER(placa) FROM vehiculo WHERE UPPER(placa) IN ("
+                + String.join(", ", Collections.nCopies(placas.size(), "?")) + ")";
+        return new HashSet<>(jdbcTemplate.queryForList(sql, String.class, placas.toArray()));
     }
 
     /**
-     * Busca un vehículo por su identificador único.
+     * Busca un vehículo por su identificador único, desde la caché si está.
      *
      * @param id identificador del vehículo
      * @return objeto Vehiculo encontrado o null si no existe
      */
     public Vehiculo buscarPorId(int id) {
-        String sql = "SELECT id_vehiculo AS idVehiculo, id_cliente AS idCliente, placa, marca, modelo, anio, color FROM vehiculo WHERE id_vehiculo = ?";
+        return cache.obtener(id, this::consultarPorId);
+    }
+
+    private Vehiculo consultarPorId(int id) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_VEHICULO + " FROM vehiculo WHERE id_vehiculo = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, new BeanPropertyRowMapper<>(Vehiculo.class), id);
+            return jdbcTemplate.queryForObject(sql, MapeadoresFila.VEHICULO, id);
         } catch (Exception e) {
             return null; // Manejo simple: retorna null si no se encuentra
         }
     }
 
+    /**
+     * Busca varios vehículos por ID: los que están en la caché salen de ella y los demás se consultan juntos
+     * (una consulta por cada {@value ConsultaPorIds#MAX_IN} IDs).
+     *
+     * @param ids identificadores de los vehículos; pueden repetirse
+     * @return vehículos por ID; los IDs que no existen no aparecen
+     */
+    public Map<Integer, Vehiculo> buscarPorIds(Collection<Integer> ids) {
+        return cache.obtenerVarios(ids, this::consultarPorIds);
+    }
+
+    private Map<Integer, Vehiculo> consultarPorIds(Collection<Integer> ids) {
+        String sql = "SELECT " + MapeadoresFila.COLUMNAS_VEHICULO + " FROM vehiculo";
+        return ConsultaPorIds.buscar(jdbcTemplate, sql, "id_vehiculo", MapeadoresFila.VEHICULO,
+                Vehiculo::getIdVehiculo, ids);
+    }
+
     /**
      * Elimina un vehículo de la base de datos por su identificador.
      *
@@ -68,5 +186,18 @@ public class VehiculoRepository {
     public void eliminarVehiculo(int id) {
         String sql = "DELETE FROM vehiculo WHERE id_vehiculo = ?";
         jdbcTemplate.update(sql, id);
+        cacheReportes.invalidarPorTabla("vehiculo");
+        cache.invalidar(id);
+        indicePlacas.quitarAlConfirmar(id);
+    }
+
+    /**
+     * Índice de placas para el autocompletado; se reconstruye al arrancar y lo actualizan los registros y
+     * eliminaciones de este repositorio.
+     *
+     * @return índice de prefijos de placas
+     */
+    public IndicePrefijos<Vehiculo> indicePlacas() {
+        return indicePlacas;
     }
 }
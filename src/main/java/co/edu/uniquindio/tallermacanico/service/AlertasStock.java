@@ -0,0 +1,54 @@
+package co.edu.uniquindio.tallermacanico.service;
+
+import co.edu.uniquindio.tallermacanico.dto.AlertaStockDTO;
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interfaz que define el detector de stock bajo a partir del flujo de movimientos de inventario.
+ * <p>
+ * Por cada repuesto se lleva el stock y el consumo diario como promedio móvil exponencial de las salidas, con
+ * constante de tiempo {@code taller.inventario.alertas.ventana-dias}: cada salida suma {@code cantidad / ventana}
+ * y el acumulado decae con {@code e^(-días / ventana)}, así que con un consumo estable converge a las unidades
+ * por día. El punto de reorden es el consumo durante el plazo de entrega más el margen de seguridad
+ * ({@code plazo-dias + seguridad-dias}); un repuesto con consumo queda en alerta cuando su stock llega a ese punto.
+ * </p>
+ */
+public interface AlertasStock {
+
+    String AGOTADO = "AGOTADO";
+    String BAJO = "BAJO";
+
+    /**
+     * Reemplaza el estado con los repuestos actuales y las salidas de las últimas cuatro ventanas.
+     * @param hoy fecha de referencia
+     */
+    void cargar(LocalDate hoy);
+
+    /**
+     * Aplica un movimiento al stock y, si es una salida, al consumo del repuesto. Debe llamarse después del commit.
+     * @param movimiento movimiento registrado
+     */
+    void movimientoRegistrado(MovimientoInventario movimiento);
+
+    /**
+     * Repuestos en alerta a la fecha actual.
+     * @return alertas ordenadas por días de cobertura, los agotados primero
+     */
+    List<AlertaStockDTO> alertas();
+
+    /**
+     * Repuestos en alerta a la fecha indicada.
+     * @param hoy fecha a la que se decae el consumo
+     * @return alertas ordenadas por días de cobertura, los agotados primero
+     */
+    List<AlertaStockDTO> alertas(LocalDate hoy);
+
+    /**
+     * Indica si ya se cargó el estado inicial.
+     * @return {@code true} si las alertas pueden responderse desde memoria
+     */
+    boolean estaListo();
+}
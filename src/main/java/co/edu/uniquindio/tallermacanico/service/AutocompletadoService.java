@@ -0,0 +1,27 @@
+package co.edu.uniquindio.tallermacanico.service;
+
+import co.edu.uniquindio.tallermacanico.dto.AutocompletadoDTO;
+
+import java.util.Map;
+
+/**
+ * Interfaz que define el autocompletado de recepción: vehículos por prefijo de placa y clientes por prefijo de
+ * nombre o apellido, respondido desde memoria sin consultar la base de datos.
+ */
+public interface AutocompletadoService {
+
+    /**
+     * Busca vehículos y clientes cuyo texto empieza por la consulta.
+     * @param consulta placa o nombre parcial; sin tildes ni mayúsculas importa igual
+     * @param limite máximo de sugerencias por tipo; se recorta a {@code taller.autocompletado.limite-maximo}
+     * @return sugerencias de vehículos y de clientes
+     * @throws IllegalArgumentException si la consulta está vacía o el límite no es positivo
+     */
+    AutocompletadoDTO autocompletar(String consulta, int limite);
+
+    /**
+     * Métricas de cada índice: filas, términos y reconstrucciones.
+     * @return mapa con las métricas por índice
+     */
+    Map<String, Object> metricas();
+}
@@ -0,0 +1,29 @@
+package co.edu.uniquindio.tallermacanico.service;
+
+import co.edu.uniquindio.tallermacanico.dto.ResultadoTextoDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz que define la búsqueda de texto libre en los diagnósticos de las órdenes de trabajo y en las
+ * observaciones de las supervisiones, ordenada por relevancia.
+ */
+public interface BusquedaTextoService {
+
+    /**
+     * Busca diagnósticos y observaciones que contengan las palabras de la consulta, los más relevantes primero.
+     * @param consulta palabras a buscar; no importan tildes, mayúsculas, plurales ni palabras como "de" o "la"
+     * @param tipo {@code orden_trabajo}, {@code supervision} o {@code null} para ambos
+     * @param limite máximo de resultados; se recorta a {@code taller.busqueda-texto.limite-maximo}
+     * @return resultados ordenados por puntaje
+     * @throws IllegalArgumentException si la consulta está vacía, el tipo no existe o el límite no es positivo
+     */
+    List<ResultadoTextoDTO> buscar(String consulta, String tipo, int limite);
+
+    /**
+     * Métricas del índice: documentos, raíces y tamaño de las listas comprimidas.
+     * @return mapa con las métricas
+     */
+    Map<String, Object> metricas();
+}
@@ -0,0 +1,50 @@
+package co.edu.uniquindio.tallermacanico.service;
+
+import co.edu.uniquindio.tallermacanico.dto.StockFechaDTO;
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interfaz que define la consulta del stock de un repuesto a una fecha pasada según el libro de
+ * {@code movimiento_inventario}.
+ * <p>
+ * El stock a una fecha es el resultado de aplicar en orden (fecha, ID) todos los movimientos hasta esa fecha:
+ * la entrada suma, la salida resta y el ajuste fija el valor contado.
+ * </p>
+ * <p>
+ * El libro empieza en cero: el stock inicial de un repuesto se registra como un {@code ajuste} al crearlo
+ * ({@link RepuestoService#registrarRepuesto}) y el {@code PUT} del repuesto no cambia el stock, así que todo
+ * {@code stock_actual} sale de movimientos. Un repuesto creado antes de eso cuenta desde su primer ajuste.
+ * </p>
+ */
+public interface CortesStock {
+
+    /**
+     * Avanza los cortes hasta el último cierre de periodo que no pasa de la fecha indicada.
+     * @param fecha último día que pueden cubrir los cortes
+     */
+    void actualizarHasta(LocalDate fecha);
+
+    /**
+     * Invalida los cortes afectados por un movimiento registrado. Debe llamarse después del commit.
+     * @param movimiento movimiento registrado
+     */
+    void movimientoRegistrado(MovimientoInventario movimiento);
+
+    /**
+     * Calcula el stock de un repuesto al cierre de una fecha.
+     * @param idRepuesto identificador del repuesto
+     * @param fecha fecha de la consulta (incluye sus movimientos)
+     * @return stock a esa fecha, o {@code null} si el repuesto no existe
+     */
+    StockFechaDTO consultar(int idRepuesto, LocalDate fecha);
+
+    /**
+     * Cierres guardados de un repuesto, en orden.
+     * @param idRepuesto identificador del repuesto
+     * @return fechas de los cortes vigentes
+     */
+    List<LocalDate> cierres(int idRepuesto);
+}
@@ -0,0 +1,32 @@
+package co.edu.uniquindio.tallermacanico.service;
+
+import co.edu.uniquindio.tallermacanico.dto.DetalleOrdenDTO;
+
+import java.util.List;
+
+/**
+ * Interfaz que define la consulta del detalle completo de una orden de trabajo, en lugar de que la interfaz
+ * haga una petición por la orden, el vehículo, el cliente, los servicios, los mecánicos, los repuestos y la factura.
+ */
+public interface DetalleOrdenService {
+
+    String VEHICULO = "vehiculo";
+    String CLIENTE = "cliente";
+    String SERVICIOS = "servicios";
+    String MECANICOS = "mecanicos";
+    String REPUESTOS = "repuestos";
+    String FACTURAS = "facturas";
+
+    /** Secciones válidas de {@code incluir}, en el orden en que se documentan. */
+    List<String> SECCIONES = List.of(VEHICULO, CLIENTE, SERVICIOS, MECANICOS, REPUESTOS, FACTURAS);
+
+    /**
+     * Obtiene el detalle de una orden con las secciones indicadas.
+     * @param idOrdenTrabajo identificador de la orden
+     * @param incluir secciones separadas por comas ({@link #SECCIONES}); {@code null} o vacío para todas.
+     *                {@code mecanicos} incluye también los servicios, donde van anidados
+     * @return detalle de la orden, o {@code null} si no existe
+     * @throws IllegalArgumentException si el ID no es positivo o alguna sección no existe
+     */
+    DetalleOrdenDTO obtenerDetalle(int idOrdenTrabajo, String incluir);
+}
@@ -0,0 +1,253 @@
+package co.edu.uniquindio.tallermacanico.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Base común de los trabajos en segundo plano que el cliente consulta por ID (importaciones CSV, reportes PDF).
+ * <p>
+ * Mantiene el pool de hilos, el directorio de archivos, el cupo de trabajos activos, los contadores y el registro
+ * de trabajos, y borra los terminados hace más de la retención. Cada servicio define su subclase de
+ * {@link Trabajo} y lo que hace el trabajo; este ejecutor solo lleva los estados {@link #PENDIENTE},
+ * {@link #EN_PROCESO}, {@link #COMPLETADO} y {@link #FALLIDO}.
+ * </p>
+ *
+ * @param <T> tipo de trabajo del servicio
+ */
+public final class EjecutorTrabajos<T extends EjecutorTrabajos.Trabajo> {
+
+    private static final Logger log = LoggerFactory.getLogger(EjecutorTrabajos.class);
+
+    public static final String PENDIENTE = "PENDIENTE";
+    public static final String EN_PROCESO = "EN_PROCESO";
+    public static final String COMPLETADO = "COMPLETADO";
+    public static final String FALLIDO = "FALLIDO";
+
+    private final String nombre;
+    private final Path directorio;
+    private final int capacidad;
+    private final Duration retencion;
+    private final ExecutorService ejecutor;
+
+    private final Map<String, T> trabajos = new ConcurrentHashMap<>();
+
+    /** Trabajos pendientes más en ejecución; protegido por {@code this}. */
+    private int activos;
+
+    private final LongAdder encolados = new LongAdder();
+    private final LongAdder completados = new LongAdder();
+    private final LongAdder fallidos = new LongAdder();
+    private final LongAdder rechazados = new LongAdder();
+
+    /**
+     * @param nombre           prefijo de los hilos y nombre en los registros ({@code importacion}, {@code reporte-job})
+     * @param descripcion      qué guarda el directorio, para el mensaje de error
+     * @param directorio       directorio de los archivos de los trabajos; se crea si no existe
+     * @param hilos            trabajos que se ejecutan a la vez
+     * @param capacidad        máximo de trabajos pendientes más en ejecución
+     * @param retencionMinutos minutos que se conserva un trabajo terminado
+     * @param hilosVirtuales   si el pool usa hilos virtuales
+     */
+    public EjecutorTrabajos(String nombre, String descripcion, String directorio, int hilos, int capacidad,
+                            long retencionMinutos, boolean hilosVirtuales) {
+        this.nombre = nombre;
+        this.directorio = Paths.get(directorio);
+        this.capacidad = Math.max(capacidad, 1);
+        this.retencion = Duration.ofMinutes(Math.max(retencionMinutos, 1));
+
+        // Con hilos virtuales el pool sigue limitando cuántos trabajos corren a la vez, pero uno
+        // bloqueado en JDBC o en disco no ocupa un hilo del sistema operativo
+        AtomicInteger numero = new AtomicInteger();
+        ThreadFactory fabrica = hilosVirtuales
+                ? Thread.ofVirtual().name(nombre + "-", 1).factory()
+                : tarea -> {
+                    Thread hilo = new Thread(tarea, nombre + "-" + numero.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                };
+        this.ejecutor = Executors.newFixedThreadPool(Math.max(hilos, 1), fabrica);
+
+        try {
+            Files.createDirectories(this.directorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de " + descripcion + ": " + directorio, e);
+        }
+    }
+
+    /**
+     * Estado común de un trabajo. Los campos mutables se leen desde otros hilos.
+     */
+    public abstract static class Trabajo {
+        public final String id = UUID.randomUUID().toString();
+        public final LocalDateTime fechaCreacion = LocalDateTime.now();
+        public volatile String estado = PENDIENTE;
+        public volatile LocalDateTime fechaInicio;
+        public volatile LocalDateTime fechaFin;
+        public volatile String error;
+
+        /**
+         * @return archivo que se borra cuando el trabajo vence, o {@code null} si no hay
+         */
+        protected abstract Path archivoResultado();
+    }
+
+    /**
+     * Lo que hace un trabajo; si lanza una excepción el trabajo queda {@link #FALLIDO}.
+     */
+    @FunctionalInterface
+    public interface Tarea {
+        void ejecutar() throws Exception;
+    }
+
+    /**
+     * @return directorio de los archivos de los trabajos
+     */
+    public Path directorio() {
+        return directorio;
+    }
+
+    /**
+     * @return máximo de trabajos activos
+     */
+    public int capacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Toma un cupo para un trabajo nuevo; se devuelve con {@link #liberar()} si el trabajo no llega a encolarse,
+     * y al terminar si se ejecuta con {@link #ejecutar}.
+     *
+     * @return {@code false} (y cuenta el rechazo) si ya hay {@code capacidad} trabajos activos
+     */
+    public synchronized boolean reservar() {
+        if (activos >= capacidad) {
+            rechazados.increment();
+            return false;
+        }
+        activos++;
+        return true;
+    }
+
+    /**
+     * Devuelve un cupo tomado con {@link #reservar()}.
+     */
+    public synchronized void liberar() {
+        activos--;
+    }
+
+    /**
+     * Registra un trabajo para que se pueda consultar por su ID.
+     *
+     * @param trabajo trabajo con cupo reservado
+     */
+    public void registrar(T trabajo) {
+        trabajos.put(trabajo.id, trabajo);
+        encolados.increment();
+    }
+
+    /**
+     * Envía un trabajo registrado al pool. Al terminar queda {@link #COMPLETADO} o {@link #FALLIDO} y libera su cupo.
+     *
+     * @param trabajo trabajo registrado
+     * @param tarea   lo que hace el trabajo
+     */
+    public void ejecutar(T trabajo, Tarea tarea) {
+        ejecutor.execute(() -> correr(trabajo, tarea));
+    }
+
+    /**
+     * @param id identificador del trabajo
+     * @return el trabajo, o {@code null} si no existe o ya se borró
+     */
+    public T buscar(String id) {
+        return trabajos.get(id);
+    }
+
+    public long encolados() {
+        return encolados.sum();
+    }
+
+    public long completados() {
+        return completados.sum();
+    }
+
+    public long fallidos() {
+        return fallidos.sum();
+    }
+
+    public long rechazados() {
+        return rechazados.sum();
+    }
+
+    public synchronized int activos() {
+        return activos;
+    }
+
+    /**
+     * Borra los trabajos terminados hace más de la retención, con su archivo.
+     */
+    public void borrarVencidos() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencion);
+        trabajos.values().removeIf(trabajo -> {
+            boolean vencido = trabajo.fechaFin != null && trabajo.fechaFin.isBefore(limite);
+            if (vencido && trabajo.archivoResultado() != null) {
+                borrar(trabajo.archivoResultado());
+            }
+            return vencido;
+        });
+    }
+
+    /**
+     * Detiene el pool e interrumpe los trabajos en curso.
+     */
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Borra un archivo si existe; un error solo se registra.
+     *
+     * @param archivo archivo a borrar
+     */
+    public static void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el archivo {}", archivo, e);
+        }
+    }
+
+    private void correr(T trabajo, Tarea tarea) {
+        trabajo.fechaInicio = LocalDateTime.now();
+        trabajo.estado = EN_PROCESO;
+        try {
+            tarea.ejecutar();
+            trabajo.estado = COMPLETADO;
+            completados.increment();
+        } catch (Exception e) {
+            log.error("Error en el trabajo {} {}", nombre, trabajo.id, e);
+            trabajo.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            trabajo.estado = FALLIDO;
+            fallidos.increment();
+        } finally {
+            trabajo.fechaFin = LocalDateTime.now();
+            liberar();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package co.edu.uniquindio.tallermacanico.service;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Especialidad;
 
 import java.util.List;
@@ -11,6 +12,8 @@ public interface EspecialidadService {
 
     List<Especialidad> listarEspecialidades();
 
+    PaginaDTO<Especialidad> listarEspecialidadesPagina(String cursor, int tamanio);
+
     Especialidad buscarPorId(int id);
 
     int registrarEspecialidad(Especialidad especialidad);
@@ -0,0 +1,40 @@
+package co.edu.uniquindio.tallermacanico.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interfaz que define la exportación de tablas completas en formato NDJSON o CSV (extracción BI nocturna),
+ * escribiendo las filas en el flujo de salida a medida que se leen.
+ */
+public interface ExportacionService {
+
+    /** Formato de una línea JSON por fila. */
+    String FORMATO_NDJSON = "ndjson";
+
+    /** Formato de valores separados por coma con encabezado. */
+    String FORMATO_CSV = "csv";
+
+    /**
+     * Resuelve el nombre de la tabla a exportar.
+     * @param entidad nombre recibido en la URL
+     * @return nombre de la tabla, o {@code null} si la entidad no es exportable
+     */
+    String resolverTabla(String entidad);
+
+    /**
+     * Indica si el formato solicitado es soportado.
+     * @param formato formato solicitado
+     * @return {@code true} si es ndjson o csv
+     */
+    boolean esFormatoValido(String formato);
+
+    /**
+     * Escribe todas las filas de la tabla en el flujo indicado.
+     * @param tabla tabla ya resuelta con {@link #resolverTabla(String)}
+     * @param formato {@link #FORMATO_NDJSON} o {@link #FORMATO_CSV}
+     * @param salida flujo de salida de la respuesta HTTP
+     * @throws IOException si falla la escritura
+     */
+    void exportar(String tabla, String formato, OutputStream salida) throws IOException;
+}
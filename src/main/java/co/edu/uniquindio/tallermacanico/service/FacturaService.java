@@ -26,7 +26,7 @@ public interface FacturaService {
     Factura buscarPorId(int id);
 
     /**
-     * Registra una nueva factura en el sistema.
+     * Registra una nueva factura en el sistema y le asigna el ID generado.
      * @param factura objeto con los datos de la factura
      * @throws IllegalArgumentException si los datos son inválidos
      */
@@ -35,7 +35,8 @@ public interface FacturaService {
     /**
      * Elimina una factura por su ID.
      * @param id identificador de la factura
+     * @return {@code true} si se eliminó, {@code false} si no existía
      * @throws IllegalArgumentException si el ID es inválido
      */
-    void eliminarFactura(int id);
+    boolean eliminarFactura(int id);
 }
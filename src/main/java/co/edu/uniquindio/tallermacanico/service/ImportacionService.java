@@ -0,0 +1,66 @@
+package co.edu.uniquindio.tallermacanico.service;
+
+import co.edu.uniquindio.tallermacanico.dto.TrabajoImportacionDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Interfaz que define las operaciones de la importación masiva de clientes y vehículos desde un archivo CSV
+ * (alta de flotas, migraciones de otros talleres). La importación corre en segundo plano y se consulta por su ID.
+ *
+ * <p>Formato: encabezado con los nombres de columna (en cualquier orden) y una fila por cliente o vehículo.</p>
+ * <pre>
+ * tipo,ref,nombre,apellido,direccion,telefono,email,ref_cliente,id_cliente,placa,marca,modelo,anio,color
+ * CLIENTE,F-001,Transportes,Andinos,Calle 10,3001112233,flota@andinos.com,,,,,,,
+ * VEHICULO,,,,,,,F-001,,ABC123,Chevrolet,NHR,2021,Blanco
+ * VEHICULO,,,,,,,,15,XYZ987,Renault,Logan,2019,Gris
+ * </pre>
+ * <p>Un vehículo indica su cliente con {@code ref_cliente} (la {@code ref} de un cliente que aparece antes en el
+ * mismo archivo) o con {@code id_cliente} (un cliente ya registrado). Las filas se validan con las mismas reglas
+ * que los registros individuales; las rechazadas, con su línea y el motivo, quedan en un reporte CSV que se
+ * descarga al terminar. Los bloques ya confirmados se conservan aunque la importación falle más adelante.</p>
+ */
+public interface ImportacionService {
+
+    String PENDIENTE = EjecutorTrabajos.PENDIENTE;
+    String EN_PROCESO = EjecutorTrabajos.EN_PROCESO;
+    String COMPLETADO = EjecutorTrabajos.COMPLETADO;
+    String FALLIDO = EjecutorTrabajos.FALLIDO;
+
+    String TIPO_CLIENTE = "CLIENTE";
+    String TIPO_VEHICULO = "VEHICULO";
+
+    /**
+     * Guarda el archivo recibido y encola su importación.
+     * @param cuerpo contenido CSV en UTF-8
+     * @param separador separador de campos ({@code ,} o {@code ;})
+     * @return estado inicial de la importación
+     * @throws IllegalArgumentException si el separador no es válido o el archivo está vacío o supera el tamaño máximo
+     * @throws IllegalStateException si ya hay {@code taller.importacion.capacidad} importaciones activas
+     * @throws IOException si falla la lectura del cuerpo o la escritura en disco
+     */
+    TrabajoImportacionDTO encolar(InputStream cuerpo, char separador) throws IOException;
+
+    /**
+     * Consulta el avance de una importación.
+     * @param id identificador de la importación
+     * @return avance, o {@code null} si no existe o ya se borró
+     */
+    TrabajoImportacionDTO consultar(String id);
+
+    /**
+     * Reporte de filas rechazadas de una importación terminada ({@code linea,tipo,error,registro}).
+     * @param id identificador de la importación
+     * @return ruta del reporte, o {@code null} si la importación no existe o no ha terminado
+     */
+    Path rechazos(String id);
+
+    /**
+     * Métricas de las importaciones.
+     * @return contadores e importaciones activas
+     */
+    Map<String, Object> metricas();
+}
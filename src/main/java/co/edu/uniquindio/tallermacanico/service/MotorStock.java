@@ -0,0 +1,64 @@
+package co.edu.uniquindio.tallermacanico.service;
+
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz que define cómo se aplican los movimientos de inventario al stock de los repuestos.
+ * <p>
+ * Cada movimiento cambia el stock y se inserta en la misma transacción: una {@code entrada} suma la cantidad,
+ * una {@code salida} la descuenta solo si alcanza y un {@code ajuste} fija el stock al valor contado.
+ * Si la salida no alcanza, no se inserta nada.
+ * </p>
+ */
+public interface MotorStock {
+
+    String ENTRADA = "entrada";
+    String SALIDA = "salida";
+    String AJUSTE = "ajuste";
+
+    /**
+     * Aplica el movimiento al stock y lo registra en una sola transacción; el ID generado
+     * queda asignado en el objeto. El movimiento ya debe estar validado.
+     * @param movimiento movimiento a aplicar
+     * @throws IllegalArgumentException si el repuesto no existe o el stock no alcanza para la salida
+     */
+    void aplicar(MovimientoInventario movimiento);
+
+    /**
+     * Bloquea de una vez, en orden de ID, las filas de todos los repuestos de una carga por lotes y lee su stock.
+     * Debe llamarse dentro de la transacción del lote, antes de aplicar el primer bloque, para que dos lotes con
+     * repuestos en común tomen los bloqueos en el mismo orden.
+     * @param movimientos todos los movimientos del lote
+     * @return stock actual por ID de repuesto; los repuestos inexistentes no aparecen
+     */
+    Map<Integer, Double> bloquearLote(List<MovimientoInventario> movimientos);
+
+    /**
+     * Aplica al stock un bloque de movimientos de una carga por lotes, en orden, sin insertarlos.
+     * Debe llamarse dentro de la transacción que los inserta, después de {@link #bloquearLote}.
+     * @param bloque movimientos ya validados
+     * @param stocks stock devuelto por {@link #bloquearLote}; se actualiza con el resultado del bloque
+     * @return motivo de rechazo por posición en el bloque; los movimientos ausentes se aplicaron
+     */
+    Map<Integer, String> aplicarBloque(List<MovimientoInventario> bloque, Map<Integer, Double> stocks);
+
+    /**
+     * Stock que resulta de aplicar un movimiento, sin validar que alcance.
+     *
+     * @param stock      stock antes del movimiento
+     * @param movimiento movimiento de entrada, salida o ajuste
+     * @return stock después del movimiento
+     */
+    static double stockDespues(double stock, MovimientoInventario movimiento) {
+        if (movimiento.getTipoMovimiento().equalsIgnoreCase(ENTRADA)) {
+            return stock + movimiento.getCantidad();
+        }
+        if (movimiento.getTipoMovimiento().equalsIgnoreCase(SALIDA)) {
+            return stock - movimiento.getCantidad();
+        }
+        return movimiento.getCantidad();
+    }
+}
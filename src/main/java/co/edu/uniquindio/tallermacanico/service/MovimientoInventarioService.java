@@ -1,8 +1,11 @@
 package co.edu.uniquindio.tallermacanico.service;
 
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.dto.ResultadoLoteDTO;
 import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -17,6 +20,15 @@ public interface MovimientoInventarioService {
      */
     List<MovimientoInventario> listarMovimientos();
 
+    /**
+     * Lista una página de movimientos usando paginación por cursor sobre la clave primaria.
+     * @param cursor cursor devuelto por la página anterior, o null para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de movimientos
+     * @throws IllegalArgumentException si el cursor es inválido
+     */
+    PaginaDTO<MovimientoInventario> listarMovimientosPagina(String cursor, int tamanio);
+
     /**
      * Busca un movimiento por su ID.
      * @param id identificador del movimiento
@@ -26,16 +38,30 @@ public interface MovimientoInventarioService {
     MovimientoInventario buscarPorId(int id);
 
     /**
-     * Registra un nuevo movimiento de inventario.
+     * Registra un nuevo movimiento de inventario y lo aplica al stock del repuesto en la misma transacción:
+     * la entrada suma, la salida descuenta y el ajuste fija el stock al valor contado.
      * @param movimiento objeto con los datos del movimiento
-     * @throws IllegalArgumentException si los datos son inválidos
+     * @throws IllegalArgumentException si los datos son inválidos, el repuesto no existe o el stock no alcanza
      */
     void registrarMovimiento(MovimientoInventario movimiento);
 
     /**
-     * Elimina un movimiento por su ID.
+     * Registra un lote de movimientos en una sola transacción, con inserciones por bloques.
+     * Los movimientos inválidos se rechazan uno a uno con las mismas reglas de {@link #registrarMovimiento};
+     * las salidas sin stock suficiente (según el orden del lote) y los repuestos inexistentes también se rechazan;
+     * los demás se registran y se aplican al stock todos o ninguno.
+     * @param movimientos movimientos en el orden recibido; se leen todos antes de abrir la transacción
+     * @return resultado de cada movimiento y totales
+     * @throws IllegalArgumentException si el lote supera el máximo permitido o un elemento no se puede leer
+     */
+    ResultadoLoteDTO registrarLote(Iterator<MovimientoInventario> movimientos);
+
+    /**
+     * Rechaza la eliminación de un movimiento: el stock de los repuestos sale del libro de movimientos, así que
+     * un movimiento equivocado se corrige registrando otro que lo compense.
      * @param id identificador del movimiento
      * @throws IllegalArgumentException si el ID es inválido
+     * @throws IllegalStateException siempre que el ID es válido
      */
     void eliminarMovimiento(int id);
 }
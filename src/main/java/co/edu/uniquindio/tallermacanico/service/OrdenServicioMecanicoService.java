@@ -1,6 +1,7 @@
 package co.edu.uniquindio.tallermacanico.service;
 
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenServicioMecanico;
 
 import java.util.List;
@@ -17,6 +18,15 @@ public interface OrdenServicioMecanicoService {
      */
     List<OrdenServicioMecanico> listarAsignaciones();
 
+    /**
+     * Lista una página de asignaciones usando paginación por cursor sobre la clave primaria.
+     * @param cursor cursor devuelto por la página anterior, o null para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de asignaciones
+     * @throws IllegalArgumentException si el cursor es inválido
+     */
+    PaginaDTO<OrdenServicioMecanico> listarAsignacionesPagina(String cursor, int tamanio);
+
     /**
      * Busca una asignación específica por ID de orden-servicio y ID de mecánico.
      * @param idOrdenServicio identificador del servicio
@@ -1,5 +1,6 @@
 package co.edu.uniquindio.tallermacanico.service;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
 
 import java.util.List;
@@ -16,6 +17,15 @@ public interface OrdenServicioService {
      */
     List<OrdenServicio> listarOrdenesServicio();
 
+    /**
+     * Lista una página de registros de orden-servicio usando paginación por cursor sobre la clave primaria.
+     * @param cursor cursor devuelto por la página anterior, o null para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de registros de orden-servicio
+     * @throws IllegalArgumentException si el cursor es inválido
+     */
+    PaginaDTO<OrdenServicio> listarOrdenesServicioPagina(String cursor, int tamanio);
+
     /**
      * Busca un registro de orden-servicio por su ID.
      * @param id identificador del registro
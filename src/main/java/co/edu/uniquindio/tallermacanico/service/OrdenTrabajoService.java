@@ -1,5 +1,6 @@
 package co.edu.uniquindio.tallermacanico.service;
 
+import co.edu.uniquindio.tallermacanico.dto.OrdenTrabajoCompuestaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenTrabajo;
 
 import java.util.List;
@@ -19,7 +20,7 @@ public interface OrdenTrabajoService {
     /**
      * Busca una orden de trabajo por su ID.
      * @param id identificador de la orden
-     * @return orden encontrada
+     * @return orden encontrada, o null si no existe
      * @throws IllegalArgumentException si el ID es inválido
      */
     OrdenTrabajo buscarPorId(int id);
@@ -31,6 +32,15 @@ public interface OrdenTrabajoService {
      */
     void registrarOrdenTrabajo(OrdenTrabajo orden);
 
+    /**
+     * Registra una orden de trabajo con sus servicios y mecánicos asignados en una sola transacción.
+     * Los servicios y las asignaciones se insertan con sentencias por lotes.
+     * @param ordenCompuesta orden, servicios y asignaciones
+     * @return la misma orden con las claves generadas completadas
+     * @throws IllegalArgumentException si algún dato es inválido (no se registra nada)
+     */
+    OrdenTrabajoCompuestaDTO registrarOrdenCompuesta(OrdenTrabajoCompuestaDTO ordenCompuesta);
+
     /**
      * Elimina una orden de trabajo por su ID.
      * @param id identificador de la orden
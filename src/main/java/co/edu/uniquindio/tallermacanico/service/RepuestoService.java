@@ -19,10 +19,11 @@ public interface RepuestoService {
     List<Repuesto> listarRepuestos();
 
     /**
-     * Registra un nuevo repuesto.
+     * Registra un nuevo repuesto; su stock inicial queda registrado como un movimiento de ajuste.
      *
      * @param repuesto objeto {@link Repuesto} con los datos a insertar
      * @return objeto {@link Repuesto} con el ID generado
+     * @throws IllegalArgumentException si el stock inicial es negativo
      */
     Repuesto registrarRepuesto(Repuesto repuesto);
 
@@ -42,10 +43,11 @@ public interface RepuestoService {
     void eliminarRepuesto(int id);
 
     /**
-     * Actualiza el stock de un repuesto.
+     * Fija el stock de un repuesto registrando un movimiento de ajuste.
      *
      * @param id identificador del repuesto
      * @param nuevoStock nuevo valor de stock
+     * @throws IllegalArgumentException si el repuesto no existe o el stock es negativo
      */
     void actualizarStock(int id, double nuevoStock);
 }
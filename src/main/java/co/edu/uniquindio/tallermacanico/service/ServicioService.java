@@ -1,6 +1,9 @@
 package co.edu.uniquindio.tallermacanico.service;
 
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.dto.ReajustePreciosDTO;
+import co.edu.uniquindio.tallermacanico.dto.ResultadoReajusteDTO;
 import co.edu.uniquindio.tallermacanico.model.Servicio;
 
 import java.util.List;
@@ -9,6 +12,8 @@ public interface ServicioService {
 
     List<Servicio> listarServicios();
 
+    PaginaDTO<Servicio> listarServiciosPagina(String cursor, int tamanio);
+
     Servicio buscarPorId(int id);
 
     void registrarServicio(Servicio servicio);
@@ -22,4 +27,13 @@ public interface ServicioService {
      * @param nuevoPrecio nuevo valor del precio base; debe ser mayor que cero
      */
     void actualizarPrecioBase(int idServicio, double nuevoPrecio);
+
+    /**
+     * Reajusta el precio base de muchos servicios en una sola transacción, con precios explícitos
+     * por ID o con un porcentaje sobre los servicios cuyo nombre coincide con un patrón.
+     *
+     * @param reajuste precios por ID, o porcentaje y patrón de nombre
+     * @return resumen del reajuste
+     */
+    ResultadoReajusteDTO reajustarPrecios(ReajustePreciosDTO reajuste);
 }
@@ -1,6 +1,7 @@
 package co.edu.uniquindio.tallermacanico.service;
 
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Supervision;
 
 import java.util.List;
@@ -17,6 +18,15 @@ public interface SupervisionService {
      */
     List<Supervision> listarSupervisiones();
 
+    /**
+     * Lista una página de supervisiones usando paginación por cursor sobre la clave primaria.
+     * @param cursor cursor devuelto por la página anterior, o null para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de supervisiones
+     * @throws IllegalArgumentException si el cursor es inválido
+     */
+    PaginaDTO<Supervision> listarSupervisionesPagina(String cursor, int tamanio);
+
     /**
      * Busca una supervisión específica por IDs compuestos.
      * @param idOrdenServicio ID del servicio
@@ -0,0 +1,300 @@
+package co.edu.uniquindio.tallermacanico.service.implement;
+
+import co.edu.uniquindio.tallermacanico.dto.AlertaStockDTO;
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+import co.edu.uniquindio.tallermacanico.model.Repuesto;
+import co.edu.uniquindio.tallermacanico.repository.MovimientoInventarioRepository;
+import co.edu.uniquindio.tallermacanico.repository.RepuestoRepository;
+import co.edu.uniquindio.tallermacanico.service.AlertasStock;
+import co.edu.uniquindio.tallermacanico.service.MotorStock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementación de {@link AlertasStock} con el stock y el consumo de cada repuesto en memoria.
+ * <p>
+ * Los servicios de escritura lo actualizan al registrar cada movimiento, después del commit, y
+ * {@code GET /api/repuestos/alertas} se responde desde memoria. Se carga al arrancar con los repuestos y las
+ * salidas de las últimas cuatro ventanas. Desde entonces el stock solo cambia con los movimientos, igual que en
+ * la base de datos, donde todo cambio pasa por {@link MotorStock}: la reconciliación periódica
+ * ({@code taller.inventario.alertas.reconciliar-ms}) refresca el nombre y la unidad y descarta los repuestos
+ * eliminados, pero no vuelve a leer el stock, porque una lectura tomada antes de que lleguen las notificaciones
+ * de los movimientos ya confirmados los contaría dos veces, y una tomada antes de su commit los perdería.
+ * </p>
+ */
+@Service
+public class AlertasStockImpl implements AlertasStock {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertasStockImpl.class);
+
+    /** Consumo por debajo del cual un repuesto se considera sin demanda. */
+    private static final double CONSUMO_MINIMO = 1e-6;
+
+    private final RepuestoRepository repuestoRepository;
+    private final MovimientoInventarioRepository movimientoRepository;
+    private final double ventanaDias;
+    private final double plazoDias;
+    private final double seguridadDias;
+    private final double coberturaDias;
+
+    /** Estado por repuesto; {@code null} hasta la primera carga. */
+    private volatile Map<Integer, Estado> estados;
+
+    /** Repuestos que llegaron a su punto de reorden; se filtran al consultar porque el consumo decae con el tiempo. */
+    private final Set<Integer> enAlerta = ConcurrentHashMap.newKeySet();
+
+    public AlertasStockImpl(RepuestoRepository repuestoRepository, MovimientoInventarioRepository movimientoRepository,
+                            @Value("${taller.inventario.alertas.ventana-dias:30}") double ventanaDias,
+                            @Value("${taller.inventario.alertas.plazo-dias:7}") double plazoDias,
+                            @Value("${taller.inventario.alertas.seguridad-dias:3}") double seguridadDias,
+                            @Value("${taller.inventario.alertas.cobertura-dias:30}") double coberturaDias) {
+        this.repuestoRepository = repuestoRepository;
+        this.movimientoRepository = movimientoRepository;
+        this.ventanaDias = Math.max(1, ventanaDias);
+        this.plazoDias = plazoDias;
+        this.seguridadDias = seguridadDias;
+        this.coberturaDias = coberturaDias;
+    }
+
+    /** Stock y consumo de un repuesto; los campos se leen y escriben sincronizando sobre el objeto. */
+    private static final class Estado {
+        final int idRepuesto;
+        String nombre;
+        String unidadMedida;
+        double stock;
+        double consumo;
+        long diaConsumo;
+
+        Estado(Repuesto repuesto, double stock) {
+            this.idRepuesto = repuesto.getIdRepuesto();
+            this.stock = stock;
+            actualizar(repuesto);
+        }
+
+        void actualizar(Repuesto repuesto) {
+            nombre = repuesto.getNombre();
+            unidadMedida = repuesto.getUnidadMedida();
+        }
+    }
+
+    // =====================================================
+    // CARGA Y RECONCILIACIÓN
+    // =====================================================
+
+    /**
+     * Carga los repuestos y el consumo reciente al terminar de arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        try {
+            cargar(LocalDate.now());
+            log.info("Alertas de stock construidas: {} repuestos, {} en alerta", estados.size(), enAlerta.size());
+        } catch (DataAccessException e) {
+            log.error("No se pudieron construir las alertas de stock; se reintentará en la reconciliación", e);
+        }
+    }
+
+    /**
+     * Reemplaza el estado con los repuestos actuales y las salidas de las últimas cuatro ventanas.
+     *
+     * @param hoy fecha de referencia
+     */
+    @Override
+    public void cargar(LocalDate hoy) {
+        Map<Integer, Estado> nuevos = new ConcurrentHashMap<>();
+        for (Repuesto repuesto : repuestoRepository.listarRepuestos()) {
+            nuevos.put(repuesto.getIdRepuesto(), new Estado(repuesto, repuesto.getStockActual()));
+        }
+        movimientoRepository.recorrerMovimientos(null, hoy.minusDays((long) (4 * ventanaDias)), hoy, movimiento -> {
+            Estado estado = nuevos.get(movimiento.getIdRepuesto());
+            if (estado != null && esSalida(movimiento)) {
+                registrarConsumo(estado, movimiento);
+            }
+        });
+        enAlerta.clear();
+        estados = nuevos;
+        nuevos.values().forEach(this::evaluar);
+    }
+
+    /**
+     * Vuelve a leer el nombre y la unidad de los repuestos y descarta los eliminados; el stock y el consumo se
+     * conservan, porque solo los movimientos los cambian.
+     */
+    @Scheduled(initialDelayString = "${taller.inventario.alertas.reconciliar-ms:600000}",
+            fixedDelayString = "${taller.inventario.alertas.reconciliar-ms:600000}")
+    public void reconciliar() {
+        try {
+            Map<Integer, Estado> actuales = estados;
+            if (actuales == null) {
+                cargar(LocalDate.now());
+                return;
+            }
+            // Solo se descartan los que ya estaban antes de leer: uno creado durante la lectura no aparece en ella
+            Set<Integer> eliminados = new HashSet<>(actuales.keySet());
+            for (Repuesto repuesto : repuestoRepository.listarRepuestos()) {
+                eliminados.remove(repuesto.getIdRepuesto());
+                // Los repuestos sin estado no tienen movimientos desde la carga, así que no tienen consumo
+                Estado estado = actuales.get(repuesto.getIdRepuesto());
+                if (estado != null) {
+                    synchronized (estado) {
+                        estado.actualizar(repuesto);
+                    }
+                    evaluar(estado);
+                }
+            }
+            actuales.keySet().removeAll(eliminados);
+            enAlerta.removeAll(eliminados);
+        } catch (DataAccessException e) {
+            log.error("No se pudo reconciliar el stock de las alertas", e);
+        }
+    }
+
+    // =====================================================
+    // ACTUALIZACIÓN INCREMENTAL
+    // =====================================================
+
+    /**
+     * Aplica un movimiento ya confirmado al stock y, si es una salida, al consumo del repuesto.
+     */
+    @Override
+    public void movimientoRegistrado(MovimientoInventario movimiento) {
+        Map<Integer, Estado> actuales = estados;
+        if (actuales == null) {
+            return;
+        }
+        Estado estado = actuales.get(movimiento.getIdRepuesto());
+        if (estado == null) {
+            // Repuesto creado después de la carga: se registra con stock cero y su stock inicial llega como
+            // ajuste, así que se parte de cero y el movimiento se aplica como cualquier otro
+            Repuesto repuesto = repuestoRepository.buscarPorId(movimiento.getIdRepuesto());
+            if (repuesto == null) {
+                return;
+            }
+            estado = actuales.computeIfAbsent(repuesto.getIdRepuesto(), id -> new Estado(repuesto, 0));
+        }
+        synchronized (estado) {
+            estado.stock = MotorStock.stockDespues(estado.stock, movimiento);
+            if (esSalida(movimiento)) {
+                registrarConsumo(estado, movimiento);
+            }
+        }
+        evaluar(estado);
+    }
+
+    private void registrarConsumo(Estado estado, MovimientoInventario movimiento) {
+        synchronized (estado) {
+            long dia = movimiento.getFechaMovimiento().toEpochDay();
+            double aporte = movimiento.getCantidad() / ventanaDias;
+            if (dia >= estado.diaConsumo) {
+                estado.consumo = estado.consumo * decaimiento(dia - estado.diaConsumo) + aporte;
+                estado.diaConsumo = dia;
+            } else {
+                // Salida con fecha pasada: entra ya decaída hasta el último día registrado
+                estado.consumo += aporte * decaimiento(estado.diaConsumo - dia);
+            }
+        }
+    }
+
+    private void evaluar(Estado estado) {
+        if (alerta(estado, LocalDate.now()) != null) {
+            enAlerta.add(estado.idRepuesto);
+        } else {
+            enAlerta.remove(estado.idRepuesto);
+        }
+    }
+
+    // =====================================================
+    // CONSULTAS
+    // =====================================================
+
+    /**
+     * Repuestos en alerta a la fecha actual.
+     *
+     * @return alertas ordenadas por días de cobertura, los agotados primero
+     */
+    @Override
+    public List<AlertaStockDTO> alertas() {
+        return alertas(LocalDate.now());
+    }
+
+    /**
+     * Repuestos en alerta a la fecha indicada.
+     *
+     * @param hoy fecha a la que se decae el consumo
+     * @return alertas ordenadas por días de cobertura, los agotados primero
+     */
+    @Override
+    public List<AlertaStockDTO> alertas(LocalDate hoy) {
+        Map<Integer, Estado> actuales = estados;
+        List<AlertaStockDTO> resultado = new ArrayList<>();
+        if (actuales == null) {
+            return resultado;
+        }
+        for (Integer idRepuesto : enAlerta) {
+            Estado estado = actuales.get(idRepuesto);
+            AlertaStockDTO alerta = estado == null ? null : alerta(estado, hoy);
+            if (alerta != null) {
+                resultado.add(alerta);
+            }
+        }
+        resultado.sort(Comparator.comparingDouble(AlertaStockDTO::getDiasCobertura)
+                .thenComparingInt(AlertaStockDTO::getIdRepuesto));
+        return resultado;
+    }
+
+    /**
+     * Indica si ya se cargó el estado inicial.
+     *
+     * @return {@code true} si las alertas pueden responderse desde memoria
+     */
+    @Override
+    public boolean estaListo() {
+        return estados != null;
+    }
+
+    private AlertaStockDTO alerta(Estado estado, LocalDate hoy) {
+        synchronized (estado) {
+            long dias = hoy.toEpochDay() - estado.diaConsumo;
+            double consumo = estado.consumo * (dias > 0 ? decaimiento(dias) : 1);
+            if (consumo < CONSUMO_MINIMO) {
+                return null;
+            }
+            double puntoReorden = consumo * (plazoDias + seguridadDias);
+            if (estado.stock > puntoReorden) {
+                return null;
+            }
+            double disponible = Math.max(0, estado.stock);
+            double sugerida = Math.ceil(consumo * (plazoDias + seguridadDias + coberturaDias) - disponible);
+            return new AlertaStockDTO(estado.idRepuesto, estado.nombre, estado.unidadMedida,
+                    estado.stock <= 0 ? AGOTADO : BAJO, estado.stock, redondear(consumo), redondear(puntoReorden),
+                    redondear(disponible / consumo), Math.max(0, sugerida));
+        }
+    }
+
+    private double decaimiento(long dias) {
+        return Math.exp(-dias / ventanaDias);
+    }
+
+    private static boolean esSalida(MovimientoInventario movimiento) {
+        return MotorStock.SALIDA.equalsIgnoreCase(movimiento.getTipoMovimiento());
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+}
@@ -0,0 +1,105 @@
+package co.edu.uniquindio.tallermacanico.service.implement;
+
+import co.edu.uniquindio.tallermacanico.dto.AutocompletadoDTO;
+import co.edu.uniquindio.tallermacanico.repository.ClienteRepository;
+import co.edu.uniquindio.tallermacanico.repository.IndicePrefijos;
+import co.edu.uniquindio.tallermacanico.repository.VehiculoRepository;
+import co.edu.uniquindio.tallermacanico.service.AutocompletadoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link AutocompletadoService} sobre los índices en memoria de {@link VehiculoRepository} y
+ * {@link ClienteRepository}.
+ * <p>
+ * Los índices se construyen al arrancar y los registros y eliminaciones de los repositorios los mantienen al día;
+ * la reconstrucción periódica ({@code taller.autocompletado.recarga-ms}) recoge los cambios hechos directamente
+ * en la base de datos.
+ * </p>
+ */
+@Service
+public class AutocompletadoServiceImpl implements AutocompletadoService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompletadoServiceImpl.class);
+
+    private final IndicePrefijos<?> indicePlacas;
+    private final IndicePrefijos<?> indiceNombres;
+    private final int limiteMaximo;
+
+    public AutocompletadoServiceImpl(VehiculoRepository vehiculoRepository, ClienteRepository clienteRepository,
+                                     @Value("${taller.autocompletado.limite-maximo:50}") int limiteMaximo) {
+        this.indicePlacas = vehiculoRepository.indicePlacas();
+        this.indiceNombres = clienteRepository.indiceNombres();
+        this.limiteMaximo = Math.max(limiteMaximo, 1);
+    }
+
+    /**
+     * Busca vehículos y clientes cuyo texto empieza por la consulta, sin consultar la base de datos.
+     *
+     * @param consulta placa o nombre parcial; sin tildes ni mayúsculas importa igual
+     * @param limite   máximo de sugerencias por tipo; se recorta a {@code taller.autocompletado.limite-maximo}
+     * @return sugerencias de vehículos y de clientes
+     * @throws IllegalArgumentException si la consulta está vacía o el límite no es positivo
+     */
+    @Override
+    public AutocompletadoDTO autocompletar(String consulta, int limite) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new IllegalArgumentException("La consulta es obligatoria");
+        }
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero");
+        }
+        int limiteEfectivo = Math.min(limite, limiteMaximo);
+        return new AutocompletadoDTO(indicePlacas.buscar(consulta, limiteEfectivo),
+                indiceNombres.buscar(consulta, limiteEfectivo));
+    }
+
+    /**
+     * Construye los índices al terminar de arrancar la aplicación, para que la primera búsqueda no espere la lectura.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir();
+        log.info("Índices de autocompletado cargados: {}", metricas().values());
+    }
+
+    /**
+     * Reconstruye los índices; si uno falla, el otro se reconstruye igual y el fallido conserva su contenido.
+     */
+    @Scheduled(initialDelayString = "${taller.autocompletado.recarga-ms:600000}",
+            fixedDelayString = "${taller.autocompletado.recarga-ms:600000}")
+    public void reconstruir() {
+        for (IndicePrefijos<?> indice : List.of(indicePlacas, indiceNombres)) {
+            try {
+                indice.reconstruir();
+            } catch (DataAccessException e) {
+                log.error("No se pudo reconstruir el índice {}", indice.metricas().get("indice"), e);
+            }
+        }
+    }
+
+    /**
+     * Métricas de cada índice: filas, términos y reconstrucciones.
+     *
+     * @return mapa con las métricas por índice
+     */
+    @Override
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        for (IndicePrefijos<?> indice : List.of(indicePlacas, indiceNombres)) {
+            Map<String, Object> datos = new LinkedHashMap<>(indice.metricas());
+            metricas.put((String) datos.remove("indice"), datos);
+        }
+        return metricas;
+    }
+}
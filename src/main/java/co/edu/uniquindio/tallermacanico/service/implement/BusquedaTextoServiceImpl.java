@@ -0,0 +1,126 @@
+package co.edu.uniquindio.tallermacanico.service.implement;
+
+import co.edu.uniquindio.tallermacanico.dto.ResultadoTextoDTO;
+import co.edu.uniquindio.tallermacanico.model.OrdenTrabajo;
+import co.edu.uniquindio.tallermacanico.model.Supervision;
+import co.edu.uniquindio.tallermacanico.repository.IndiceTextoCompleto;
+import co.edu.uniquindio.tallermacanico.repository.OrdenTrabajoRepository;
+import co.edu.uniquindio.tallermacanico.repository.SupervisionRepository;
+import co.edu.uniquindio.tallermacanico.service.BusquedaTextoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link BusquedaTextoService} que responde desde el {@link IndiceTextoCompleto} sin consultar la
+ * base de datos.
+ * <p>
+ * El índice se construye al arrancar y los registros y eliminaciones de {@link OrdenTrabajoRepository} y
+ * {@link SupervisionRepository} lo mantienen al día; la reconstrucción periódica
+ * ({@code taller.busqueda-texto.recarga-ms}) recoge los cambios hechos directamente en la base de datos.
+ * </p>
+ */
+@Service
+public class BusquedaTextoServiceImpl implements BusquedaTextoService {
+
+    private static final Logger log = LoggerFactory.getLogger(BusquedaTextoServiceImpl.class);
+
+    private final OrdenTrabajoRepository ordenTrabajoRepository;
+    private final SupervisionRepository supervisionRepository;
+    private final IndiceTextoCompleto indiceTexto;
+    private final int limiteMaximo;
+
+    public BusquedaTextoServiceImpl(OrdenTrabajoRepository ordenTrabajoRepository,
+                                    SupervisionRepository supervisionRepository,
+                                    IndiceTextoCompleto indiceTexto,
+                                    @Value("${taller.busqueda-texto.limite-maximo:50}") int limiteMaximo) {
+        this.ordenTrabajoRepository = ordenTrabajoRepository;
+        this.supervisionRepository = supervisionRepository;
+        this.indiceTexto = indiceTexto;
+        this.limiteMaximo = Math.max(limiteMaximo, 1);
+    }
+
+    /**
+     * Busca diagnósticos y observaciones que contengan las palabras de la consulta, los más relevantes primero.
+     *
+     * @param consulta palabras a buscar; no importan tildes, mayúsculas, plurales ni palabras como "de" o "la"
+     * @param tipo     {@code orden_trabajo}, {@code supervision} o {@code null} para ambos
+     * @param limite   máximo de resultados; se recorta a {@code taller.busqueda-texto.limite-maximo}
+     * @return resultados ordenados por puntaje
+     * @throws IllegalArgumentException si la consulta está vacía, el tipo no existe o el límite no es positivo
+     */
+    @Override
+    public List<ResultadoTextoDTO> buscar(String consulta, String tipo, int limite) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new IllegalArgumentException("La consulta es obligatoria");
+        }
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero");
+        }
+        String tipoFiltro = tipo == null || tipo.isBlank() ? null : tipo.trim().toLowerCase();
+        if (tipoFiltro != null && !tipoFiltro.equals(IndiceTextoCompleto.ORDEN_TRABAJO)
+                && !tipoFiltro.equals(IndiceTextoCompleto.SUPERVISION)) {
+            throw new IllegalArgumentException("Tipo desconocido: " + tipo + ". Tipos válidos: "
+                    + IndiceTextoCompleto.ORDEN_TRABAJO + ", " + IndiceTextoCompleto.SUPERVISION);
+        }
+        if (!indiceTexto.cargado()) {
+            reconstruir();
+        }
+        return indiceTexto.buscar(consulta, tipoFiltro, Math.min(limite, limiteMaximo));
+    }
+
+    /**
+     * Construye el índice al terminar de arrancar la aplicación, para que la primera búsqueda no espere la lectura.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir();
+        log.info("Índice de texto completo cargado: {}", indiceTexto.metricas());
+    }
+
+    /**
+     * Vuelve a leer los diagnósticos y las observaciones; si la lectura falla se conserva el índice anterior.
+     */
+    @Scheduled(initialDelayString = "${taller.busqueda-texto.recarga-ms:600000}",
+            fixedDelayString = "${taller.busqueda-texto.recarga-ms:600000}")
+    public void reconstruir() {
+        try {
+            indiceTexto.reconstruir(this::leerDocumentos);
+        } catch (DataAccessException e) {
+            log.error("No se pudo reconstruir el índice de texto completo", e);
+        }
+    }
+
+    /**
+     * Métricas del índice: documentos, raíces y tamaño de las listas comprimidas.
+     *
+     * @return mapa con las métricas
+     */
+    @Override
+    public Map<String, Object> metricas() {
+        return indiceTexto.metricas();
+    }
+
+    private List<IndiceTextoCompleto.Documento> leerDocumentos() {
+        List<IndiceTextoCompleto.Documento> documentos = new ArrayList<>();
+        for (OrdenTrabajo orden : ordenTrabajoRepository.listarOrdenesTrabajo()) {
+            documentos.add(new IndiceTextoCompleto.Documento(IndiceTextoCompleto.ORDEN_TRABAJO,
+                    List.of(orden.getIdOrdenTrabajo()), orden.getDiagnosticoInicial()));
+        }
+        for (Supervision supervision : supervisionRepository.listarSupervisiones()) {
+            documentos.add(new IndiceTextoCompleto.Documento(IndiceTextoCompleto.SUPERVISION,
+                    List.of(supervision.getIdOrdenServicio(), supervision.getIdMecanicoSupervisor(),
+                            supervision.getIdMecanicoSupervisado()), supervision.getObservaciones()));
+        }
+        return documentos;
+    }
+}
@@ -48,6 +48,16 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     public void registrarCliente(Cliente cliente) {
+        validarDatos(cliente);
+        clienteRepository.registrarCliente(cliente);
+    }
+
+    /**
+     * Valida los campos obligatorios y el formato de un cliente; también la usa la importación masiva.
+     * @param cliente cliente a validar
+     * @throws IllegalArgumentException si los datos son inválidos
+     */
+    public static void validarDatos(Cliente cliente) {
         if (cliente.getNombre() == null || cliente.getNombre().isBlank()) {
             throw new IllegalArgumentException("El nombre del cliente es obligatorio");
         }
@@ -62,7 +72,6 @@ public class ClienteServiceImpl implements ClienteService {
         if (cliente.getTelefono() != null && cliente.getTelefono().length() > 20) {
             throw new IllegalArgumentException("El teléfono no puede superar los 20 caracteres");
         }
-        clienteRepository.registrarCliente(cliente);
     }
 
     /**
@@ -0,0 +1,264 @@
+package co.edu.uniquindio.tallermacanico.service.implement;
+
+import co.edu.uniquindio.tallermacanico.dto.StockFechaDTO;
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+import co.edu.uniquindio.tallermacanico.repository.MovimientoInventarioRepository;
+import co.edu.uniquindio.tallermacanico.repository.RepuestoRepository;
+import co.edu.uniquindio.tallermacanico.service.CortesStock;
+import co.edu.uniquindio.tallermacanico.service.MotorStock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Implementación de {@link CortesStock} con los cortes guardados en memoria.
+ * <p>
+ * Para no recorrer el libro completo en cada consulta, se guarda el stock de cada repuesto al cierre de cada
+ * periodo de {@code taller.inventario.cortes.periodo-dias} días en el que tuvo movimientos; una consulta busca
+ * el corte anterior más cercano ({@code floorEntry}, O(log n)) y solo lee los movimientos del repuesto
+ * posteriores a él.
+ * </p>
+ * <p>
+ * Los cortes se construyen al arrancar con una sola pasada por el libro y avanzan periódicamente
+ * ({@code taller.inventario.cortes.intervalo-ms}) hasta el último periodo cerrado antes de ayer. Un movimiento
+ * registrado con fecha anterior a un corte lo invalida desde esa fecha; el repuesto se recalcula en la siguiente
+ * pasada y mientras tanto sus consultas parten del corte válido anterior. Los movimientos no se eliminan.
+ * </p>
+ */
+@Service
+public class CortesStockImpl implements CortesStock {
+
+    private static final Logger log = LoggerFactory.getLogger(CortesStockImpl.class);
+
+    private final MovimientoInventarioRepository movimientoRepository;
+    private final RepuestoRepository repuestoRepository;
+    private final int periodoDias;
+
+    private final Map<Integer, Cortes> cortes = new ConcurrentHashMap<>();
+    private final Set<Integer> pendientes = ConcurrentHashMap.newKeySet();
+
+    /** Cuenta las invalidaciones; cada pasada descarta lo calculado de los repuestos invalidados después de empezar. */
+    private final AtomicLong generacion = new AtomicLong();
+
+    /** Último cierre hasta el que se recorrió todo el libro; {@code null} antes de la primera pasada. */
+    private volatile LocalDate corteGeneral;
+
+    /** Cierre que se está calculando, para que las invalidaciones concurrentes no se pierdan. */
+    private volatile LocalDate corteEnCurso;
+
+    public CortesStockImpl(MovimientoInventarioRepository movimientoRepository, RepuestoRepository repuestoRepository,
+                           @Value("${taller.inventario.cortes.periodo-dias:7}") int periodoDias) {
+        this.movimientoRepository = movimientoRepository;
+        this.repuestoRepository = repuestoRepository;
+        this.periodoDias = Math.max(1, periodoDias);
+    }
+
+    /** Cortes de un repuesto: stock al cierre de cada periodo con movimientos. */
+    private static final class Cortes {
+        final ConcurrentSkipListMap<LocalDate, Double> valores = new ConcurrentSkipListMap<>();
+        /** Generación de la última invalidación; protegida por el propio objeto. */
+        long invalidadoEn;
+    }
+
+    // =====================================================
+    // CONSTRUCCIÓN
+    // =====================================================
+
+    /**
+     * Construye los cortes al terminar de arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        actualizar();
+        log.info("Cortes de stock construidos al {}: {} repuestos", corteGeneral, cortes.size());
+    }
+
+    /**
+     * Avanza los cortes hasta el último periodo cerrado antes de ayer y recalcula los repuestos invalidados.
+     */
+    @Scheduled(initialDelayString = "${taller.inventario.cortes.intervalo-ms:3600000}",
+            fixedDelayString = "${taller.inventario.cortes.intervalo-ms:3600000}")
+    public void actualizar() {
+        try {
+            actualizarHasta(LocalDate.now().minusDays(1));
+        } catch (DataAccessException e) {
+            log.error("No se pudieron actualizar los cortes de stock; las consultas recorrerán más movimientos", e);
+        }
+    }
+
+    /**
+     * Avanza los cortes hasta el último cierre de periodo que no pasa de la fecha indicada.
+     *
+     * @param fecha último día que pueden cubrir los cortes
+     */
+    @Override
+    public synchronized void actualizarHasta(LocalDate fecha) {
+        LocalDate cierre = cierreAnterior(fecha);
+        LocalDate anterior = corteGeneral;
+        if (anterior == null || cierre.isAfter(anterior)) {
+            corteEnCurso = cierre;
+            try {
+                long inicio = generacion.get();
+                Map<Integer, Map<LocalDate, Double>> nuevos = recorrer(null, anterior, cierre);
+                nuevos.forEach((idRepuesto, valores) -> {
+                    if (!pendientes.contains(idRepuesto)) {
+                        guardar(idRepuesto, valores, inicio);
+                    }
+                });
+                corteGeneral = cierre;
+            } finally {
+                corteEnCurso = null;
+            }
+        }
+
+        for (Integer idRepuesto : new ArrayList<>(pendientes)) {
+            long inicio = generacion.get();
+            Cortes actuales = cortes.get(idRepuesto);
+            LocalDate desde = actuales == null || actuales.valores.isEmpty() ? null : actuales.valores.lastKey();
+            Map<LocalDate, Double> valores = recorrer(idRepuesto, desde, corteGeneral)
+                    .getOrDefault(idRepuesto, Map.of());
+            if (guardar(idRepuesto, valores, inicio)) {
+                pendientes.remove(idRepuesto);
+            }
+        }
+    }
+
+    /**
+     * Calcula el stock al cierre de cada periodo con movimientos en el rango, partiendo del corte vigente.
+     */
+    private Map<Integer, Map<LocalDate, Double>> recorrer(Integer idRepuesto, LocalDate desde, LocalDate hasta) {
+        Recorrido recorrido = new Recorrido(desde);
+        movimientoRepository.recorrerMovimientos(idRepuesto, desde, hasta, recorrido);
+        return recorrido.resultado;
+    }
+
+    /** Acumula el stock de cada repuesto mientras se lee el libro ordenado por repuesto, fecha e ID. */
+    private final class Recorrido implements Consumer<MovimientoInventario> {
+        final LocalDate desde;
+        final Map<Integer, Map<LocalDate, Double>> resultado = new HashMap<>();
+        Map<LocalDate, Double> valores;
+        int idRepuesto;
+        double stock;
+
+        Recorrido(LocalDate desde) {
+            this.desde = desde;
+        }
+
+        @Override
+        public void accept(MovimientoInventario movimiento) {
+            if (valores == null || movimiento.getIdRepuesto() != idRepuesto) {
+                idRepuesto = movimiento.getIdRepuesto();
+                stock = desde == null ? 0 : stockAl(idRepuesto, desde);
+                valores = new LinkedHashMap<>();
+                resultado.put(idRepuesto, valores);
+            }
+            stock = MotorStock.stockDespues(stock, movimiento);
+            // El último movimiento del periodo deja el valor del cierre
+            valores.put(cierreDe(movimiento.getFechaMovimiento()), stock);
+        }
+    }
+
+    private boolean guardar(int idRepuesto, Map<LocalDate, Double> valores, long inicio) {
+        Cortes destino = cortes.computeIfAbsent(idRepuesto, id -> new Cortes());
+        synchronized (destino) {
+            if (destino.invalidadoEn > inicio) {
+                return false;
+            }
+            destino.valores.putAll(valores);
+            return true;
+        }
+    }
+
+    // =====================================================
+    // CAMBIOS EN EL LIBRO
+    // =====================================================
+
+    /**
+     * Invalida los cortes afectados por un movimiento registrado. Debe llamarse después del commit.
+     */
+    @Override
+    public void movimientoRegistrado(MovimientoInventario movimiento) {
+        LocalDate limite = corteEnCurso != null ? corteEnCurso : corteGeneral;
+        if (limite == null || movimiento.getFechaMovimiento().isAfter(limite)) {
+            return; // la siguiente pasada lo recorre
+        }
+        Cortes afectados = cortes.computeIfAbsent(movimiento.getIdRepuesto(), id -> new Cortes());
+        synchronized (afectados) {
+            afectados.valores.tailMap(movimiento.getFechaMovimiento(), true).clear();
+            afectados.invalidadoEn = generacion.incrementAndGet();
+            pendientes.add(movimiento.getIdRepuesto());
+        }
+    }
+
+    // =====================================================
+    // CONSULTAS
+    // =====================================================
+
+    /**
+     * Calcula el stock de un repuesto al cierre de una fecha.
+     *
+     * @param idRepuesto identificador del repuesto
+     * @param fecha      fecha de la consulta (incluye sus movimientos)
+     * @return stock a esa fecha, o {@code null} si el repuesto no existe
+     */
+    @Override
+    public StockFechaDTO consultar(int idRepuesto, LocalDate fecha) {
+        if (repuestoRepository.consultarStock(idRepuesto) == null) {
+            return null;
+        }
+        Cortes actuales = cortes.get(idRepuesto);
+        Map.Entry<LocalDate, Double> corte = actuales == null ? null : actuales.valores.floorEntry(fecha);
+        double[] stock = {corte == null ? 0 : corte.getValue()};
+        int[] leidos = {0};
+        movimientoRepository.recorrerMovimientos(idRepuesto, corte == null ? null : corte.getKey(), fecha, movimiento -> {
+            stock[0] = MotorStock.stockDespues(stock[0], movimiento);
+            leidos[0]++;
+        });
+        return new StockFechaDTO(idRepuesto, fecha, stock[0], corte == null ? null : corte.getKey(), leidos[0]);
+    }
+
+    /**
+     * Cierres guardados de un repuesto, en orden.
+     *
+     * @param idRepuesto identificador del repuesto
+     * @return fechas de los cortes vigentes
+     */
+    @Override
+    public List<LocalDate> cierres(int idRepuesto) {
+        Cortes actuales = cortes.get(idRepuesto);
+        return actuales == null ? List.of() : new ArrayList<>(actuales.valores.keySet());
+    }
+
+    private double stockAl(int idRepuesto, LocalDate fecha) {
+        Cortes actuales = cortes.get(idRepuesto);
+        Map.Entry<LocalDate, Double> corte = actuales == null ? null : actuales.valores.floorEntry(fecha);
+        return corte == null ? 0 : corte.getValue();
+    }
+
+    /** Último día del periodo que contiene la fecha. */
+    private LocalDate cierreDe(LocalDate fecha) {
+        return LocalDate.ofEpochDay(Math.floorDiv(fecha.toEpochDay(), periodoDias) * periodoDias + periodoDias - 1);
+    }
+
+    /** Último cierre de periodo que no pasa de la fecha. */
+    private LocalDate cierreAnterior(LocalDate fecha) {
+        return LocalDate.ofEpochDay(Math.floorDiv(fecha.toEpochDay() + 1, periodoDias) * periodoDias - 1);
+    }
+}
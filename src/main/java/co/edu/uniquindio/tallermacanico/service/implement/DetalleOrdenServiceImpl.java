@@ -0,0 +1,104 @@
+package co.edu.uniquindio.tallermacanico.service.implement;
+
+import co.edu.uniquindio.tallermacanico.dto.DetalleOrdenDTO;
+import co.edu.uniquindio.tallermacanico.dto.MecanicoDetalleOrdenDTO;
+import co.edu.uniquindio.tallermacanico.dto.ServicioDetalleOrdenDTO;
+import co.edu.uniquindio.tallermacanico.repository.DetalleOrdenRepository;
+import co.edu.uniquindio.tallermacanico.service.DetalleOrdenService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementación de {@link DetalleOrdenService}: arma el detalle completo de una orden de trabajo en el servidor.
+ * <p>
+ * La cabecera (orden, estado, vehículo y cliente) es una sola consulta y cada sección pedida agrega una más,
+ * así que el detalle completo son cinco consultas sin importar el número de líneas. Todas se hacen en una
+ * transacción de solo lectura, con una misma conexión del pool.
+ * </p>
+ */
+@Service
+public class DetalleOrdenServiceImpl implements DetalleOrdenService {
+
+    private final DetalleOrdenRepository detalleOrdenRepository;
+    private final TransactionTemplate transaccionLectura;
+
+    public DetalleOrdenServiceImpl(DetalleOrdenRepository detalleOrdenRepository,
+                                   TransactionTemplate transactionTemplate) {
+        this.detalleOrdenRepository = detalleOrdenRepository;
+        this.transaccionLectura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transaccionLectura.setReadOnly(true);
+    }
+
+    /**
+     * Obtiene el detalle de una orden con las secciones indicadas.
+     *
+     * @param idOrdenTrabajo identificador de la orden
+     * @param incluir        secciones separadas por comas ({@link #SECCIONES}); {@code null} o vacío para todas.
+     *                       {@code mecanicos} incluye también los servicios, donde van anidados
+     * @return detalle de la orden, o {@code null} si no existe
+     * @throws IllegalArgumentException si el ID no es positivo o alguna sección no existe
+     */
+    @Override
+    public DetalleOrdenDTO obtenerDetalle(int idOrdenTrabajo, String incluir) {
+        if (idOrdenTrabajo <= 0) {
+            throw new IllegalArgumentException("El ID de la orden de trabajo debe ser mayor que cero");
+        }
+        Set<String> secciones = secciones(incluir);
+        return transaccionLectura.execute(estado -> armar(idOrdenTrabajo, secciones));
+    }
+
+    private DetalleOrdenDTO armar(int idOrdenTrabajo, Set<String> secciones) {
+        DetalleOrdenDTO detalle = detalleOrdenRepository.buscarCabecera(idOrdenTrabajo);
+        if (detalle == null) {
+            return null;
+        }
+        if (!secciones.contains(VEHICULO)) {
+            detalle.setVehiculo(null);
+        }
+        if (!secciones.contains(CLIENTE)) {
+            detalle.setCliente(null);
+        }
+        if (secciones.contains(SERVICIOS) || secciones.contains(MECANICOS)) {
+            List<ServicioDetalleOrdenDTO> servicios = detalleOrdenRepository.listarServicios(idOrdenTrabajo);
+            if (secciones.contains(MECANICOS)) {
+                Map<Integer, List<MecanicoDetalleOrdenDTO>> mecanicos =
+                        detalleOrdenRepository.listarMecanicosPorServicio(idOrdenTrabajo);
+                for (ServicioDetalleOrdenDTO servicio : servicios) {
+                    servicio.setMecanicos(mecanicos.getOrDefault(servicio.getIdOrdenServicio(), List.of()));
+                }
+            }
+            detalle.setServicios(servicios);
+        }
+        if (secciones.contains(REPUESTOS)) {
+            detalle.setRepuestos(detalleOrdenRepository.listarRepuestos(idOrdenTrabajo));
+        }
+        if (secciones.contains(FACTURAS)) {
+            detalle.setFacturas(detalleOrdenRepository.listarFacturas(idOrdenTrabajo));
+        }
+        return detalle;
+    }
+
+    private static Set<String> secciones(String incluir) {
+        if (incluir == null || incluir.isBlank()) {
+            return Set.copyOf(SECCIONES);
+        }
+        Set<String> secciones = new LinkedHashSet<>();
+        for (String parte : incluir.split(",")) {
+            String seccion = parte.trim().toLowerCase();
+            if (seccion.isEmpty()) {
+                continue;
+            }
+            if (!SECCIONES.contains(seccion)) {
+                throw new IllegalArgumentException("Sección desconocida: " + parte.trim()
+                        + ". Secciones válidas: " + String.join(", ", SECCIONES));
+            }
+            secciones.add(seccion);
+        }
+        return secciones;
+    }
+}
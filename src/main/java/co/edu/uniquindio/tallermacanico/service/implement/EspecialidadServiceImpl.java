@@ -1,5 +1,6 @@
 package co.edu.uniquindio.tallermacanico.service.implement;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Especialidad;
 import co.edu.uniquindio.tallermacanico.repository.EspecialidadRepository;
 import co.edu.uniquindio.tallermacanico.service.EspecialidadService;
@@ -22,6 +23,11 @@ public class EspecialidadServiceImpl implements EspecialidadService {
         return repository.listarEspecialidades();
     }
 
+    @Override
+    public PaginaDTO<Especialidad> listarEspecialidadesPagina(String cursor, int tamanio) {
+        return repository.listarEspecialidadesPagina(cursor, tamanio);
+    }
+
     @Override
     public Especialidad buscarPorId(int id) {
         if (id <= 0) {
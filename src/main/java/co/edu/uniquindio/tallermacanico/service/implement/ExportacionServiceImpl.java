@@ -0,0 +1,210 @@
+package co.edu.uniquindio.tallermacanico.service.implement;
+
+import co.edu.uniquindio.tallermacanico.repository.ExportacionRepository;
+import co.edu.uniquindio.tallermacanico.service.ExportacionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Locale;
+
+/**
+ * Implementación de {@link ExportacionService}: exporta tablas completas en formato NDJSON o CSV
+ * escribiendo directamente sobre el flujo de salida HTTP.
+ * <p>
+ * Cada fila se serializa en cuanto llega del cursor JDBC y se descarta, por lo que el consumo
+ * de memoria es constante sin importar el tamaño de la tabla.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportacionServiceImpl implements ExportacionService {
+
+    /** Cada cuántas filas se vacía el buffer hacia el cliente. */
+    private static final int FILAS_POR_FLUSH = 1000;
+
+    private final ExportacionRepository exportacionRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Resuelve el nombre de la tabla a exportar.
+     *
+     * @param entidad nombre recibido en la URL
+     * @return nombre de la tabla, o {@code null} si la entidad no es exportable
+     */
+    @Override
+    public String resolverTabla(String entidad) {
+        return exportacionRepository.resolverTabla(entidad);
+    }
+
+    /**
+     * Indica si el formato solicitado es soportado.
+     *
+     * @param formato formato solicitado
+     * @return {@code true} si es ndjson o csv
+     */
+    @Override
+    public boolean esFormatoValido(String formato) {
+        return FORMATO_NDJSON.equalsIgnoreCase(formato) || FORMATO_CSV.equalsIgnoreCase(formato);
+    }
+
+    /**
+     * Escribe todas las filas de la tabla en el flujo indicado.
+     *
+     * @param tabla   tabla ya resuelta con {@link #resolverTabla(String)}
+     * @param formato {@link #FORMATO_NDJSON} o {@link #FORMATO_CSV}
+     * @param salida  flujo de salida de la respuesta HTTP
+     * @throws IOException si falla la escritura
+     */
+    @Override
+    public void exportar(String tabla, String formato, OutputStream salida) throws IOException {
+        if (FORMATO_CSV.equalsIgnoreCase(formato)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+            exportacionRepository.recorrerTabla(tabla, new CsvExtractor(writer));
+            writer.flush();
+        } else {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(salida);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            exportacionRepository.recorrerTabla(tabla, new NdjsonExtractor(generator));
+            generator.writeRaw('\n');
+            generator.close();
+        }
+    }
+
+    /**
+     * Escribe cada fila como un objeto JSON independiente (una línea por fila).
+     */
+    private static class NdjsonExtractor implements ResultSetExtractor<Void> {
+
+        private final JsonGenerator generator;
+
+        NdjsonExtractor(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public Void extractData(ResultSet rs) throws SQLException {
+            String[] columnas = leerColumnas(rs.getMetaData());
+            try {
+                int filas = 0;
+                while (rs.next()) {
+                    generator.writeStartObject();
+                    for (int i = 0; i < columnas.length; i++) {
+                        generator.writeFieldName(columnas[i]);
+                        escribirValor(rs.getObject(i + 1));
+                    }
+                    generator.writeEndObject();
+                    if (++filas % FILAS_POR_FLUSH == 0) {
+                        generator.flush();
+                    }
+                }
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error al escribir la exportación NDJSON", e);
+            }
+        }
+
+        private void escribirValor(Object valor) throws IOException {
+            if (valor == null) {
+                generator.writeNull();
+            } else if (valor instanceof BigDecimal decimal) {
+                generator.writeNumber(decimal);
+            } else if (valor instanceof Number numero) {
+                generator.writeNumber(numero.toString());
+            } else {
+                generator.writeString(formatearTexto(valor));
+            }
+        }
+    }
+
+    /**
+     * Escribe las filas en formato CSV (RFC 4180). El encabezado sale de los metadatos de la consulta antes de
+     * leer la primera fila, así que una tabla vacía exporta solo el encabezado.
+     */
+    private static class CsvExtractor implements ResultSetExtractor<Void> {
+
+        private final Writer writer;
+
+        CsvExtractor(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public Void extractData(ResultSet rs) throws SQLException {
+            String[] nombres = leerColumnas(rs.getMetaData());
+            try {
+                escribirLinea(nombres);
+                String[] valores = new String[nombres.length];
+                int filas = 0;
+                while (rs.next()) {
+                    for (int i = 0; i < valores.length; i++) {
+                        Object valor = rs.getObject(i + 1);
+                        valores[i] = valor == null ? "" : formatearTexto(valor);
+                    }
+                    escribirLinea(valores);
+                    if (++filas % FILAS_POR_FLUSH == 0) {
+                        writer.flush();
+                    }
+                }
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error al escribir la exportación CSV", e);
+            }
+        }
+
+        private void escribirLinea(String[] valores) throws IOException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escaparCsv(valores[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escaparCsv(String valor) {
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0
+                    && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+                return valor;
+            }
+            return '"' + valor.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static String[] leerColumnas(ResultSetMetaData metaData) throws SQLException {
+        String[] nombres = new String[metaData.getColumnCount()];
+        for (int i = 0; i < nombres.length; i++) {
+            nombres[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+        }
+        return nombres;
+    }
+
+    /**
+     * Convierte fechas de Oracle a ISO-8601 y el resto de valores a texto.
+     */
+    private static String formatearTexto(Object valor) {
+        if (valor instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (valor instanceof java.sql.Date fecha) {
+            return fecha.toLocalDate().toString();
+        }
+        return valor.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package co.edu.uniquindio.tallermacanico.service.implement;
 
 import co.edu.uniquindio.tallermacanico.model.Factura;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.EstadisticasIncrementales;
 import co.edu.uniquindio.tallermacanico.repository.FacturaRepository;
 import co.edu.uniquindio.tallermacanico.service.FacturaService;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import java.util.List;
 public class FacturaServiceImpl implements FacturaService {
 
     private final FacturaRepository facturaRepository;
+    private final EstadisticasIncrementales estadisticasIncrementales;
 
     /**
      * Lista todas las facturas registradas en la base de datos.
@@ -42,7 +44,7 @@ public class FacturaServiceImpl implements FacturaService {
     }
 
     /**
-     * Registra una nueva factura validando los campos obligatorios.
+     * Registra una nueva factura validando los campos obligatorios y le asigna el ID generado.
      * @param factura objeto con los datos de la factura
      * @throws IllegalArgumentException si los datos son inválidos
      */
@@ -69,20 +71,28 @@ public class FacturaServiceImpl implements FacturaService {
         if (factura.getTotal() < 0) {
             throw new IllegalArgumentException("El total no puede ser negativo");
         }
-        facturaRepository.registrarFactura(factura);
+        factura.setIdFactura(facturaRepository.registrarFactura(factura));
+        estadisticasIncrementales.facturaRegistrada(factura);
     }
 
     /**
      * Elimina una factura por su ID, validando que sea positivo.
+     * La factura se lee antes de eliminarla para descontarla de las estadísticas.
      * @param id identificador de la factura
+     * @return {@code true} si se eliminó, {@code false} si no existía
      * @throws IllegalArgumentException si el ID es inválido
      */
     @Override
-    public void eliminarFactura(int id) {
+    public boolean eliminarFactura(int id) {
         if (id <= 0) {
             throw new IllegalArgumentException("El ID de la factura debe ser mayor que cero");
         }
-        facturaRepository.eliminarFactura(id);
+        Factura factura = facturaRepository.buscarPorId(id);
+        boolean eliminada = facturaRepository.eliminarFactura(id);
+        if (eliminada && factura != null) {
+            estadisticasIncrementales.facturaEliminada(factura);
+        }
+        return eliminada;
     }
 }
 
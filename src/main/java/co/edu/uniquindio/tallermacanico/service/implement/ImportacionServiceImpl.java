@@ -0,0 +1,479 @@
+package co.edu.uniquindio.tallermacanico.service.implement;
+
+import co.edu.uniquindio.tallermacanico.dto.TrabajoImportacionDTO;
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.model.Vehiculo;
+import co.edu.uniquindio.tallermacanico.repository.ClienteRepository;
+import co.edu.uniquindio.tallermacanico.repository.VehiculoRepository;
+import co.edu.uniquindio.tallermacanico.service.EjecutorTrabajos;
+import co.edu.uniquindio.tallermacanico.service.ImportacionService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementación de la importación masiva de clientes y vehículos desde un archivo CSV.
+ * <p>
+ * El cuerpo de la petición se copia a disco sin pasar por memoria y la importación corre en segundo plano
+ * en un pool de {@code taller.importacion.hilos} hilos. El archivo se lee registro a registro con
+ * {@link LectorCsv}; las filas válidas se acumulan en un bloque de {@code taller.importacion.tamanio-bloque}
+ * filas que se escribe en una transacción con un {@code batchUpdate} para clientes y otro para vehículos.
+ * El lector no avanza hasta que el bloque anterior se confirma, así que en memoria hay a lo sumo un bloque de
+ * filas y una base de datos lenta frena la lectura en lugar de acumular filas pendientes. Lo único que crece con
+ * el archivo son las {@code ref} de los clientes y las placas ya leídas, que se guardan hasta el final para
+ * resolver referencias y detectar placas repetidas; en un archivo de {@code taller.importacion.max-megas} son
+ * a lo sumo unos pocos millones de cadenas cortas.
+ * </p>
+ *
+ * <p>El pool, el cupo de importaciones activas y la retención de las terminadas los lleva {@link EjecutorTrabajos}.
+ * El formato del archivo se describe en {@link ImportacionService}.</p>
+ */
+@Service
+public class ImportacionServiceImpl implements ImportacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionServiceImpl.class);
+
+    /** Límite de Oracle para los elementos de una lista {@code IN}, que se usa para validar cada bloque. */
+    private static final int MAX_TAMANIO_BLOQUE = 1000;
+
+    private final ClienteRepository clienteRepository;
+    private final VehiculoRepository vehiculoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanioBloque;
+    private final long maxBytes;
+    private final EjecutorTrabajos<Trabajo> trabajos;
+
+    public ImportacionServiceImpl(ClienteRepository clienteRepository, VehiculoRepository vehiculoRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${taller.importacion.directorio:${java.io.tmpdir}/taller-importaciones}") String directorio,
+                                  @Value("${taller.importacion.tamanio-bloque:500}") int tamanioBloque,
+                                  @Value("${taller.importacion.hilos:1}") int hilos,
+                                  @Value("${taller.importacion.capacidad:10}") int capacidad,
+                                  @Value("${taller.importacion.max-megas:200}") long maxMegas,
+                                  @Value("${taller.importacion.retencion-minutos:60}") long retencionMinutos,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.clienteRepository = clienteRepository;
+        this.vehiculoRepository = vehiculoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanioBloque = Math.min(Math.max(tamanioBloque, 1), MAX_TAMANIO_BLOQUE);
+        this.maxBytes = Math.max(maxMegas, 1) * 1024 * 1024;
+        this.trabajos = new EjecutorTrabajos<>("importacion", "importaciones", directorio, hilos, capacidad,
+                retencionMinutos, hilosVirtuales);
+    }
+
+    /**
+     * Estado de una importación. Solo el hilo que la ejecuta escribe los contadores.
+     */
+    private static final class Trabajo extends EjecutorTrabajos.Trabajo {
+        final char separador;
+        final Path archivo;
+        final Path rechazos;
+        volatile long bytesTotales;
+        volatile long bytesProcesados;
+        volatile long filasLeidas;
+        volatile long clientesRegistrados;
+        volatile long vehiculosRegistrados;
+        volatile long filasRechazadas;
+
+        Trabajo(Path directorio, char separador) {
+            this.separador = separador;
+            this.archivo = directorio.resolve(id + ".csv");
+            this.rechazos = directorio.resolve(id + "-rechazos.csv");
+        }
+
+        @Override
+        protected Path archivoResultado() {
+            return rechazos;
+        }
+    }
+
+    /**
+     * Guarda el archivo recibido y encola su importación.
+     *
+     * @param cuerpo    contenido CSV en UTF-8
+     * @param separador separador de campos ({@code ,} o {@code ;})
+     * @return estado inicial de la importación
+     * @throws IllegalArgumentException si el separador no es válido o el archivo está vacío o supera el tamaño máximo
+     * @throws IllegalStateException    si ya hay {@code taller.importacion.capacidad} importaciones activas
+     * @throws IOException              si falla la lectura del cuerpo o la escritura en disco
+     */
+    @Override
+    public TrabajoImportacionDTO encolar(InputStream cuerpo, char separador) throws IOException {
+        if (separador != ',' && separador != ';') {
+            throw new IllegalArgumentException("El separador debe ser ',' o ';'");
+        }
+        if (!trabajos.reservar()) {
+            throw new IllegalStateException("Hay " + trabajos.capacidad() + " importaciones en curso");
+        }
+
+        Trabajo trabajo = new Trabajo(trabajos.directorio(), separador);
+        try {
+            trabajo.bytesTotales = copiar(cuerpo, trabajo.archivo);
+            if (trabajo.bytesTotales == 0) {
+                throw new IllegalArgumentException("El archivo está vacío");
+            }
+        } catch (IOException | RuntimeException e) {
+            EjecutorTrabajos.borrar(trabajo.archivo);
+            trabajos.liberar();
+            throw e;
+        }
+
+        trabajos.registrar(trabajo);
+        trabajos.ejecutar(trabajo, () -> importar(trabajo));
+        return aDTO(trabajo);
+    }
+
+    /**
+     * Consulta el avance de una importación.
+     *
+     * @param id identificador de la importación
+     * @return avance, o {@code null} si no existe o ya se borró
+     */
+    @Override
+    public TrabajoImportacionDTO consultar(String id) {
+        Trabajo trabajo = trabajos.buscar(id);
+        return trabajo != null ? aDTO(trabajo) : null;
+    }
+
+    /**
+     * Reporte de filas rechazadas de una importación terminada ({@code linea,tipo,error,registro}).
+     *
+     * @param id identificador de la importación
+     * @return ruta del reporte, o {@code null} si la importación no existe o no ha terminado
+     */
+    @Override
+    public Path rechazos(String id) {
+        Trabajo trabajo = trabajos.buscar(id);
+        return trabajo != null && trabajo.fechaFin != null && Files.exists(trabajo.rechazos) ? trabajo.rechazos : null;
+    }
+
+    /**
+     * Métricas de las importaciones.
+     *
+     * @return contadores e importaciones activas
+     */
+    @Override
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("encoladas", trabajos.encolados());
+        metricas.put("completadas", trabajos.completados());
+        metricas.put("fallidas", trabajos.fallidos());
+        metricas.put("rechazadas", trabajos.rechazados());
+        metricas.put("activas", trabajos.activos());
+        metricas.put("capacidad", trabajos.capacidad());
+        metricas.put("tamanioBloque", tamanioBloque);
+        return metricas;
+    }
+
+    /**
+     * Borra las importaciones terminadas hace más de {@code taller.importacion.retencion-minutos}.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void borrarVencidos() {
+        trabajos.borrarVencidos();
+    }
+
+    @PreDestroy
+    public void detener() {
+        trabajos.detener();
+    }
+
+    /**
+     * Lee el archivo por bloques; el archivo se borra al terminar, con o sin error.
+     */
+    private void importar(Trabajo trabajo) throws IOException {
+        try (FileChannel canal = FileChannel.open(trabajo.archivo, StandardOpenOption.READ);
+             LectorCsv lector = new LectorCsv(new BufferedReader(
+                     new InputStreamReader(Channels.newInputStream(canal), StandardCharsets.UTF_8)), trabajo.separador);
+             BufferedWriter rechazos = Files.newBufferedWriter(trabajo.rechazos, StandardCharsets.UTF_8)) {
+
+            rechazos.write("linea,tipo,error,registro");
+            rechazos.newLine();
+            List<String> encabezado = lector.siguiente();
+            if (encabezado == null) {
+                throw new IllegalArgumentException("El archivo no tiene encabezado");
+            }
+            Carga carga = new Carga(trabajo, columnas(encabezado), rechazos);
+
+            List<String> campos;
+            while ((campos = lector.siguiente()) != null) {
+                trabajo.filasLeidas++;
+                carga.agregar(lector.linea(), campos);
+                if (carga.bloque.size() >= tamanioBloque) {
+                    carga.escribirBloque();
+                    trabajo.bytesProcesados = Math.min(canal.position(), trabajo.bytesTotales);
+                }
+            }
+            carga.escribirBloque();
+            trabajo.bytesProcesados = trabajo.bytesTotales;
+        } finally {
+            EjecutorTrabajos.borrar(trabajo.archivo);
+        }
+    }
+
+    /**
+     * Fila válida a la espera de que se escriba su bloque.
+     */
+    private record Fila(long linea, List<String> campos, Cliente cliente, String ref,
+                        Vehiculo vehiculo, String refCliente) {
+    }
+
+    /**
+     * Estado de la lectura de un archivo: el bloque en curso y lo necesario para resolver referencias.
+     * <p>{@code clientesPorRef} guarda el ID de cada cliente ya confirmado y {@code 0} para los del bloque
+     * en curso; un cliente rechazado no aparece, así que sus vehículos también se rechazan.</p>
+     */
+    private final class Carga {
+        final Trabajo trabajo;
+        final Map<String, Integer> columnas;
+        final BufferedWriter rechazos;
+        final Map<String, Integer> clientesPorRef = new HashMap<>();
+        final Set<String> placas = new HashSet<>();
+        final List<Fila> bloque = new ArrayList<>();
+
+        Carga(Trabajo trabajo, Map<String, Integer> columnas, BufferedWriter rechazos) {
+            this.trabajo = trabajo;
+            this.columnas = columnas;
+            this.rechazos = rechazos;
+        }
+
+        /**
+         * Valida una fila y la agrega al bloque, o la escribe en el reporte de rechazos.
+         */
+        void agregar(long linea, List<String> campos) throws IOException {
+            String tipo = valor(campos, "tipo");
+            try {
+                if (TIPO_CLIENTE.equalsIgnoreCase(tipo)) {
+                    agregarCliente(linea, campos);
+                } else if (TIPO_VEHICULO.equalsIgnoreCase(tipo)) {
+                    agregarVehiculo(linea, campos);
+                } else {
+                    throw new IllegalArgumentException("El tipo debe ser CLIENTE o VEHICULO");
+                }
+            } catch (IllegalArgumentException e) {
+                rechazar(linea, campos, e.getMessage());
+            }
+        }
+
+        private void agregarCliente(long linea, List<String> campos) {
+            Cliente cliente = new Cliente(0, valor(campos, "nombre"), valor(campos, "apellido"),
+                    valor(campos, "direccion"), valor(campos, "telefono"), valor(campos, "email"));
+            ClienteServiceImpl.validarDatos(cliente);
+            String ref = valor(campos, "ref");
+            if (ref == null) {
+                throw new IllegalArgumentException("La referencia del cliente (ref) es obligatoria");
+            }
+            if (clientesPorRef.containsKey(ref)) {
+                throw new IllegalArgumentException("La referencia " + ref + " está repetida en el archivo");
+            }
+            clientesPorRef.put(ref, 0);
+            bloque.add(new Fila(linea, campos, cliente, ref, null, null));
+        }
+
+        private void agregarVehiculo(long linea, List<String> campos) {
+            Vehiculo vehiculo = new Vehiculo(0, 0, valor(campos, "placa"), valor(campos, "marca"),
+                    valor(campos, "modelo"), entero(valor(campos, "anio"), "anio"), valor(campos, "color"));
+            VehiculoServiceImpl.validarDatos(vehiculo);
+
+            String refCliente = valor(campos, "ref_cliente");
+            String idCliente = valor(campos, "id_cliente");
+            if ((refCliente == null) == (idCliente == null)) {
+                throw new IllegalArgumentException("El vehículo debe indicar ref_cliente o id_cliente, no ambos");
+            }
+            if (refCliente != null && !clientesPorRef.containsKey(refCliente)) {
+                throw new IllegalArgumentException("El cliente " + refCliente
+                        + " no aparece antes en el archivo o fue rechazado");
+            }
+            if (idCliente != null) {
+                vehiculo.setIdCliente(entero(idCliente, "id_cliente"));
+                if (vehiculo.getIdCliente() <= 0) {
+                    throw new IllegalArgumentException("El ID del cliente debe ser válido");
+                }
+            }
+            if (!placas.add(vehiculo.getPlaca().toUpperCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("La placa " + vehiculo.getPlaca() + " está repetida en el archivo");
+            }
+            bloque.add(new Fila(linea, campos, null, null, vehiculo, refCliente));
+        }
+
+        /**
+         * Comprueba contra la base de datos las placas y los clientes existentes del bloque
+         * (una consulta para cada uno) y escribe las filas aceptadas en una transacción.
+         * Las placas se comparan en mayúsculas, igual que las repetidas dentro del archivo.
+         * Si la transacción falla, todas sus filas pasan al reporte de rechazos.
+         */
+        void escribirBloque() throws IOException {
+            if (bloque.isEmpty()) {
+                return;
+            }
+            Set<String> placasBloque = new HashSet<>();
+            Set<Integer> idsBloque = new HashSet<>();
+            for (Fila fila : bloque) {
+                if (fila.vehiculo() != null) {
+                    placasBloque.add(fila.vehiculo().getPlaca().toUpperCase(Locale.ROOT));
+                    if (fila.refCliente() == null) {
+                        idsBloque.add(fila.vehiculo().getIdCliente());
+                    }
+                }
+            }
+            Set<String> placasRegistradas = vehiculoRepository.placasExistentes(placasBloque);
+            Set<Integer> clientesRegistrados = clienteRepository.idsExistentes(idsBloque);
+
+            List<Fila> aceptadas = new ArrayList<>(bloque.size());
+            List<Cliente> clientes = new ArrayList<>();
+            List<Vehiculo> vehiculos = new ArrayList<>();
+            for (Fila fila : bloque) {
+                if (fila.cliente() != null) {
+                    clientes.add(fila.cliente());
+                } else if (placasRegistradas.contains(fila.vehiculo().getPlaca().toUpperCase(Locale.ROOT))) {
+                    rechazar(fila.linea(), fila.campos(), "La placa " + fila.vehiculo().getPlaca() + " ya está registrada");
+                    continue;
+                } else if (fila.refCliente() == null && !clientesRegistrados.contains(fila.vehiculo().getIdCliente())) {
+                    rechazar(fila.linea(), fila.campos(), "El cliente " + fila.vehiculo().getIdCliente() + " no existe");
+                    continue;
+                } else {
+                    vehiculos.add(fila.vehiculo());
+                }
+                aceptadas.add(fila);
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(estado -> {
+                    clienteRepository.registrarClientes(clientes);
+                    Map<String, Integer> nuevos = new HashMap<>();
+                    for (Fila fila : aceptadas) {
+                        if (fila.cliente() != null) {
+                            nuevos.put(fila.ref(), fila.cliente().getIdCliente());
+                        } else if (fila.refCliente() != null) {
+                            fila.vehiculo().setIdCliente(nuevos.getOrDefault(fila.refCliente(),
+                                    clientesPorRef.get(fila.refCliente())));
+                        }
+                    }
+                    vehiculoRepository.registrarVehiculos(vehiculos);
+                });
+                for (Fila fila : aceptadas) {
+                    if (fila.cliente() != null) {
+                        clientesPorRef.put(fila.ref(), fila.cliente().getIdCliente());
+                    }
+                }
+                trabajo.clientesRegistrados += clientes.size();
+                trabajo.vehiculosRegistrados += vehiculos.size();
+            } catch (DataAccessException e) {
+                log.warn("Bloque revertido en la importación {}: {}", trabajo.id, e.getMostSpecificCause().getMessage());
+                for (Fila fila : aceptadas) {
+                    if (fila.cliente() != null) {
+                        clientesPorRef.remove(fila.ref());
+                    }
+                    rechazar(fila.linea(), fila.campos(),
+                            "Bloque revertido por la base de datos: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+            bloque.clear();
+        }
+
+        private void rechazar(long linea, List<String> campos, String error) throws IOException {
+            trabajo.filasRechazadas++;
+            String tipo = valor(campos, "tipo");
+            rechazos.write(linea + "," + csv(tipo != null ? tipo : "") + "," + csv(error) + ","
+                    + csv(String.join(String.valueOf(trabajo.separador), campos)));
+            rechazos.newLine();
+        }
+
+        private String valor(List<String> campos, String columna) {
+            Integer indice = columnas.get(columna);
+            if (indice == null || indice >= campos.size()) {
+                return null;
+            }
+            String valor = campos.get(indice).trim();
+            return valor.isEmpty() ? null : valor;
+        }
+    }
+
+    /**
+     * Posición de cada columna del encabezado, sin distinguir mayúsculas.
+     */
+    private static Map<String, Integer> columnas(List<String> encabezado) {
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < encabezado.size(); i++) {
+            columnas.putIfAbsent(encabezado.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columnas.containsKey("tipo")) {
+            throw new IllegalArgumentException("El encabezado debe incluir la columna 'tipo'");
+        }
+        return columnas;
+    }
+
+    private static int entero(String valor, String columna) {
+        if (valor == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La columna " + columna + " debe ser numérica");
+        }
+    }
+
+    private static String csv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf(';') < 0 && valor.indexOf('"') < 0
+                && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Copia el cuerpo al archivo sin superar {@code taller.importacion.max-megas}.
+     */
+    private long copiar(InputStream cuerpo, Path archivo) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (OutputStream salida = Files.newOutputStream(archivo)) {
+            int leidos;
+            while ((leidos = cuerpo.read(buffer)) != -1) {
+                total += leidos;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("El archivo supera el máximo de "
+                            + maxBytes / (1024 * 1024) + " MB");
+                }
+                salida.write(buffer, 0, leidos);
+            }
+        }
+        return total;
+    }
+
+    private static TrabajoImportacionDTO aDTO(Trabajo trabajo) {
+        String estado = trabajo.estado;
+        boolean terminado = trabajo.fechaFin != null;
+        return new TrabajoImportacionDTO(trabajo.id, estado, trabajo.fechaCreacion, trabajo.fechaInicio,
+                trabajo.fechaFin, trabajo.bytesTotales, trabajo.bytesProcesados, trabajo.filasLeidas,
+                trabajo.clientesRegistrados, trabajo.vehiculosRegistrados, trabajo.filasRechazadas, trabajo.error,
+                terminado && trabajo.filasRechazadas > 0 ? "/api/importacion/" + trabajo.id + "/rechazos" : null);
+    }
+}
@@ -0,0 +1,140 @@
+package co.edu.uniquindio.tallermacanico.service.implement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector incremental de CSV (RFC 4180): entrega un registro a la vez sin cargar el archivo en memoria.
+ * <p>
+ * Admite campos entre comillas con separadores, saltos de línea y comillas dobles escapadas ({@code ""}),
+ * finales de línea {@code \n} o {@code \r\n} y la marca BOM de UTF-8 que agrega Excel. Las líneas vacías
+ * se ignoran. Un registro no puede superar {@link #MAX_CARACTERES_REGISTRO} caracteres, para que una
+ * comilla sin cerrar no termine leyendo el resto del archivo en memoria.
+ * </p>
+ */
+public final class LectorCsv implements Closeable {
+
+    public static final int MAX_CARACTERES_REGISTRO = 64 * 1024;
+
+    private static final int SIN_PENDIENTE = -2;
+
+    private final Reader reader;
+    private final char separador;
+    private int pendiente = SIN_PENDIENTE;
+    private boolean inicio = true;
+    private long lineaActual = 1;
+    private long lineaRegistro;
+
+    /**
+     * @param reader    origen de los caracteres; conviene que tenga buffer
+     * @param separador separador de campos ({@code ,} o {@code ;})
+     */
+    public LectorCsv(Reader reader, char separador) {
+        this.reader = reader;
+        this.separador = separador;
+    }
+
+    /**
+     * Lee el siguiente registro.
+     *
+     * @return campos del registro, o {@code null} al final del archivo
+     * @throws IOException si falla la lectura, hay comillas sin cerrar o el registro es demasiado largo
+     */
+    public List<String> siguiente() throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        boolean hayDatos = false;
+        int caracteres = 0;
+        lineaRegistro = lineaActual;
+
+        while (true) {
+            int c = leer();
+            if (c == -1) {
+                if (entreComillas) {
+                    throw new IOException("Comillas sin cerrar en el registro de la línea " + lineaRegistro);
+                }
+                if (!hayDatos) {
+                    return null;
+                }
+                campos.add(campo.toString());
+                return campos;
+            }
+            if (++caracteres > MAX_CARACTERES_REGISTRO) {
+                throw new IOException("El registro de la línea " + lineaRegistro + " supera "
+                        + MAX_CARACTERES_REGISTRO + " caracteres");
+            }
+
+            if (entreComillas) {
+                if (c == '"') {
+                    int siguiente = leer();
+                    if (siguiente == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        pendiente = siguiente;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineaActual++;
+                    }
+                    campo.append((char) c);
+                }
+                continue;
+            }
+
+            if (c == '\n') {
+                lineaActual++;
+                if (!hayDatos) {
+                    lineaRegistro = lineaActual; // línea vacía
+                    continue;
+                }
+                campos.add(campo.toString());
+                return campos;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            hayDatos = true;
+            if (c == '"' && campo.length() == 0) {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Línea del archivo (desde 1) en la que empezó el último registro leído.
+     */
+    public long linea() {
+        return lineaRegistro;
+    }
+
+    private int leer() throws IOException {
+        if (pendiente != SIN_PENDIENTE) {
+            int c = pendiente;
+            pendiente = SIN_PENDIENTE;
+            return c;
+        }
+        int c = reader.read();
+        if (inicio) {
+            inicio = false;
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
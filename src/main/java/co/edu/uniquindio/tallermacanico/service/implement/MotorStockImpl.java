@@ -0,0 +1,148 @@
+package co.edu.uniquindio.tallermacanico.service.implement;
+
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+import co.edu.uniquindio.tallermacanico.repository.MovimientoInventarioRepository;
+import co.edu.uniquindio.tallermacanico.repository.RepuestoRepository;
+import co.edu.uniquindio.tallermacanico.service.MotorStock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementación de {@link MotorStock} sobre {@code repuesto.stock_actual}.
+ * <p>
+ * Una salida se descuenta con un decremento condicional en el {@code UPDATE}: si no alcanza, no cambia
+ * ninguna fila y no se inserta nada.
+ * </p>
+ * <p>
+ * La base de datos garantiza que el stock no quede negativo; las franjas de bloqueo evitan que muchas
+ * salidas del mismo repuesto tomen cada una una conexión del pool para quedarse esperando el bloqueo de la
+ * misma fila. Los repuestos se reparten entre {@code taller.inventario.stock.franjas} candados, así un
+ * repuesto muy movido solo demora a los que comparten su franja y no a todo el inventario.
+ * </p>
+ */
+@Service
+public class MotorStockImpl implements MotorStock {
+
+    private final RepuestoRepository repuestoRepository;
+    private final MovimientoInventarioRepository movimientoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] franjas;
+
+    public MotorStockImpl(RepuestoRepository repuestoRepository, MovimientoInventarioRepository movimientoRepository,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${taller.inventario.stock.franjas:64}") int franjas) {
+        this.repuestoRepository = repuestoRepository;
+        this.movimientoRepository = movimientoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.franjas = new ReentrantLock[Math.max(1, franjas)];
+        for (int i = 0; i < this.franjas.length; i++) {
+            this.franjas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Aplica el movimiento al stock y lo registra en una sola transacción; el ID generado
+     * queda asignado en el objeto. El movimiento ya debe estar validado.
+     *
+     * @param movimiento movimiento a aplicar
+     * @throws IllegalArgumentException si el repuesto no existe o el stock no alcanza para la salida
+     */
+    @Override
+    public void aplicar(MovimientoInventario movimiento) {
+        // El candado se toma antes de abrir la transacción, para esperar sin ocupar una conexión
+        ReentrantLock franja = franjas[Math.floorMod(movimiento.getIdRepuesto(), franjas.length)];
+        franja.lock();
+        try {
+            transactionTemplate.executeWithoutResult(estado -> {
+                cambiarStock(movimiento);
+                movimiento.setIdMovimiento(movimientoRepository.registrarMovimiento(movimiento));
+            });
+        } finally {
+            franja.unlock();
+        }
+    }
+
+    /**
+     * Bloquea de una vez las filas de todos los repuestos del lote y lee su stock. Los IDs se ordenan antes de
+     * consultarlos, así dos lotes con repuestos en común los bloquean en el mismo orden y uno espera al otro en
+     * lugar de bloquearse mutuamente; por eso el lote no toma bloqueos nuevos al aplicar cada bloque.
+     *
+     * @param movimientos todos los movimientos del lote
+     * @return stock actual por ID de repuesto; los repuestos inexistentes no aparecen
+     */
+    @Override
+    public Map<Integer, Double> bloquearLote(List<MovimientoInventario> movimientos) {
+        Set<Integer> ids = new TreeSet<>();
+        movimientos.forEach(movimiento -> ids.add(movimiento.getIdRepuesto()));
+        return repuestoRepository.bloquearStock(ids);
+    }
+
+    /**
+     * Aplica al stock un bloque de movimientos de una carga por lotes, en orden. Parte del stock que leyó
+     * {@link #bloquearLote}, calcula el resultado en memoria y lo escribe con un {@code batchUpdate}; no inserta
+     * los movimientos. Debe llamarse dentro de la transacción que los inserta.
+     *
+     * @param bloque movimientos ya validados
+     * @param stocks stock devuelto por {@link #bloquearLote}; se actualiza con el resultado del bloque
+     * @return motivo de rechazo por posición en el bloque; los movimientos ausentes se aplicaron
+     */
+    @Override
+    public Map<Integer, String> aplicarBloque(List<MovimientoInventario> bloque, Map<Integer, Double> stocks) {
+        Map<Integer, String> rechazos = new HashMap<>();
+        Map<Integer, Double> cambiados = new HashMap<>();
+        for (int i = 0; i < bloque.size(); i++) {
+            MovimientoInventario movimiento = bloque.get(i);
+            Double stock = stocks.get(movimiento.getIdRepuesto());
+            if (stock == null) {
+                rechazos.put(i, noExiste(movimiento));
+                continue;
+            }
+            double nuevo = MotorStock.stockDespues(stock, movimiento);
+            if (nuevo < 0) {
+                rechazos.put(i, insuficiente(movimiento, stock));
+                continue;
+            }
+            stocks.put(movimiento.getIdRepuesto(), nuevo);
+            cambiados.put(movimiento.getIdRepuesto(), nuevo);
+        }
+        repuestoRepository.fijarStocks(cambiados);
+        return rechazos;
+    }
+
+    private void cambiarStock(MovimientoInventario movimiento) {
+        int filas;
+        if (movimiento.getTipoMovimiento().equalsIgnoreCase(ENTRADA)) {
+            filas = repuestoRepository.sumarStock(movimiento.getIdRepuesto(), movimiento.getCantidad());
+        } else if (movimiento.getTipoMovimiento().equalsIgnoreCase(SALIDA)) {
+            filas = repuestoRepository.descontarStock(movimiento.getIdRepuesto(), movimiento.getCantidad());
+            if (filas == 0) {
+                Double stock = repuestoRepository.consultarStock(movimiento.getIdRepuesto());
+                if (stock != null) {
+                    throw new IllegalArgumentException(insuficiente(movimiento, stock));
+                }
+            }
+        } else {
+            filas = repuestoRepository.fijarStock(movimiento.getIdRepuesto(), movimiento.getCantidad());
+        }
+        if (filas == 0) {
+            throw new IllegalArgumentException(noExiste(movimiento));
+        }
+    }
+
+    private static String noExiste(MovimientoInventario movimiento) {
+        return "El repuesto " + movimiento.getIdRepuesto() + " no existe";
+    }
+
+    private static String insuficiente(MovimientoInventario movimiento, double stock) {
+        return "Stock insuficiente para el repuesto " + movimiento.getIdRepuesto()
+                + ": disponible " + stock + ", solicitado " + movimiento.getCantidad();
+    }
+}
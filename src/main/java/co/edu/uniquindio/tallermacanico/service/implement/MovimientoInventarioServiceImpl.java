@@ -1,29 +1,62 @@
 package co.edu.uniquindio.tallermacanico.service.implement;
 
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.dto.ResultadoItemLoteDTO;
+import co.edu.uniquindio.tallermacanico.dto.ResultadoLoteDTO;
 import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.EstadisticasIncrementales;
 import co.edu.uniquindio.tallermacanico.repository.MovimientoInventarioRepository;
+import co.edu.uniquindio.tallermacanico.service.AlertasStock;
+import co.edu.uniquindio.tallermacanico.service.CortesStock;
+import co.edu.uniquindio.tallermacanico.service.MotorStock;
 import co.edu.uniquindio.tallermacanico.service.MovimientoInventarioService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementación del servicio para la entidad MovimientoInventario.
  * Contiene validaciones de negocio y delega operaciones al repositorio.
+ * Los movimientos registrados actualizan el stock del repuesto a través de {@link MotorStock} y no se eliminan:
+ * el libro de movimientos explica todo {@code stock_actual} ({@link CortesStock}), así que un movimiento
+ * equivocado se corrige registrando otro que lo compense.
  */
 @RequiredArgsConstructor
 @Service
 public class MovimientoInventarioServiceImpl implements MovimientoInventarioService {
 
     private final MovimientoInventarioRepository repository;
+    private final EstadisticasIncrementales estadisticasIncrementales;
+    private final TransactionTemplate transactionTemplate;
+    private final MotorStock motorStock;
+    private final CortesStock cortesStock;
+    private final AlertasStock alertasStock;
+
+    /** Movimientos por {@code batchUpdate} en las cargas por lotes. */
+    @Value("${taller.inventario.lote.tamanio-bloque:500}")
+    private int tamanioBloque = 500;
+
+    /** Máximo de movimientos por lote, para acotar la transacción y la respuesta. */
+    @Value("${taller.inventario.lote.max-movimientos:50000}")
+    private int maxMovimientos = 50000;
 
     @Override
     public List<MovimientoInventario> listarMovimientos() {
         return repository.listarMovimientos();
     }
 
+    @Override
+    public PaginaDTO<MovimientoInventario> listarMovimientosPagina(String cursor, int tamanio) {
+        return repository.listarMovimientosPagina(cursor, tamanio);
+    }
+
     @Override
     public MovimientoInventario buscarPorId(int id) {
         if (id <= 0) {
@@ -34,6 +67,85 @@ public class MovimientoInventarioServiceImpl implements MovimientoInventarioServ
 
     @Override
     public void registrarMovimiento(MovimientoInventario movimiento) {
+        validar(movimiento);
+
+        // Cambia el stock e inserta el movimiento en una transacción; asigna el ID generado
+        motorStock.aplicar(movimiento);
+        estadisticasIncrementales.movimientoRegistrado(movimiento);
+        cortesStock.movimientoRegistrado(movimiento);
+        alertasStock.movimientoRegistrado(movimiento);
+    }
+
+    @Override
+    public ResultadoLoteDTO registrarLote(Iterator<MovimientoInventario> movimientos) {
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+
+        // El cuerpo se lee y se valida completo antes de abrir la transacción: un cliente lento no debe
+        // retener una conexión del pool ni los bloqueos de los repuestos. El máximo acota la memoria.
+        List<MovimientoInventario> validos = new ArrayList<>();
+        List<ResultadoItemLoteDTO> items = new ArrayList<>();
+        int indice = 0;
+        while (movimientos.hasNext()) {
+            if (indice >= maxMovimientos) {
+                throw new IllegalArgumentException("El lote no puede tener más de " + maxMovimientos + " movimientos");
+            }
+            MovimientoInventario movimiento = movimientos.next();
+            ResultadoItemLoteDTO item = new ResultadoItemLoteDTO(indice++, null, null);
+            resultado.agregar(item);
+            try {
+                validar(movimiento);
+            } catch (IllegalArgumentException e) {
+                resultado.rechazar(item, e.getMessage());
+                continue;
+            }
+            validos.add(movimiento);
+            items.add(item);
+        }
+
+        List<MovimientoInventario> registrados = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(estado -> {
+            // Todos los repuestos del lote se bloquean juntos y en orden antes del primer bloque
+            Map<Integer, Double> stocks = motorStock.bloquearLote(validos);
+            for (int desde = 0; desde < validos.size(); desde += tamanioBloque) {
+                int hasta = Math.min(desde + tamanioBloque, validos.size());
+                insertarBloque(new ArrayList<>(validos.subList(desde, hasta)),
+                        new ArrayList<>(items.subList(desde, hasta)), stocks, resultado, registrados);
+            }
+        });
+
+        // Solo después del commit: si la transacción se revierte no hay nada que contar
+        registrados.forEach(estadisticasIncrementales::movimientoRegistrado);
+        registrados.forEach(cortesStock::movimientoRegistrado);
+        registrados.forEach(alertasStock::movimientoRegistrado);
+        return resultado;
+    }
+
+    private void insertarBloque(List<MovimientoInventario> bloque, List<ResultadoItemLoteDTO> resultadosBloque,
+                                Map<Integer, Double> stocks, ResultadoLoteDTO resultado,
+                                List<MovimientoInventario> registrados) {
+        // Los movimientos sin stock suficiente o de repuestos inexistentes se rechazan uno a uno
+        Map<Integer, String> rechazos = motorStock.aplicarBloque(bloque, stocks);
+        for (int i = bloque.size() - 1; i >= 0; i--) {
+            String error = rechazos.get(i);
+            if (error != null) {
+                resultado.rechazar(resultadosBloque.remove(i), error);
+                bloque.remove(i);
+            }
+        }
+        int[] ids = repository.registrarMovimientos(bloque);
+        for (int i = 0; i < ids.length; i++) {
+            resultado.registrar(resultadosBloque.get(i), ids[i]);
+        }
+        registrados.addAll(bloque);
+    }
+
+    /**
+     * Reglas de negocio de un movimiento antes de insertarlo.
+     */
+    private void validar(MovimientoInventario movimiento) {
+        if (movimiento == null) {
+            throw new IllegalArgumentException("El movimiento es obligatorio");
+        }
         if (movimiento.getIdRepuesto() <= 0) {
             throw new IllegalArgumentException("El ID del repuesto es obligatorio y debe ser válido");
         }
@@ -45,25 +157,31 @@ public class MovimientoInventarioServiceImpl implements MovimientoInventarioServ
                 !movimiento.getTipoMovimiento().equalsIgnoreCase("ajuste")) {
             throw new IllegalArgumentException("El tipo de movimiento debe ser 'entrada', 'salida' o 'ajuste'");
         }
-        if (movimiento.getCantidad() <= 0) {
+        // Un ajuste es el conteo físico: puede dejar el stock en cero
+        if (movimiento.getTipoMovimiento().equalsIgnoreCase(MotorStock.AJUSTE)) {
+            if (movimiento.getCantidad() < 0) {
+                throw new IllegalArgumentException("La cantidad del ajuste no puede ser negativa");
+            }
+        } else if (movimiento.getCantidad() <= 0) {
             throw new IllegalArgumentException("La cantidad debe ser mayor que cero");
         }
         if (movimiento.getFechaMovimiento() == null) {
             throw new IllegalArgumentException("La fecha del movimiento es obligatoria");
         }
-
-        // Aquí capturas el ID generado por la base de datos
-        int idGenerado = repository.registrarMovimiento(movimiento);
-        movimiento.setIdMovimiento(idGenerado);
     }
 
 
+    /**
+     * Borrar el movimiento dejaría {@code stock_actual} sin explicación en el libro, y revertirlo no siempre es
+     * posible: un ajuste fija un valor y los ajustes posteriores anulan el efecto de los movimientos anteriores.
+     */
     @Override
     public void eliminarMovimiento(int id) {
         if (id <= 0) {
             throw new IllegalArgumentException("El ID del movimiento debe ser mayor que cero");
         }
-        repository.eliminarMovimiento(id);
+        throw new IllegalStateException("Los movimientos de inventario no se eliminan: registre una entrada, "
+                + "una salida o un ajuste que compense el movimiento " + id);
     }
 
 }
@@ -1,6 +1,7 @@
 package co.edu.uniquindio.tallermacanico.service.implement;
 
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenServicioMecanico;
 import co.edu.uniquindio.tallermacanico.repository.OrdenServicioMecanicoRepository;
 import co.edu.uniquindio.tallermacanico.service.OrdenServicioMecanicoService;
@@ -28,6 +29,17 @@ public class OrdenServicioMecanicoServiceImpl implements OrdenServicioMecanicoSe
         return repository.listarAsignaciones();
     }
 
+    /**
+     * Lista una página de asignaciones usando paginación por cursor.
+     * @param cursor cursor de la página anterior, o null para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de asignaciones
+     */
+    @Override
+    public PaginaDTO<OrdenServicioMecanico> listarAsignacionesPagina(String cursor, int tamanio) {
+        return repository.listarAsignacionesPagina(cursor, tamanio);
+    }
+
     /**
      * Busca una asignación específica por ID de orden-servicio y ID de mecánico.
      * @param idOrdenServicio identificador del servicio
@@ -53,6 +65,16 @@ public class OrdenServicioMecanicoServiceImpl implements OrdenServicioMecanicoSe
         if (asignacion.getIdOrdenServicio() <= 0) {
             throw new IllegalArgumentException("El ID del servicio es obligatorio y debe ser válido");
         }
+        validarDatos(asignacion);
+        repository.registrarAsignacion(asignacion);
+    }
+
+    /**
+     * Valida los campos propios de la asignación (sin el servicio, que puede no existir todavía).
+     * @param asignacion objeto con los datos de la asignación
+     * @throws IllegalArgumentException si los datos son inválidos
+     */
+    static void validarDatos(OrdenServicioMecanico asignacion) {
         if (asignacion.getIdMecanico() <= 0) {
             throw new IllegalArgumentException("El ID del mecánico es obligatorio y debe ser válido");
         }
@@ -62,7 +84,6 @@ public class OrdenServicioMecanicoServiceImpl implements OrdenServicioMecanicoSe
         if (asignacion.getRolEnServicio() == null || asignacion.getRolEnServicio().isBlank()) {
             throw new IllegalArgumentException("El rol en el servicio es obligatorio");
         }
-        repository.registrarAsignacion(asignacion);
     }
 
     /**
@@ -1,6 +1,8 @@
 package co.edu.uniquindio.tallermacanico.service.implement;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.EstadisticasIncrementales;
 import co.edu.uniquindio.tallermacanico.repository.OrdenServicioRepository;
 import co.edu.uniquindio.tallermacanico.service.OrdenServicioService;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,7 @@ import java.util.List;
 public class OrdenServicioServiceImpl implements OrdenServicioService {
 
     private final OrdenServicioRepository ordenServicioRepository;
+    private final EstadisticasIncrementales estadisticasIncrementales;
 
     /**
      * Lista todos los registros de servicios aplicados en órdenes de trabajo.
@@ -27,6 +30,17 @@ public class OrdenServicioServiceImpl implements OrdenServicioService {
         return ordenServicioRepository.listarOrdenesServicio();
     }
 
+    /**
+     * Lista una página de registros de orden-servicio usando paginación por cursor.
+     * @param cursor cursor de la página anterior, o null para la primera página
+     * @param tamanio número máximo de registros de la página
+     * @return página de registros de orden-servicio
+     */
+    @Override
+    public PaginaDTO<OrdenServicio> listarOrdenesServicioPagina(String cursor, int tamanio) {
+        return ordenServicioRepository.listarOrdenesServicioPagina(cursor, tamanio);
+    }
+
     /**
      * Busca un registro de orden-servicio por su ID, validando que sea positivo.
      * @param id identificador del registro
@@ -51,6 +65,17 @@ public class OrdenServicioServiceImpl implements OrdenServicioService {
         if (ordenServicio.getIdOrdenTrabajo() <= 0) {
             throw new IllegalArgumentException("El ID de la orden de trabajo es obligatorio y debe ser válido");
         }
+        validarDatos(ordenServicio);
+        ordenServicioRepository.registrarOrdenServicio(ordenServicio);
+        estadisticasIncrementales.ordenServicioRegistrada(ordenServicio);
+    }
+
+    /**
+     * Valida los campos propios del servicio aplicado (sin la orden de trabajo, que puede no existir todavía).
+     * @param ordenServicio objeto con los datos del servicio aplicado
+     * @throws IllegalArgumentException si los datos son inválidos
+     */
+    static void validarDatos(OrdenServicio ordenServicio) {
         if (ordenServicio.getIdServicio() <= 0) {
             throw new IllegalArgumentException("El ID del servicio es obligatorio y debe ser válido");
         }
@@ -60,11 +85,11 @@ public class OrdenServicioServiceImpl implements OrdenServicioService {
         if (ordenServicio.getPrecioFinal() < 0) {
             throw new IllegalArgumentException("El precio final no puede ser negativo");
         }
-        ordenServicioRepository.registrarOrdenServicio(ordenServicio);
     }
 
     /**
      * Elimina un registro de orden-servicio por su ID, validando que sea positivo.
+     * El registro se lee antes de eliminarlo para descontarlo de las estadísticas.
      * @param id identificador del registro
      * @throws IllegalArgumentException si el ID es inválido
      */
@@ -73,7 +98,11 @@ public class OrdenServicioServiceImpl implements OrdenServicioService {
         if (id <= 0) {
             throw new IllegalArgumentException("El ID del registro debe ser mayor que cero");
         }
+        OrdenServicio ordenServicio = ordenServicioRepository.buscarPorId(id);
         ordenServicioRepository.eliminarOrdenServicio(id);
+        if (ordenServicio != null) {
+            estadisticasIncrementales.ordenServicioEliminada(ordenServicio);
+        }
     }
 }
 
@@ -1,13 +1,24 @@
 package co.edu.uniquindio.tallermacanico.service.implement;
 
 
+import co.edu.uniquindio.tallermacanico.dto.LineaServicioOrdenDTO;
+import co.edu.uniquindio.tallermacanico.dto.OrdenTrabajoCompuestaDTO;
+import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
+import co.edu.uniquindio.tallermacanico.model.OrdenServicioMecanico;
 import co.edu.uniquindio.tallermacanico.model.OrdenTrabajo;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.EstadisticasIncrementales;
+import co.edu.uniquindio.tallermacanico.repository.OrdenServicioMecanicoRepository;
+import co.edu.uniquindio.tallermacanico.repository.OrdenServicioRepository;
 import co.edu.uniquindio.tallermacanico.repository.OrdenTrabajoRepository;
 import co.edu.uniquindio.tallermacanico.service.OrdenTrabajoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Implementación del servicio para la entidad OrdenTrabajo.
@@ -18,6 +29,10 @@ import java.util.List;
 public class OrdenTrabajoServiceImpl implements OrdenTrabajoService {
 
     private final OrdenTrabajoRepository ordenTrabajoRepository;
+    private final OrdenServicioRepository ordenServicioRepository;
+    private final OrdenServicioMecanicoRepository ordenServicioMecanicoRepository;
+    private final EstadisticasIncrementales estadisticasIncrementales;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Lista todas las órdenes de trabajo registradas en la base de datos.
@@ -31,7 +46,7 @@ public class OrdenTrabajoServiceImpl implements OrdenTrabajoService {
     /**
      * Busca una orden de trabajo por su ID, validando que sea positivo.
      * @param id identificador de la orden
-     * @return orden encontrada
+     * @return orden encontrada, o null si no existe
      * @throws IllegalArgumentException si el ID es inválido
      */
     @Override
@@ -49,6 +64,76 @@ public class OrdenTrabajoServiceImpl implements OrdenTrabajoService {
      */
     @Override
     public void registrarOrdenTrabajo(OrdenTrabajo orden) {
+        validar(orden);
+        orden.setIdOrdenTrabajo(ordenTrabajoRepository.registrarOrdenTrabajo(orden));
+    }
+
+    /**
+     * Registra la orden, luego sus servicios y por último las asignaciones, en una sola transacción:
+     * un {@code INSERT} para la orden y un {@code batchUpdate} por tabla hija. Todo se valida antes
+     * de abrir la transacción, con las mismas reglas que los registros individuales.
+     * @param ordenCompuesta orden, servicios y asignaciones
+     * @return la misma orden con las claves generadas completadas
+     * @throws IllegalArgumentException si algún dato es inválido
+     */
+    @Override
+    public OrdenTrabajoCompuestaDTO registrarOrdenCompuesta(OrdenTrabajoCompuestaDTO ordenCompuesta) {
+        if (ordenCompuesta == null || ordenCompuesta.getOrden() == null) {
+            throw new IllegalArgumentException("La orden de trabajo es obligatoria");
+        }
+        validar(ordenCompuesta.getOrden());
+
+        List<LineaServicioOrdenDTO> lineas = ordenCompuesta.getServicios() == null
+                ? List.of() : ordenCompuesta.getServicios();
+        List<OrdenServicio> servicios = new ArrayList<>(lineas.size());
+        for (int i = 0; i < lineas.size(); i++) {
+            LineaServicioOrdenDTO linea = lineas.get(i);
+            if (linea == null || linea.getServicio() == null) {
+                throw new IllegalArgumentException("El servicio " + (i + 1) + " de la orden es obligatorio");
+            }
+            try {
+                OrdenServicioServiceImpl.validarDatos(linea.getServicio());
+                Set<Integer> mecanicos = new HashSet<>();
+                for (OrdenServicioMecanico asignacion : asignaciones(linea)) {
+                    if (asignacion == null) {
+                        throw new IllegalArgumentException("La asignación de mecánico es obligatoria");
+                    }
+                    OrdenServicioMecanicoServiceImpl.validarDatos(asignacion);
+                    if (!mecanicos.add(asignacion.getIdMecanico())) {
+                        throw new IllegalArgumentException("El mecánico " + asignacion.getIdMecanico() + " está asignado dos veces");
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Servicio " + (i + 1) + ": " + e.getMessage(), e);
+            }
+            servicios.add(linea.getServicio());
+        }
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            int idOrdenTrabajo = ordenTrabajoRepository.registrarOrdenTrabajo(ordenCompuesta.getOrden());
+            ordenCompuesta.getOrden().setIdOrdenTrabajo(idOrdenTrabajo);
+            servicios.forEach(servicio -> servicio.setIdOrdenTrabajo(idOrdenTrabajo));
+
+            int[] idsServicio = ordenServicioRepository.registrarOrdenesServicio(servicios);
+            List<OrdenServicioMecanico> todas = new ArrayList<>();
+            for (int i = 0; i < lineas.size(); i++) {
+                for (OrdenServicioMecanico asignacion : asignaciones(lineas.get(i))) {
+                    asignacion.setIdOrdenServicio(idsServicio[i]);
+                    todas.add(asignacion);
+                }
+            }
+            ordenServicioMecanicoRepository.registrarAsignaciones(todas);
+        });
+
+        servicios.forEach(estadisticasIncrementales::ordenServicioRegistrada);
+        return ordenCompuesta;
+    }
+
+    private static List<OrdenServicioMecanico> asignaciones(LineaServicioOrdenDTO linea) {
+        return linea.getMecanicos() == null ? List.of() : linea.getMecanicos();
+    }
+
+    private static void validar(OrdenTrabajo orden) {
         if (orden.getIdVehiculo() <= 0) {
             throw new IllegalArgumentException("El ID del vehículo es obligatorio y debe ser válido");
         }
@@ -58,7 +143,6 @@ public class OrdenTrabajoServiceImpl implements OrdenTrabajoService {
         if (orden.getIdEstadoOrden() <= 0) {
             throw new IllegalArgumentException("El ID del estado de la orden es obligatorio y debe ser válido");
         }
-        ordenTrabajoRepository.registrarOrdenTrabajo(orden);
     }
 
     /**
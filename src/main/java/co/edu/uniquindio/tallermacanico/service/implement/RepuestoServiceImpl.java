@@ -1,11 +1,15 @@
 package co.edu.uniquindio.tallermacanico.service.implement;
 
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
 import co.edu.uniquindio.tallermacanico.model.Repuesto;
 import co.edu.uniquindio.tallermacanico.repository.RepuestoRepository;
+import co.edu.uniquindio.tallermacanico.service.MotorStock;
+import co.edu.uniquindio.tallermacanico.service.MovimientoInventarioService;
 import co.edu.uniquindio.tallermacanico.service.RepuestoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -17,16 +21,32 @@ import java.util.List;
 public class RepuestoServiceImpl implements RepuestoService {
 
     private final RepuestoRepository repuestoRepository;
+    private final MovimientoInventarioService movimientoInventarioService;
 
     @Override
     public List<Repuesto> listarRepuestos() {
         return repuestoRepository.listarRepuestos();
     }
 
+    /**
+     * Crea el repuesto con stock cero y registra su stock inicial como un movimiento de {@code ajuste},
+     * para que el libro de movimientos explique todo el stock desde el primer día. Si el ajuste falla,
+     * el repuesto queda con stock cero, que sigue coincidiendo con su libro vacío.
+     */
     @Override
     public Repuesto registrarRepuesto(Repuesto repuesto) {
+        double stockInicial = repuesto.getStockActual();
+        if (stockInicial < 0) {
+            throw new IllegalArgumentException("El stock inicial no puede ser negativo");
+        }
+        repuesto.setStockActual(0);
         int id = repuestoRepository.crearRepuesto(repuesto);
         repuesto.setIdRepuesto(id);
+        if (stockInicial > 0) {
+            movimientoInventarioService.registrarMovimiento(new MovimientoInventario(0, id, MotorStock.AJUSTE,
+                    stockInicial, LocalDate.now(), null, "Stock inicial"));
+        }
+        repuesto.setStockActual(stockInicial);
         return repuesto;
     }
 
@@ -41,9 +61,14 @@ public class RepuestoServiceImpl implements RepuestoService {
         repuestoRepository.eliminarRepuesto(id);
     }
 
+    /**
+     * Registra el nuevo stock como un movimiento de {@code ajuste}, para que el cambio pase por
+     * {@link MotorStock} y quede en el historial, los cortes y las alertas.
+     */
     @Override
     public void actualizarStock(int id, double nuevoStock) {
-        repuestoRepository.actualizarStock(id, nuevoStock);
+        movimientoInventarioService.registrarMovimiento(new MovimientoInventario(0, id, MotorStock.AJUSTE,
+                nuevoStock, LocalDate.now(), null, "Ajuste manual de stock"));
     }
 }
 
@@ -1,23 +1,49 @@
 package co.edu.uniquindio.tallermacanico.service.implement;
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.dto.ReajustePreciosDTO;
+import co.edu.uniquindio.tallermacanico.dto.ResultadoReajusteDTO;
 import co.edu.uniquindio.tallermacanico.model.Servicio;
 import co.edu.uniquindio.tallermacanico.repository.ServicioRepository;
 import co.edu.uniquindio.tallermacanico.service.ServicioService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-@RequiredArgsConstructor
+import java.util.Map;
+
 @Service
 public class ServicioServiceImpl implements ServicioService {
 
+    public static final String MODO_PRECIOS = "PRECIOS";
+    public static final String MODO_PORCENTAJE = "PORCENTAJE";
+
     private final ServicioRepository servicioRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Máximo de precios explícitos por reajuste. */
+    private final int maxPrecios;
+
+    public ServicioServiceImpl(ServicioRepository servicioRepository, TransactionTemplate transactionTemplate,
+                               @Value("${taller.servicios.reajuste.max-precios}") int maxPrecios) {
+        this.servicioRepository = servicioRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxPrecios = maxPrecios;
+    }
 
     @Override
     public List<Servicio> listarServicios() {
         return servicioRepository.listarServicios();
     }
 
+    @Override
+    public PaginaDTO<Servicio> listarServiciosPagina(String cursor, int tamanio) {
+        return servicioRepository.listarServiciosPagina(cursor, tamanio);
+    }
+
     @Override
     public Servicio buscarPorId(int id) {
         if (id <= 0) {
@@ -54,4 +80,73 @@ public class ServicioServiceImpl implements ServicioService {
         }
         servicioRepository.actualizarPrecioBase(idServicio, nuevoPrecio);
     }
+
+    /**
+     * Reajusta precios en una sola transacción. Con precios explícitos bloquea y lee las filas en una
+     * consulta y las actualiza con un {@code batchUpdate}; con porcentaje usa un solo {@code UPDATE}
+     * sobre el conjunto filtrado. La caché de reportes se invalida una vez, al confirmar.
+     */
+    @Override
+    public ResultadoReajusteDTO reajustarPrecios(ReajustePreciosDTO reajuste) {
+        if (reajuste == null) {
+            throw new IllegalArgumentException("El reajuste es obligatorio");
+        }
+        boolean conPrecios = reajuste.getPrecios() != null && !reajuste.getPrecios().isEmpty();
+        boolean conPorcentaje = reajuste.getPorcentaje() != null;
+        if (conPrecios == conPorcentaje) {
+            throw new IllegalArgumentException("Debe indicar 'precios' o 'porcentaje', no ambos");
+        }
+        return conPrecios ? reajustarConPrecios(reajuste.getPrecios())
+                : reajustarConPorcentaje(reajuste.getPorcentaje(), reajuste.getPatronNombre());
+    }
+
+    private ResultadoReajusteDTO reajustarConPrecios(Map<Integer, Double> precios) {
+        if (precios.size() > maxPrecios) {
+            throw new IllegalArgumentException("El reajuste supera el máximo de " + maxPrecios + " precios");
+        }
+        precios.forEach((id, precio) -> {
+            if (id == null || id <= 0) {
+                throw new IllegalArgumentException("El ID debe ser mayor que cero");
+            }
+            if (precio == null || precio <= 0) {
+                throw new IllegalArgumentException("El precio base del servicio " + id + " debe ser mayor que cero");
+            }
+        });
+
+        return transactionTemplate.execute(estado -> {
+            Map<Integer, Double> anteriores = servicioRepository.bloquearPrecios(precios.keySet());
+            Map<Integer, Double> nuevos = new LinkedHashMap<>();
+            List<Integer> noEncontrados = new ArrayList<>();
+            double totalAnterior = 0;
+            double totalNuevo = 0;
+            for (Map.Entry<Integer, Double> precio : precios.entrySet()) {
+                Double anterior = anteriores.get(precio.getKey());
+                if (anterior == null) {
+                    noEncontrados.add(precio.getKey());
+                    continue;
+                }
+                nuevos.put(precio.getKey(), precio.getValue());
+                totalAnterior += anterior;
+                totalNuevo += precio.getValue();
+            }
+            servicioRepository.actualizarPreciosBase(nuevos);
+            return new ResultadoReajusteDTO(MODO_PRECIOS, precios.size(), nuevos.size(), noEncontrados,
+                    totalAnterior, totalNuevo);
+        });
+    }
+
+    private ResultadoReajusteDTO reajustarConPorcentaje(double porcentaje, String patronNombre) {
+        if (porcentaje <= -100 || porcentaje > 1000) {
+            throw new IllegalArgumentException("El porcentaje debe ser mayor que -100 y menor o igual a 1000");
+        }
+        String patron = patronNombre == null || patronNombre.isBlank() ? null : patronNombre.trim();
+
+        return transactionTemplate.execute(estado -> {
+            double[] antes = servicioRepository.resumirPrecios(patron);
+            int actualizados = servicioRepository.reajustarPreciosBase(1 + porcentaje / 100, patron);
+            double[] despues = servicioRepository.resumirPrecios(patron);
+            return new ResultadoReajusteDTO(MODO_PORCENTAJE, (int) antes[0], actualizados, new ArrayList<>(),
+                    antes[1], despues[1]);
+        });
+    }
 }
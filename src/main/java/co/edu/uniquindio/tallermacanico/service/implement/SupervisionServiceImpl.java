@@ -1,6 +1,7 @@
 package co.edu.uniquindio.tallermacanico.service.implement;
 
 
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
 import co.edu.uniquindio.tallermacanico.model.Supervision;
 import co.edu.uniquindio.tallermacanico.repository.SupervisionRepository;
 import co.edu.uniquindio.tallermacanico.service.SupervisionService;
@@ -24,6 +25,11 @@ public class SupervisionServiceImpl implements SupervisionService {
         return repository.listarSupervisiones();
     }
 
+    @Override
+    public PaginaDTO<Supervision> listarSupervisionesPagina(String cursor, int tamanio) {
+        return repository.listarSupervisionesPagina(cursor, tamanio);
+    }
+
     @Override
     public Supervision buscarSupervision(int idOrdenServicio, int idSupervisor, int idSupervisado) {
         if (idOrdenServicio <= 0 || idSupervisor <= 0 || idSupervisado <= 0) {
@@ -39,10 +39,23 @@ public class VehiculoServiceImpl implements VehiculoService {
         if (vehiculo.getIdCliente() <= 0) {
             throw new IllegalArgumentException("El ID del cliente debe ser válido");
         }
+        validarDatos(vehiculo);
+        vehiculoRepository.registrarVehiculo(vehiculo);
+    }
+
+    /**
+     * Valida la placa y el año de un vehículo, sin exigir el cliente: la importación masiva
+     * lo resuelve después a partir de la referencia del archivo.
+     * @param vehiculo vehículo a validar
+     * @throws IllegalArgumentException si los datos son inválidos
+     */
+    public static void validarDatos(Vehiculo vehiculo) {
+        if (vehiculo.getPlaca() == null || vehiculo.getPlaca().isBlank()) {
+            throw new IllegalArgumentException("La placa del vehículo es obligatoria");
+        }
         if (vehiculo.getAnio() < 1900 || vehiculo.getAnio() > 2100) {
             throw new IllegalArgumentException("El año del vehículo debe estar entre 1900 y 2100");
         }
-        vehiculoRepository.registrarVehiculo(vehiculo);
     }
 
     @Override
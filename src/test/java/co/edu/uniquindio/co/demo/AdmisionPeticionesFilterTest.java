@@ -0,0 +1,100 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.config.AdmisionPeticionesFilter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para AdmisionPeticionesFilter")
+public class AdmisionPeticionesFilterTest {
+
+    @Test
+    @DisplayName("Debe devolver el permiso al terminar cada petición")
+    void testDoFilter_LiberaPermiso() throws Exception {
+        AdmisionPeticionesFilter filtro = new AdmisionPeticionesFilter(true, 1, 50);
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filtro.doFilter(new MockHttpServletRequest("GET", "/api/clientes"), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+
+        assertEquals(2L, filtro.metricas().get("admitidas"));
+        assertEquals(1, filtro.metricas().get("permisosLibres"));
+    }
+
+    @Test
+    @DisplayName("Sin permisos libres debe responder 503 cuando vence la espera")
+    void testDoFilter_RechazaAlVencerLaEspera() throws Exception {
+        AdmisionPeticionesFilter filtro = new AdmisionPeticionesFilter(true, 1, 50);
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain lenta = (request, response) -> {
+            dentro.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        Thread ocupante = new Thread(() -> {
+            try {
+                filtro.doFilter(new MockHttpServletRequest("GET", "/api/vehiculos"), new MockHttpServletResponse(), lenta);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        ocupante.start();
+        assertTrue(dentro.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain cadena = new MockFilterChain();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/clientes"), response, cadena);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(cadena.getRequest());
+        assertEquals(1L, filtro.metricas().get("rechazadas"));
+
+        liberar.countDown();
+        ocupante.join(5000);
+        assertEquals(1, filtro.metricas().get("permisosLibres"));
+    }
+
+    @Test
+    @DisplayName("Las métricas y las rutas fuera de /api no deben esperar permiso")
+    void testDoFilter_RutasExcluidas() throws Exception {
+        AdmisionPeticionesFilter filtro = new AdmisionPeticionesFilter(true, 1, 50);
+
+        MockFilterChain metricas = new MockFilterChain();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/admision/metricas"), new MockHttpServletResponse(), metricas);
+        MockFilterChain estatico = new MockFilterChain();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/index.html"), new MockHttpServletResponse(), estatico);
+
+        assertNotNull(metricas.getRequest());
+        assertNotNull(estatico.getRequest());
+        assertEquals(0L, filtro.metricas().get("admitidas"));
+    }
+
+    @Test
+    @DisplayName("Deshabilitado no debe limitar las peticiones")
+    void testDoFilter_Deshabilitado() throws Exception {
+        AdmisionPeticionesFilter filtro = new AdmisionPeticionesFilter(false, 1, 50);
+
+        MockFilterChain cadena = new MockFilterChain();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/clientes"), new MockHttpServletResponse(), cadena);
+
+        assertNotNull(cadena.getRequest());
+        assertEquals(false, filtro.metricas().get("habilitada"));
+    }
+}
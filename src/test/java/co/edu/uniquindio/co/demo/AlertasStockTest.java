@@ -0,0 +1,139 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.dto.AlertaStockDTO;
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+import co.edu.uniquindio.tallermacanico.model.Repuesto;
+import co.edu.uniquindio.tallermacanico.repository.MovimientoInventarioRepository;
+import co.edu.uniquindio.tallermacanico.repository.RepuestoRepository;
+import co.edu.uniquindio.tallermacanico.service.AlertasStock;
+import co.edu.uniquindio.tallermacanico.service.implement.AlertasStockImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para AlertasStockImpl")
+public class AlertasStockTest {
+
+    @Mock
+    private RepuestoRepository repuestoRepository;
+
+    @Mock
+    private MovimientoInventarioRepository movimientoRepository;
+
+    private AlertasStockImpl alertasStock;
+
+    private final LocalDate hoy = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        alertasStock = new AlertasStockImpl(repuestoRepository, movimientoRepository, 30, 7, 3, 30);
+        when(repuestoRepository.listarRepuestos()).thenReturn(List.of(
+                new Repuesto(1, "Filtro de aceite", "Filtro estándar", 15, "unidad"),
+                new Repuesto(2, "Bujía", "Bujía de iridio", 100, "unidad"),
+                new Repuesto(3, "Refrigerante", "Galón", 0, "galón")));
+        // Historial: 2 filtros por día durante 120 días y una sola bujía; el refrigerante no se usa
+        doAnswer(invocacion -> {
+            Consumer<MovimientoInventario> consumidor = invocacion.getArgument(3);
+            for (int dias = 119; dias >= 0; dias--) {
+                consumidor.accept(salida(1, 2.0, hoy.minusDays(dias)));
+            }
+            consumidor.accept(salida(2, 1.0, hoy.minusDays(60)));
+            return null;
+        }).when(movimientoRepository).recorrerMovimientos(isNull(), eq(hoy.minusDays(120)), eq(hoy), any());
+        alertasStock.cargar(hoy);
+    }
+
+    @Test
+    @DisplayName("Debería estimar el consumo diario y alertar solo los repuestos con demanda bajo su punto de reorden")
+    void testCargar_AlertaPorConsumo() {
+        List<AlertaStockDTO> alertas = alertasStock.alertas(hoy);
+
+        assertEquals(1, alertas.size());
+        AlertaStockDTO filtro = alertas.get(0);
+        assertEquals(1, filtro.getIdRepuesto());
+        assertEquals(AlertasStock.BAJO, filtro.getNivel());
+        assertEquals(2.0, filtro.getConsumoDiario(), 0.1);
+        assertEquals(filtro.getConsumoDiario() * 10, filtro.getPuntoReorden(), 0.05);
+        assertEquals(15 / filtro.getConsumoDiario(), filtro.getDiasCobertura(), 0.05);
+        assertEquals(Math.ceil(filtro.getConsumoDiario() * 40 - 15), filtro.getCantidadSugerida(), 1.0);
+        assertTrue(alertasStock.estaListo());
+    }
+
+    @Test
+    @DisplayName("Debería actualizar el stock con cada movimiento y salir de la alerta al reponer")
+    void testMovimientoRegistrado_ActualizaAlerta() {
+        alertasStock.movimientoRegistrado(salida(1, 15.0, hoy));
+
+        AlertaStockDTO filtro = alertasStock.alertas(hoy).get(0);
+        assertEquals(AlertasStock.AGOTADO, filtro.getNivel());
+        assertEquals(0.0, filtro.getStockActual());
+
+        alertasStock.movimientoRegistrado(new MovimientoInventario(0, 1, "ENTRADA", 100.0, hoy, "PROV-1", null));
+
+        assertTrue(alertasStock.alertas(hoy).isEmpty());
+        verify(repuestoRepository, never()).buscarPorId(anyInt());
+    }
+
+    @Test
+    @DisplayName("El consumo debería decaer con el tiempo si no hay nuevas salidas")
+    void testAlertas_ConsumoDecae() {
+        assertFalse(alertasStock.alertas(hoy).isEmpty());
+
+        assertTrue(alertasStock.alertas(hoy.plusDays(90)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería registrar un repuesto creado después de la carga a partir de su ajuste de stock inicial")
+    void testMovimientoRegistrado_RepuestoNuevo() {
+        // La base de datos ya refleja la salida; el estado se arma con los movimientos, no con esa lectura
+        when(repuestoRepository.buscarPorId(4)).thenReturn(new Repuesto(4, "Correa", "Correa de repartición", 1, "unidad"));
+
+        alertasStock.movimientoRegistrado(new MovimientoInventario(0, 4, "AJUSTE", 31.0, hoy, null, "Stock inicial"));
+        alertasStock.movimientoRegistrado(salida(4, 30.0, hoy));
+
+        List<AlertaStockDTO> alertas = alertasStock.alertas(hoy);
+        assertEquals(List.of(4, 1), alertas.stream().map(AlertaStockDTO::getIdRepuesto).toList());
+        assertEquals(1.0, alertas.get(0).getStockActual());
+        assertEquals(1.0, alertas.get(0).getConsumoDiario());
+        verify(repuestoRepository, times(1)).buscarPorId(4);
+    }
+
+    @Test
+    @DisplayName("La reconciliación no debería pisar con una lectura atrasada el stock que llevan los movimientos")
+    void testReconciliar_ConservaStock() {
+        alertasStock.movimientoRegistrado(salida(1, 15.0, hoy));
+        // Lectura tomada antes del commit de la salida: el filtro aún figura con 15, cambió de nombre y el
+        // refrigerante se eliminó
+        when(repuestoRepository.listarRepuestos()).thenReturn(List.of(
+                new Repuesto(1, "Filtro de aceite sintético", "Filtro estándar", 15, "unidad"),
+                new Repuesto(2, "Bujía", "Bujía de iridio", 100, "unidad")));
+
+        alertasStock.reconciliar();
+
+        AlertaStockDTO filtro = alertasStock.alertas(hoy).get(0);
+        assertEquals(AlertasStock.AGOTADO, filtro.getNivel());
+        assertEquals(0.0, filtro.getStockActual());
+        assertEquals("Filtro de aceite sintético", filtro.getNombre());
+
+        // La salida ya está en el estado; otra notificación sigue contando desde ahí
+        alertasStock.movimientoRegistrado(new MovimientoInventario(0, 1, "ENTRADA", 5.0, hoy, "PROV-1", null));
+        assertEquals(5.0, alertasStock.alertas(hoy).get(0).getStockActual());
+        verify(repuestoRepository, never()).buscarPorId(anyInt());
+    }
+
+    private static MovimientoInventario salida(int idRepuesto, double cantidad, LocalDate fecha) {
+        return new MovimientoInventario(0, idRepuesto, "salida", cantidad, fecha, "OT", null);
+    }
+}
@@ -0,0 +1,117 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.repository.AsignadorIds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para AsignadorIds")
+public class AsignadorIdsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AsignadorIds asignadorIds;
+
+    /** Simula la secuencia: cada consulta devuelve los n valores siguientes. */
+    private final AtomicInteger secuencia = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any())).thenAnswer(invocacion -> {
+            int cantidad = invocacion.getArgument(2);
+            List<Integer> valores = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                valores.add(secuencia.incrementAndGet());
+            }
+            return valores;
+        });
+        asignadorIds = new AsignadorIds(jdbcTemplate, 50, "orden_servicio=10");
+    }
+
+    @Test
+    @DisplayName("Debería pedir un bloque nuevo solo al agotar el anterior")
+    void testReservar_UnaConsultaPorBloque() {
+        int[] ids = asignadorIds.reservar(AsignadorIds.MOVIMIENTO_INVENTARIO, 120);
+
+        assertEquals(120, ids.length);
+        assertEquals(1, ids[0]);
+        assertEquals(120, ids[119]);
+        verify(jdbcTemplate, times(3)).queryForList(
+                eq("SELECT seq_movimiento_inventario.NEXTVAL FROM dual CONNECT BY LEVEL <= ?"), eq(Integer.class), eq(50));
+    }
+
+    @Test
+    @DisplayName("Debería usar el tamaño de bloque configurado para la tabla")
+    void testReservar_TamanioPorTabla() {
+        asignadorIds.reservar(AsignadorIds.ORDEN_SERVICIO, 25);
+
+        verify(jdbcTemplate, times(3)).queryForList(
+                eq("SELECT seq_orden_servicio.NEXTVAL FROM dual CONNECT BY LEVEL <= ?"), eq(Integer.class), eq(10));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> metricas = (Map<String, Object>) asignadorIds.metricas().get(AsignadorIds.ORDEN_SERVICIO);
+        assertEquals(10, metricas.get("tamanioBloque"));
+        assertEquals(3L, metricas.get("bloquesPedidos"));
+        assertEquals(25L, metricas.get("idsEntregados"));
+        assertEquals(5, metricas.get("idsDisponibles"));
+        assertEquals(22L, metricas.get("consultasEvitadas"));
+    }
+
+    @Test
+    @DisplayName("Hilos concurrentes no deben recibir IDs repetidos ni pedir bloques de más")
+    void testSiguiente_Concurrente() throws Exception {
+        int hilos = 8;
+        int porHilo = 500;
+        Set<Integer> entregados = ConcurrentHashMap.newKeySet();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                tareas.add(ejecutor.submit(() -> {
+                    salida.await();
+                    for (int i = 0; i < porHilo; i++) {
+                        assertTrue(entregados.add(asignadorIds.siguiente(AsignadorIds.MOVIMIENTO_INVENTARIO)));
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+
+        assertEquals(hilos * porHilo, entregados.size());
+        verify(jdbcTemplate, times(hilos * porHilo / 50)).queryForList(anyString(), eq(Integer.class), any());
+    }
+
+    @Test
+    @DisplayName("Debería lanzar excepción para una tabla sin secuencia")
+    void testSiguiente_TablaSinSecuencia() {
+        assertThrows(IllegalArgumentException.class, () -> asignadorIds.siguiente("orden_servicio_mecanico"));
+    }
+}
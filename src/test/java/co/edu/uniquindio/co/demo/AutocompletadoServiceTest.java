@@ -0,0 +1,200 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.dto.AutocompletadoDTO;
+import co.edu.uniquindio.tallermacanico.dto.SugerenciaDTO;
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.model.Vehiculo;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import co.edu.uniquindio.tallermacanico.repository.AsignadorIds;
+import co.edu.uniquindio.tallermacanico.repository.CachesEntidades;
+import co.edu.uniquindio.tallermacanico.repository.ClienteRepository;
+import co.edu.uniquindio.tallermacanico.repository.GeneradorClaves;
+import co.edu.uniquindio.tallermacanico.repository.IndicePrefijos;
+import co.edu.uniquindio.tallermacanico.repository.PaginadorKeyset;
+import co.edu.uniquindio.tallermacanico.repository.VehiculoRepository;
+import co.edu.uniquindio.tallermacanico.service.implement.AutocompletadoServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link AutocompletadoServiceImpl} sobre H2 en modo Oracle: las búsquedas por prefijo deben responderse
+ * desde memoria y seguir los registros y eliminaciones confirmados.
+ */
+@DisplayName("Tests de integración para AutocompletadoService")
+public class AutocompletadoServiceTest {
+
+    private FuenteDatosContadora dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ClienteRepository clienteRepository;
+    private VehiculoRepository vehiculoRepository;
+    private TransactionTemplate transactionTemplate;
+    private AutocompletadoServiceImpl autocompletadoService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new FuenteDatosContadora(BaseDatosPrueba.nuevaUrl());
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+        String insertarCliente = "INSERT INTO cliente (id_cliente, nombre, apellido, telefono) " +
+                "VALUES (seq_cliente.NEXTVAL, ?, ?, ?)";
+        jdbcTemplate.update(insertarCliente, "Ana María", "Gómez", "300");
+        jdbcTemplate.update(insertarCliente, "Andrés", "Pérez", "301");
+        jdbcTemplate.update(insertarCliente, "Beatriz", "Ana", "302");
+        jdbcTemplate.update("INSERT INTO vehiculo (id_vehiculo, id_cliente, placa, marca, modelo, anio, color) " +
+                "VALUES (seq_vehiculo.NEXTVAL, 1, 'ABC-123', 'Mazda', '3', 2018, 'Rojo')");
+        jdbcTemplate.update("INSERT INTO vehiculo (id_vehiculo, id_cliente, placa, marca, modelo, anio, color) " +
+                "VALUES (seq_vehiculo.NEXTVAL, 2, 'ABD456', 'Renault', 'Logan', 2020, 'Gris')");
+        jdbcTemplate.update("INSERT INTO vehiculo (id_vehiculo, id_cliente, placa, marca, modelo, anio, color) " +
+                "VALUES (seq_vehiculo.NEXTVAL, 3, 'XYZ789', 'Chevrolet', 'Spark', 2015, 'Azul')");
+
+        GeneradorClaves generadorClaves = new GeneradorClaves(jdbcTemplate);
+        PaginadorKeyset paginador = new PaginadorKeyset(jdbcTemplate);
+        CacheReportes cacheReportes = new CacheReportes(0, 1);
+        CachesEntidades cachesEntidades = new CachesEntidades(100, 300, 10);
+        AsignadorIds asignadorIds = new AsignadorIds(jdbcTemplate, 50, "");
+        clienteRepository = new ClienteRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves,
+                asignadorIds, cachesEntidades);
+        vehiculoRepository = new VehiculoRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves,
+                asignadorIds, cachesEntidades);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        autocompletadoService = new AutocompletadoServiceImpl(vehiculoRepository, clienteRepository, 5);
+        autocompletadoService.inicializar();
+        dataSource.reiniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Debe encontrar placas y nombres por prefijo sin tildes ni mayúsculas y sin consultar la base")
+    void testAutocompletar_Prefijos() {
+        AutocompletadoDTO placas = autocompletadoService.autocompletar("abc 1", 10);
+        assertEquals(List.of("ABC-123"), textos(placas.getVehiculos()));
+        assertEquals("Mazda 3", placas.getVehiculos().get(0).getDetalle());
+
+        assertEquals(List.of("ABC-123", "ABD456"), textos(autocompletadoService.autocompletar("AB", 10).getVehiculos()));
+        assertEquals(List.of("Andrés Pérez"), textos(autocompletadoService.autocompletar("andres", 10).getClientes()));
+        assertEquals(List.of("Ana María Gómez"), textos(autocompletadoService.autocompletar("gom", 10).getClientes()));
+        // Cada palabra debe ser prefijo de un nombre o apellido
+        assertEquals(List.of("Ana María Gómez"), textos(autocompletadoService.autocompletar("Ana go", 10).getClientes()));
+        // Las coincidencias exactas de la palabra van antes que las más largas
+        assertEquals(List.of("Ana María Gómez", "Beatriz Ana", "Andrés Pérez"),
+                textos(autocompletadoService.autocompletar("an", 10).getClientes()));
+
+        assertEquals(0, dataSource.sentencias());
+    }
+
+    @Test
+    @DisplayName("Debe respetar el límite pedido y recortarlo al máximo configurado")
+    void testAutocompletar_Limite() {
+        assertEquals(1, autocompletadoService.autocompletar("a", 1).getVehiculos().size());
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            for (int i = 0; i < 10; i++) {
+                clienteRepository.registrarCliente(new Cliente(0, "Carlos", "Ruiz " + i, null, null, null));
+            }
+        });
+        assertEquals(5, autocompletadoService.autocompletar("carlos", 50).getClientes().size());
+    }
+
+    @Test
+    @DisplayName("Debe indexar los registros confirmados, ignorar los revertidos y quitar los eliminados")
+    void testAutocompletar_ActualizacionIncremental() {
+        int idVehiculo = transactionTemplate.execute(estado ->
+                vehiculoRepository.registrarVehiculo(new Vehiculo(0, 1, "QWE321", "Kia", "Rio", 2022, "Negro")));
+        assertEquals(List.of("QWE321"), textos(autocompletadoService.autocompletar("qwe", 10).getVehiculos()));
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            clienteRepository.registrarCliente(new Cliente(0, "Zoe", "Ñáñez", null, "399", null));
+            estado.setRollbackOnly();
+        });
+        assertTrue(autocompletadoService.autocompletar("zoe", 10).getClientes().isEmpty());
+
+        int idCliente = clienteRepository.registrarCliente(new Cliente(0, "Zoe", "Ñáñez", null, "399", null));
+        assertEquals(List.of("Zoe Ñáñez"), textos(autocompletadoService.autocompletar("nanez", 10).getClientes()));
+
+        vehiculoRepository.eliminarVehiculo(idVehiculo);
+        clienteRepository.eliminarCliente(idCliente);
+        assertTrue(autocompletadoService.autocompletar("qwe", 10).getVehiculos().isEmpty());
+        assertTrue(autocompletadoService.autocompletar("zoe", 10).getClientes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Los vehículos registrados por lote deben indexarse al confirmar con el ID reservado")
+    void testRegistrarVehiculos_IndexaConIdReservado() {
+        List<Vehiculo> vehiculos = List.of(new Vehiculo(0, 1, "LOT001", "Kia", "Rio", 2023, "Blanco"),
+                new Vehiculo(0, 2, "LOT002", "Kia", "Picanto", 2024, "Rojo"));
+        transactionTemplate.executeWithoutResult(estado -> {
+            vehiculoRepository.registrarVehiculos(vehiculos);
+            // Hasta el commit no aparecen
+            assertTrue(autocompletadoService.autocompletar("lot", 10).getVehiculos().isEmpty());
+        });
+
+        // Los tres vehículos de prueba tomaron 1..3 de la secuencia; el bloque reservado sigue desde el 4
+        assertEquals(List.of(4, 5), vehiculos.stream().map(Vehiculo::getIdVehiculo).toList());
+        List<SugerenciaDTO> sugerencias = autocompletadoService.autocompletar("lot", 10).getVehiculos();
+        assertEquals(List.of("LOT001", "LOT002"), textos(sugerencias));
+        assertEquals(List.of(4, 5), sugerencias.stream().map(SugerenciaDTO::getId).toList());
+        assertEquals("LOT002", jdbcTemplate.queryForObject(
+                "SELECT placa FROM vehiculo WHERE id_vehiculo = 5", String.class));
+
+        // El registro individual sigue la secuencia después del bloque reservado
+        int idIndividual = vehiculoRepository.registrarVehiculo(
+                new Vehiculo(0, 3, "SUE001", "Kia", "Rio", 2020, "Gris"));
+        assertEquals(54, idIndividual);
+    }
+
+    @Test
+    @DisplayName("La reconstrucción no debe bloquear las actualizaciones y debe conservar los cambios confirmados mientras lee")
+    void testReconstruir_CambiosDuranteLaLectura() {
+        List<Runnable> duranteLaLectura = new ArrayList<>();
+        IndicePrefijos<Cliente> indice = new IndicePrefijos<>("cliente.nombre", true, () -> {
+            List<Cliente> leidos = clienteRepository.listarClientes();
+            duranteLaLectura.forEach(Runnable::run);
+            return leidos;
+        }, c -> new SugerenciaDTO(c.getIdCliente(), c.getNombre() + " " + c.getApellido(), c.getTelefono()),
+                c -> c.getNombre() + " " + c.getApellido());
+        indice.reconstruir();
+
+        duranteLaLectura.add(() -> {
+            // Otro hilo confirma cambios mientras se lee la base de datos; la lectura ya no los incluye
+            CompletableFuture.runAsync(() -> {
+                indice.agregarAlConfirmar(new Cliente(10, "Carolina", "Díaz", null, "303", null));
+                indice.quitarAlConfirmar(2);
+            }).orTimeout(5, TimeUnit.SECONDS).join();
+            // Mientras tanto se aplicaron al índice anterior
+            assertEquals(List.of("Carolina Díaz"), textos(indice.buscar("caro", 10)));
+        });
+        indice.reconstruir();
+
+        assertEquals(List.of("Carolina Díaz"), textos(indice.buscar("caro", 10)));
+        assertTrue(indice.buscar("andres", 10).isEmpty());
+        assertEquals(List.of("Ana María Gómez", "Beatriz Ana"), textos(indice.buscar("ana", 10)));
+        assertEquals(2L, indice.metricas().get("reconstrucciones"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar consultas vacías y límites no positivos")
+    void testAutocompletar_Invalido() {
+        assertThrows(IllegalArgumentException.class, () -> autocompletadoService.autocompletar(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> autocompletadoService.autocompletar("abc", 0));
+        assertTrue(autocompletadoService.autocompletar("---", 10).getVehiculos().isEmpty());
+    }
+
+    private static List<String> textos(List<SugerenciaDTO> sugerencias) {
+        return sugerencias.stream().map(SugerenciaDTO::getTexto).toList();
+    }
+}
@@ -0,0 +1,61 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.repository.AsignadorIds;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Base de datos H2 en memoria (modo Oracle) para las pruebas de repositorio, con el mismo esquema que los
+ * benchmarks ({@code benchmark/esquema-h2.sql}): tablas, claves foráneas, identidades y secuencias de IDs.
+ * Cada prueba crea una base nueva y la elimina con {@code DROP ALL OBJECTS} al terminar.
+ */
+public final class BaseDatosPrueba {
+
+    private static final String ESQUEMA = "benchmark/esquema-h2.sql";
+
+    private BaseDatosPrueba() {
+    }
+
+    /**
+     * URL de una base en memoria nueva, distinta en cada llamada.
+     *
+     * @return URL JDBC de H2 en modo Oracle
+     */
+    public static String nuevaUrl() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+    }
+
+    /**
+     * Crea el esquema en la base del origen de datos.
+     *
+     * @param dataSource origen de datos de una base vacía
+     * @return plantilla sobre el origen de datos que admite la reserva de bloques de {@link AsignadorIds}
+     */
+    public static JdbcTemplate crearEsquema(DataSource dataSource) {
+        new ResourceDatabasePopulator(new ClassPathResource(ESQUEMA)).execute(dataSource);
+        return new PlantillaJdbcH2(dataSource);
+    }
+
+    /**
+     * Traduce la reserva de bloques de {@link AsignadorIds} ({@code CONNECT BY LEVEL}, que H2 no soporta ni en
+     * modo Oracle) a {@code SYSTEM_RANGE}, para que los bloques salgan de las mismas secuencias que usan los
+     * {@code INSERT} individuales.
+     */
+    private static final class PlantillaJdbcH2 extends JdbcTemplate {
+
+        PlantillaJdbcH2(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            return super.queryForList(sql.replace("FROM dual CONNECT BY LEVEL <= ?", "FROM SYSTEM_RANGE(1, ?)"),
+                    elementType, args);
+        }
+    }
+}
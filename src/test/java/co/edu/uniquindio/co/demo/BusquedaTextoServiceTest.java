@@ -0,0 +1,183 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.dto.ResultadoTextoDTO;
+import co.edu.uniquindio.tallermacanico.model.OrdenTrabajo;
+import co.edu.uniquindio.tallermacanico.model.Supervision;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import co.edu.uniquindio.tallermacanico.repository.CachesEntidades;
+import co.edu.uniquindio.tallermacanico.repository.GeneradorClaves;
+import co.edu.uniquindio.tallermacanico.repository.IndiceTextoCompleto;
+import co.edu.uniquindio.tallermacanico.repository.OrdenTrabajoRepository;
+import co.edu.uniquindio.tallermacanico.repository.PaginadorKeyset;
+import co.edu.uniquindio.tallermacanico.repository.SupervisionRepository;
+import co.edu.uniquindio.tallermacanico.service.implement.BusquedaTextoServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link BusquedaTextoServiceImpl} sobre H2 en modo Oracle: las búsquedas de texto deben responderse
+ * desde el índice en memoria, ordenadas por relevancia, y seguir los registros y eliminaciones confirmados.
+ */
+@DisplayName("Tests de integración para BusquedaTextoService")
+public class BusquedaTextoServiceTest {
+
+    private FuenteDatosContadora dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private OrdenTrabajoRepository ordenTrabajoRepository;
+    private SupervisionRepository supervisionRepository;
+    private TransactionTemplate transactionTemplate;
+    private IndiceTextoCompleto indiceTexto;
+    private BusquedaTextoServiceImpl busquedaTextoService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new FuenteDatosContadora(BaseDatosPrueba.nuevaUrl());
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+        // Solo interesan los textos: las órdenes y supervisiones apuntan a vehículos y mecánicos que no se crean
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        String insertarOrden = "INSERT INTO orden_trabajo (id_vehiculo, fecha_ingreso, diagnostico_inicial, " +
+                "id_estado_orden) VALUES (1, DATE '2025-01-10', ?, 1)";
+        jdbcTemplate.update(insertarOrden, "Ruido en la suspensión delantera al frenar");
+        jdbcTemplate.update(insertarOrden, "Cambio de aceite y filtro");
+        jdbcTemplate.update(insertarOrden, "Ruidos en el motor al arrancar en frío");
+        jdbcTemplate.update(insertarOrden, "Revisión de SUSPENSIONES traseras");
+        jdbcTemplate.update(insertarOrden, (Object) null);
+        jdbcTemplate.update("INSERT INTO supervision VALUES (1, 2, 3, 1, 'Ajuste de frenos delanteros, sin ruido')");
+
+        GeneradorClaves generadorClaves = new GeneradorClaves(jdbcTemplate);
+        PaginadorKeyset paginador = new PaginadorKeyset(jdbcTemplate);
+        CacheReportes cacheReportes = new CacheReportes(0, 1);
+        indiceTexto = new IndiceTextoCompleto();
+        ordenTrabajoRepository = new OrdenTrabajoRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves,
+                new CachesEntidades(100, 300, 10), indiceTexto);
+        supervisionRepository = new SupervisionRepository(jdbcTemplate, paginador, cacheReportes, indiceTexto);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        busquedaTextoService = new BusquedaTextoServiceImpl(ordenTrabajoRepository, supervisionRepository,
+                indiceTexto, 5);
+        busquedaTextoService.inicializar();
+        dataSource.reiniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Debe ordenar por relevancia sin importar tildes, mayúsculas ni plurales y sin consultar la base")
+    void testBuscar_Relevancia() {
+        List<ResultadoTextoDTO> resultados = busquedaTextoService.buscar("ruido suspension delantera", null, 10);
+        // La orden 1 tiene las tres palabras; las demás, solo una
+        assertEquals(List.of(1), resultados.get(0).getIds());
+        assertEquals(IndiceTextoCompleto.ORDEN_TRABAJO, resultados.get(0).getTipo());
+        assertEquals("Ruido en la suspensión delantera al frenar", resultados.get(0).getTexto());
+        assertEquals(4, resultados.size());
+        for (int i = 1; i < resultados.size(); i++) {
+            assertTrue(resultados.get(i - 1).getPuntaje() >= resultados.get(i).getPuntaje());
+        }
+
+        // A igual frecuencia gana el texto más corto; a igual puntaje, la orden más antigua
+        assertEquals(List.of(List.of(4), List.of(1)), ids(busquedaTextoService.buscar("Suspensión", null, 10)));
+        assertEquals(List.of(List.of(1), List.of(3)),
+                ids(busquedaTextoService.buscar("ruidos", IndiceTextoCompleto.ORDEN_TRABAJO, 10)));
+        // Las palabras vacías no cuentan
+        assertTrue(busquedaTextoService.buscar("de la en", null, 10).isEmpty());
+
+        assertEquals(0, dataSource.sentencias());
+    }
+
+    @Test
+    @DisplayName("Debe filtrar por tipo y recortar el límite al máximo configurado")
+    void testBuscar_TipoYLimite() {
+        List<ResultadoTextoDTO> supervisiones = busquedaTextoService.buscar("frenos", IndiceTextoCompleto.SUPERVISION, 10);
+        assertEquals(1, supervisiones.size());
+        assertEquals(List.of(1, 2, 3), supervisiones.get(0).getIds());
+        assertEquals(2, busquedaTextoService.buscar("frenar frenos", null, 10).size());
+
+        assertEquals(1, busquedaTextoService.buscar("ruido", null, 1).size());
+        transactionTemplate.executeWithoutResult(estado -> {
+            for (int i = 0; i < 10; i++) {
+                ordenTrabajoRepository.registrarOrdenTrabajo(new OrdenTrabajo(0, 1, LocalDate.of(2025, 2, 1), null,
+                        "Vibración en el volante " + i, 1));
+            }
+        });
+        assertEquals(5, busquedaTextoService.buscar("vibracion", null, 50).size());
+    }
+
+    @Test
+    @DisplayName("Debe indexar los registros confirmados, ignorar los revertidos y quitar los eliminados")
+    void testBuscar_ActualizacionIncremental() {
+        int idOrden = transactionTemplate.execute(estado -> ordenTrabajoRepository.registrarOrdenTrabajo(
+                new OrdenTrabajo(0, 1, LocalDate.of(2025, 2, 1), null, "Fuga de líquido de frenos", 1)));
+        assertEquals(List.of(List.of(idOrden)), ids(busquedaTextoService.buscar("liquido fugas", null, 10)));
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            supervisionRepository.registrarSupervision(new Supervision(4, 5, 6, 1, "Luces mal alineadas"));
+            estado.setRollbackOnly();
+        });
+        assertTrue(busquedaTextoService.buscar("luz", null, 10).isEmpty());
+
+        supervisionRepository.registrarSupervision(new Supervision(4, 5, 6, 1, "Luces mal alineadas"));
+        assertEquals(List.of(List.of(4, 5, 6)), ids(busquedaTextoService.buscar("luz", null, 10)));
+
+        ordenTrabajoRepository.eliminarOrdenTrabajo(idOrden);
+        supervisionRepository.eliminarSupervision(4, 5, 6);
+        assertTrue(busquedaTextoService.buscar("fuga", null, 10).isEmpty());
+        assertTrue(busquedaTextoService.buscar("luces", null, 10).isEmpty());
+        assertEquals(List.of(List.of(1, 2, 3)), ids(busquedaTextoService.buscar("frenos", "supervision", 10)));
+    }
+
+    @Test
+    @DisplayName("La reconstrucción no debe bloquear las búsquedas y debe conservar los cambios confirmados mientras lee")
+    void testReconstruir_CambiosDuranteLaLectura() {
+        int[] idOrden = new int[1];
+        indiceTexto.reconstruir(() -> {
+            // Otro hilo busca mientras se lee la base de datos y obtiene el índice anterior
+            List<ResultadoTextoDTO> durante = CompletableFuture
+                    .supplyAsync(() -> indiceTexto.buscar("frenos", IndiceTextoCompleto.SUPERVISION, 10))
+                    .orTimeout(5, TimeUnit.SECONDS).join();
+            assertEquals(1, durante.size());
+
+            // La lectura ya terminó: lo que se confirma ahora no está en ella
+            List<IndiceTextoCompleto.Documento> leidos = List.of(
+                    new IndiceTextoCompleto.Documento(IndiceTextoCompleto.ORDEN_TRABAJO, List.of(1),
+                            "Ruido en la suspensión delantera al frenar"),
+                    new IndiceTextoCompleto.Documento(IndiceTextoCompleto.SUPERVISION, List.of(1, 2, 3),
+                            "Ajuste de frenos delanteros, sin ruido"));
+            idOrden[0] = ordenTrabajoRepository.registrarOrdenTrabajo(
+                    new OrdenTrabajo(0, 1, LocalDate.of(2025, 2, 1), null, "Fuga de líquido de frenos", 1));
+            supervisionRepository.eliminarSupervision(1, 2, 3);
+            return leidos;
+        });
+
+        assertEquals(List.of(List.of(idOrden[0])), ids(indiceTexto.buscar("fuga", null, 10)));
+        assertTrue(indiceTexto.buscar("frenos", IndiceTextoCompleto.SUPERVISION, 10).isEmpty());
+        assertEquals(List.of(List.of(1)), ids(indiceTexto.buscar("suspension", null, 10)));
+        assertEquals(2L, indiceTexto.metricas().get("reconstrucciones"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar consultas vacías, tipos desconocidos y límites no positivos")
+    void testBuscar_Invalido() {
+        assertThrows(IllegalArgumentException.class, () -> busquedaTextoService.buscar(" ", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> busquedaTextoService.buscar("ruido", null, 0));
+        assertThrows(IllegalArgumentException.class, () -> busquedaTextoService.buscar("ruido", "factura", 10));
+        assertTrue(busquedaTextoService.buscar("---", null, 10).isEmpty());
+    }
+
+    private static List<List<Integer>> ids(List<ResultadoTextoDTO> resultados) {
+        return resultados.stream().map(ResultadoTextoDTO::getIds).toList();
+    }
+}
@@ -0,0 +1,122 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.repository.CacheEntidad;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para CacheEntidad")
+public class CacheEntidadTest {
+
+    private static final long TTL = TimeUnit.MINUTES.toNanos(5);
+
+    @Test
+    @DisplayName("La segunda consulta debe salir de la caché y entregar una copia")
+    void testObtener_AciertoConCopia() {
+        CacheEntidad<Cliente> cache = new CacheEntidad<>("cliente", 100, TTL, TTL, c -> new Cliente(
+                c.getIdCliente(), c.getNombre(), c.getApellido(), c.getDireccion(), c.getTelefono(), c.getEmail()));
+        AtomicInteger cargas = new AtomicInteger();
+
+        Cliente primero = cache.obtener(1, id -> {
+            cargas.incrementAndGet();
+            return new Cliente(id, "Ana", "Gómez", "Calle 1", "300", "ana@correo.com");
+        });
+        primero.setNombre("alterado");
+        Cliente segundo = cache.obtener(1, id -> {
+            cargas.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(1, cargas.get());
+        assertEquals("Ana", segundo.getNombre());
+        assertEquals(1L, cache.metricas().get("aciertos"));
+        assertEquals(1L, cache.metricas().get("fallos"));
+    }
+
+    @Test
+    @DisplayName("Un 'no encontrado' debe guardarse hasta que una inserción lo descarte")
+    void testObtener_NoEncontrado() {
+        CacheEntidad<String> cache = new CacheEntidad<>("vehiculo", 100, TTL, TTL, UnaryOperator.identity());
+        AtomicInteger cargas = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(cache.obtener(7, id -> {
+                cargas.incrementAndGet();
+                return null;
+            }));
+        }
+        assertEquals(1, cargas.get());
+        assertEquals(4L, cache.metricas().get("aciertosNoEncontrado"));
+
+        cache.invalidarNoEncontrados();
+
+        assertEquals("ABC123", cache.obtener(7, id -> "ABC123"));
+    }
+
+    @Test
+    @DisplayName("Un recorrido de filas leídas una sola vez no debe desplazar las entradas frecuentes")
+    void testObtener_ResisteRecorridos() {
+        CacheEntidad<String> cache = new CacheEntidad<>("orden_trabajo", 100, TTL, TTL, UnaryOperator.identity());
+        for (int ronda = 0; ronda < 5; ronda++) {
+            for (int id = 1; id <= 50; id++) {
+                cache.obtener(id, String::valueOf);
+            }
+        }
+
+        for (int id = 1000; id < 1500; id++) {
+            cache.obtener(id, String::valueOf);
+        }
+
+        AtomicInteger recargas = new AtomicInteger();
+        for (int id = 1; id <= 50; id++) {
+            cache.obtener(id, clave -> {
+                recargas.incrementAndGet();
+                return String.valueOf(clave);
+            });
+        }
+        assertTrue(recargas.get() <= 2, "Entradas frecuentes desplazadas: " + recargas.get());
+        assertTrue((long) cache.metricas().get("admisionesRechazadas") > 400);
+        assertTrue((int) cache.metricas().get("entradas") <= 100);
+    }
+
+    @Test
+    @DisplayName("Una carga que se cruza con una invalidación no debe guardarse")
+    void testObtener_CargaCruzadaConInvalidacion() {
+        CacheEntidad<String> cache = new CacheEntidad<>("cliente", 100, TTL, TTL, UnaryOperator.identity());
+
+        assertEquals("viejo", cache.obtener(1, id -> {
+            cache.invalidar(id);
+            return "viejo";
+        }));
+
+        assertEquals("nuevo", cache.obtener(1, id -> "nuevo"));
+    }
+
+    @Test
+    @DisplayName("La invalidación debe repetirse al confirmar la transacción")
+    void testInvalidar_RepiteAlConfirmar() {
+        CacheEntidad<String> cache = new CacheEntidad<>("cliente", 100, TTL, TTL, UnaryOperator.identity());
+        cache.obtener(1, id -> "viejo");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidar(1);
+            // Otra petición lee la fila antes del commit
+            assertEquals("viejo", cache.obtener(1, id -> "viejo"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("nuevo", cache.obtener(1, id -> "nuevo"));
+    }
+}
@@ -0,0 +1,164 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.reportes.cache.CachePDF;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para CachePDF")
+public class CachePDFTest {
+
+    @TempDir
+    Path directorio;
+
+    private CacheReportes cacheReportes;
+    private CachePDF cachePDF;
+
+    @BeforeEach
+    void setUp() {
+        cacheReportes = new CacheReportes(300, 10);
+        cachePDF = new CachePDF(cacheReportes, directorio.toString(), 1, 300);
+    }
+
+    @Test
+    @DisplayName("La segunda descarga debe leerse del disco sin volver a generar el PDF")
+    void testAbrir_AciertoEnSegundaDescarga() throws IOException {
+        AtomicInteger generaciones = new AtomicInteger();
+        CachePDF.Escritor escritor = salida -> {
+            generaciones.incrementAndGet();
+            salida.write("%PDF-servicios".getBytes());
+        };
+
+        descargar(cachePDF.clave(CachePDF.SERVICIOS), escritor);
+        byte[] segunda = descargar(cachePDF.clave(CachePDF.SERVICIOS), escritor);
+
+        assertEquals(1, generaciones.get());
+        assertEquals("%PDF-servicios", new String(segunda));
+        assertEquals(1L, cachePDF.metricas().get("aciertos"));
+    }
+
+    @Test
+    @DisplayName("El ETag debe cambiar solo al escribir en una tabla que consulta el reporte")
+    void testClave_CambiaConLaVersionDeLasTablas() {
+        String inicial = cachePDF.clave(CachePDF.INGRESOS_MENSUALES).etag();
+
+        cacheReportes.invalidarPorTabla("cliente");
+        assertEquals(inicial, cachePDF.clave(CachePDF.INGRESOS_MENSUALES).etag());
+
+        cacheReportes.invalidarPorTabla("factura");
+        assertNotEquals(inicial, cachePDF.clave(CachePDF.INGRESOS_MENSUALES).etag());
+    }
+
+    @Test
+    @DisplayName("Los parámetros del reporte deben formar parte de la clave")
+    void testClave_DependeDeLosParametros() {
+        assertNotEquals(cachePDF.clave(CachePDF.FACTURAS_CLIENTE, 1).etag(),
+                cachePDF.clave(CachePDF.FACTURAS_CLIENTE, 2).etag());
+    }
+
+    @Test
+    @DisplayName("Un ETag de otro arranque o de otro nodo no debe coincidir aunque las versiones sean iguales")
+    void testClave_DependeDelArranque() {
+        CachePDF otroArranque = new CachePDF(new CacheReportes(300, 10), directorio.toString(), 1, 300);
+
+        assertNotEquals(cachePDF.clave(CachePDF.CLIENTES).etag(), otroArranque.clave(CachePDF.CLIENTES).etag());
+    }
+
+    @Test
+    @DisplayName("Con la caché desactivada no debe haber ETag")
+    void testClave_SinETagConTTLCero() {
+        CachePDF desactivada = new CachePDF(cacheReportes, directorio.toString(), 1, 0);
+
+        assertNull(desactivada.clave(CachePDF.CLIENTES).etag());
+    }
+
+    @Test
+    @DisplayName("Al superar el espacio máximo debe borrarse el PDF menos usado")
+    void testAbrir_ExpulsaElMenosUsado() throws IOException {
+        byte[] contenido = new byte[600 * 1024];
+
+        descargar(cachePDF.clave(CachePDF.SUPERVISIONES, 1), salida -> salida.write(contenido));
+        descargar(cachePDF.clave(CachePDF.SUPERVISIONES, 2), salida -> salida.write(contenido));
+
+        assertEquals(1, cachePDF.metricas().get("archivos"));
+        assertEquals(1L, cachePDF.metricas().get("expulsados"));
+    }
+
+    @Test
+    @DisplayName("Un PDF que no está guardado debe escribirse en la respuesta mientras se genera")
+    void testGenerar_EscribeEnLaRespuestaMientrasGenera() throws IOException {
+        ByteArrayOutputStream respuesta = new ByteArrayOutputStream();
+        CachePDF.Clave clave = cachePDF.clave(CachePDF.CLIENTES);
+
+        cachePDF.generar(clave, salida -> {
+            salida.write("%PDF-".getBytes());
+            assertEquals(5, respuesta.size());
+            salida.write("clientes".getBytes());
+        }, respuesta);
+
+        assertEquals("%PDF-clientes", respuesta.toString());
+        assertEquals("%PDF-clientes", new String(descargar(clave, salida -> fail("Debía leerse del disco"))));
+    }
+
+    @Test
+    @DisplayName("Un PDF mayor que el espacio máximo debe llegar completo sin guardarse")
+    void testGenerar_NoGuardaSiSuperaElMaximo() throws IOException {
+        byte[] contenido = new byte[1536 * 1024];
+        AtomicInteger generaciones = new AtomicInteger();
+        CachePDF.Escritor escritor = salida -> {
+            generaciones.incrementAndGet();
+            salida.write(contenido);
+        };
+
+        assertEquals(contenido.length, descargar(cachePDF.clave(CachePDF.CLIENTES), escritor).length);
+        descargar(cachePDF.clave(CachePDF.CLIENTES), escritor);
+
+        assertEquals(2, generaciones.get());
+        assertEquals(0, cachePDF.metricas().get("archivos"));
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(0, archivos.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Con la caché desactivada el PDF debe escribirse directamente en la respuesta")
+    void testGenerar_SinCacheEscribeDirecto() throws IOException {
+        CachePDF desactivada = new CachePDF(cacheReportes, directorio.toString(), 1, 0);
+        ByteArrayOutputStream respuesta = new ByteArrayOutputStream();
+        CachePDF.Clave clave = desactivada.clave(CachePDF.CLIENTES);
+
+        assertNull(desactivada.abrirGuardado(clave));
+        desactivada.generar(clave, salida -> assertSame(respuesta, salida), respuesta);
+    }
+
+    @Test
+    @DisplayName("Un reporte no registrado debe lanzar excepción")
+    void testClave_ReporteDesconocido() {
+        assertThrows(IllegalArgumentException.class, () -> cachePDF.clave("desconocido"));
+    }
+
+    /** Lo mismo que hace {@code RespuestasPDF}: lee el PDF guardado o lo genera en la respuesta. */
+    private byte[] descargar(CachePDF.Clave clave, CachePDF.Escritor escritor) throws IOException {
+        CachePDF.PDFCacheado guardado = cachePDF.abrirGuardado(clave);
+        if (guardado != null) {
+            try (InputStream contenido = guardado.contenido()) {
+                return contenido.readAllBytes();
+            }
+        }
+        ByteArrayOutputStream respuesta = new ByteArrayOutputStream();
+        cachePDF.generar(clave, escritor, respuesta);
+        return respuesta.toByteArray();
+    }
+}
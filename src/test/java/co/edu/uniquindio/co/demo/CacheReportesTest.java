@@ -0,0 +1,113 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para CacheReportes")
+public class CacheReportesTest {
+
+    @Test
+    @DisplayName("La segunda consulta debe salir de la caché sin volver a cargar")
+    void testObtener_AciertoEnSegundaConsulta() {
+        CacheReportes cache = new CacheReportes(300, 10);
+        AtomicInteger cargas = new AtomicInteger();
+
+        List<String> primera = cache.obtener(CacheReportes.INGRESOS_POR_MES, () -> {
+            cargas.incrementAndGet();
+            return List.of("2025-01");
+        });
+        List<String> segunda = cache.obtener(CacheReportes.INGRESOS_POR_MES, () -> {
+            cargas.incrementAndGet();
+            return List.of("2025-02");
+        });
+
+        assertEquals(1, cargas.get());
+        assertEquals(primera, segunda);
+        assertEquals(1L, cache.metricas().get("aciertos"));
+        assertEquals(1L, cache.metricas().get("fallos"));
+    }
+
+    @Test
+    @DisplayName("Una escritura en factura debe invalidar solo los ingresos por mes")
+    void testInvalidarPorTabla_SoloAgregadosAfectados() {
+        CacheReportes cache = new CacheReportes(300, 10);
+        AtomicInteger cargas = new AtomicInteger();
+
+        cache.obtener(CacheReportes.INGRESOS_POR_MES, () -> List.of(cargas.incrementAndGet()));
+        cache.obtener(CacheReportes.REPUESTOS_MAS_USADOS, () -> List.of(cargas.incrementAndGet()));
+
+        cache.invalidarPorTabla("factura");
+
+        cache.obtener(CacheReportes.INGRESOS_POR_MES, () -> List.of(cargas.incrementAndGet()));
+        cache.obtener(CacheReportes.REPUESTOS_MAS_USADOS, () -> List.of(cargas.incrementAndGet()));
+
+        assertEquals(3, cargas.get());
+        assertEquals(1L, cache.metricas().get("invalidaciones"));
+    }
+
+    @Test
+    @DisplayName("Un resultado cargado durante una invalidación no debe guardarse")
+    void testObtener_NoGuardaResultadoSiHuboInvalidacionDuranteLaCarga() {
+        CacheReportes cache = new CacheReportes(300, 10);
+
+        cache.obtener(CacheReportes.SERVICIOS_MAS_SOLICITADOS, () -> {
+            cache.invalidarPorTabla("orden_servicio");
+            return List.of("antiguo");
+        });
+        List<String> actual = cache.obtener(CacheReportes.SERVICIOS_MAS_SOLICITADOS, () -> List.of("nuevo"));
+
+        assertEquals(List.of("nuevo"), actual);
+    }
+
+    @Test
+    @DisplayName("Con TTL 0 la caché debe quedar desactivada")
+    void testObtener_TtlCeroNoGuarda() {
+        CacheReportes cache = new CacheReportes(0, 10);
+        AtomicInteger cargas = new AtomicInteger();
+
+        cache.obtener(CacheReportes.PRODUCTIVIDAD_SUPERVISORES, () -> List.of(cargas.incrementAndGet()));
+        cache.obtener(CacheReportes.PRODUCTIVIDAD_SUPERVISORES, () -> List.of(cargas.incrementAndGet()));
+
+        assertEquals(2, cargas.get());
+        assertEquals(0, cache.metricas().get("entradas"));
+    }
+
+    @Test
+    @DisplayName("Al superar el máximo debe descartarse la entrada menos usada")
+    void testObtener_RespetaMaximoDeEntradas() {
+        CacheReportes cache = new CacheReportes(300, 2);
+
+        cache.obtener(CacheReportes.INGRESOS_POR_MES, () -> List.of(1));
+        cache.obtener(CacheReportes.REPUESTOS_MAS_USADOS, () -> List.of(2));
+        cache.obtener(CacheReportes.SERVICIOS_MAS_SOLICITADOS, () -> List.of(3));
+
+        assertEquals(2, cache.metricas().get("entradas"));
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción la invalidación debe esperar a la confirmación")
+    void testInvalidarAlConfirmar_EsperaCommit() {
+        CacheReportes cache = new CacheReportes(300, 10);
+        cache.obtener(CacheReportes.SERVICIOS_MAS_SOLICITADOS, () -> List.of("viejo"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidarAlConfirmar("servicio");
+            assertEquals(List.of("viejo"), cache.obtener(CacheReportes.SERVICIOS_MAS_SOLICITADOS, () -> List.of("nuevo")));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of("nuevo"), cache.obtener(CacheReportes.SERVICIOS_MAS_SOLICITADOS, () -> List.of("nuevo")));
+    }
+}
@@ -0,0 +1,171 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.controller.OrdenTrabajoController;
+import co.edu.uniquindio.tallermacanico.dto.OrdenTrabajoDTO;
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.model.Mecanico;
+import co.edu.uniquindio.tallermacanico.model.Vehiculo;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import co.edu.uniquindio.tallermacanico.repository.AsignadorIds;
+import co.edu.uniquindio.tallermacanico.repository.CachesEntidades;
+import co.edu.uniquindio.tallermacanico.repository.CargadorLotes;
+import co.edu.uniquindio.tallermacanico.repository.CargadoresPeticion;
+import co.edu.uniquindio.tallermacanico.repository.ClienteRepository;
+import co.edu.uniquindio.tallermacanico.repository.EstadoOrdenRepository;
+import co.edu.uniquindio.tallermacanico.repository.GeneradorClaves;
+import co.edu.uniquindio.tallermacanico.repository.IndiceTextoCompleto;
+import co.edu.uniquindio.tallermacanico.repository.MecanicoRepository;
+import co.edu.uniquindio.tallermacanico.repository.OrdenTrabajoRepository;
+import co.edu.uniquindio.tallermacanico.repository.PaginadorKeyset;
+import co.edu.uniquindio.tallermacanico.repository.RepuestoRepository;
+import co.edu.uniquindio.tallermacanico.repository.ServicioRepository;
+import co.edu.uniquindio.tallermacanico.repository.VehiculoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@code buscarPorIds} y {@link CargadorLotes} sobre H2 en modo Oracle: las búsquedas por ID de una
+ * petición deben salir en lotes y no una consulta por fila.
+ */
+@DisplayName("Tests de integración para CargadorLotes y buscarPorIds")
+public class CargadorLotesTest {
+
+    private FuenteDatosContadora dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private VehiculoRepository vehiculoRepository;
+    private MecanicoRepository mecanicoRepository;
+    private CargadoresPeticion cargadoresPeticion;
+    private OrdenTrabajoController ordenTrabajoController;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new FuenteDatosContadora(BaseDatosPrueba.nuevaUrl());
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+        jdbcTemplate.update("INSERT INTO estado_orden VALUES (1, 'ABIERTA')");
+        jdbcTemplate.update("INSERT INTO cliente (id_cliente, nombre, apellido) VALUES (seq_cliente.NEXTVAL, 'Ana', 'Gómez')");
+        List<Object[]> vehiculos = new ArrayList<>();
+        for (int v = 1; v <= 60; v++) {
+            vehiculos.add(new Object[]{v, 1, "PLA" + v, "Mazda", "3", 2020, "Gris"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO vehiculo VALUES (?, ?, ?, ?, ?, ?, ?)", vehiculos);
+        // 120 órdenes; cada vehículo tiene dos, así que una página de 100 repite vehículos
+        List<Object[]> ordenes = new ArrayList<>();
+        for (int o = 1; o <= 120; o++) {
+            ordenes.add(new Object[]{o, (o - 1) % 60 + 1, "Revisión " + o});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orden_trabajo VALUES (?, ?, DATE '2025-01-10', NULL, ?, 1)", ordenes);
+        List<Object[]> mecanicos = new ArrayList<>();
+        for (int m = 1; m <= 1500; m++) {
+            mecanicos.add(new Object[]{m, "Mecánico " + m});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO mecanico VALUES (?, ?, 'Pérez', '310', 3)", mecanicos);
+
+        GeneradorClaves generadorClaves = new GeneradorClaves(jdbcTemplate);
+        PaginadorKeyset paginador = new PaginadorKeyset(jdbcTemplate);
+        CacheReportes cacheReportes = new CacheReportes(0, 1);
+        CachesEntidades cachesEntidades = new CachesEntidades(100, 300, 10);
+        AsignadorIds asignadorIds = new AsignadorIds(jdbcTemplate, 50, "");
+        vehiculoRepository = new VehiculoRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves,
+                asignadorIds, cachesEntidades);
+        mecanicoRepository = new MecanicoRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves);
+        OrdenTrabajoRepository ordenTrabajoRepository = new OrdenTrabajoRepository(jdbcTemplate, paginador,
+                cacheReportes, generadorClaves, cachesEntidades, new IndiceTextoCompleto());
+        EstadoOrdenRepository estadoOrdenRepository = new EstadoOrdenRepository(jdbcTemplate);
+        // En la aplicación las tablas de referencia se precargan al arrancar
+        estadoOrdenRepository.tablaReferencia().recargar();
+
+        cargadoresPeticion = new CargadoresPeticion(vehiculoRepository,
+                new ClienteRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves,
+                        asignadorIds, cachesEntidades),
+                ordenTrabajoRepository, mecanicoRepository,
+                new RepuestoRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves),
+                new ServicioRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves));
+        ordenTrabajoController = new OrdenTrabajoController(ordenTrabajoRepository, estadoOrdenRepository,
+                null, null, cargadoresPeticion);
+        dataSource.reiniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Una página de 100 órdenes con sus vehículos debe costar a lo sumo dos consultas")
+    @SuppressWarnings("unchecked")
+    void testPaginaOrdenesConVehiculo() {
+        ResponseEntity<?> respuesta = ordenTrabajoController.obtenerOrdenesPaginadas(null, 100, true);
+
+        assertTrue(dataSource.sentencias() <= 2, "Consultas: " + dataSource.sentencias());
+        PaginaDTO<OrdenTrabajoDTO> pagina = (PaginaDTO<OrdenTrabajoDTO>) respuesta.getBody();
+        assertEquals(100, pagina.getItems().size());
+        for (OrdenTrabajoDTO orden : pagina.getItems()) {
+            assertEquals(orden.getIdVehiculo(), orden.getVehiculo().getIdVehiculo());
+            assertEquals("ABIERTA", orden.getNombreEstado());
+        }
+        assertEquals(1, cargadoresPeticion.vehiculos().lotes());
+    }
+
+    @Test
+    @DisplayName("El cargador debe agrupar los IDs encolados y recordar los ya resueltos")
+    void testCargadorAgrupaYRecuerda() {
+        CargadorLotes<Vehiculo> vehiculos = cargadoresPeticion.vehiculos();
+        Supplier<Vehiculo> primero = vehiculos.cargar(1);
+        Supplier<Vehiculo> segundo = vehiculos.cargar(2);
+        Supplier<Vehiculo> inexistente = vehiculos.cargar(999);
+        assertEquals(0, dataSource.sentencias());
+
+        assertEquals("PLA2", segundo.get().getPlaca());
+        assertEquals("PLA1", primero.get().getPlaca());
+        assertNull(inexistente.get());
+        assertNull(vehiculos.obtener(999));
+        assertEquals("PLA1", vehiculos.obtener(1).getPlaca());
+
+        assertEquals(1, dataSource.sentencias());
+        assertEquals(1, vehiculos.lotes());
+    }
+
+    @Test
+    @DisplayName("buscarPorIds debe partir en grupos de 1000 IDs y usar la caché de entidades")
+    void testBuscarPorIds_GruposYCache() {
+        List<Integer> ids = new ArrayList<>();
+        for (int m = 1; m <= 1500; m++) {
+            ids.add(m);
+        }
+        ids.add(1);
+        ids.add(9999);
+
+        Map<Integer, Mecanico> mecanicos = mecanicoRepository.buscarPorIds(ids);
+        assertEquals(2, dataSource.sentencias());
+        assertEquals(1500, mecanicos.size());
+        assertEquals("Mecánico 1500", mecanicos.get(1500).getNombre());
+        assertFalse(mecanicos.containsKey(9999));
+
+        dataSource.reiniciar();
+        assertEquals(3, vehiculoRepository.buscarPorIds(List.of(1, 2, 3, 999)).size());
+        assertEquals(1, dataSource.sentencias());
+        // Segunda vez: los encontrados y el "no encontrado" salen de la caché
+        assertEquals(3, vehiculoRepository.buscarPorIds(List.of(3, 2, 1, 999)).size());
+        assertEquals(1, dataSource.sentencias());
+    }
+
+    @Test
+    @DisplayName("Las búsquedas sin IDs no deben consultar la base de datos")
+    void testBuscarPorIds_Vacio() {
+        assertTrue(mecanicoRepository.buscarPorIds(List.of()).isEmpty());
+        assertTrue(vehiculoRepository.buscarPorIds(List.of()).isEmpty());
+        cargadoresPeticion.mecanicos().despachar();
+        assertEquals(0, dataSource.sentencias());
+    }
+}
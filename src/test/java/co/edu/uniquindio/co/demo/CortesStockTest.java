@@ -0,0 +1,142 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.dto.StockFechaDTO;
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import co.edu.uniquindio.tallermacanico.repository.AsignadorIds;
+import co.edu.uniquindio.tallermacanico.repository.GeneradorClaves;
+import co.edu.uniquindio.tallermacanico.repository.MovimientoInventarioRepository;
+import co.edu.uniquindio.tallermacanico.repository.PaginadorKeyset;
+import co.edu.uniquindio.tallermacanico.repository.RepuestoRepository;
+import co.edu.uniquindio.tallermacanico.service.CortesStock;
+import co.edu.uniquindio.tallermacanico.service.MotorStock;
+import co.edu.uniquindio.tallermacanico.service.implement.CortesStockImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link CortesStockImpl} sobre H2 en modo Oracle: el stock a una fecha calculado desde los cortes
+ * debe coincidir con recorrer el libro completo.
+ */
+@DisplayName("Tests de integración para CortesStock")
+public class CortesStockTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FIN = LocalDate.of(2025, 3, 31);
+
+    private JdbcTemplate jdbcTemplate;
+    private CortesStock cortesStock;
+    private final List<MovimientoInventario> libro = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(BaseDatosPrueba.nuevaUrl(), "sa", "");
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+        jdbcTemplate.update("INSERT INTO repuesto (nombre, stock_actual, unidad_medida) VALUES ('Pastillas de freno', 0, 'juego')");
+        jdbcTemplate.update("INSERT INTO repuesto (nombre, stock_actual, unidad_medida) VALUES ('Bujía', 0, 'unidad')");
+
+        // Libro sintético: entradas, salidas y algunos conteos físicos de dos repuestos durante tres meses
+        Random aleatorio = new Random(7);
+        for (int i = 0; i < 240; i++) {
+            int tirada = aleatorio.nextInt(10);
+            String tipo = tirada < 5 ? MotorStock.ENTRADA : tirada < 9 ? MotorStock.SALIDA : MotorStock.AJUSTE;
+            LocalDate fecha = INICIO.plusDays(aleatorio.nextInt(90));
+            insertar(new MovimientoInventario(i + 1, 1 + aleatorio.nextInt(2), tipo,
+                    1 + aleatorio.nextInt(20), fecha, "REF-" + i, null));
+        }
+
+        PaginadorKeyset paginador = new PaginadorKeyset(jdbcTemplate);
+        CacheReportes cacheReportes = new CacheReportes(0, 1);
+        GeneradorClaves generadorClaves = new GeneradorClaves(jdbcTemplate);
+        cortesStock = new CortesStockImpl(
+                new MovimientoInventarioRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves,
+                        new AsignadorIds(jdbcTemplate, 50, "")),
+                new RepuestoRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves), 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("El stock a cada fecha debe coincidir con el libro completo y leer solo los movimientos posteriores al corte")
+    void testConsultar_CoincideConElLibro() {
+        cortesStock.actualizarHasta(FIN);
+
+        for (LocalDate fecha = INICIO.minusDays(1); !fecha.isAfter(FIN.plusDays(3)); fecha = fecha.plusDays(1)) {
+            for (int idRepuesto = 1; idRepuesto <= 2; idRepuesto++) {
+                StockFechaDTO stock = cortesStock.consultar(idRepuesto, fecha);
+                assertEquals(esperado(idRepuesto, fecha), stock.getStock(), 1e-9, "Repuesto " + idRepuesto + " al " + fecha);
+                if (stock.getFechaCorte() != null) {
+                    assertFalse(stock.getFechaCorte().isAfter(fecha));
+                    assertTrue(stock.getFechaCorte().isAfter(fecha.minusDays(7 + 7)),
+                            "Debe partir de un corte reciente: " + stock.getFechaCorte() + " para " + fecha);
+                }
+            }
+        }
+        assertTrue(cortesStock.cierres(1).size() >= 11);
+    }
+
+    @Test
+    @DisplayName("Un movimiento con fecha pasada debe invalidar los cortes posteriores hasta la siguiente pasada")
+    void testMovimientoRegistrado_InvalidaCortesPosteriores() {
+        cortesStock.actualizarHasta(FIN);
+        LocalDate fecha = LocalDate.of(2025, 2, 10);
+        MovimientoInventario atrasado = new MovimientoInventario(1000, 1, MotorStock.ENTRADA, 500, fecha, "ATRASADO", null);
+        insertar(atrasado);
+
+        cortesStock.movimientoRegistrado(atrasado);
+
+        assertTrue(cortesStock.cierres(1).stream().allMatch(cierre -> cierre.isBefore(fecha)));
+        assertEquals(esperado(1, FIN), cortesStock.consultar(1, FIN).getStock(), 1e-9);
+
+        cortesStock.actualizarHasta(FIN);
+
+        assertTrue(cortesStock.cierres(1).stream().anyMatch(cierre -> cierre.isAfter(fecha)));
+        StockFechaDTO stock = cortesStock.consultar(1, FIN);
+        assertEquals(esperado(1, FIN), stock.getStock(), 1e-9);
+        assertNotNull(stock.getFechaCorte());
+    }
+
+    @Test
+    @DisplayName("Debe devolver null si el repuesto no existe")
+    void testConsultar_RepuestoInexistente() {
+        assertNull(cortesStock.consultar(99, FIN));
+    }
+
+    /** Recorre el libro completo en memoria, en el mismo orden que la base de datos. */
+    private double esperado(int idRepuesto, LocalDate fecha) {
+        double stock = 0;
+        List<MovimientoInventario> ordenados = new ArrayList<>(libro);
+        ordenados.sort(Comparator.comparing(MovimientoInventario::getFechaMovimiento)
+                .thenComparingInt(MovimientoInventario::getIdMovimiento));
+        for (MovimientoInventario movimiento : ordenados) {
+            if (movimiento.getIdRepuesto() == idRepuesto && !movimiento.getFechaMovimiento().isAfter(fecha)) {
+                stock = MotorStock.stockDespues(stock, movimiento);
+            }
+        }
+        return stock;
+    }
+
+    private void insertar(MovimientoInventario movimiento) {
+        jdbcTemplate.update("INSERT INTO movimiento_inventario (id_movimiento, id_repuesto, tipo_movimiento, cantidad, " +
+                        "fecha_movimiento, referencia, observaciones) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                movimiento.getIdMovimiento(), movimiento.getIdRepuesto(), movimiento.getTipoMovimiento(),
+                movimiento.getCantidad(), java.sql.Date.valueOf(movimiento.getFechaMovimiento()),
+                movimiento.getReferencia(), movimiento.getObservaciones());
+        libro.add(movimiento);
+    }
+}
@@ -0,0 +1,110 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.dto.DetalleOrdenDTO;
+import co.edu.uniquindio.tallermacanico.dto.ServicioDetalleOrdenDTO;
+import co.edu.uniquindio.tallermacanico.repository.DetalleOrdenRepository;
+import co.edu.uniquindio.tallermacanico.service.DetalleOrdenService;
+import co.edu.uniquindio.tallermacanico.service.implement.DetalleOrdenServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link DetalleOrdenServiceImpl} sobre H2 en modo Oracle: el detalle debe armarse con un número fijo
+ * de consultas, sin importar cuántos servicios, mecánicos o repuestos tenga la orden.
+ */
+@DisplayName("Tests de integración para DetalleOrdenService")
+public class DetalleOrdenServiceTest {
+
+    private FuenteDatosContadora dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DetalleOrdenService detalleOrdenService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new FuenteDatosContadora(BaseDatosPrueba.nuevaUrl());
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+        jdbcTemplate.update("INSERT INTO estado_orden VALUES (2, 'EN PROCESO')");
+        jdbcTemplate.update("INSERT INTO cliente VALUES (1, 'Ana', 'Gómez', 'Calle 1', '300', 'ana@correo.com')");
+        jdbcTemplate.update("INSERT INTO vehiculo VALUES (10, 1, 'ABC123', 'Mazda', '3', 2018, 'Rojo')");
+        jdbcTemplate.update("INSERT INTO orden_trabajo VALUES (100, 10, DATE '2025-03-01', NULL, 'Ruido en frenos', 2)");
+        jdbcTemplate.update("INSERT INTO especialidad VALUES (1, 'Frenos')");
+        jdbcTemplate.update("INSERT INTO estado_pago_factura VALUES (1, 'PAGADO')");
+        // Orden grande: 20 servicios con 3 mecánicos cada uno y 15 repuestos
+        for (int i = 1; i <= 20; i++) {
+            jdbcTemplate.update("INSERT INTO servicio VALUES (?, ?, NULL, 50000)", i, "Servicio " + i);
+            jdbcTemplate.update("INSERT INTO orden_servicio VALUES (?, 100, ?, 'PENDIENTE', 55000)", 1000 + i, i);
+        }
+        for (int m = 1; m <= 3; m++) {
+            jdbcTemplate.update("INSERT INTO mecanico VALUES (?, ?, 'Pérez', '310', 5)", m, "Mecánico " + m);
+            for (int i = 1; i <= 20; i++) {
+                jdbcTemplate.update("INSERT INTO orden_servicio_mecanico VALUES (?, ?, 1, ?)", 1000 + i, m,
+                        m == 1 ? "RESPONSABLE" : "APOYO");
+            }
+        }
+        for (int r = 1; r <= 15; r++) {
+            jdbcTemplate.update("INSERT INTO repuesto VALUES (?, ?, NULL, 10, 'unidad')", r, "Repuesto " + r);
+            jdbcTemplate.update("INSERT INTO orden_repuesto VALUES (100, ?, 2)", r);
+        }
+        jdbcTemplate.update("INSERT INTO factura VALUES (500, 100, DATE '2025-03-05', 1, 1100000, 300000, 266000, 0, 1666000)");
+
+        detalleOrdenService = new DetalleOrdenServiceImpl(new DetalleOrdenRepository(jdbcTemplate),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        dataSource.reiniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("El detalle completo debe armarse con cinco consultas")
+    void testObtenerDetalle_Completo() {
+        DetalleOrdenDTO detalle = detalleOrdenService.obtenerDetalle(100, null);
+
+        assertEquals(5, dataSource.sentencias());
+        assertEquals("EN PROCESO", detalle.getOrden().getNombreEstado());
+        assertEquals("ABC123", detalle.getVehiculo().getPlaca());
+        assertEquals("Ana", detalle.getCliente().getNombre());
+        assertEquals(20, detalle.getServicios().size());
+        ServicioDetalleOrdenDTO primero = detalle.getServicios().get(0);
+        assertEquals("Servicio 1", primero.getNombreServicio());
+        assertEquals(List.of(1, 2, 3), primero.getMecanicos().stream().map(m -> m.getIdMecanico()).toList());
+        assertEquals("Frenos", primero.getMecanicos().get(0).getEspecialidad());
+        assertEquals(15, detalle.getRepuestos().size());
+        assertEquals(1666000, detalle.getFacturas().get(0).getTotal());
+    }
+
+    @Test
+    @DisplayName("Debe consultar solo las secciones pedidas")
+    void testObtenerDetalle_SeccionesSeleccionadas() {
+        DetalleOrdenDTO detalle = detalleOrdenService.obtenerDetalle(100, "vehiculo, servicios");
+
+        assertEquals(2, dataSource.sentencias());
+        assertNotNull(detalle.getVehiculo());
+        assertNull(detalle.getCliente());
+        assertNull(detalle.getServicios().get(0).getMecanicos());
+        assertNull(detalle.getRepuestos());
+        assertNull(detalle.getFacturas());
+    }
+
+    @Test
+    @DisplayName("Debe devolver null si la orden no existe y rechazar secciones desconocidas")
+    void testObtenerDetalle_NoExisteOSeccionInvalida() {
+        assertNull(detalleOrdenService.obtenerDetalle(999, null));
+        assertEquals(1, dataSource.sentencias());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> detalleOrdenService.obtenerDetalle(100, "vehiculo,historial"));
+        assertTrue(ex.getMessage().contains("historial"));
+    }
+}
@@ -0,0 +1,177 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.model.Factura;
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.IngresoMensualDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.RepuestoEstadisticoDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.ServicioEstadisticoDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.EstadisticasIncrementales;
+import co.edu.uniquindio.tallermacanico.reportes.repository.EstadisticasRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para EstadisticasIncrementales")
+public class EstadisticasIncrementalesTest {
+
+    @Mock
+    private EstadisticasRepository estadisticasRepository;
+
+    @InjectMocks
+    private EstadisticasIncrementales estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(estadisticasRepository.idsEstadoPagado()).thenReturn(Set.of(1));
+        lenient().when(estadisticasRepository.ingresosPagadosPorMes())
+                .thenReturn(Map.of("2025-01", new BigDecimal("100")));
+        lenient().when(estadisticasRepository.solicitudesPorServicio()).thenReturn(Map.of(1, 2L, 2, 5L));
+        lenient().when(estadisticasRepository.salidasPorRepuesto()).thenReturn(Map.of(7, 3L));
+        lenient().when(estadisticasRepository.nombresServicio()).thenReturn(Map.of(1, "Alineación", 2, "Cambio de aceite"));
+        lenient().when(estadisticasRepository.nombresRepuesto()).thenReturn(Map.of(7, "Filtro"));
+    }
+
+    @Test
+    @DisplayName("No debe estar listo antes de la primera construcción")
+    void testEstaListo_AntesDeInicializar() {
+        assertFalse(estadisticas.estaListo());
+    }
+
+    @Test
+    @DisplayName("Debería construir los agregados desde la base de datos")
+    void testInicializar_ConstruyeAgregados() {
+        estadisticas.inicializar();
+
+        assertTrue(estadisticas.estaListo());
+        List<ServicioEstadisticoDTO> servicios = estadisticas.serviciosMasSolicitados();
+        assertEquals("Cambio de aceite", servicios.get(0).getNombreServicio());
+        assertEquals(5L, servicios.get(0).getTotalSolicitudes());
+        assertEquals(2L, servicios.get(1).getTotalSolicitudes());
+    }
+
+    @Test
+    @DisplayName("Una factura pagada debe sumarse y restarse del mes correspondiente")
+    void testFactura_ActualizaIngresosDelMes() {
+        estadisticas.inicializar();
+        Factura factura = new Factura(0, 1, LocalDate.of(2025, 1, 15), 1, 0, 0, 0, 0, 50.0);
+
+        estadisticas.facturaRegistrada(factura);
+        List<IngresoMensualDTO> ingresos = estadisticas.ingresosPorMes();
+        assertEquals(0, new BigDecimal("150").compareTo(ingresos.get(0).getTotalIngresos()));
+
+        estadisticas.facturaEliminada(factura);
+        ingresos = estadisticas.ingresosPorMes();
+        assertEquals(0, new BigDecimal("100").compareTo(ingresos.get(0).getTotalIngresos()));
+    }
+
+    @Test
+    @DisplayName("Una factura no pagada no debe afectar los ingresos")
+    void testFactura_NoPagadaSeIgnora() {
+        estadisticas.inicializar();
+
+        estadisticas.facturaRegistrada(new Factura(0, 1, LocalDate.of(2025, 2, 1), 2, 0, 0, 0, 0, 80.0));
+
+        assertEquals(1, estadisticas.ingresosPorMes().size());
+    }
+
+    @Test
+    @DisplayName("Una nueva orden de servicio debe reordenar los servicios más solicitados")
+    void testOrdenServicioRegistrada_Reordena() {
+        estadisticas.inicializar();
+        OrdenServicio ordenServicio = new OrdenServicio(0, 1, 1, "PENDIENTE", 0);
+
+        for (int i = 0; i < 4; i++) {
+            estadisticas.ordenServicioRegistrada(ordenServicio);
+        }
+
+        assertEquals("Alineación", estadisticas.serviciosMasSolicitados().get(0).getNombreServicio());
+        assertEquals(6L, estadisticas.serviciosMasSolicitados().get(0).getTotalSolicitudes());
+    }
+
+    @Test
+    @DisplayName("El nombre de un servicio nuevo debe consultarse una sola vez")
+    void testOrdenServicioRegistrada_ServicioNuevo() {
+        estadisticas.inicializar();
+        when(estadisticasRepository.nombreServicio(3)).thenReturn("Frenos");
+        OrdenServicio ordenServicio = new OrdenServicio(0, 1, 3, "PENDIENTE", 0);
+
+        for (int i = 0; i < 6; i++) {
+            estadisticas.ordenServicioRegistrada(ordenServicio);
+        }
+
+        assertEquals("Frenos", estadisticas.serviciosMasSolicitados().get(0).getNombreServicio());
+        assertEquals(6L, estadisticas.serviciosMasSolicitados().get(0).getTotalSolicitudes());
+        verify(estadisticasRepository, times(1)).nombreServicio(3);
+    }
+
+    @Test
+    @DisplayName("Solo los movimientos de salida deben contar como uso del repuesto")
+    void testMovimientoRegistrado_SoloSalidas() {
+        estadisticas.inicializar();
+
+        estadisticas.movimientoRegistrado(new MovimientoInventario(0, 7, "SALIDA", 1, LocalDate.now(), "R", "o"));
+        estadisticas.movimientoRegistrado(new MovimientoInventario(0, 7, "ENTRADA", 1, LocalDate.now(), "R", "o"));
+        // La API y MotorStock guardan el tipo en minúsculas
+        estadisticas.movimientoRegistrado(new MovimientoInventario(0, 7, "salida", 1, LocalDate.now(), "R", "o"));
+        estadisticas.movimientoRegistrado(new MovimientoInventario(0, 7, "entrada", 1, LocalDate.now(), "R", "o"));
+
+        List<RepuestoEstadisticoDTO> repuestos = estadisticas.repuestosMasUsados();
+        assertEquals(5L, repuestos.get(0).getTotalUsos());
+    }
+
+    @Test
+    @DisplayName("La reconciliación debe reemplazar los contadores por los de la base de datos")
+    void testReconciliar_CorrigeDiferencias() {
+        estadisticas.inicializar();
+        estadisticas.movimientoRegistrado(new MovimientoInventario(0, 7, "SALIDA", 1, LocalDate.now(), "R", "o"));
+
+        estadisticas.reconciliar();
+
+        assertEquals(3L, estadisticas.repuestosMasUsados().get(0).getTotalUsos());
+        verify(estadisticasRepository, times(2)).salidasPorRepuesto();
+    }
+
+    @Test
+    @DisplayName("Los cambios notificados mientras se leen los agregados deben repetirse sobre el estado nuevo")
+    void testReconciliar_ConservaCambiosDuranteLaLectura() {
+        estadisticas.inicializar();
+        MovimientoInventario salida = new MovimientoInventario(0, 7, "salida", 1, LocalDate.now(), "R", "o");
+        // La salida se confirma después de leer salidasPorRepuesto pero antes de publicar el estado nuevo
+        when(estadisticasRepository.nombresRepuesto()).thenAnswer(invocacion -> {
+            estadisticas.movimientoRegistrado(salida);
+            return Map.of(7, "Filtro");
+        });
+
+        estadisticas.reconciliar();
+
+        assertEquals(4L, estadisticas.repuestosMasUsados().get(0).getTotalUsos());
+    }
+
+    @Test
+    @DisplayName("Los cambios notificados durante la primera construcción no deben perderse")
+    void testInicializar_ConservaCambiosDuranteLaLectura() {
+        when(estadisticasRepository.nombresServicio()).thenAnswer(invocacion -> {
+            estadisticas.ordenServicioRegistrada(new OrdenServicio(0, 1, 1, "PENDIENTE", 0));
+            return Map.of(1, "Alineación", 2, "Cambio de aceite");
+        });
+
+        estadisticas.inicializar();
+
+        assertEquals(3L, estadisticas.serviciosMasSolicitados().get(1).getTotalSolicitudes());
+    }
+}
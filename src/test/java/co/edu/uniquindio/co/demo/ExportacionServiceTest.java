@@ -0,0 +1,142 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.repository.ExportacionRepository;
+import co.edu.uniquindio.tallermacanico.service.ExportacionService;
+import co.edu.uniquindio.tallermacanico.service.implement.ExportacionServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link ExportacionServiceImpl} sobre H2 en modo Oracle: formato NDJSON y CSV, escape de
+ * valores CSV, encabezado de una tabla vacía y rechazo de tablas fuera de la lista permitida.
+ */
+@DisplayName("Tests de integración para ExportacionService")
+public class ExportacionServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ExportacionService exportacionService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(BaseDatosPrueba.nuevaUrl(), "sa", "");
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+        exportacionService = new ExportacionServiceImpl(new ExportacionRepository(dataSource, 100), objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Exportar NDJSON - Un objeto JSON por fila con columnas en minúscula")
+    void testExportar_Ndjson() throws IOException {
+        jdbcTemplate.update("INSERT INTO cliente (id_cliente, nombre, apellido, direccion, telefono, email) "
+                + "VALUES (1, 'Juan', 'Pérez', 'Calle 10', '3001234567', 'juan@correo.com')");
+        jdbcTemplate.update("INSERT INTO cliente (id_cliente, nombre) VALUES (2, 'Ana')");
+
+        String[] lineas = exportar("cliente", ExportacionService.FORMATO_NDJSON).split("\n");
+
+        assertEquals(2, lineas.length);
+        JsonNode primero = objectMapper.readTree(lineas[0]);
+        JsonNode segundo = objectMapper.readTree(lineas[1]);
+        assertEquals(1, primero.get("id_cliente").asInt());
+        assertTrue(primero.get("id_cliente").isNumber());
+        assertEquals("Pérez", primero.get("apellido").asText());
+        assertEquals("juan@correo.com", primero.get("email").asText());
+        assertEquals("Ana", segundo.get("nombre").asText());
+        assertTrue(segundo.get("apellido").isNull());
+    }
+
+    @Test
+    @DisplayName("Exportar NDJSON - Tabla vacía no escribe objetos")
+    void testExportar_NdjsonTablaVacia() throws IOException {
+        assertEquals("\n", exportar("cliente", ExportacionService.FORMATO_NDJSON));
+    }
+
+    @Test
+    @DisplayName("Exportar CSV - Encabezado y una línea por fila")
+    void testExportar_Csv() throws IOException {
+        jdbcTemplate.update("INSERT INTO especialidad (id_especialidad, nombre) VALUES (1, 'Frenos')");
+        jdbcTemplate.update("INSERT INTO especialidad (id_especialidad, nombre) VALUES (2, NULL)");
+
+        String csv = exportar("especialidad", ExportacionService.FORMATO_CSV);
+
+        assertEquals("id_especialidad,nombre\r\n1,Frenos\r\n2,\r\n", csv);
+    }
+
+    @Test
+    @DisplayName("Exportar CSV - Tabla vacía exporta solo el encabezado")
+    void testExportar_CsvTablaVacia() throws IOException {
+        String csv = exportar("especialidad", ExportacionService.FORMATO_CSV);
+
+        assertEquals("id_especialidad,nombre\r\n", csv);
+    }
+
+    @Test
+    @DisplayName("Exportar CSV - Comas, comillas y saltos de línea van entre comillas")
+    void testExportar_CsvEscapaValores() throws IOException {
+        jdbcTemplate.update("INSERT INTO especialidad (id_especialidad, nombre) VALUES (1, 'Frenos, suspensión')");
+        jdbcTemplate.update("INSERT INTO especialidad (id_especialidad, nombre) VALUES (2, 'Motor \"diésel\"')");
+        jdbcTemplate.update("INSERT INTO especialidad (id_especialidad, nombre) VALUES (3, ?)", "Línea 1\nLínea 2");
+
+        String csv = exportar("especialidad", ExportacionService.FORMATO_CSV);
+
+        assertEquals("id_especialidad,nombre\r\n"
+                + "1,\"Frenos, suspensión\"\r\n"
+                + "2,\"Motor \"\"diésel\"\"\"\r\n"
+                + "3,\"Línea 1\nLínea 2\"\r\n", csv);
+    }
+
+    @Test
+    @DisplayName("Resolver tabla - Convierte guiones y mayúsculas al nombre de la tabla")
+    void testResolverTabla_Exportable() {
+        assertEquals("orden_servicio", exportacionService.resolverTabla("orden-servicio"));
+        assertEquals("cliente", exportacionService.resolverTabla(" Cliente "));
+    }
+
+    @Test
+    @DisplayName("Resolver tabla - Tablas fuera de la lista permitida devuelven null")
+    void testResolverTabla_NoExportable() {
+        assertNull(exportacionService.resolverTabla("usuario"));
+        assertNull(exportacionService.resolverTabla("orden_repuesto"));
+        assertNull(exportacionService.resolverTabla("cliente; DROP TABLE cliente"));
+        assertNull(exportacionService.resolverTabla(null));
+    }
+
+    @Test
+    @DisplayName("Exportar - Tabla fuera de la lista permitida lanza excepción")
+    void testExportar_TablaNoExportable() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> exportar("orden_repuesto", ExportacionService.FORMATO_CSV));
+
+        assertTrue(error.getMessage().contains("orden_repuesto"));
+    }
+
+    @Test
+    @DisplayName("Validar formato - Solo acepta NDJSON y CSV")
+    void testEsFormatoValido() {
+        assertTrue(exportacionService.esFormatoValido("ndjson"));
+        assertTrue(exportacionService.esFormatoValido("CSV"));
+        assertFalse(exportacionService.esFormatoValido("xml"));
+    }
+
+    private String exportar(String tabla, String formato) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        exportacionService.exportar(tabla, formato, salida);
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+}
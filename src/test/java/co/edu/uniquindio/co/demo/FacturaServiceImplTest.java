@@ -2,6 +2,7 @@ package co.edu.uniquindio.co.demo;
 
 // Importaciones de las clases reales del proyecto
 import co.edu.uniquindio.tallermacanico.model.Factura;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.EstadisticasIncrementales;
 import co.edu.uniquindio.tallermacanico.repository.FacturaRepository;
 // Importación de la clase a probar
 import co.edu.uniquindio.tallermacanico.service.implement.FacturaServiceImpl;
@@ -29,6 +30,9 @@ public class FacturaServiceImplTest {
     @Mock
     private FacturaRepository facturaRepository;
 
+    @Mock
+    private EstadisticasIncrementales estadisticasIncrementales;
+
     // Inyecta el mock en el servicio a probar
     @InjectMocks
     private FacturaServiceImpl facturaService;
@@ -106,11 +110,16 @@ public class FacturaServiceImplTest {
     @Test
     @DisplayName("Debería registrar una factura con datos válidos")
     void testRegistrarFactura_Valida() {
+        // Configurar Mock
+        when(facturaRepository.registrarFactura(facturaValida)).thenReturn(7);
+
         // Ejecutar
         facturaService.registrarFactura(facturaValida);
 
-        // Verificar
+        // Verificar: las estadísticas reciben la factura con el ID generado
+        assertEquals(7, facturaValida.getIdFactura());
         verify(facturaRepository, times(1)).registrarFactura(facturaValida);
+        verify(estadisticasIncrementales, times(1)).facturaRegistrada(facturaValida);
     }
 
     @Test
@@ -211,6 +220,27 @@ public class FacturaServiceImplTest {
         verify(facturaRepository, times(1)).eliminarFactura(5);
     }
 
+    @Test
+    @DisplayName("Debería descontar de las estadísticas la factura eliminada")
+    void testEliminarFactura_ActualizaEstadisticas() {
+        when(facturaRepository.buscarPorId(5)).thenReturn(facturaValida);
+        when(facturaRepository.eliminarFactura(5)).thenReturn(true);
+
+        assertTrue(facturaService.eliminarFactura(5));
+
+        verify(estadisticasIncrementales, times(1)).facturaEliminada(facturaValida);
+    }
+
+    @Test
+    @DisplayName("No debería tocar las estadísticas si la factura a eliminar no existe")
+    void testEliminarFactura_NoExiste() {
+        when(facturaRepository.eliminarFactura(5)).thenReturn(false);
+
+        assertFalse(facturaService.eliminarFactura(5));
+
+        verify(estadisticasIncrementales, never()).facturaEliminada(any());
+    }
+
     @Test
     @DisplayName("Debería lanzar excepción para ID no positivo al eliminar")
     void testEliminarFactura_IDNoValido() {
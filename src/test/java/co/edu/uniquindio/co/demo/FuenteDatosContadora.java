@@ -0,0 +1,49 @@
+package co.edu.uniquindio.co.demo;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fuente de datos para las pruebas que cuenta las sentencias preparadas o creadas en sus conexiones,
+ * para comprobar cuántas consultas cuesta una operación.
+ */
+public class FuenteDatosContadora extends DriverManagerDataSource {
+
+    private final AtomicInteger sentencias = new AtomicInteger();
+
+    public FuenteDatosContadora(String url) {
+        super(url, "sa", "");
+    }
+
+    @Override
+    protected Connection getConnectionFromDriverManager(String url, Properties props) throws SQLException {
+        Connection conexion = super.getConnectionFromDriverManager(url, props);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("prepareStatement") || metodo.getName().equals("createStatement")
+                            || metodo.getName().equals("prepareCall")) {
+                        sentencias.incrementAndGet();
+                    }
+                    try {
+                        return metodo.invoke(conexion, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /** Sentencias ejecutadas desde la creación o el último {@link #reiniciar()}. */
+    public int sentencias() {
+        return sentencias.get();
+    }
+
+    public void reiniciar() {
+        sentencias.set(0);
+    }
+}
@@ -0,0 +1,115 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.model.Mecanico;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import co.edu.uniquindio.tallermacanico.repository.AsignadorIds;
+import co.edu.uniquindio.tallermacanico.repository.CachesEntidades;
+import co.edu.uniquindio.tallermacanico.repository.ClienteRepository;
+import co.edu.uniquindio.tallermacanico.repository.GeneradorClaves;
+import co.edu.uniquindio.tallermacanico.repository.MecanicoRepository;
+import co.edu.uniquindio.tallermacanico.repository.PaginadorKeyset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de concurrencia de {@link GeneradorClaves} sobre H2 en modo Oracle.
+ */
+@DisplayName("Tests de concurrencia para GeneradorClaves")
+public class GeneradorClavesTest {
+
+    private static final int HILOS = 8;
+    private static final int INSERCIONES_POR_HILO = 50;
+
+    private JdbcTemplate jdbcTemplate;
+    private ClienteRepository clienteRepository;
+    private MecanicoRepository mecanicoRepository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(BaseDatosPrueba.nuevaUrl(), "sa", "");
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+
+        GeneradorClaves generadorClaves = new GeneradorClaves(jdbcTemplate);
+        PaginadorKeyset paginador = new PaginadorKeyset(jdbcTemplate);
+        CacheReportes cacheReportes = new CacheReportes(0, 1);
+        clienteRepository = new ClienteRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves,
+                new AsignadorIds(jdbcTemplate, 50, ""), new CachesEntidades(100, 300, 10));
+        mecanicoRepository = new MecanicoRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Inserciones concurrentes de clientes deben devolver cada una su propio ID")
+    void testRegistrarCliente_Concurrente() throws Exception {
+        Map<Integer, String> registrados = insertarEnParalelo(nombre ->
+                clienteRepository.registrarCliente(new Cliente(0, nombre, "Pérez", "Calle 1", "3000000000", "c@correo.com")));
+
+        assertEquals(HILOS * INSERCIONES_POR_HILO, registrados.size());
+        registrados.forEach((id, nombre) -> assertEquals(nombre,
+                jdbcTemplate.queryForObject("SELECT nombre FROM cliente WHERE id_cliente = ?", String.class, id)));
+    }
+
+    @Test
+    @DisplayName("Inserciones concurrentes de mecánicos deben devolver el valor de la secuencia de su fila")
+    void testRegistrarMecanico_Concurrente() throws Exception {
+        Map<Integer, String> registrados = insertarEnParalelo(nombre ->
+                mecanicoRepository.registrarMecanico(new Mecanico(0, nombre, "Gómez", "3001234567", 5)));
+
+        assertEquals(HILOS * INSERCIONES_POR_HILO, registrados.size());
+        registrados.forEach((id, nombre) -> assertEquals(nombre,
+                jdbcTemplate.queryForObject("SELECT nombre FROM mecanico WHERE id_mecanico = ?", String.class, id)));
+    }
+
+    /**
+     * Lanza todas las inserciones a la vez y devuelve id → nombre insertado.
+     * Falla si dos inserciones reciben el mismo id.
+     */
+    private Map<Integer, String> insertarEnParalelo(ToIntFunction<String> insercion) throws Exception {
+        Map<Integer, String> registrados = new ConcurrentHashMap<>();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < HILOS; h++) {
+                int hilo = h;
+                tareas.add(ejecutor.submit(() -> {
+                    salida.await();
+                    for (int i = 0; i < INSERCIONES_POR_HILO; i++) {
+                        String nombre = "hilo" + hilo + "-" + i;
+                        String anterior = registrados.put(insercion.applyAsInt(nombre), nombre);
+                        assertNull(anterior, "ID repetido para " + nombre + " y " + anterior);
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        return registrados;
+    }
+}
@@ -0,0 +1,220 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.dto.TrabajoImportacionDTO;
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import co.edu.uniquindio.tallermacanico.repository.AsignadorIds;
+import co.edu.uniquindio.tallermacanico.repository.CachesEntidades;
+import co.edu.uniquindio.tallermacanico.repository.ClienteRepository;
+import co.edu.uniquindio.tallermacanico.repository.GeneradorClaves;
+import co.edu.uniquindio.tallermacanico.repository.PaginadorKeyset;
+import co.edu.uniquindio.tallermacanico.repository.VehiculoRepository;
+import co.edu.uniquindio.tallermacanico.service.ImportacionService;
+import co.edu.uniquindio.tallermacanico.service.implement.ImportacionServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link ImportacionServiceImpl} sobre H2 en modo Oracle, con bloques pequeños para
+ * que las referencias entre clientes y vehículos crucen varios bloques.
+ */
+@DisplayName("Tests de integración para ImportacionService")
+public class ImportacionServiceTest {
+
+    private static final String ENCABEZADO =
+            "tipo,ref,nombre,apellido,direccion,telefono,email,ref_cliente,id_cliente,placa,marca,modelo,anio,color\n";
+
+    @TempDir
+    Path directorio;
+
+    private JdbcTemplate jdbcTemplate;
+    private ClienteRepository clienteRepository;
+    private TransactionTemplate transactionTemplate;
+    private ImportacionServiceImpl importacionService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(BaseDatosPrueba.nuevaUrl(), "sa", "");
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+        jdbcTemplate.update("INSERT INTO cliente (id_cliente, nombre, apellido) " +
+                "VALUES (seq_cliente.NEXTVAL, 'Existente', 'Uno')");
+        jdbcTemplate.update("INSERT INTO vehiculo (id_vehiculo, id_cliente, placa, marca, modelo, anio, color) " +
+                "VALUES (seq_vehiculo.NEXTVAL, 1, 'OLD001', 'Mazda', '3', 2015, 'Rojo')");
+
+        PaginadorKeyset paginador = new PaginadorKeyset(jdbcTemplate);
+        CacheReportes cacheReportes = new CacheReportes(0, 1);
+        CachesEntidades cachesEntidades = new CachesEntidades(100, 300, 10);
+        GeneradorClaves generadorClaves = new GeneradorClaves(jdbcTemplate);
+        AsignadorIds asignadorIds = new AsignadorIds(jdbcTemplate, 50, "");
+        clienteRepository = new ClienteRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves,
+                asignadorIds, cachesEntidades);
+        VehiculoRepository vehiculoRepository = new VehiculoRepository(jdbcTemplate, paginador, cacheReportes,
+                generadorClaves, asignadorIds, cachesEntidades);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        importacionService = new ImportacionServiceImpl(clienteRepository, vehiculoRepository, transactionTemplate,
+                directorio.toString(), 2, 1, 2, 1, 60, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importacionService.detener();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Debe registrar clientes y vehículos resolviendo las referencias del archivo y reportar los rechazos")
+    void testImportar_ResuelveReferenciasYRechaza() throws Exception {
+        String csv = ENCABEZADO
+                + "CLIENTE,F-1,Transportes,Andinos,\"Calle 10, Bodega 3\",300,flota@andinos.com,,,,,,,\n"
+                + "CLIENTE,F-2,Ana,Díaz,Carrera 2,311,correo-invalido,,,,,,,\n"
+                + "VEHICULO,,,,,,,F-1,,TRA101,Chevrolet,NHR,2021,Blanco\n"
+                + "\n"
+                + "VEHICULO,,,,,,,F-1,,TRA102,Chevrolet,\"NHR\nReforzado\",2022,Blanco\n"
+                + "VEHICULO,,,,,,,F-2,,TRA103,Chevrolet,NHR,2022,Blanco\n"
+                + "VEHICULO,,,,,,,,1,XYZ987,Renault,Logan,2019,Gris\n"
+                + "VEHICULO,,,,,,,,99,XYZ988,Renault,Logan,2019,Gris\n"
+                + "VEHICULO,,,,,,,,1,OLD001,Mazda,3,2015,Rojo\n"
+                + "VEHICULO,,,,,,,F-1,,tra101,Chevrolet,NHR,2021,Blanco\n"
+                + "CLIENTE,F-3,Luis,Mora,,,,,,,,,,\n"
+                + "VEHICULO,,,,,,,F-3,,LUI001,Kia,Rio,2018,Azul\n";
+
+        TrabajoImportacionDTO resultado = importarYEsperar(csv);
+
+        assertEquals(ImportacionService.COMPLETADO, resultado.getEstado());
+        assertEquals(11, resultado.getFilasLeidas());
+        assertEquals(2, resultado.getClientesRegistrados());
+        assertEquals(4, resultado.getVehiculosRegistrados());
+        assertEquals(5, resultado.getFilasRechazadas());
+        assertEquals(100.0, resultado.getPorcentaje());
+        assertNotNull(resultado.getUrlRechazos());
+
+        Integer idAndinos = jdbcTemplate.queryForObject(
+                "SELECT id_cliente FROM cliente WHERE nombre = 'Transportes'", Integer.class);
+        assertEquals("Calle 10, Bodega 3", jdbcTemplate.queryForObject(
+                "SELECT direccion FROM cliente WHERE id_cliente = ?", String.class, idAndinos));
+        assertEquals(List.of("TRA101", "TRA102"), jdbcTemplate.queryForList(
+                "SELECT placa FROM vehiculo WHERE id_cliente = ? ORDER BY placa", String.class, idAndinos));
+        assertEquals("NHR\nReforzado", jdbcTemplate.queryForObject(
+                "SELECT modelo FROM vehiculo WHERE placa = 'TRA102'", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT id_cliente FROM vehiculo WHERE placa = 'XYZ987'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vehiculo v JOIN cliente c ON c.id_cliente = v.id_cliente " +
+                        "WHERE v.placa = 'LUI001' AND c.nombre = 'Luis'", Integer.class));
+
+        List<String> rechazos = Files.readAllLines(importacionService.rechazos(resultado.getId()));
+        assertEquals(6, rechazos.size());
+        assertTrue(rechazos.get(1).startsWith("3,CLIENTE,El correo electrónico no tiene un formato válido,"));
+        assertTrue(rechazos.stream().anyMatch(linea -> linea.startsWith("8,VEHICULO,El cliente F-2 no aparece")));
+        assertTrue(rechazos.stream().anyMatch(linea -> linea.startsWith("10,VEHICULO,El cliente 99 no existe")));
+        assertTrue(rechazos.stream().anyMatch(linea -> linea.startsWith("11,VEHICULO,La placa OLD001 ya está registrada")));
+        assertTrue(rechazos.stream().anyMatch(linea -> linea.startsWith("12,VEHICULO,La placa tra101 está repetida")));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar las placas ya registradas sin importar mayúsculas en el archivo ni en la base")
+    void testImportar_PlacaRegistradaSinMayusculas() throws Exception {
+        jdbcTemplate.update("INSERT INTO vehiculo (id_vehiculo, id_cliente, placa, marca, modelo, anio, color) " +
+                "VALUES (seq_vehiculo.NEXTVAL, 1, 'low002', 'Kia', 'Rio', 2017, 'Negro')");
+        String csv = ENCABEZADO
+                + "VEHICULO,,,,,,,,1,old001,Mazda,3,2015,Rojo\n"
+                + "VEHICULO,,,,,,,,1,LOW002,Kia,Rio,2017,Negro\n"
+                + "VEHICULO,,,,,,,,1,NEW003,Kia,Rio,2023,Blanco\n";
+
+        TrabajoImportacionDTO resultado = importarYEsperar(csv);
+
+        assertEquals(ImportacionService.COMPLETADO, resultado.getEstado());
+        assertEquals(1, resultado.getVehiculosRegistrados());
+        assertEquals(2, resultado.getFilasRechazadas());
+        List<String> rechazos = Files.readAllLines(importacionService.rechazos(resultado.getId()));
+        assertTrue(rechazos.stream().anyMatch(linea -> linea.startsWith("2,VEHICULO,La placa old001 ya está registrada")));
+        assertTrue(rechazos.stream().anyMatch(linea -> linea.startsWith("3,VEHICULO,La placa LOW002 ya está registrada")));
+    }
+
+    @Test
+    @DisplayName("Un bloque que falla en la base de datos debe revertirse completo y rechazar sus vehículos dependientes")
+    void testImportar_BloqueRevertido() throws Exception {
+        jdbcTemplate.execute("ALTER TABLE cliente ADD CONSTRAINT ck_apellido CHECK (apellido <> 'Falla')");
+        String csv = ENCABEZADO
+                + "CLIENTE,A,Carlos,Falla,,,,,,,,,,\n"
+                + "CLIENTE,B,Marta,Ruiz,,,,,,,,,,\n"
+                + "VEHICULO,,,,,,,B,,MAR001,Kia,Picanto,2020,Rojo\n";
+
+        TrabajoImportacionDTO resultado = importarYEsperar(csv);
+
+        assertEquals(ImportacionService.COMPLETADO, resultado.getEstado());
+        assertEquals(0, resultado.getClientesRegistrados());
+        assertEquals(0, resultado.getVehiculosRegistrados());
+        assertEquals(3, resultado.getFilasRechazadas());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cliente", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Un archivo sin la columna 'tipo' debe terminar como FALLIDO sin registrar nada")
+    void testImportar_EncabezadoInvalido() throws Exception {
+        TrabajoImportacionDTO resultado = importarYEsperar("nombre,apellido\nCarlos,Gómez\n");
+
+        assertEquals(ImportacionService.FALLIDO, resultado.getEstado());
+        assertEquals("El encabezado debe incluir la columna 'tipo'", resultado.getError());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cliente", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un archivo vacío y liberar el cupo de importación")
+    void testEncolar_ArchivoVacio() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importacionService.encolar(new ByteArrayInputStream(new byte[0]), ','));
+
+        assertEquals(0, importacionService.metricas().get("activas"));
+    }
+
+    @Test
+    @DisplayName("registrarClientes debe insertar con IDs reservados de la misma secuencia que los registros individuales")
+    void testRegistrarClientes_IdsReservados() {
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            clientes.add(new Cliente(0, "Lote " + i, "Pérez", null, null, null));
+        }
+        transactionTemplate.executeWithoutResult(estado -> clienteRepository.registrarClientes(clientes));
+
+        // El cliente existente tomó el 1; el bloque de 50 reservado es 2..51
+        assertEquals(List.of(2, 3, 4), clientes.stream().map(Cliente::getIdCliente).toList());
+        for (Cliente cliente : clientes) {
+            assertEquals(cliente.getNombre(), jdbcTemplate.queryForObject(
+                    "SELECT nombre FROM cliente WHERE id_cliente = ?", String.class, cliente.getIdCliente()));
+        }
+        // El registro individual sigue la secuencia después del bloque reservado, sin repetir IDs
+        int idIndividual = clienteRepository.registrarCliente(new Cliente(0, "Suelto", "Ruiz", null, null, null));
+        assertEquals(52, idIndividual);
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id_cliente) FROM cliente", Integer.class));
+    }
+
+    private TrabajoImportacionDTO importarYEsperar(String csv) throws Exception {
+        TrabajoImportacionDTO trabajo = importacionService.encolar(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ',');
+        long limite = System.currentTimeMillis() + 10_000;
+        while (trabajo.getFechaFin() == null && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            trabajo = importacionService.consultar(trabajo.getId());
+        }
+        assertNotNull(trabajo.getFechaFin(), "La importación no terminó a tiempo");
+        return trabajo;
+    }
+}
@@ -0,0 +1,183 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import co.edu.uniquindio.tallermacanico.repository.AsignadorIds;
+import co.edu.uniquindio.tallermacanico.repository.GeneradorClaves;
+import co.edu.uniquindio.tallermacanico.repository.MovimientoInventarioRepository;
+import co.edu.uniquindio.tallermacanico.repository.PaginadorKeyset;
+import co.edu.uniquindio.tallermacanico.repository.RepuestoRepository;
+import co.edu.uniquindio.tallermacanico.service.MotorStock;
+import co.edu.uniquindio.tallermacanico.service.implement.MotorStockImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de {@link MotorStockImpl} sobre H2 en modo Oracle: el stock y el movimiento cambian juntos
+ * y las salidas simultáneas del mismo repuesto nunca dejan el stock negativo.
+ */
+@DisplayName("Tests de integración para MotorStock")
+public class MotorStockTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private MotorStock motorStock;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(BaseDatosPrueba.nuevaUrl(), "sa", "");
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+        jdbcTemplate.update("INSERT INTO repuesto (nombre, stock_actual, unidad_medida) VALUES ('Filtro de aceite', 200, 'unidad')");
+        jdbcTemplate.update("INSERT INTO repuesto (nombre, stock_actual, unidad_medida) VALUES ('Aceite 20W50', 10, 'litro')");
+
+        PaginadorKeyset paginador = new PaginadorKeyset(jdbcTemplate);
+        CacheReportes cacheReportes = new CacheReportes(0, 1);
+        GeneradorClaves generadorClaves = new GeneradorClaves(jdbcTemplate);
+        RepuestoRepository repuestoRepository = new RepuestoRepository(jdbcTemplate, paginador, cacheReportes, generadorClaves);
+        MovimientoInventarioRepository movimientoRepository = new MovimientoInventarioRepository(jdbcTemplate, paginador,
+                cacheReportes, generadorClaves, new AsignadorIds(jdbcTemplate, 50, ""));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        motorStock = new MotorStockImpl(repuestoRepository, movimientoRepository, transactionTemplate, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Cientos de salidas simultáneas del mismo repuesto no deben dejar el stock negativo ni perder unidades")
+    void testAplicar_SalidasConcurrentes() throws Exception {
+        int salidas = 300;
+        ExecutorService hilos = Executors.newFixedThreadPool(32);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger aplicadas = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+        List<Future<?>> tareas = new ArrayList<>();
+        try {
+            for (int i = 0; i < salidas; i++) {
+                tareas.add(hilos.submit(() -> {
+                    largada.await();
+                    try {
+                        motorStock.aplicar(movimiento(1, MotorStock.SALIDA, 1.0));
+                        aplicadas.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        assertTrue(e.getMessage().startsWith("Stock insuficiente para el repuesto 1"));
+                        rechazadas.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        assertEquals(200, aplicadas.get());
+        assertEquals(100, rechazadas.get());
+        assertEquals(0.0, stock(1));
+        assertEquals(200, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movimiento_inventario WHERE id_repuesto = 1", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Una entrada suma, un ajuste fija el conteo y una salida sin stock no registra el movimiento")
+    void testAplicar_EntradaAjusteYSalidaRechazada() {
+        MovimientoInventario entrada = movimiento(2, "ENTRADA", 5.0);
+        motorStock.aplicar(entrada);
+        assertTrue(entrada.getIdMovimiento() > 0);
+        assertEquals(15.0, stock(2));
+
+        motorStock.aplicar(movimiento(2, MotorStock.AJUSTE, 4.0));
+        assertEquals(4.0, stock(2));
+
+        Exception excepcion = assertThrows(IllegalArgumentException.class,
+                () -> motorStock.aplicar(movimiento(2, MotorStock.SALIDA, 4.5)));
+        assertEquals("Stock insuficiente para el repuesto 2: disponible 4.0, solicitado 4.5", excepcion.getMessage());
+        assertEquals(4.0, stock(2));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimiento_inventario", Integer.class));
+
+        excepcion = assertThrows(IllegalArgumentException.class,
+                () -> motorStock.aplicar(movimiento(99, MotorStock.ENTRADA, 1.0)));
+        assertEquals("El repuesto 99 no existe", excepcion.getMessage());
+    }
+
+    @Test
+    @DisplayName("Un bloque debe aplicarse en orden y rechazar solo los movimientos que no alcanzan o no existen")
+    void testAplicarBloque_AplicaEnOrden() {
+        List<MovimientoInventario> bloque = List.of(
+                movimiento(2, MotorStock.SALIDA, 12.0),
+                movimiento(2, MotorStock.ENTRADA, 5.0),
+                movimiento(2, MotorStock.SALIDA, 12.0),
+                movimiento(99, MotorStock.ENTRADA, 1.0),
+                movimiento(1, MotorStock.AJUSTE, 150.0));
+
+        Map<Integer, String> rechazos = transactionTemplate.execute(
+                estado -> motorStock.aplicarBloque(bloque, motorStock.bloquearLote(bloque)));
+
+        assertEquals(Map.of(
+                0, "Stock insuficiente para el repuesto 2: disponible 10.0, solicitado 12.0",
+                3, "El repuesto 99 no existe"), rechazos);
+        assertEquals(3.0, stock(2));
+        assertEquals(150.0, stock(1));
+    }
+
+    @Test
+    @DisplayName("Un lote debe bloquear todos sus repuestos una sola vez, en orden de ID, antes de aplicar sus bloques")
+    void testBloquearLote_BloqueaTodoEnOrden() {
+        RepuestoRepository repuestoRepository = mock(RepuestoRepository.class);
+        when(repuestoRepository.bloquearStock(anyCollection())).thenReturn(new HashMap<>(Map.of(1, 10.0, 2, 10.0, 7, 10.0)));
+        MotorStock motor = new MotorStockImpl(repuestoRepository, null, transactionTemplate, 8);
+        List<MovimientoInventario> primerBloque = List.of(
+                movimiento(7, MotorStock.ENTRADA, 1.0),
+                movimiento(2, MotorStock.SALIDA, 4.0));
+        List<MovimientoInventario> segundoBloque = List.of(
+                movimiento(7, MotorStock.SALIDA, 1.0),
+                movimiento(1, MotorStock.ENTRADA, 1.0),
+                movimiento(2, MotorStock.SALIDA, 7.0));
+        List<MovimientoInventario> lote = new ArrayList<>(primerBloque);
+        lote.addAll(segundoBloque);
+
+        Map<Integer, Double> stocks = motor.bloquearLote(lote);
+        motor.aplicarBloque(primerBloque, stocks);
+        Map<Integer, String> rechazos = motor.aplicarBloque(segundoBloque, stocks);
+
+        // El segundo bloque parte del stock que dejó el primero, sin volver a bloquear
+        verify(repuestoRepository, times(1)).bloquearStock(argThat(ids -> List.copyOf(ids).equals(List.of(1, 2, 7))));
+        assertEquals(Map.of(2, "Stock insuficiente para el repuesto 2: disponible 6.0, solicitado 7.0"), rechazos);
+        assertEquals(Map.of(1, 11.0, 2, 6.0, 7, 10.0), stocks);
+    }
+
+    private double stock(int idRepuesto) {
+        return jdbcTemplate.queryForObject("SELECT stock_actual FROM repuesto WHERE id_repuesto = ?",
+                Double.class, idRepuesto);
+    }
+
+    private static MovimientoInventario movimiento(int idRepuesto, String tipo, double cantidad) {
+        return new MovimientoInventario(0, idRepuesto, tipo, cantidad, LocalDate.now(), "OT-1", "Prueba");
+    }
+}
@@ -1,8 +1,14 @@
 package co.edu.uniquindio.co.demo;
 
 // Importaciones de las clases reales del proyecto
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.dto.ResultadoLoteDTO;
 import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.EstadisticasIncrementales;
 import co.edu.uniquindio.tallermacanico.repository.MovimientoInventarioRepository;
+import co.edu.uniquindio.tallermacanico.service.AlertasStock;
+import co.edu.uniquindio.tallermacanico.service.CortesStock;
+import co.edu.uniquindio.tallermacanico.service.MotorStock;
 // Importación de la clase a probar
 import co.edu.uniquindio.tallermacanico.service.implement.MovimientoInventarioServiceImpl;
 
@@ -10,13 +16,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +42,21 @@ public class MovimientoInventarioServiceImplTest {
     @Mock
     private MovimientoInventarioRepository repository;
 
+    @Mock
+    private EstadisticasIncrementales estadisticasIncrementales;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private MotorStock motorStock;
+
+    @Mock
+    private CortesStock cortesStock;
+
+    @Mock
+    private AlertasStock alertasStock;
+
     // Inyecta el mock en el servicio a probar
     @InjectMocks
     private MovimientoInventarioServiceImpl movimientoService;
@@ -69,6 +97,22 @@ public class MovimientoInventarioServiceImplTest {
         verify(repository, times(1)).listarMovimientos();
     }
 
+    @Test
+    @DisplayName("Debería delegar la paginación por cursor al repositorio")
+    void testListarMovimientosPagina_DelegaAlRepositorio() {
+        // Configurar Mock
+        movimientoValido.setIdMovimiento(1);
+        PaginaDTO<MovimientoInventario> pagina = new PaginaDTO<>(List.of(movimientoValido), "MQ", 1);
+        when(repository.listarMovimientosPagina(null, 1)).thenReturn(pagina);
+
+        // Ejecutar y Verificar
+        PaginaDTO<MovimientoInventario> resultado = movimientoService.listarMovimientosPagina(null, 1);
+        assertEquals(1, resultado.getItems().size());
+        assertEquals("MQ", resultado.getSiguienteCursor());
+        assertTrue(resultado.isHayMas());
+        verify(repository, times(1)).listarMovimientosPagina(null, 1);
+    }
+
     // -----------------------------------------------------------------
     // Tests para buscarPorId(int id)
     // -----------------------------------------------------------------
@@ -105,27 +149,56 @@ public class MovimientoInventarioServiceImplTest {
     @DisplayName("Debería registrar un movimiento válido (Entrada, Salida, Ajuste) y actualizar su ID")
     void testRegistrarMovimiento_Valido() {
         final int ID_GENERADO = 20;
+        int[] siguienteId = {ID_GENERADO};
+        doAnswer(invocacion -> {
+            invocacion.<MovimientoInventario>getArgument(0).setIdMovimiento(siguienteId[0]++);
+            return null;
+        }).when(motorStock).aplicar(any());
 
         // 1. Entrada
         MovimientoInventario movEntrada = new MovimientoInventario(0, 10, "ENTRADA", 10.0, LocalDate.now(), "R1", "obs");
-        when(repository.registrarMovimiento(movEntrada)).thenReturn(ID_GENERADO);
         movimientoService.registrarMovimiento(movEntrada);
         assertEquals(ID_GENERADO, movEntrada.getIdMovimiento());
-        verify(repository, times(1)).registrarMovimiento(movEntrada);
+        verify(motorStock, times(1)).aplicar(movEntrada);
 
         // 2. Salida
         MovimientoInventario movSalida = new MovimientoInventario(0, 20, "salida", 5.0, LocalDate.now(), "R2", "obs");
-        when(repository.registrarMovimiento(movSalida)).thenReturn(ID_GENERADO + 1);
         movimientoService.registrarMovimiento(movSalida);
         assertEquals(ID_GENERADO + 1, movSalida.getIdMovimiento());
-        verify(repository, times(1)).registrarMovimiento(movSalida);
+        verify(motorStock, times(1)).aplicar(movSalida);
 
         // 3. Ajuste
         MovimientoInventario movAjuste = new MovimientoInventario(0, 30, "AjuSte", 1.0, LocalDate.now(), "R3", "obs");
-        when(repository.registrarMovimiento(movAjuste)).thenReturn(ID_GENERADO + 2);
         movimientoService.registrarMovimiento(movAjuste);
         assertEquals(ID_GENERADO + 2, movAjuste.getIdMovimiento());
-        verify(repository, times(1)).registrarMovimiento(movAjuste);
+        verify(motorStock, times(1)).aplicar(movAjuste);
+        verify(estadisticasIncrementales, times(3)).movimientoRegistrado(any());
+        verify(cortesStock, times(3)).movimientoRegistrado(any());
+        verify(alertasStock, times(3)).movimientoRegistrado(any());
+    }
+
+    @Test
+    @DisplayName("Debería aceptar un ajuste en cero (conteo físico sin existencias)")
+    void testRegistrarMovimiento_AjusteEnCero() {
+        MovimientoInventario movAjuste = new MovimientoInventario(0, 30, "ajuste", 0.0, LocalDate.now(), "C1", "Conteo");
+
+        assertDoesNotThrow(() -> movimientoService.registrarMovimiento(movAjuste));
+        verify(motorStock, times(1)).aplicar(movAjuste);
+    }
+
+    @Test
+    @DisplayName("No debería contar el movimiento si el stock no alcanza para la salida")
+    void testRegistrarMovimiento_StockInsuficiente() {
+        movimientoValido.setTipoMovimiento("salida");
+        doThrow(new IllegalArgumentException("Stock insuficiente para el repuesto 101: disponible 3.0, solicitado 50.0"))
+                .when(motorStock).aplicar(movimientoValido);
+
+        Exception excepcion = assertThrows(IllegalArgumentException.class,
+                () -> movimientoService.registrarMovimiento(movimientoValido));
+
+        assertEquals("Stock insuficiente para el repuesto 101: disponible 3.0, solicitado 50.0", excepcion.getMessage());
+        verify(estadisticasIncrementales, never()).movimientoRegistrado(any());
+        verify(alertasStock, never()).movimientoRegistrado(any());
     }
 
     @Test
@@ -138,6 +211,7 @@ public class MovimientoInventarioServiceImplTest {
         });
         assertEquals("El ID del repuesto es obligatorio y debe ser válido", excepcion.getMessage());
         verify(repository, never()).registrarMovimiento(any());
+        verify(motorStock, never()).aplicar(any());
     }
 
     @Test
@@ -150,6 +224,7 @@ public class MovimientoInventarioServiceImplTest {
         });
         assertEquals("El tipo de movimiento es obligatorio", excepcion.getMessage());
         verify(repository, never()).registrarMovimiento(any());
+        verify(motorStock, never()).aplicar(any());
     }
 
     @Test
@@ -162,6 +237,7 @@ public class MovimientoInventarioServiceImplTest {
         });
         assertEquals("El tipo de movimiento debe ser 'entrada', 'salida' o 'ajuste'", excepcion.getMessage());
         verify(repository, never()).registrarMovimiento(any());
+        verify(motorStock, never()).aplicar(any());
     }
 
     @Test
@@ -174,6 +250,7 @@ public class MovimientoInventarioServiceImplTest {
         });
         assertEquals("La cantidad debe ser mayor que cero", excepcion.getMessage());
         verify(repository, never()).registrarMovimiento(any());
+        verify(motorStock, never()).aplicar(any());
     }
 
     @Test
@@ -186,6 +263,92 @@ public class MovimientoInventarioServiceImplTest {
         });
         assertEquals("La fecha del movimiento es obligatoria", excepcion.getMessage());
         verify(repository, never()).registrarMovimiento(any());
+        verify(motorStock, never()).aplicar(any());
+    }
+
+    // -----------------------------------------------------------------
+    // Tests para registrarLote(Iterator<MovimientoInventario>)
+    // -----------------------------------------------------------------
+
+    @Test
+    @DisplayName("Debería rechazar los inválidos e insertar los válidos por bloques")
+    void testRegistrarLote_RechazaInvalidosEInsertaPorBloques() {
+        ejecutarTransaccionesDirecto();
+        ReflectionTestUtils.setField(movimientoService, "tamanioBloque", 2);
+        List<Integer> tamaniosBloque = new ArrayList<>();
+        int[] siguienteId = {100};
+        when(repository.registrarMovimientos(anyList())).thenAnswer(invocacion -> {
+            List<MovimientoInventario> bloque = invocacion.getArgument(0);
+            tamaniosBloque.add(bloque.size());
+            int[] ids = new int[bloque.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = siguienteId[0]++;
+            }
+            return ids;
+        });
+
+        MovimientoInventario sinCantidad = new MovimientoInventario(0, 101, "entrada", 0, LocalDate.now(), "REF1", "Conteo");
+        List<MovimientoInventario> lote = List.of(movimientoValido, sinCantidad,
+                new MovimientoInventario(0, 102, "salida", 2.0, LocalDate.now(), "REF2", "Venta"),
+                new MovimientoInventario(0, 103, "ajuste", 1.0, LocalDate.now(), "REF3", "Conteo"),
+                new MovimientoInventario(0, 104, "entrada", 8.0, LocalDate.now(), "REF4", "Proveedor"));
+
+        ResultadoLoteDTO resultado = movimientoService.registrarLote(lote.iterator());
+
+        assertEquals(5, resultado.getRecibidos());
+        assertEquals(4, resultado.getRegistrados());
+        assertEquals(1, resultado.getRechazados());
+        assertEquals(100, resultado.getResultados().get(0).getId());
+        assertEquals("La cantidad debe ser mayor que cero", resultado.getResultados().get(1).getError());
+        assertNull(resultado.getResultados().get(1).getId());
+        assertEquals(103, resultado.getResultados().get(4).getId());
+        assertEquals(List.of(2, 2), tamaniosBloque);
+        // Los repuestos de todo el lote se bloquean una vez, antes del primer bloque
+        InOrder orden = inOrder(motorStock);
+        orden.verify(motorStock).bloquearLote(List.of(movimientoValido, lote.get(2), lote.get(3), lote.get(4)));
+        orden.verify(motorStock, times(2)).aplicarBloque(anyList(), anyMap());
+        verify(repository, never()).registrarMovimiento(any());
+        verify(estadisticasIncrementales, times(4)).movimientoRegistrado(any());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar del lote las salidas sin stock suficiente e insertar el resto")
+    void testRegistrarLote_RechazaSinStock() {
+        ejecutarTransaccionesDirecto();
+        MovimientoInventario salida = new MovimientoInventario(0, 102, "salida", 9.0, LocalDate.now(), "REF2", "Venta");
+        when(motorStock.aplicarBloque(anyList(), anyMap()))
+                .thenReturn(Map.of(1, "Stock insuficiente para el repuesto 102: disponible 2.0, solicitado 9.0"));
+        when(repository.registrarMovimientos(List.of(movimientoValido))).thenReturn(new int[]{300});
+
+        ResultadoLoteDTO resultado = movimientoService.registrarLote(List.of(movimientoValido, salida).iterator());
+
+        assertEquals(1, resultado.getRegistrados());
+        assertEquals(1, resultado.getRechazados());
+        assertEquals(300, resultado.getResultados().get(0).getId());
+        assertEquals("Stock insuficiente para el repuesto 102: disponible 2.0, solicitado 9.0",
+                resultado.getResultados().get(1).getError());
+        verify(estadisticasIncrementales, times(1)).movimientoRegistrado(movimientoValido);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar el lote completo si supera el máximo de movimientos, sin abrir la transacción")
+    void testRegistrarLote_SuperaMaximo() {
+        ReflectionTestUtils.setField(movimientoService, "maxMovimientos", 2);
+        List<MovimientoInventario> lote = List.of(movimientoValido, movimientoValido, movimientoValido);
+
+        Exception excepcion = assertThrows(IllegalArgumentException.class,
+                () -> movimientoService.registrarLote(lote.iterator()));
+
+        assertEquals("El lote no puede tener más de 2 movimientos", excepcion.getMessage());
+        verifyNoInteractions(transactionTemplate, motorStock, repository, estadisticasIncrementales);
+    }
+
+    /** Ejecuta el callback de la transacción en el mismo hilo, como lo haría un TransactionTemplate real. */
+    private void ejecutarTransaccionesDirecto() {
+        doAnswer(invocacion -> {
+            invocacion.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
     }
 
     // -----------------------------------------------------------------
@@ -193,13 +356,15 @@ public class MovimientoInventarioServiceImplTest {
     // -----------------------------------------------------------------
 
     @Test
-    @DisplayName("Debería eliminar un movimiento con ID válido")
-    void testEliminarMovimiento_Exitoso() {
-        // Ejecutar (No debe lanzar excepción)
-        assertDoesNotThrow(() -> movimientoService.eliminarMovimiento(5));
+    @DisplayName("Debería rechazar la eliminación: el movimiento se compensa con otro")
+    void testEliminarMovimiento_Rechazado() {
+        // Ejecutar y verificar
+        Exception excepcion = assertThrows(IllegalStateException.class, () -> {
+            movimientoService.eliminarMovimiento(5);
+        });
 
-        // Verificar
-        verify(repository, times(1)).eliminarMovimiento(5);
+        assertTrue(excepcion.getMessage().startsWith("Los movimientos de inventario no se eliminan"));
+        verifyNoInteractions(repository, motorStock, cortesStock, alertasStock, estadisticasIncrementales);
     }
 
     @Test
@@ -211,6 +376,5 @@ public class MovimientoInventarioServiceImplTest {
         });
 
         assertEquals("El ID del movimiento debe ser mayor que cero", excepcion.getMessage());
-        verify(repository, never()).eliminarMovimiento(anyInt());
     }
 }
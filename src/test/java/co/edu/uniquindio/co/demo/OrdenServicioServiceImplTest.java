@@ -2,6 +2,7 @@ package co.edu.uniquindio.co.demo;
 
 // Importaciones de las clases reales del proyecto
 import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.EstadisticasIncrementales;
 import co.edu.uniquindio.tallermacanico.repository.OrdenServicioRepository;
 // Importación de la clase a probar
 import co.edu.uniquindio.tallermacanico.service.implement.OrdenServicioServiceImpl;
@@ -28,6 +29,9 @@ public class OrdenServicioServiceImplTest {
     @Mock
     private OrdenServicioRepository ordenServicioRepository;
 
+    @Mock
+    private EstadisticasIncrementales estadisticasIncrementales;
+
     // Inyecta el mock en el servicio a probar
     @InjectMocks
     private OrdenServicioServiceImpl ordenServicioService;
@@ -104,6 +108,7 @@ public class OrdenServicioServiceImplTest {
     void testRegistrarOrdenServicio_Valida() {
         ordenServicioService.registrarOrdenServicio(ordenServicioValida);
         verify(ordenServicioRepository, times(1)).registrarOrdenServicio(ordenServicioValida);
+        verify(estadisticasIncrementales, times(1)).ordenServicioRegistrada(ordenServicioValida);
     }
 
     @Test
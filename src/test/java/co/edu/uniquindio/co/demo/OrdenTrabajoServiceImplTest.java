@@ -2,7 +2,14 @@ package co.edu.uniquindio.co.demo;
 
 
 // Importaciones de las clases reales del proyecto
+import co.edu.uniquindio.tallermacanico.dto.LineaServicioOrdenDTO;
+import co.edu.uniquindio.tallermacanico.dto.OrdenTrabajoCompuestaDTO;
+import co.edu.uniquindio.tallermacanico.model.OrdenServicio;
+import co.edu.uniquindio.tallermacanico.model.OrdenServicioMecanico;
 import co.edu.uniquindio.tallermacanico.model.OrdenTrabajo;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.EstadisticasIncrementales;
+import co.edu.uniquindio.tallermacanico.repository.OrdenServicioMecanicoRepository;
+import co.edu.uniquindio.tallermacanico.repository.OrdenServicioRepository;
 import co.edu.uniquindio.tallermacanico.repository.OrdenTrabajoRepository;
 // Importación de la clase a probar
 import co.edu.uniquindio.tallermacanico.service.implement.OrdenTrabajoServiceImpl;
@@ -14,10 +21,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +40,18 @@ public class OrdenTrabajoServiceImplTest {
     @Mock
     private OrdenTrabajoRepository ordenTrabajoRepository;
 
+    @Mock
+    private OrdenServicioRepository ordenServicioRepository;
+
+    @Mock
+    private OrdenServicioMecanicoRepository ordenServicioMecanicoRepository;
+
+    @Mock
+    private EstadisticasIncrementales estadisticasIncrementales;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     // Inyecta el mock en el servicio a probar
     @InjectMocks
     private OrdenTrabajoServiceImpl ordenTrabajoService;
@@ -173,4 +195,68 @@ public class OrdenTrabajoServiceImplTest {
         assertEquals("El ID de la orden de trabajo debe ser mayor que cero", excepcion.getMessage());
         verify(ordenTrabajoRepository, never()).eliminarOrdenTrabajo(anyInt());
     }
+
+    // -----------------------------------------------------------------
+    // Tests para registrarOrdenCompuesta(OrdenTrabajoCompuestaDTO)
+    // -----------------------------------------------------------------
+
+    @Test
+    @DisplayName("Debería registrar la orden, sus servicios y asignaciones propagando las claves generadas")
+    void testRegistrarOrdenCompuesta_Exitoso() {
+        doAnswer(invocacion -> {
+            invocacion.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(ordenTrabajoRepository.registrarOrdenTrabajo(ordenValida)).thenReturn(40);
+        when(ordenServicioRepository.registrarOrdenesServicio(anyList())).thenReturn(new int[]{700, 701});
+
+        OrdenServicioMecanico principal = new OrdenServicioMecanico(0, 3, 1, "Principal");
+        OrdenServicioMecanico apoyo = new OrdenServicioMecanico(0, 4, 2, "Apoyo");
+        OrdenServicio frenos = new OrdenServicio(0, 0, 2, "PENDIENTE", 80000);
+        OrdenServicio alineacion = new OrdenServicio(0, 0, 5, "PENDIENTE", 45000);
+        OrdenTrabajoCompuestaDTO ordenCompuesta = new OrdenTrabajoCompuestaDTO(ordenValida, List.of(
+                new LineaServicioOrdenDTO(frenos, List.of(principal, apoyo)),
+                new LineaServicioOrdenDTO(alineacion, List.of())));
+
+        OrdenTrabajoCompuestaDTO resultado = ordenTrabajoService.registrarOrdenCompuesta(ordenCompuesta);
+
+        assertEquals(40, resultado.getOrden().getIdOrdenTrabajo());
+        assertEquals(40, frenos.getIdOrdenTrabajo());
+        assertEquals(40, alineacion.getIdOrdenTrabajo());
+        assertEquals(700, principal.getIdOrdenServicio());
+        assertEquals(700, apoyo.getIdOrdenServicio());
+        verify(ordenServicioRepository, times(1)).registrarOrdenesServicio(List.of(frenos, alineacion));
+        verify(ordenServicioMecanicoRepository, times(1)).registrarAsignaciones(List.of(principal, apoyo));
+        verify(estadisticasIncrementales, times(2)).ordenServicioRegistrada(any());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar la orden completa sin abrir la transacción si un servicio es inválido")
+    void testRegistrarOrdenCompuesta_ServicioInvalido() {
+        OrdenServicio sinEstado = new OrdenServicio(0, 0, 2, " ", 80000);
+        OrdenTrabajoCompuestaDTO ordenCompuesta = new OrdenTrabajoCompuestaDTO(ordenValida,
+                List.of(new LineaServicioOrdenDTO(sinEstado, List.of())));
+
+        Exception excepcion = assertThrows(IllegalArgumentException.class,
+                () -> ordenTrabajoService.registrarOrdenCompuesta(ordenCompuesta));
+
+        assertEquals("Servicio 1: El estado del servicio es obligatorio", excepcion.getMessage());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+        verify(ordenTrabajoRepository, never()).registrarOrdenTrabajo(any());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un mecánico asignado dos veces al mismo servicio")
+    void testRegistrarOrdenCompuesta_MecanicoRepetido() {
+        OrdenTrabajoCompuestaDTO ordenCompuesta = new OrdenTrabajoCompuestaDTO(ordenValida, List.of(
+                new LineaServicioOrdenDTO(new OrdenServicio(0, 0, 2, "PENDIENTE", 80000), List.of(
+                        new OrdenServicioMecanico(0, 3, 1, "Principal"),
+                        new OrdenServicioMecanico(0, 3, 2, "Apoyo")))));
+
+        Exception excepcion = assertThrows(IllegalArgumentException.class,
+                () -> ordenTrabajoService.registrarOrdenCompuesta(ordenCompuesta));
+
+        assertEquals("Servicio 1: El mecánico 3 está asignado dos veces", excepcion.getMessage());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
 }
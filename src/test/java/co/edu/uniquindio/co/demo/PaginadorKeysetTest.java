@@ -0,0 +1,171 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.dto.PaginaDTO;
+import co.edu.uniquindio.tallermacanico.model.Cliente;
+import co.edu.uniquindio.tallermacanico.model.Supervision;
+import co.edu.uniquindio.tallermacanico.repository.MapeadoresFila;
+import co.edu.uniquindio.tallermacanico.repository.PaginadorKeyset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link PaginadorKeyset} sobre H2 en modo Oracle: recorrido completo por cursor, claves compuestas,
+ * detección de la última página y rechazo de cursores alterados.
+ */
+@DisplayName("Tests de integración para PaginadorKeyset")
+public class PaginadorKeysetTest {
+
+    private static final String CONSULTA_SUPERVISION =
+            "SELECT " + MapeadoresFila.COLUMNAS_SUPERVISION + " FROM supervision";
+    private static final String[] CLAVE_SUPERVISION =
+            {"id_orden_servicio", "id_mecanico_supervisor", "id_mecanico_supervisado"};
+    private static final String CONSULTA_CLIENTE = "SELECT " + MapeadoresFila.COLUMNAS_CLIENTE + " FROM cliente";
+
+    private FuenteDatosContadora dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private PaginadorKeyset paginador;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new FuenteDatosContadora(BaseDatosPrueba.nuevaUrl());
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+        // Las supervisiones solo aportan su clave compuesta; las órdenes y mecánicos a los que apuntan no se crean
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        // Los IDs no son consecutivos: el cursor debe continuar desde la clave, no desde una posición
+        for (int id : new int[]{3, 7, 8, 15, 40}) {
+            jdbcTemplate.update("INSERT INTO cliente VALUES (?, ?, 'Pérez', NULL, '300', NULL)", id, "Cliente " + id);
+        }
+        // Insertadas en desorden; varias comparten la primera columna y hay columnas posteriores menores
+        int[][] claves = {{2, 3, 0}, {1, 1, 2}, {3, 1, 1}, {1, 2, 5}, {1, 1, 1}, {2, 1, 1}, {1, 2, 1}};
+        for (int[] clave : claves) {
+            jdbcTemplate.update("INSERT INTO supervision VALUES (?, ?, ?, 1, NULL)", clave[0], clave[1], clave[2]);
+        }
+        paginador = new PaginadorKeyset(jdbcTemplate);
+        dataSource.reiniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Debe recorrer una clave compuesta en orden, sin saltar ni repetir filas, con una consulta por página")
+    void testPaginar_ClaveCompuesta() {
+        List<String> recorridas = new ArrayList<>();
+        List<Integer> tamanios = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaDTO<Supervision> pagina = paginarSupervisiones(cursor, 2);
+            pagina.getItems().forEach(s -> recorridas.add(clave(s)));
+            tamanios.add(pagina.getItems().size());
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("1:1:1", "1:1:2", "1:2:1", "1:2:5", "2:1:1", "2:3:0", "3:1:1"), recorridas);
+        assertEquals(List.of(2, 2, 2, 1), tamanios);
+        assertEquals(4, dataSource.sentencias());
+    }
+
+    @Test
+    @DisplayName("La condición OR debe incluir las filas con la misma primera columna y las de columnas posteriores menores")
+    void testPaginar_CondicionCompuesta() {
+        // Tras (1, 2, 1) siguen (1, 2, 5) por la tercera columna y (2, 1, 1), (2, 3, 0) por la primera
+        PaginaDTO<Supervision> pagina = paginarSupervisiones(cursor("1:2:1"), 3);
+
+        assertEquals(List.of("1:2:5", "2:1:1", "2:3:0"), pagina.getItems().stream().map(PaginadorKeysetTest::clave).toList());
+        assertTrue(pagina.isHayMas());
+
+        PaginaDTO<Supervision> ultima = paginarSupervisiones(pagina.getSiguienteCursor(), 3);
+        assertEquals(List.of("3:1:1"), ultima.getItems().stream().map(PaginadorKeysetTest::clave).toList());
+        assertFalse(ultima.isHayMas());
+    }
+
+    @Test
+    @DisplayName("Debe detectar la última página pidiendo una fila de más y entregar solo el tamaño pedido")
+    void testPaginar_UltimaPagina() {
+        PaginaDTO<Cliente> exacta = paginarClientes(null, 5);
+        assertEquals(5, exacta.getItems().size());
+        assertFalse(exacta.isHayMas());
+        assertNull(exacta.getSiguienteCursor());
+
+        PaginaDTO<Cliente> incompleta = paginarClientes(null, 4);
+        assertEquals(List.of(3, 7, 8, 15), incompleta.getItems().stream().map(Cliente::getIdCliente).toList());
+        assertTrue(incompleta.isHayMas());
+        // El cursor es la última clave entregada, no la fila adicional
+        assertEquals(cursor("15"), incompleta.getSiguienteCursor());
+
+        PaginaDTO<Cliente> ultima = paginarClientes(incompleta.getSiguienteCursor(), 4);
+        assertEquals(List.of(40), ultima.getItems().stream().map(Cliente::getIdCliente).toList());
+        assertFalse(ultima.isHayMas());
+
+        PaginaDTO<Cliente> despuesDelFinal = paginarClientes(cursor("40"), 4);
+        assertTrue(despuesDelFinal.getItems().isEmpty());
+        assertNull(despuesDelFinal.getSiguienteCursor());
+        assertEquals(4, dataSource.sentencias());
+    }
+
+    @Test
+    @DisplayName("Debe ajustar los tamaños no positivos al valor por defecto y los grandes al máximo")
+    void testPaginar_Tamanio() {
+        assertEquals(PaginadorKeyset.TAMANIO_POR_DEFECTO, paginarClientes(null, 0).getTamanio());
+        assertEquals(PaginadorKeyset.TAMANIO_POR_DEFECTO, paginarClientes(null, -3).getTamanio());
+        assertEquals(PaginadorKeyset.TAMANIO_MAXIMO, paginarClientes(null, 100_000).getTamanio());
+        assertEquals(2, paginarClientes(null, 2).getTamanio());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cursores inválidos o alterados sin consultar la base de datos")
+    void testPaginar_CursorInvalido() {
+        List<String> invalidos = List.of(
+                "%%%no-es-base64%%%",
+                cursor("1:2"),
+                cursor("1:2:3:4"),
+                cursor("a:b:c"),
+                cursor("1:2:1 OR 1=1"),
+                cursor("1::1"),
+                cursor("99999999999:1:1"));
+        for (String invalido : invalidos) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> paginarSupervisiones(invalido, 2), invalido);
+            assertEquals("Cursor de paginación inválido", error.getMessage());
+        }
+        // Un cursor de una clave compuesta no sirve para una tabla de una sola columna
+        assertThrows(IllegalArgumentException.class, () -> paginarClientes(cursor("1:2:1"), 2));
+        assertEquals(0, dataSource.sentencias());
+
+        // Un cursor vacío equivale a la primera página
+        assertEquals(2, paginarClientes(" ", 2).getItems().size());
+    }
+
+    private PaginaDTO<Supervision> paginarSupervisiones(String cursor, int tamanio) {
+        return paginador.paginar(CONSULTA_SUPERVISION, CLAVE_SUPERVISION, MapeadoresFila.SUPERVISION,
+                s -> new int[]{s.getIdOrdenServicio(), s.getIdMecanicoSupervisor(), s.getIdMecanicoSupervisado()},
+                cursor, tamanio);
+    }
+
+    private PaginaDTO<Cliente> paginarClientes(String cursor, int tamanio) {
+        return paginador.paginar(CONSULTA_CLIENTE, new String[]{"id_cliente"}, MapeadoresFila.CLIENTE,
+                c -> new int[]{c.getIdCliente()}, cursor, tamanio);
+    }
+
+    /** Cursor con el mismo formato que entrega el paginador: la clave separada por ':' en Base64 URL. */
+    private static String cursor(String clave) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(clave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String clave(Supervision supervision) {
+        return supervision.getIdOrdenServicio() + ":" + supervision.getIdMecanicoSupervisor() + ":"
+                + supervision.getIdMecanicoSupervisado();
+    }
+}
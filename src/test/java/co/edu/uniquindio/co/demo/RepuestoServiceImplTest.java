@@ -1,8 +1,10 @@
 package co.edu.uniquindio.co.demo;
 
 // Importaciones de las clases reales del proyecto
+import co.edu.uniquindio.tallermacanico.model.MovimientoInventario;
 import co.edu.uniquindio.tallermacanico.model.Repuesto;
 import co.edu.uniquindio.tallermacanico.repository.RepuestoRepository;
+import co.edu.uniquindio.tallermacanico.service.MovimientoInventarioService;
 // Importación de la clase a probar
 import co.edu.uniquindio.tallermacanico.service.implement.RepuestoServiceImpl;
 
@@ -15,6 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -29,6 +32,9 @@ public class RepuestoServiceImplTest {
     @Mock
     private RepuestoRepository repuestoRepository;
 
+    @Mock
+    private MovimientoInventarioService movimientoInventarioService;
+
     // Inyecta el mock en el servicio a probar
     @InjectMocks
     private RepuestoServiceImpl repuestoService;
@@ -75,10 +81,10 @@ public class RepuestoServiceImplTest {
     // -----------------------------------------------------------------
 
     @Test
-    @DisplayName("Debería registrar un repuesto y actualizar su ID")
+    @DisplayName("Debería registrar un repuesto con stock cero y cargar su stock inicial como un ajuste")
     void testRegistrarRepuesto_Exitoso() {
-        // Configurar Mock: Simular que el repositorio devuelve el ID autogenerado
-        when(repuestoRepository.registrarRepuesto(repuestoValido)).thenReturn(ID_GENERADO);
+        // Configurar Mock: el stock se inserta en cero y llega con el movimiento
+        when(repuestoRepository.crearRepuesto(argThat(r -> r.getStockActual() == 0))).thenReturn(ID_GENERADO);
 
         // Ejecutar
         Repuesto repuestoRegistrado = repuestoService.registrarRepuesto(repuestoValido);
@@ -86,7 +92,27 @@ public class RepuestoServiceImplTest {
         // Verificar
         assertEquals(ID_GENERADO, repuestoRegistrado.getIdRepuesto(),
                 "El ID del repuesto en el objeto devuelto debe ser actualizado");
-        verify(repuestoRepository, times(1)).registrarRepuesto(repuestoValido);
+        assertEquals(STOCK_INICIAL, repuestoRegistrado.getStockActual(), 0.001);
+        ArgumentCaptor<MovimientoInventario> captor = ArgumentCaptor.forClass(MovimientoInventario.class);
+        verify(movimientoInventarioService, times(1)).registrarMovimiento(captor.capture());
+        assertEquals(ID_GENERADO, captor.getValue().getIdRepuesto());
+        assertEquals("ajuste", captor.getValue().getTipoMovimiento());
+        assertEquals(STOCK_INICIAL, captor.getValue().getCantidad(), 0.001);
+    }
+
+    @Test
+    @DisplayName("No debería registrar un movimiento para un repuesto sin stock ni crear uno con stock negativo")
+    void testRegistrarRepuesto_SinStockONegativo() {
+        repuestoValido.setStockActual(0);
+        when(repuestoRepository.crearRepuesto(repuestoValido)).thenReturn(ID_GENERADO);
+        repuestoService.registrarRepuesto(repuestoValido);
+        verifyNoInteractions(movimientoInventarioService);
+
+        Repuesto negativo = new Repuesto(0, "Bujía", null, -1, "UNIDADES");
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> repuestoService.registrarRepuesto(negativo));
+        assertEquals("El stock inicial no puede ser negativo", exception.getMessage());
+        verify(repuestoRepository, times(1)).crearRepuesto(any());
     }
 
     // -----------------------------------------------------------------
@@ -126,20 +152,22 @@ public class RepuestoServiceImplTest {
     // -----------------------------------------------------------------
 
     @Test
-    @DisplayName("Debería llamar al repositorio para actualizar el stock")
+    @DisplayName("Debería registrar el nuevo stock como un movimiento de ajuste, sin escribir el stock directamente")
     void testActualizarStock_Exitoso() {
         final double NUEVO_STOCK = 75.5;
 
         // Ejecutar
         assertDoesNotThrow(() -> repuestoService.actualizarStock(ID_GENERADO, NUEVO_STOCK));
 
-        // Verificar: Capturamos los argumentos pasados al repositorio
-        ArgumentCaptor<Integer> idCaptor = ArgumentCaptor.forClass(Integer.class);
-        ArgumentCaptor<Double> stockCaptor = ArgumentCaptor.forClass(Double.class);
-
-        verify(repuestoRepository, times(1)).actualizarStock(idCaptor.capture(), stockCaptor.capture());
+        // Verificar: Capturamos el movimiento pasado al servicio de movimientos
+        ArgumentCaptor<MovimientoInventario> captor = ArgumentCaptor.forClass(MovimientoInventario.class);
+        verify(movimientoInventarioService, times(1)).registrarMovimiento(captor.capture());
+        verifyNoInteractions(repuestoRepository);
 
-        assertEquals(ID_GENERADO, idCaptor.getValue(), "El ID pasado al repositorio debe ser correcto");
-        assertEquals(NUEVO_STOCK, stockCaptor.getValue(), 0.001, "El stock pasado al repositorio debe ser correcto");
+        MovimientoInventario movimiento = captor.getValue();
+        assertEquals(ID_GENERADO, movimiento.getIdRepuesto(), "El ID del repuesto debe ser correcto");
+        assertEquals("ajuste", movimiento.getTipoMovimiento());
+        assertEquals(NUEVO_STOCK, movimiento.getCantidad(), 0.001, "El stock contado debe ser la cantidad del ajuste");
+        assertEquals(LocalDate.now(), movimiento.getFechaMovimiento());
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package co.edu.uniquindio.co.demo;
 
 
 // Importaciones de las clases reales del proyecto
+import co.edu.uniquindio.tallermacanico.dto.ReajustePreciosDTO;
+import co.edu.uniquindio.tallermacanico.dto.ResultadoReajusteDTO;
 import co.edu.uniquindio.tallermacanico.model.Servicio;
 import co.edu.uniquindio.tallermacanico.repository.ServicioRepository;
 // Importación de la clase a probar
@@ -11,12 +13,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,14 +34,18 @@ public class ServicioServiceImplTest {
     @Mock
     private ServicioRepository servicioRepository;
 
-    // Inyecta el mock en el servicio a probar
-    @InjectMocks
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     private ServicioServiceImpl servicioService;
 
     private Servicio servicioValido;
 
     @BeforeEach
     void setUp() {
+        // Inyecta los mocks y el máximo de precios por el constructor, como lo hace Spring
+        servicioService = new ServicioServiceImpl(servicioRepository, transactionTemplate, 3);
+
         // Inicializa un servicio válido usando el AllArgsConstructor (4 campos)
         servicioValido = new Servicio(
                 0,                      // idServicio (0 porque se registrará)
@@ -202,4 +211,81 @@ public class ServicioServiceImplTest {
         verify(servicioRepository, times(1)).buscarPorId(ID_INEXISTENTE);
         verify(servicioRepository, never()).actualizarPrecioBase(anyInt(), anyDouble());
     }
+
+    // -----------------------------------------------------------------
+    // Tests para reajustarPrecios(ReajustePreciosDTO reajuste)
+    // -----------------------------------------------------------------
+
+    @Test
+    @DisplayName("Debería actualizar en lote los precios explícitos e informar los IDs inexistentes")
+    void testReajustarPrecios_PreciosExplicitos() {
+        ejecutarTransaccionesDirecto();
+        Map<Integer, Double> precios = new LinkedHashMap<>();
+        precios.put(1, 95.0);
+        precios.put(2, 120.0);
+        precios.put(99, 10.0);
+        when(servicioRepository.bloquearPrecios(precios.keySet())).thenReturn(Map.of(1, 80.0, 2, 100.0));
+
+        ResultadoReajusteDTO resultado = servicioService.reajustarPrecios(new ReajustePreciosDTO(precios, null, null));
+
+        assertEquals(ServicioServiceImpl.MODO_PRECIOS, resultado.getModo());
+        assertEquals(3, resultado.getSolicitados());
+        assertEquals(2, resultado.getActualizados());
+        assertEquals(List.of(99), resultado.getNoEncontrados());
+        assertEquals(180.0, resultado.getTotalAnterior());
+        assertEquals(215.0, resultado.getTotalNuevo());
+        verify(servicioRepository, times(1)).actualizarPreciosBase(Map.of(1, 95.0, 2, 120.0));
+        verify(servicioRepository, never()).buscarPorId(anyInt());
+    }
+
+    @Test
+    @DisplayName("Debería aplicar el porcentaje con un solo UPDATE sobre los servicios que coinciden con el patrón")
+    void testReajustarPrecios_Porcentaje() {
+        ejecutarTransaccionesDirecto();
+        when(servicioRepository.resumirPrecios("cambio%"))
+                .thenReturn(new double[]{2, 200.0})
+                .thenReturn(new double[]{2, 220.0});
+        when(servicioRepository.reajustarPreciosBase(anyDouble(), eq("cambio%"))).thenReturn(2);
+
+        ResultadoReajusteDTO resultado = servicioService.reajustarPrecios(new ReajustePreciosDTO(null, 10.0, " cambio% "));
+
+        assertEquals(ServicioServiceImpl.MODO_PORCENTAJE, resultado.getModo());
+        assertEquals(2, resultado.getActualizados());
+        assertEquals(200.0, resultado.getTotalAnterior());
+        assertEquals(220.0, resultado.getTotalNuevo());
+        verify(servicioRepository, times(1)).reajustarPreciosBase(doubleThat(factor -> Math.abs(factor - 1.1) < 1e-9), eq("cambio%"));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar el reajuste con ambos modos o con un precio inválido sin abrir la transacción")
+    void testReajustarPrecios_Invalido() {
+        Exception ambos = assertThrows(IllegalArgumentException.class, () ->
+                servicioService.reajustarPrecios(new ReajustePreciosDTO(Map.of(1, 10.0), 5.0, null)));
+        Exception precioCero = assertThrows(IllegalArgumentException.class, () ->
+                servicioService.reajustarPrecios(new ReajustePreciosDTO(Map.of(3, 0.0), null, null)));
+        Exception porcentaje = assertThrows(IllegalArgumentException.class, () ->
+                servicioService.reajustarPrecios(new ReajustePreciosDTO(null, -100.0, null)));
+
+        assertEquals("Debe indicar 'precios' o 'porcentaje', no ambos", ambos.getMessage());
+        assertEquals("El precio base del servicio 3 debe ser mayor que cero", precioCero.getMessage());
+        assertEquals("El porcentaje debe ser mayor que -100 y menor o igual a 1000", porcentaje.getMessage());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un reajuste con más precios que el máximo configurado")
+    void testReajustarPrecios_SuperaMaximo() {
+        Map<Integer, Double> precios = Map.of(1, 10.0, 2, 20.0, 3, 30.0, 4, 40.0);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                servicioService.reajustarPrecios(new ReajustePreciosDTO(precios, null, null)));
+
+        assertEquals("El reajuste supera el máximo de 3 precios", exception.getMessage());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    private void ejecutarTransaccionesDirecto() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocacion ->
+                invocacion.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
 }
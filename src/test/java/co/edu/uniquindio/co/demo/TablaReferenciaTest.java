@@ -0,0 +1,117 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.model.Servicio;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import co.edu.uniquindio.tallermacanico.repository.EstadoOrdenRepository;
+import co.edu.uniquindio.tallermacanico.repository.GeneradorClaves;
+import co.edu.uniquindio.tallermacanico.repository.PaginadorKeyset;
+import co.edu.uniquindio.tallermacanico.repository.ServicioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las tablas de referencia en memoria sobre H2 en modo Oracle: las lecturas no van a la base
+ * de datos y las escrituras hechas por el repositorio publican la nueva instantánea al confirmarse.
+ */
+@DisplayName("Tests de integración para TablaReferencia")
+public class TablaReferenciaTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ServicioRepository servicioRepository;
+    private EstadoOrdenRepository estadoOrdenRepository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(BaseDatosPrueba.nuevaUrl(), "sa", "");
+        jdbcTemplate = BaseDatosPrueba.crearEsquema(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.update("INSERT INTO servicio (nombre, descripcion, precio_base) VALUES ('Cambio de aceite', 'Aceite y filtro', 80000)");
+        jdbcTemplate.update("INSERT INTO servicio (nombre, descripcion, precio_base) VALUES ('Alineación', 'Alineación y balanceo', 60000)");
+        jdbcTemplate.update("INSERT INTO estado_orden VALUES (1, 'PENDIENTE')");
+        jdbcTemplate.update("INSERT INTO estado_orden VALUES (2, 'EN PROCESO')");
+        jdbcTemplate.update("INSERT INTO estado_orden VALUES (1000000, 'ARCHIVADA')");
+
+        servicioRepository = new ServicioRepository(jdbcTemplate, new PaginadorKeyset(jdbcTemplate),
+                new CacheReportes(0, 1), new GeneradorClaves(jdbcTemplate));
+        estadoOrdenRepository = new EstadoOrdenRepository(jdbcTemplate);
+        servicioRepository.tablaReferencia().recargar();
+        estadoOrdenRepository.tablaReferencia().recargar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Debería responder desde memoria y ver los cambios externos solo después de recargar")
+    void testBuscarPorId_DesdeMemoria() {
+        jdbcTemplate.update("UPDATE servicio SET precio_base = 1 WHERE id_servicio = 1");
+
+        assertEquals(80000, servicioRepository.buscarPorId(1).getPrecioBase());
+        assertNull(servicioRepository.buscarPorId(99));
+
+        servicioRepository.tablaReferencia().recargar();
+
+        assertEquals(1, servicioRepository.buscarPorId(1).getPrecioBase());
+    }
+
+    @Test
+    @DisplayName("Debería entregar copias, de modo que modificar el resultado no altere la caché")
+    void testBuscarPorId_EntregaCopias() {
+        Servicio servicio = servicioRepository.buscarPorId(1);
+        servicio.setPrecioBase(0);
+        servicioRepository.listarServicios().forEach(s -> s.setNombre("alterado"));
+
+        assertEquals(80000, servicioRepository.buscarPorId(1).getPrecioBase());
+        assertEquals(List.of("Cambio de aceite", "Alineación"),
+                servicioRepository.listarServicios().stream().map(Servicio::getNombre).toList());
+    }
+
+    @Test
+    @DisplayName("Una escritura sin transacción debería verse de inmediato")
+    void testRegistrarServicio_RecargaInmediata() {
+        int id = servicioRepository.registrarServicio(new Servicio(0, "Diagnóstico", "Escáner", 50000));
+
+        assertEquals("Diagnóstico", servicioRepository.buscarPorId(id).getNombre());
+        assertEquals(3, servicioRepository.listarServicios().size());
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción el cambio debería publicarse solo al confirmarse")
+    void testActualizarPrecio_RecargaAlConfirmar() {
+        transactionTemplate.executeWithoutResult(estado -> {
+            servicioRepository.actualizarPrecioBase(1, 90000);
+            assertEquals(80000, servicioRepository.buscarPorId(1).getPrecioBase());
+        });
+        assertEquals(90000, servicioRepository.buscarPorId(1).getPrecioBase());
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            servicioRepository.actualizarPrecioBase(1, 1);
+            estado.setRollbackOnly();
+        });
+        assertEquals(90000, servicioRepository.buscarPorId(1).getPrecioBase());
+    }
+
+    @Test
+    @DisplayName("Debería resolver IDs dispersos con el índice ordenado")
+    void testObtenerNombrePorId_IdsDispersos() {
+        assertEquals("PENDIENTE", estadoOrdenRepository.obtenerNombrePorId(1));
+        assertEquals("ARCHIVADA", estadoOrdenRepository.obtenerNombrePorId(1000000));
+        assertNull(estadoOrdenRepository.obtenerNombrePorId(3));
+        assertNull(estadoOrdenRepository.obtenerNombrePorId(-1));
+        assertEquals("ordenado", estadoOrdenRepository.tablaReferencia().metricas().get("indice"));
+        assertEquals("denso", servicioRepository.tablaReferencia().metricas().get("indice"));
+    }
+}
@@ -0,0 +1,132 @@
+package co.edu.uniquindio.co.demo;
+
+import co.edu.uniquindio.tallermacanico.reportes.cache.CachePDF;
+import co.edu.uniquindio.tallermacanico.reportes.cache.CacheReportes;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.SolicitudTrabajoReporteDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.dto.TrabajoReporteDTO;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.ReportePDFService;
+import co.edu.uniquindio.tallermacanico.reportes.estadisticos.service.TrabajosReporteService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para TrabajosReporteService")
+public class TrabajosReporteServiceTest {
+
+    @Mock
+    private ReportePDFService reportePDFService;
+
+    @TempDir
+    Path directorio;
+
+    private TrabajosReporteService trabajosReporteService;
+
+    @BeforeEach
+    void setUp() {
+        CachePDF cachePDF = new CachePDF(new CacheReportes(300, 10), directorio.resolve("cache").toString(), 16, 0);
+        trabajosReporteService = new TrabajosReporteService(reportePDFService, cachePDF,
+                directorio.resolve("jobs").toString(), 2, 3, 2, "vehiculos=1", 60, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        trabajosReporteService.detener();
+    }
+
+    @Test
+    @DisplayName("Debería generar el PDF en segundo plano y dejarlo listo para descargar")
+    void testEncolar_CompletaYGuardaArchivo() throws Exception {
+        doAnswer(invocacion -> {
+            invocacion.<OutputStream>getArgument(0).write("%PDF-clientes".getBytes());
+            return null;
+        }).when(reportePDFService).escribirPDFClientes(any());
+
+        TrabajoReporteDTO trabajo = trabajosReporteService.encolar(new SolicitudTrabajoReporteDTO("clientes", Map.of()));
+        TrabajoReporteDTO terminado = esperarFin(trabajo.getId());
+
+        assertEquals(TrabajosReporteService.COMPLETADO, terminado.getEstado());
+        assertEquals("/api/reportes/jobs/" + trabajo.getId() + "/descarga", terminado.getUrlDescarga());
+        assertEquals("%PDF-clientes", Files.readString(trabajosReporteService.archivo(trabajo.getId())));
+    }
+
+    @Test
+    @DisplayName("Un error del generador debe dejar el trabajo como FALLIDO")
+    void testEncolar_ErrorDejaTrabajoFallido() throws Exception {
+        when(reportePDFService.generarPDFIngresosMensuales()).thenThrow(new RuntimeException("Error al generar PDF"));
+
+        TrabajoReporteDTO trabajo = trabajosReporteService.encolar(
+                new SolicitudTrabajoReporteDTO("ingresos-mensuales", Map.of()));
+        TrabajoReporteDTO terminado = esperarFin(trabajo.getId());
+
+        assertEquals(TrabajosReporteService.FALLIDO, terminado.getEstado());
+        assertEquals("Error al generar PDF", terminado.getError());
+        assertNull(trabajosReporteService.archivo(trabajo.getId()));
+    }
+
+    @Test
+    @DisplayName("Debería lanzar excepción para un tipo de reporte desconocido")
+    void testEncolar_TipoInvalido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> trabajosReporteService.encolar(new SolicitudTrabajoReporteDTO("inexistente", Map.of())));
+    }
+
+    @Test
+    @DisplayName("Debería lanzar excepción si faltan las fechas del reporte de órdenes")
+    void testEncolar_ParametrosFaltantes() {
+        Exception excepcion = assertThrows(IllegalArgumentException.class,
+                () -> trabajosReporteService.encolar(new SolicitudTrabajoReporteDTO("ordenes-trabajo",
+                        Map.of("fechaInicio", "2025-01-01"))));
+
+        assertEquals("El parámetro fechaFin es obligatorio (yyyy-MM-dd)", excepcion.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debe respetar el límite por tipo y rechazar trabajos cuando la cola está llena")
+    void testEncolar_LimitePorTipoYCapacidad() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        doAnswer(invocacion -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(reportePDFService).escribirPDFVehiculos(any());
+
+        TrabajoReporteDTO primero = trabajosReporteService.encolar(new SolicitudTrabajoReporteDTO("vehiculos", Map.of()));
+        TrabajoReporteDTO segundo = trabajosReporteService.encolar(new SolicitudTrabajoReporteDTO("vehiculos", Map.of()));
+        trabajosReporteService.encolar(new SolicitudTrabajoReporteDTO("vehiculos", Map.of()));
+
+        Thread.sleep(200);
+        assertEquals(TrabajosReporteService.EN_PROCESO, trabajosReporteService.consultar(primero.getId()).getEstado());
+        assertEquals(TrabajosReporteService.PENDIENTE, trabajosReporteService.consultar(segundo.getId()).getEstado());
+        assertThrows(IllegalStateException.class,
+                () -> trabajosReporteService.encolar(new SolicitudTrabajoReporteDTO("clientes", Map.of())));
+
+        liberar.countDown();
+        assertEquals(TrabajosReporteService.COMPLETADO, esperarFin(segundo.getId()).getEstado());
+    }
+
+    private TrabajoReporteDTO esperarFin(String id) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        TrabajoReporteDTO trabajo = trabajosReporteService.consultar(id);
+        while (trabajo.getFechaFin() == null && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            trabajo = trabajosReporteService.consultar(id);
+        }
+        return trabajo;
+    }
+}